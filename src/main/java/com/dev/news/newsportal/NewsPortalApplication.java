@@ -1,16 +1,62 @@
 package com.dev.news.newsportal;
 
 import com.dev.news.newsportal.config.NewsPortalProperties;
+import org.springframework.aot.AotDetector;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
 
-@SpringBootApplication
+import java.util.Arrays;
+import java.util.Map;
+
+// A global R2DBC connection factory would switch off the JDBC data source; the reactive read stack builds its own
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 @EnableConfigurationProperties(NewsPortalProperties.class)
 public class NewsPortalApplication {
 
+    /**
+     * Command line switch that seeds the database with a synthetic dataset and exits.
+     */
+    static final String SEED_COMMAND = "--seed";
+
+    /**
+     * Command line switch that sends one request to each main endpoint on a random port and exits. Used to record
+     * the class data sharing archive of the {@code cds} build profile.
+     */
+    static final String TRAINING_RUN_COMMAND = "--training-run";
+
+    /**
+     * Number of startup steps kept for the startup timeline, enough for a full start of this application.
+     */
+    static final int STARTUP_STEP_CAPACITY = 10_000;
+
     public static void main(String[] args) {
-        SpringApplication.run(NewsPortalApplication.class, args);
+        SpringApplication application = new SpringApplication(NewsPortalApplication.class);
+        // Records the startup steps for the timeline report and /actuator/startup
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        boolean seedMode = Arrays.asList(args).contains(SEED_COMMAND);
+        boolean trainingRun = Arrays.asList(args).contains(TRAINING_RUN_COMMAND);
+        if (seedMode && AotDetector.useGeneratedArtifacts()) {
+            // The seed runner is switched on by a property, which ahead-of-time processing has already evaluated
+            throw new IllegalStateException(SEED_COMMAND + " cannot run with spring.aot.enabled=true");
+        }
+        if (seedMode) {
+            // CLI mode: no web server, run the dataset generator and shut down
+            application.setWebApplicationType(WebApplicationType.NONE);
+            application.setDefaultProperties(Map.of("news-portal.seed.enabled", "true"));
+        } else if (trainingRun) {
+            // CLI mode: serve the training requests on a free port and shut down
+            application.setDefaultProperties(Map.of("server.port", "0"));
+        }
+
+        ConfigurableApplicationContext context = application.run(args);
+        if (seedMode || trainingRun) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 
 }
@@ -0,0 +1,22 @@
+package com.dev.news.newsportal.archive;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Content of an archived news article as stored in its {@code payload}, comments included.
+ * <p>
+ * The author is stored by id only and read from {@code users} when the article is served, so nickname changes and
+ * deletions of the author apply to archived articles as well.
+ *
+ * @param comments all comments of the article, replies included, in id order
+ */
+record ArchivedNews(long id, String title, String text, String imageUrl, LocalDateTime creationDate, long authorId,
+                    List<Comment> comments) {
+
+    /**
+     * An archived comment. Replies refer to their parent by id, as in {@code comments}.
+     */
+    record Comment(long id, String text, LocalDateTime creationDate, String authorNickname, Long parentCommentId) {
+    }
+}
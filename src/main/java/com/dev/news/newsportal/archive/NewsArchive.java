@@ -0,0 +1,182 @@
+package com.dev.news.newsportal.archive;
+
+import com.dev.news.newsportal.mapper.entity.CommentEntityMapper;
+import com.dev.news.newsportal.mapper.entity.UserEntityMapper;
+import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves news articles and comments moved to the archive by {@link NewsArchiver}.
+ * <p>
+ * Each archived article is one {@code news_archive} row whose {@code payload} holds the article and all of its
+ * comments as gzip-compressed Smile, the binary form of JSON. Reading an article or any of its comments decodes the
+ * whole payload; the services only fall back to the archive after a miss in {@code news} or {@code comments}.
+ * Archived articles of deleted users are hidden like live ones. Archived articles and comments are read-only: they
+ * can only be deleted, together with the whole article.
+ */
+@Component
+public class NewsArchive {
+
+    private final NewsArchiveStore store;
+    private final UserRepository userRepository;
+    private final UserEntityMapper userEntityMapper;
+    private final CommentEntityMapper commentEntityMapper;
+    private final ObjectMapper objectMapper;
+    private final Counter newsReads;
+    private final Counter commentReads;
+
+    NewsArchive(NewsArchiveStore store, UserRepository userRepository, UserEntityMapper userEntityMapper,
+                CommentEntityMapper commentEntityMapper,
+                ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilders, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.userRepository = userRepository;
+        this.userEntityMapper = userEntityMapper;
+        this.commentEntityMapper = commentEntityMapper;
+        this.objectMapper = objectMapperBuilders.getObject().factory(new SmileFactory()).build();
+        this.newsReads = Counter.builder("newsportal.news.archive.reads")
+                .description("News articles and comments served from the archive")
+                .tag("resource", "news")
+                .register(meterRegistry);
+        this.commentReads = Counter.builder("newsportal.news.archive.reads")
+                .description("News articles and comments served from the archive")
+                .tag("resource", "comment")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns an archived article with its comments, threaded like those of a live article.
+     */
+    public Optional<NewsModel> findNews(long id) {
+        return load(id).map(archived -> {
+            newsReads.increment();
+            return NewsModel.builder()
+                    .id(archived.news().id())
+                    .title(archived.news().title())
+                    .text(archived.news().text())
+                    .imageUrl(archived.news().imageUrl())
+                    .creationDate(archived.news().creationDate())
+                    .author(archived.author())
+                    .comments(thread(archived.news()))
+                    .build();
+        });
+    }
+
+    /**
+     * Returns an archived comment with its replies.
+     */
+    public Optional<CommentModel> findComment(long id) {
+        return store.findNewsIdOfComment(id)
+                .flatMap(this::load)
+                .flatMap(archived -> thread(archived.news()).stream()
+                        .filter(comment -> comment.getId() == id)
+                        .findFirst())
+                .map(comment -> {
+                    commentReads.increment();
+                    return comment;
+                });
+    }
+
+    /**
+     * Returns the comments of an archived article, newest first, each with its replies.
+     */
+    public Optional<List<CommentModel>> findComments(long newsId) {
+        return load(newsId).map(archived -> {
+            commentReads.increment();
+            return thread(archived.news()).stream()
+                    .sorted(Comparator.comparing(CommentModel::getCreationDate).reversed())
+                    .toList();
+        });
+    }
+
+    /**
+     * Returns the replies to an archived comment, each with its own replies.
+     */
+    public Optional<List<CommentModel>> findReplies(long commentId) {
+        return store.findNewsIdOfComment(commentId)
+                .flatMap(this::load)
+                .map(archived -> {
+                    commentReads.increment();
+                    return thread(archived.news()).stream()
+                            .filter(comment -> Objects.equals(comment.getParentCommentId(), commentId))
+                            .toList();
+                });
+    }
+
+    /**
+     * Deletes an archived article with its comments.
+     *
+     * @return whether the article was archived
+     */
+    public boolean delete(long id) {
+        return store.delete(id) > 0;
+    }
+
+    byte[] encode(ArchivedNews news) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, news);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to encode archived news " + news.id(), ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    ArchivedNews decode(byte[] payload) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return objectMapper.readValue(in, ArchivedNews.class);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to decode archived news", ex);
+        }
+    }
+
+    /**
+     * Reads an archived article, provided its author has not been deleted.
+     */
+    private Optional<Archived> load(long newsId) {
+        return store.findPayload(newsId)
+                .map(this::decode)
+                .flatMap(news -> userRepository.findById(news.authorId())
+                        .map(author -> new Archived(news, userEntityMapper.toModel(author))));
+    }
+
+    /**
+     * Maps the comments of an article in id order and attaches every reply to its parent, like live comments.
+     */
+    private List<CommentModel> thread(ArchivedNews news) {
+        return commentEntityMapper.attachReplies(news.comments().stream()
+                .map(comment -> CommentModel.builder()
+                        .id(comment.id())
+                        .text(comment.text())
+                        .creationDate(comment.creationDate())
+                        .authorNickname(comment.authorNickname())
+                        .newsId(news.id())
+                        .parentCommentId(comment.parentCommentId())
+                        .build())
+                .toList());
+    }
+
+    private record Archived(ArchivedNews news, UserModel author) {
+    }
+}
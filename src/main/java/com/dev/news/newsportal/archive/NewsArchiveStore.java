@@ -0,0 +1,122 @@
+package com.dev.news.newsportal.archive;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Moves news articles between {@code news} and {@code news_archive} and reads the archived ones.
+ * <p>
+ * The statements join in the caller's transaction; none of them loads entities.
+ */
+@Component
+class NewsArchiveStore {
+
+    // Articles of deleted users are left to their purge job
+    private static final String LOCK_OLD_NEWS_SQL = "SELECT id FROM news WHERE creation_date < ? "
+            + "AND author_id NOT IN (SELECT u.id FROM users u WHERE u.deleted = TRUE) "
+            + "ORDER BY creation_date, id LIMIT ? FOR UPDATE";
+    private static final String FIND_NEWS_SQL =
+            "SELECT id, title, text, image_url, creation_date, author_id FROM news WHERE id IN (%s)";
+    private static final String FIND_COMMENTS_SQL = "SELECT id, text, creation_date, author_nickname, news_id, "
+            + "parent_comment_id FROM comments WHERE news_id IN (%s) ORDER BY id";
+    private static final String INSERT_ARCHIVE_SQL = "INSERT INTO news_archive "
+            + "(id, author_id, creation_date, archived_at, payload) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_ARCHIVE_COMMENT_SQL =
+            "INSERT INTO news_archive_comments (id, news_id) VALUES (?, ?)";
+    // Comments and their replies, view counts and trending scores go with the article through ON DELETE CASCADE
+    private static final String DELETE_NEWS_SQL = "DELETE FROM news WHERE id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    NewsArchiveStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Locks up to {@code limit} of the oldest articles created before the cutoff, so that no comment can be added to
+     * them until the transaction ends.
+     *
+     * @return the ids of the locked articles
+     */
+    List<Long> lockOldNews(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.queryForList(LOCK_OLD_NEWS_SQL, Long.class, Timestamp.valueOf(cutoff), limit);
+    }
+
+    /**
+     * Reads the given articles with all of their comments.
+     */
+    List<ArchivedNews> findNews(List<Long> ids) {
+        Map<Long, List<ArchivedNews.Comment>> comments = new HashMap<>();
+        jdbcTemplate.query(FIND_COMMENTS_SQL.formatted(placeholders(ids)), resultSet -> {
+            comments.computeIfAbsent(resultSet.getLong("news_id"), id -> new ArrayList<>()).add(
+                    new ArchivedNews.Comment(resultSet.getLong("id"), resultSet.getString("text"),
+                            resultSet.getTimestamp("creation_date").toLocalDateTime(),
+                            resultSet.getString("author_nickname"),
+                            resultSet.getObject("parent_comment_id", Long.class)));
+        }, ids.toArray());
+        return jdbcTemplate.query(FIND_NEWS_SQL.formatted(placeholders(ids)), (resultSet, rowNum) -> {
+            long id = resultSet.getLong("id");
+            return new ArchivedNews(id, resultSet.getString("title"), resultSet.getString("text"),
+                    resultSet.getString("image_url"), resultSet.getTimestamp("creation_date").toLocalDateTime(),
+                    resultSet.getLong("author_id"), comments.getOrDefault(id, List.of()));
+        }, ids.toArray());
+    }
+
+    /**
+     * Inserts the archive row of an article and the index entries of its comments.
+     */
+    void insert(ArchivedNews news, byte[] payload, LocalDateTime archivedAt) {
+        jdbcTemplate.update(INSERT_ARCHIVE_SQL, news.id(), news.authorId(), Timestamp.valueOf(news.creationDate()),
+                Timestamp.valueOf(archivedAt), payload);
+        jdbcTemplate.batchUpdate(INSERT_ARCHIVE_COMMENT_SQL, news.comments().stream()
+                .map(comment -> new Object[]{comment.id(), news.id()})
+                .toList());
+    }
+
+    /**
+     * Deletes the given articles from {@code news}, together with their comments.
+     *
+     * @return the number of articles deleted
+     */
+    int deleteNews(List<Long> ids) {
+        return jdbcTemplate.update(DELETE_NEWS_SQL.formatted(placeholders(ids)), ids.toArray());
+    }
+
+    /**
+     * Returns the payload of an archived article.
+     */
+    Optional<byte[]> findPayload(long newsId) {
+        return jdbcTemplate.queryForList("SELECT payload FROM news_archive WHERE id = ?", byte[].class, newsId)
+                .stream().findFirst();
+    }
+
+    /**
+     * Returns the id of the archived article a comment belongs to.
+     */
+    Optional<Long> findNewsIdOfComment(long commentId) {
+        return jdbcTemplate.queryForList("SELECT news_id FROM news_archive_comments WHERE id = ?", Long.class,
+                commentId).stream().findFirst();
+    }
+
+    /**
+     * Deletes an archived article with its comments.
+     *
+     * @return the number of articles deleted, zero if none had the id
+     */
+    int delete(long newsId) {
+        return jdbcTemplate.update("DELETE FROM news_archive WHERE id = ?", newsId);
+    }
+
+    private static String placeholders(List<Long> ids) {
+        return String.join(", ", Collections.nCopies(ids.size(), "?"));
+    }
+}
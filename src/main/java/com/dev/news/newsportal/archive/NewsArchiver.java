@@ -0,0 +1,133 @@
+package com.dev.news.newsportal.archive;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.dev.news.newsportal.worker.PeriodicWorker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves news articles older than {@code archive-after} out of {@code news} and {@code comments} into
+ * {@code news_archive}, where {@link NewsArchive} keeps serving them.
+ * <p>
+ * Articles are archived oldest first, at most {@code batch-size} per transaction. The articles of a batch are locked
+ * before they are read, so a comment added concurrently either makes it into the archive or fails as if the article
+ * had been deleted. Their view counts and trending scores are dropped with them; cached copies of the articles stay
+ * valid, as archiving does not change what they contain. Every {@code poll-interval} the archiver runs batches until
+ * no article is old enough.
+ * <p>
+ * Disabled by default. Run it on a single node; concurrent archivers wait on each other's locks.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "news-portal.archive", name = "enabled", havingValue = "true")
+class NewsArchiver implements SmartLifecycle {
+
+    private final NewsArchiveStore store;
+    private final NewsArchive archive;
+    private final TransactionTemplate transactionTemplate;
+    private final NewsPortalProperties.Archive settings;
+    private final Counter newsArchived;
+    private final Counter commentsArchived;
+    private final DistributionSummary payloadSize;
+    private final Timer batchDuration;
+    private final PeriodicWorker worker;
+
+    NewsArchiver(NewsArchiveStore store, NewsArchive archive, PlatformTransactionManager transactionManager,
+                 NewsPortalProperties properties, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.archive = archive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settings = properties.getArchive();
+        this.newsArchived = Counter.builder("newsportal.news.archived")
+                .description("Rows moved into the news archive")
+                .tag("type", "news")
+                .register(meterRegistry);
+        this.commentsArchived = Counter.builder("newsportal.news.archived")
+                .description("Rows moved into the news archive")
+                .tag("type", "comments")
+                .register(meterRegistry);
+        this.payloadSize = DistributionSummary.builder("newsportal.news.archive.payload")
+                .description("Compressed size of an archived news article with its comments")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.batchDuration = Timer.builder("newsportal.news.archive.batch")
+                .description("Duration of archiving one batch of news articles")
+                .register(meterRegistry);
+        this.worker = new PeriodicWorker("news-archiver", Duration.ZERO, settings.getPollInterval(), this::archiveAll);
+    }
+
+    /**
+     * Archives batches of old articles until none is left or the archiver is stopped.
+     *
+     * @return the number of articles archived
+     */
+    int archiveAll() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(settings.getArchiveAfter());
+        int total = 0;
+        int archived;
+        do {
+            archived = archiveBatch(cutoff);
+            total += archived;
+        } while (archived == settings.getBatchSize() && !Thread.currentThread().isInterrupted());
+        if (total > 0) {
+            log.info("Archived {} news articles created before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    /**
+     * Archives one batch of articles created before the cutoff in its own transaction.
+     *
+     * @return the number of articles archived
+     */
+    private int archiveBatch(LocalDateTime cutoff) {
+        long started = System.nanoTime();
+        int archived = transactionTemplate.execute(status -> {
+            List<Long> ids = store.lockOldNews(cutoff, settings.getBatchSize());
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            for (ArchivedNews news : store.findNews(ids)) {
+                byte[] payload = archive.encode(news);
+                store.insert(news, payload, now);
+                payloadSize.record(payload.length);
+                commentsArchived.increment(news.comments().size());
+            }
+            return store.deleteNews(ids);
+        });
+        if (archived > 0) {
+            batchDuration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            newsArchived.increment(archived);
+        }
+        return archived;
+    }
+
+    @Override
+    public void start() {
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        worker.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker.isRunning();
+    }
+}
@@ -0,0 +1,185 @@
+package com.dev.news.newsportal.availability;
+
+import com.dev.news.newsportal.cache.CacheNames;
+import com.dev.news.newsportal.cache.InvalidationBus;
+import com.dev.news.newsportal.cache.InvalidationMessage;
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.dev.news.newsportal.worker.PeriodicWorker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Answers "definitely free" for nicknames and emails without a query, from in-memory Bloom filters over all users.
+ * <p>
+ * The filters are built from the {@code users} table, deleted users included, in the background on startup and
+ * rebuilt every {@code rebuild-interval}, which also sizes them for the grown table. Users created or renamed on any
+ * node are read back by id and added once their write commits, as announced on the {@link InvalidationBus}; a resync
+ * of the bus triggers a rebuild. Announcements during a rebuild go into the filters being built as well, so a user
+ * committed after the rebuild read the table is not lost. A possible hit is confirmed with the database.
+ * <p>
+ * The filters are a shortcut, not the authority: a user being committed on another node is missing for a moment.
+ * The unique constraints of the {@code users} table decide every write.
+ */
+@Slf4j
+@Component
+public class UserIdentifierFilter implements SmartLifecycle {
+
+    /**
+     * Unique identifier of a user.
+     */
+    public enum Field {
+        NICKNAME,
+        EMAIL
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NewsPortalProperties.UserIdentifiers settings;
+    private final Map<Field, Map<String, Counter>> lookups = new EnumMap<>(Field.class);
+    private final Timer rebuildDuration;
+    private volatile Filters current;
+    private volatile Filters next;
+    private final PeriodicWorker worker;
+
+    UserIdentifierFilter(JdbcTemplate jdbcTemplate, NewsPortalProperties properties,
+                         ObjectProvider<InvalidationBus> invalidationBus, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.settings = properties.getUserIdentifiers();
+        this.worker = new PeriodicWorker("user-identifier-filter", Duration.ZERO, settings.getRebuildInterval(),
+                this::rebuild);
+        for (Field field : Field.values()) {
+            Map<String, Counter> results = new HashMap<>();
+            for (String result : new String[]{"absent", "taken", "false_positive"}) {
+                results.put(result, Counter.builder("newsportal.users.identifiers.lookups")
+                        .description("Nickname and email lookups by outcome of the Bloom filter")
+                        .tag("field", field.name().toLowerCase())
+                        .tag("result", result)
+                        .register(meterRegistry));
+            }
+            lookups.put(field, results);
+        }
+        this.rebuildDuration = Timer.builder("newsportal.users.identifiers.rebuild")
+                .description("Duration of rebuilding the nickname and email filters from the database")
+                .register(meterRegistry);
+        invalidationBus.ifAvailable(bus -> bus.subscribe(this::apply));
+    }
+
+    /**
+     * Returns whether a nickname or email is taken, querying the database only if the filter cannot rule it out.
+     *
+     * @param field    the identifier checked
+     * @param value    its value
+     * @param database confirms a possible hit, returning whether the value is actually taken
+     */
+    public boolean isTaken(Field field, String value, Predicate<String> database) {
+        Filters filters = current;
+        if (settings.isEnabled() && filters != null && !filters.of(field).mightContain(value)) {
+            lookups.get(field).get("absent").increment();
+            return false;
+        }
+        boolean taken = database.test(value);
+        if (filters != null) {
+            lookups.get(field).get(taken ? "taken" : "false_positive").increment();
+        }
+        return taken;
+    }
+
+    /**
+     * Adds the identifiers of the users written on any node, or rebuilds when the bus may have missed some.
+     */
+    void apply(InvalidationMessage message) {
+        for (InvalidationMessage.Entry entry : message.entries()) {
+            if (!CacheNames.USER_IDENTIFIERS.equals(entry.cacheName())) {
+                continue;
+            }
+            if (entry.key() == null) {
+                worker.wakeUp();
+            } else {
+                jdbcTemplate.query("SELECT nickname, email FROM users WHERE id = ?", row -> {
+                    add(row.getString("nickname"), row.getString("email"));
+                }, entry.key());
+            }
+        }
+    }
+
+    /**
+     * Adds committed identifiers to the filters in use and to those being built.
+     */
+    private void add(String nickname, String email) {
+        // Filters being built become current before they stop being next, so reading next first reaches both
+        Filters building = next;
+        if (building != null) {
+            building.put(nickname, email);
+        }
+        Filters filters = current;
+        if (filters != null) {
+            filters.put(nickname, email);
+        }
+    }
+
+    /**
+     * Replaces the filters with new ones built from the {@code users} table.
+     */
+    void rebuild() {
+        long started = System.nanoTime();
+        long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        // Leave room for the users created until the next rebuild
+        long capacity = Math.max(settings.getExpectedInsertions(), users * 2);
+        Filters building = new Filters(new BloomFilter(capacity, settings.getFalsePositiveProbability()),
+                new BloomFilter(capacity, settings.getFalsePositiveProbability()));
+        next = building;
+        try {
+            jdbcTemplate.query("SELECT nickname, email FROM users", row -> {
+                building.put(row.getString("nickname"), row.getString("email"));
+            });
+            current = building;
+        } finally {
+            next = null;
+        }
+        rebuildDuration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        log.info("Built nickname and email filters of {} users ({} bits, {} hashes each)", users,
+                building.nicknames().bitCount(), building.nicknames().hashCount());
+    }
+
+    @Override
+    public void start() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        worker.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker.isRunning();
+    }
+
+    private record Filters(BloomFilter nicknames, BloomFilter emails) {
+
+        BloomFilter of(Field field) {
+            return field == Field.NICKNAME ? nicknames : emails;
+        }
+
+        void put(String nickname, String email) {
+            nicknames.put(nickname);
+            emails.put(email);
+        }
+    }
+}
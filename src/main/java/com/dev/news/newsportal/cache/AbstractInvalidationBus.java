@@ -0,0 +1,71 @@
+package com.dev.news.newsportal.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Base of the bus implementations: applies invalidations to the local node right after commit so a node always
+ * reads its own writes, and leaves the transport to other nodes to the subclass.
+ */
+@Slf4j
+abstract class AbstractInvalidationBus implements InvalidationBus {
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final List<Consumer<InvalidationMessage>> handlers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(Set<InvalidationMessage.Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        InvalidationMessage message = new InvalidationMessage(nodeId, entries);
+        send(message);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(message);
+                }
+            });
+        } else {
+            deliver(message);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationMessage> handler) {
+        handlers.add(handler);
+    }
+
+    /**
+     * Sends a message to the other nodes as part of the current transaction, if any.
+     */
+    protected abstract void send(InvalidationMessage message);
+
+    /**
+     * Returns the id identifying messages of this node.
+     */
+    protected String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Hands a message to all local handlers.
+     */
+    protected void deliver(InvalidationMessage message) {
+        for (Consumer<InvalidationMessage> handler : handlers) {
+            try {
+                handler.accept(message);
+            } catch (RuntimeException ex) {
+                log.warn("Cache invalidation handler failed for message from {}: {}", message.sender(), ex.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.dev.news.newsportal.cache;
+
+import com.dev.news.newsportal.event.CommentCreatedEvent;
+import com.dev.news.newsportal.event.CommentDeletedEvent;
+import com.dev.news.newsportal.event.CommentUpdatedEvent;
+import com.dev.news.newsportal.event.DomainEvent;
+import com.dev.news.newsportal.event.NewsCreatedEvent;
+import com.dev.news.newsportal.event.NewsDeletedEvent;
+import com.dev.news.newsportal.event.NewsUpdatedEvent;
+import com.dev.news.newsportal.event.UserCreatedEvent;
+import com.dev.news.newsportal.event.UserDeletedEvent;
+import com.dev.news.newsportal.event.UserUpdatedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+
+/**
+ * Turns domain events into cache invalidations on the {@link InvalidationBus}.
+ * <p>
+ * Runs before commit so the PostgreSQL bus can send its notification inside the writing transaction.
+ */
+@Component
+class CacheInvalidationPublisher {
+
+    private final InvalidationBus invalidationBus;
+
+    CacheInvalidationPublisher(InvalidationBus invalidationBus) {
+        this.invalidationBus = invalidationBus;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    void onDomainEvent(DomainEvent event) {
+        invalidationBus.publish(invalidationsOf(event));
+    }
+
+    static Set<InvalidationMessage.Entry> invalidationsOf(DomainEvent event) {
+        return switch (event) {
+            // Ids looked up before the article or comment existed are remembered as missing
+            case NewsCreatedEvent created ->
+                    Set.of(InvalidationMessage.Entry.of(CacheNames.MISSING_NEWS, created.news().getId()));
+            case NewsUpdatedEvent updated -> Set.of(InvalidationMessage.Entry.of(CacheNames.NEWS, updated.news().getId()));
+            case NewsDeletedEvent deleted -> Set.of(InvalidationMessage.Entry.of(CacheNames.NEWS, deleted.newsId()));
+            // Cached news carry their comments
+            case CommentCreatedEvent created ->
+                    Set.of(InvalidationMessage.Entry.of(CacheNames.NEWS, created.comment().getNewsId()),
+                            InvalidationMessage.Entry.of(CacheNames.MISSING_COMMENTS, created.comment().getId()));
+            case CommentUpdatedEvent updated ->
+                    Set.of(InvalidationMessage.Entry.of(CacheNames.NEWS, updated.comment().getNewsId()));
+            case CommentDeletedEvent deleted -> Set.of(InvalidationMessage.Entry.of(CacheNames.NEWS, deleted.newsId()));
+            case UserCreatedEvent created ->
+                    Set.of(InvalidationMessage.Entry.of(CacheNames.USER_IDENTIFIERS, created.user().getId()));
+            // Cached news carry their author, and user changes are rare enough to drop all of them
+            case UserUpdatedEvent updated -> Set.of(InvalidationMessage.Entry.of(CacheNames.USERS, updated.user().getId()),
+                    InvalidationMessage.Entry.of(CacheNames.USER_IDENTIFIERS, updated.user().getId()),
+                    InvalidationMessage.Entry.all(CacheNames.NEWS));
+            case UserDeletedEvent deleted -> Set.of(InvalidationMessage.Entry.of(CacheNames.USERS, deleted.userId()),
+                    InvalidationMessage.Entry.all(CacheNames.NEWS));
+            default -> Set.of();
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.dev.news.newsportal.cache;
+
+import java.util.List;
+
+/**
+ * Names of the in-process caches kept in sync across nodes by the {@link InvalidationBus}.
+ */
+public final class CacheNames {
+
+    /**
+     * News articles by id, including their comments.
+     */
+    public static final String NEWS = "news";
+
+    /**
+     * Users by id.
+     */
+    public static final String USERS = "users";
+
+    /**
+     * Ids of news articles remembered as missing by the negative cache of lookups. Creating an article drops its id.
+     */
+    public static final String MISSING_NEWS = "missing-news";
+
+    /**
+     * Ids of comments remembered as missing by the negative cache of lookups. Creating a comment drops its id.
+     */
+    public static final String MISSING_COMMENTS = "missing-comments";
+
+    /**
+     * Ids of users whose nickname or email was written, to be added to the filters of taken identifiers.
+     */
+    public static final String USER_IDENTIFIERS = "user-identifiers";
+
+    /**
+     * All of the above.
+     */
+    public static final List<String> ALL = List.of(NEWS, USERS, MISSING_NEWS, MISSING_COMMENTS, USER_IDENTIFIERS);
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,27 @@
+package com.dev.news.newsportal.cache;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Propagates cache invalidations to every application node, including the one making the change.
+ * <p>
+ * Invalidations published inside a transaction are delivered only once it commits and are discarded on rollback.
+ */
+public interface InvalidationBus {
+
+    /**
+     * Publishes invalidations of the current transaction, or immediately when no transaction is active.
+     *
+     * @param entries the cache entries to drop on every node
+     */
+    void publish(Set<InvalidationMessage.Entry> entries);
+
+    /**
+     * Registers a handler for invalidations. Handlers receive a whole-cache flush for every cache when the bus may
+     * have missed messages, for example after a lost connection.
+     *
+     * @param handler the handler, called on the delivering thread
+     */
+    void subscribe(Consumer<InvalidationMessage> handler);
+}
@@ -0,0 +1,89 @@
+package com.dev.news.newsportal.cache;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A set of cache entries to drop, as sent between nodes.
+ * <p>
+ * The wire form is a single compact line, {@code <sender> <cache>:<key> <cache>:*}, where {@code *} drops the whole
+ * cache. Messages longer than {@link #MAX_ENCODED_LENGTH} are collapsed to whole-cache entries so they always fit
+ * into one PostgreSQL notification.
+ *
+ * @param sender  id of the node that made the change
+ * @param entries the entries to drop
+ */
+public record InvalidationMessage(String sender, Set<Entry> entries) {
+
+    /**
+     * Upper bound of the encoded length, safely below the 8000 byte payload limit of {@code NOTIFY}.
+     */
+    static final int MAX_ENCODED_LENGTH = 7_000;
+
+    private static final String ALL_KEYS = "*";
+
+    public InvalidationMessage {
+        entries = Set.copyOf(entries);
+    }
+
+    /**
+     * Encodes the message into its wire form.
+     */
+    public String encode() {
+        StringBuilder encoded = new StringBuilder(sender);
+        for (Entry entry : entries) {
+            encoded.append(' ').append(entry.cacheName()).append(':')
+                    .append(entry.key() == null ? ALL_KEYS : entry.key().toString());
+        }
+        if (encoded.length() <= MAX_ENCODED_LENGTH) {
+            return encoded.toString();
+        }
+        Set<String> cacheNames = new LinkedHashSet<>();
+        entries.forEach(entry -> cacheNames.add(entry.cacheName()));
+        StringBuilder collapsed = new StringBuilder(sender);
+        cacheNames.forEach(cacheName -> collapsed.append(' ').append(cacheName).append(':').append(ALL_KEYS));
+        return collapsed.toString();
+    }
+
+    /**
+     * Parses a message from its wire form.
+     *
+     * @throws IllegalArgumentException if the payload is malformed
+     */
+    public static InvalidationMessage decode(String payload) {
+        String[] parts = payload.trim().split(" ");
+        if (parts[0].isEmpty()) {
+            throw new IllegalArgumentException("Invalidation message without sender: " + payload);
+        }
+        List<Entry> entries = new ArrayList<>(parts.length - 1);
+        for (int i = 1; i < parts.length; i++) {
+            int separator = parts[i].lastIndexOf(':');
+            if (separator <= 0 || separator == parts[i].length() - 1) {
+                throw new IllegalArgumentException("Malformed invalidation entry: " + parts[i]);
+            }
+            String cacheName = parts[i].substring(0, separator);
+            String key = parts[i].substring(separator + 1);
+            entries.add(ALL_KEYS.equals(key) ? Entry.all(cacheName) : Entry.of(cacheName, Long.parseLong(key)));
+        }
+        return new InvalidationMessage(parts[0], new LinkedHashSet<>(entries));
+    }
+
+    /**
+     * A single cache entry, or a whole cache when the key is {@code null}.
+     *
+     * @param cacheName name of the cache
+     * @param key       id of the cached entity, or {@code null} for every entry
+     */
+    public record Entry(String cacheName, Long key) {
+
+        public static Entry of(String cacheName, Long key) {
+            return new Entry(cacheName, key);
+        }
+
+        public static Entry all(String cacheName) {
+            return new Entry(cacheName, null);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.dev.news.newsportal.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies invalidations received from the {@link InvalidationBus} to the caches of this node.
+ */
+@Slf4j
+@Component
+class LocalCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    LocalCacheInvalidator(CacheManager cacheManager, InvalidationBus invalidationBus) {
+        this.cacheManager = cacheManager;
+        invalidationBus.subscribe(this::apply);
+    }
+
+    void apply(InvalidationMessage message) {
+        for (InvalidationMessage.Entry entry : message.entries()) {
+            Cache cache = cacheManager.getCache(entry.cacheName());
+            if (cache == null) {
+                continue;
+            }
+            if (entry.key() == null) {
+                cache.clear();
+            } else {
+                cache.evict(entry.key());
+            }
+        }
+        log.debug("Applied {} cache invalidations from {}", message.entries().size(), message.sender());
+    }
+}
@@ -0,0 +1,18 @@
+package com.dev.news.newsportal.cache;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-JVM bus for single-node runs and the H2 profile. Messages never leave the process, so only the local caches
+ * are invalidated, with the same after-commit semantics as the PostgreSQL bus.
+ */
+@Component
+@Profile("!pgsql")
+class LoopbackInvalidationBus extends AbstractInvalidationBus {
+
+    @Override
+    protected void send(InvalidationMessage message) {
+        // No other nodes to reach
+    }
+}
@@ -0,0 +1,154 @@
+package com.dev.news.newsportal.cache;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Cross-node bus on PostgreSQL {@code LISTEN/NOTIFY}.
+ * <p>
+ * Messages are sent with {@code pg_notify} on the connection of the writing transaction, so PostgreSQL delivers them
+ * to the listening nodes exactly when that transaction commits and drops them on rollback. Every node listens on a
+ * dedicated connection outside the pool and skips its own messages, which were already applied locally.
+ * <p>
+ * Notifications sent while a node is disconnected are lost. Each successful {@code LISTEN} therefore starts a new
+ * epoch that begins with a flush of all caches, so entries cached before or during the gap can never outlive it.
+ */
+@Slf4j
+@Component
+@Profile("pgsql")
+class PostgresInvalidationBus extends AbstractInvalidationBus implements SmartLifecycle {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final NewsPortalProperties.CacheInvalidation settings;
+    private final Counter received;
+    private final Counter resyncs;
+    private volatile Thread listener;
+    private volatile long epoch;
+
+    PostgresInvalidationBus(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties,
+                            NewsPortalProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.settings = properties.getCacheInvalidation();
+        this.received = Counter.builder("newsportal.cache.invalidations.received")
+                .description("Cache invalidation messages received from other nodes")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("newsportal.cache.invalidations.resyncs")
+                .description("Full cache flushes after (re)connecting the LISTEN connection")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void send(InvalidationMessage message) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> {
+        }, settings.getChannel(), message.encode());
+    }
+
+    /**
+     * Returns the number of times the listener has (re)established its subscription.
+     */
+    long getEpoch() {
+        return epoch;
+    }
+
+    private void listen() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + settings.getChannel());
+                }
+                epoch++;
+                log.info("Listening for cache invalidations on channel {} (epoch {})", settings.getChannel(), epoch);
+                resync();
+                receive(connection);
+            } catch (SQLException ex) {
+                log.warn("Cache invalidation listener lost its connection: {}", ex.toString());
+            }
+            try {
+                Thread.sleep(settings.getReconnectDelay());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void receive(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        int pollMillis = (int) settings.getPollInterval().toMillis();
+        while (!Thread.currentThread().isInterrupted()) {
+            PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+            if (notifications == null || notifications.length == 0) {
+                // An idle socket does not notice a dead server, so probe it between notifications
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("LISTEN connection is no longer valid");
+                }
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                handle(notification.getParameter());
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        InvalidationMessage message;
+        try {
+            message = InvalidationMessage.decode(payload);
+        } catch (IllegalArgumentException ex) {
+            log.warn("Ignoring malformed cache invalidation: {}", ex.getMessage());
+            return;
+        }
+        if (!message.sender().equals(getNodeId())) {
+            received.increment();
+            deliver(message);
+        }
+    }
+
+    private void resync() {
+        Set<InvalidationMessage.Entry> everything = new LinkedHashSet<>();
+        CacheNames.ALL.forEach(cacheName -> everything.add(InvalidationMessage.Entry.all(cacheName)));
+        resyncs.increment();
+        deliver(new InvalidationMessage(getNodeId(), everything));
+    }
+
+    @Override
+    public void start() {
+        Thread thread = Thread.ofPlatform().name("cache-invalidation-listener").daemon().unstarted(this::listen);
+        listener = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = listener;
+        listener = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return listener != null;
+    }
+}
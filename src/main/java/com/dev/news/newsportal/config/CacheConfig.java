@@ -0,0 +1,16 @@
+package com.dev.news.newsportal.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Enables the in-process Caffeine caches configured through {@code spring.cache.*}.
+ * <p>
+ * The caching advice is ordered before the transaction advice, so cache hits never open a transaction or borrow
+ * a connection.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+}
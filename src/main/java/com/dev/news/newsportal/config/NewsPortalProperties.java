@@ -1,13 +1,27 @@
 package com.dev.news.newsportal.config;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Configuration properties for the News Portal application.
  * Groups related configuration properties with validation support.
@@ -25,6 +39,78 @@ public class NewsPortalProperties {
     @Valid
     private Security security = new Security();
 
+    @NestedConfigurationProperty
+    @Valid
+    private Seed seed = new Seed();
+
+    @NestedConfigurationProperty
+    @Valid
+    private RequestLog requestLog = new RequestLog();
+
+    @NestedConfigurationProperty
+    @Valid
+    private Feed feed = new Feed();
+
+    @NestedConfigurationProperty
+    @Valid
+    private CommentUpdates commentUpdates = new CommentUpdates();
+
+    @NestedConfigurationProperty
+    @Valid
+    private Outbox outbox = new Outbox();
+
+    @NestedConfigurationProperty
+    @Valid
+    private CacheInvalidation cacheInvalidation = new CacheInvalidation();
+
+    @NestedConfigurationProperty
+    @Valid
+    private RateLimit rateLimit = new RateLimit();
+
+    @NestedConfigurationProperty
+    @Valid
+    private CommentWriteCoalescing commentWriteCoalescing = new CommentWriteCoalescing();
+
+    @NestedConfigurationProperty
+    @Valid
+    private ViewCounts viewCounts = new ViewCounts();
+
+    @NestedConfigurationProperty
+    @Valid
+    private Trending trending = new Trending();
+
+    @NestedConfigurationProperty
+    @Valid
+    private UserPurge userPurge = new UserPurge();
+
+    @NestedConfigurationProperty
+    @Valid
+    private UserIdentifiers userIdentifiers = new UserIdentifiers();
+
+    @NestedConfigurationProperty
+    @Valid
+    private NotFoundCache notFoundCache = new NotFoundCache();
+
+    @NestedConfigurationProperty
+    @Valid
+    private CommentPartitions commentPartitions = new CommentPartitions();
+
+    @NestedConfigurationProperty
+    @Valid
+    private Archive archive = new Archive();
+
+    @NestedConfigurationProperty
+    @Valid
+    private Reactive reactive = new Reactive();
+
+    @NestedConfigurationProperty
+    @Valid
+    private NewsPage newsPage = new NewsPage();
+
+    @NestedConfigurationProperty
+    @Valid
+    private SingleFlight singleFlight = new SingleFlight();
+
     /**
      * Database-related configuration properties.
      */
@@ -50,4 +136,651 @@ public class NewsPortalProperties {
         @NotBlank
         private String jwtSecret;
     }
-}
\ No newline at end of file
+
+    /**
+     * Synthetic dataset generator configuration properties.
+     * Used by the {@code --seed} command line mode to populate the database with realistic volumes.
+     */
+    @Data
+    public static class Seed {
+        /**
+         * Whether the dataset generator runs on startup.
+         * Enabled automatically by the {@code --seed} command line switch.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Seed of the pseudo-random generator. The same seed and settings always produce the same dataset.
+         */
+        private long randomSeed = 42L;
+
+        /**
+         * Number of users to generate.
+         */
+        @Min(1)
+        private int users = 10_000;
+
+        /**
+         * Number of news articles to generate.
+         */
+        @Min(0)
+        private int news = 50_000;
+
+        /**
+         * Zipf exponent of the article count per author. Higher values concentrate articles on fewer authors.
+         */
+        @DecimalMin("0.0")
+        private double authorZipfExponent = 1.1;
+
+        /**
+         * Upper bound of comments generated for a single article.
+         */
+        @Min(0)
+        private int maxCommentsPerNews = 1_000;
+
+        /**
+         * Zipf exponent of the comment count per article. Higher values produce fewer viral threads.
+         */
+        @DecimalMin("0.0")
+        private double commentsZipfExponent = 1.2;
+
+        /**
+         * Maximum nesting depth of replies, top-level comments having depth 0.
+         */
+        @Min(0)
+        private int maxReplyDepth = 8;
+
+        /**
+         * Zipf exponent of the reply depth. Higher values keep threads flatter.
+         */
+        @DecimalMin("0.0")
+        private double replyDepthZipfExponent = 1.5;
+
+        /**
+         * Number of rows written per JDBC batch and transaction.
+         */
+        @Min(1)
+        private int batchSize = 1_000;
+
+        /**
+         * Most recent creation date of generated articles. A fixed value keeps runs reproducible.
+         */
+        @NotNull
+        private LocalDateTime referenceDate = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        /**
+         * Number of days before the reference date over which article creation dates are spread.
+         */
+        @Min(1)
+        private int timeSpanDays = 730;
+    }
+
+    /**
+     * Request summary logging configuration properties.
+     */
+    @Data
+    public static class RequestLog {
+        /**
+         * Whether one summary event is written per request.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Fraction of successful requests that are logged, between 0 and 1.
+         * Client errors, server errors and slow requests are always logged.
+         */
+        @DecimalMin("0.0")
+        @DecimalMax("1.0")
+        private double successSampleRate = 0.1;
+
+        /**
+         * Requests taking at least this long are always logged.
+         */
+        @NotNull
+        private Duration slowThreshold = Duration.ofMillis(500);
+    }
+
+    /**
+     * Live news feed configuration properties.
+     * Controls the Server-Sent Events stream of newly published news.
+     */
+    @Data
+    public static class Feed {
+        /**
+         * Number of recent events kept in memory for {@code Last-Event-ID} resumption.
+         */
+        @Min(0)
+        private int backlogSize = 256;
+
+        /**
+         * Number of undelivered events buffered per subscriber.
+         * Subscribers whose buffer overflows are disconnected as slow consumers.
+         */
+        @Min(1)
+        private int subscriberBufferSize = 64;
+
+        /**
+         * Maximum number of concurrently connected subscribers.
+         */
+        @Min(1)
+        private int maxSubscribers = 50_000;
+
+        /**
+         * Interval of keep-alive comments sent to idle subscribers.
+         */
+        @NotNull
+        private Duration heartbeatInterval = Duration.ofSeconds(20);
+
+        /**
+         * Lifetime of a single stream connection. Clients reconnect and resume with {@code Last-Event-ID}.
+         */
+        @NotNull
+        private Duration connectionTimeout = Duration.ofMinutes(30);
+    }
+
+    /**
+     * Live comment updates configuration properties.
+     * Controls the WebSocket endpoint that pushes comment changes per news article.
+     */
+    @Data
+    public static class CommentUpdates {
+        /**
+         * Number of delivery shards. Each news article is owned by one shard, which keeps its updates in order.
+         */
+        @Min(1)
+        private int shards = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+        /**
+         * Time a shard waits after the first pending update so a burst is sent as one frame per article.
+         */
+        @NotNull
+        private Duration batchWindow = Duration.ofMillis(25);
+
+        /**
+         * Maximum number of updates combined into one frame.
+         */
+        @Min(1)
+        private int maxBatchSize = 100;
+
+        /**
+         * Maximum number of news articles a single connection can subscribe to.
+         */
+        @Min(1)
+        private int maxSubscriptionsPerSession = 20;
+
+        /**
+         * Time a single write may take before the connection is closed as a slow consumer.
+         */
+        @NotNull
+        private Duration sendTimeLimit = Duration.ofSeconds(10);
+
+        /**
+         * Amount of unsent data buffered per connection before it is closed as a slow consumer.
+         */
+        @NotNull
+        private DataSize sendBufferSizeLimit = DataSize.ofKilobytes(512);
+
+        /**
+         * Origin patterns allowed to open a connection.
+         */
+        private List<String> allowedOriginPatterns = new ArrayList<>(List.of("*"));
+    }
+
+    /**
+     * Transactional outbox configuration properties.
+     * Controls how domain events recorded with each write are relayed to in-process sinks.
+     */
+    @Data
+    public static class Outbox {
+        /**
+         * Whether domain events are recorded in the outbox and relayed.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Interval at which the relay checks for events when it has not been woken by a commit.
+         */
+        @NotNull
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        /**
+         * Number of events read and deleted per relay round.
+         */
+        @Min(1)
+        private int batchSize = 200;
+
+        /**
+         * Number of delivery attempts after which a failing event is logged and dropped.
+         */
+        @Min(1)
+        private int maxAttempts = 10;
+    }
+
+    /**
+     * Cross-node cache invalidation configuration properties.
+     * Used by the PostgreSQL {@code LISTEN/NOTIFY} invalidation bus of the {@code pgsql} profile.
+     */
+    @Data
+    public static class CacheInvalidation {
+        /**
+         * Notification channel shared by all nodes. Must be a plain lower-case SQL identifier.
+         */
+        @NotBlank
+        @Pattern(regexp = "[a-z_][a-z0-9_]*")
+        private String channel = "news_portal_cache";
+
+        /**
+         * Time the listener waits for notifications before probing its connection.
+         */
+        @NotNull
+        private Duration pollInterval = Duration.ofSeconds(10);
+
+        /**
+         * Pause before the listener reconnects after losing its connection.
+         */
+        @NotNull
+        private Duration reconnectDelay = Duration.ofSeconds(5);
+    }
+
+    /**
+     * Rate limiting configuration properties.
+     * Limits are token buckets per OpenAPI operation and client key.
+     */
+    @Data
+    public static class RateLimit {
+        /**
+         * Whether rate limiting is applied.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of buckets kept per operation. The least recently used ones are evicted first.
+         */
+        @Min(1)
+        private int maxBuckets = 100_000;
+
+        /**
+         * Request header carrying the API key of a client.
+         */
+        @NotBlank
+        private String apiKeyHeader = "X-API-Key";
+
+        /**
+         * API keys issued to clients. Only these get a bucket of their own; any other value of the API key header
+         * is ignored, as a client could send a new one with every request.
+         */
+        private Set<String> apiKeys = new LinkedHashSet<>();
+
+        /**
+         * Largest request body read up front for the {@code author-nickname} key source. Larger bodies, and bodies
+         * without a {@code Content-Length}, are passed on unread and limited by the client address only.
+         */
+        @NotNull
+        private DataSize maxBodySize = DataSize.ofKilobytes(64);
+
+        /**
+         * Limits by OpenAPI operation id, such as {@code createComment}. Operations without an entry are unlimited.
+         */
+        private Map<String, @Valid Operation> operations = new LinkedHashMap<>();
+
+        /**
+         * How the client of a request is identified.
+         */
+        public enum KeySource {
+            /**
+             * Remote address of the request.
+             */
+            IP,
+            /**
+             * Value of the API key header if it is one of the issued {@code apiKeys}, otherwise the remote address.
+             */
+            API_KEY,
+            /**
+             * Remote address, and in addition the {@code authorNickname} field of the JSON request body. Nicknames
+             * are not authenticated, so every request is also charged to its address.
+             */
+            AUTHOR_NICKNAME
+        }
+
+        /**
+         * Token bucket settings of a single operation.
+         */
+        @Data
+        public static class Operation {
+            /**
+             * Number of requests allowed per period, which is also the burst size.
+             */
+            @Min(1)
+            private int limit = 60;
+
+            /**
+             * Time in which an empty bucket refills completely.
+             */
+            @NotNull
+            private Duration period = Duration.ofMinutes(1);
+
+            /**
+             * How clients are told apart.
+             */
+            @NotNull
+            private KeySource key = KeySource.IP;
+        }
+    }
+
+    /**
+     * Comment write coalescing configuration properties.
+     * Concurrent comment creations are collected into batches that are inserted and committed together.
+     */
+    @Data
+    public static class CommentWriteCoalescing {
+        /**
+         * Whether comment creations are coalesced. When disabled every comment is committed on its own.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Time the writer keeps collecting after the first comment of a batch arrives.
+         */
+        @NotNull
+        private Duration batchWindow = Duration.ofMillis(2);
+
+        /**
+         * Maximum number of comments inserted in one transaction.
+         */
+        @Min(1)
+        private int maxBatchSize = 256;
+
+        /**
+         * Maximum number of comments waiting for the writer. Further comments are created directly.
+         */
+        @Min(1)
+        private int queueCapacity = 4096;
+
+        /**
+         * Time a caller waits for the writer to pick up its comment before creating it directly.
+         */
+        @NotNull
+        private Duration waitTimeout = Duration.ofSeconds(5);
+    }
+
+    /**
+     * News view counting configuration properties.
+     * Views are accumulated in memory and added to the {@code news_stats} table in batches.
+     */
+    @Data
+    public static class ViewCounts {
+        /**
+         * Whether views are counted.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Whether every successful read of a single news article counts as a view, in addition to the view beacon.
+         */
+        private boolean countReads = true;
+
+        /**
+         * Interval between writes of the accumulated views.
+         */
+        @NotNull
+        private Duration flushInterval = Duration.ofSeconds(5);
+
+        /**
+         * Maximum number of articles updated by one statement.
+         */
+        @Min(1)
+        private int maxBatchSize = 1000;
+    }
+
+    /**
+     * Trending news configuration properties.
+     * Articles are ranked by engagement that loses half of its weight every half-life.
+     */
+    @Data
+    public static class Trending {
+        /**
+         * Whether the trending ranking is maintained.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Time after which an interaction counts half as much as a new one.
+         */
+        @NotNull
+        private Duration halfLife = Duration.ofHours(6);
+
+        /**
+         * Maximum number of articles tracked. The lowest scored one is dropped when a new one arrives.
+         */
+        @Min(1)
+        private int capacity = 10_000;
+
+        /**
+         * Weight of a new comment.
+         */
+        @DecimalMin("0.0")
+        private double commentWeight = 1.0;
+
+        /**
+         * Weight of a single view.
+         */
+        @DecimalMin("0.0")
+        private double viewWeight = 0.05;
+
+        /**
+         * Interval between snapshots of the ranking to the database.
+         */
+        @NotNull
+        private Duration snapshotInterval = Duration.ofMinutes(1);
+
+        /**
+         * Rows written per JDBC batch when saving a snapshot.
+         */
+        @Min(1)
+        private int snapshotBatchSize = 500;
+    }
+
+    /**
+     * User purge configuration properties.
+     * The news articles and comments of deleted users are removed by background jobs, one chunk per transaction.
+     */
+    @Data
+    public static class UserPurge {
+        /**
+         * Whether purge jobs are run. Deleted users and their news articles stay hidden either way.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of comments or news articles removed per transaction.
+         */
+        @Min(1)
+        private int chunkSize = 500;
+
+        /**
+         * Interval between checks for unfinished jobs, such as ones whose last chunk failed.
+         */
+        @NotNull
+        private Duration pollInterval = Duration.ofSeconds(10);
+    }
+
+    /**
+     * User identifier filter configuration properties.
+     * Nicknames and emails are looked up in in-memory Bloom filters before the database.
+     */
+    @Data
+    public static class UserIdentifiers {
+        /**
+         * Whether the filters are built and consulted. When disabled every lookup queries the database.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Minimum number of users each filter is sized for. Rebuilds size them for twice the current user count.
+         */
+        @Min(1)
+        private long expectedInsertions = 100_000;
+
+        /**
+         * Share of lookups of free values that still query the database.
+         */
+        @DecimalMin("0.000001")
+        @DecimalMax("0.5")
+        private double falsePositiveProbability = 0.01;
+
+        /**
+         * Interval between rebuilds of the filters from the database.
+         */
+        @NotNull
+        private Duration rebuildInterval = Duration.ofHours(1);
+    }
+
+    /**
+     * Negative cache configuration properties.
+     * Lookups of missing news, comments and users are remembered and answered before the service layer.
+     */
+    @Data
+    public static class NotFoundCache {
+        /**
+         * Whether misses are remembered. When disabled every lookup reaches the database.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of remembered misses.
+         */
+        @Min(1)
+        private long maximumSize = 100_000;
+
+        /**
+         * How long a miss is remembered. Bounds how long a resource created on another node still looks missing.
+         */
+        @NotNull
+        private Duration ttl = Duration.ofMinutes(1);
+    }
+
+    /**
+     * Comment partition configuration properties.
+     * On PostgreSQL comments are partitioned by creation month; upcoming months are created ahead of time.
+     */
+    @Data
+    public static class CommentPartitions {
+        /**
+         * Whether partitions are created and dropped automatically. Rows without a partition go to the default one.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of months after the current one whose partitions are created in advance.
+         */
+        @Min(1)
+        private int premadeMonths = 3;
+
+        /**
+         * Number of complete months of comments kept before the current one. Older partitions are dropped together
+         * with replies to their comments. Zero keeps all comments.
+         */
+        @Min(0)
+        private int retentionMonths = 0;
+
+        /**
+         * Interval between maintenance runs.
+         */
+        @NotNull
+        private Duration checkInterval = Duration.ofHours(1);
+    }
+
+    /**
+     * News archive configuration properties.
+     * Old news articles are moved with their comments into compressed archive rows and stay readable from there.
+     */
+    @Data
+    public static class Archive {
+        /**
+         * Whether old news articles are archived. Articles archived before stay readable either way.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Age from which a news article is archived.
+         */
+        @NotNull
+        private Duration archiveAfter = Duration.ofDays(365);
+
+        /**
+         * Maximum number of news articles archived per transaction.
+         */
+        @Min(1)
+        private int batchSize = 100;
+
+        /**
+         * Interval between archiving runs.
+         */
+        @NotNull
+        private Duration pollInterval = Duration.ofHours(1);
+    }
+
+    /**
+     * Reactive read stack configuration properties.
+     * The hottest read endpoints are also served by a non-blocking server on a port of their own.
+     */
+    @Data
+    public static class Reactive {
+        /**
+         * Whether the reactive server is started next to the servlet one.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Port of the reactive server. Zero picks a free port.
+         */
+        @Min(0)
+        private int port = 8081;
+
+        /**
+         * Maximum number of R2DBC connections in the pool of the reactive server.
+         */
+        @Min(1)
+        private int maxConnections = 20;
+
+        /**
+         * Number of rows fetched from the database at a time while a result is streamed to a client.
+         */
+        @Min(1)
+        private int fetchSize = 256;
+
+        /**
+         * Token bucket limit per client on all routes of the reactive server, which the servlet filters do not
+         * reach. Applied unless {@code news-portal.rate-limit.enabled} is false.
+         */
+        @Valid
+        @NotNull
+        private RateLimit.Operation rateLimit = new RateLimit.Operation();
+    }
+
+    /**
+     * The parts of an article page are read concurrently while at most half of the connection pool is in use.
+     * The parts of an article page are read concurrently, each on a virtual thread of its own.
+     */
+    @Data
+    public static class NewsPage {
+        /**
+         * Time within which all parts of an article page must be read, or the request fails with 503.
+         */
+        @NotNull
+        private Duration timeout = Duration.ofSeconds(2);
+    }
+
+    /**
+     * Single-flight configuration properties.
+     * Identical reads of a news article running at the same time share one load.
+     */
+    @Data
+    public static class SingleFlight {
+        /**
+         * Longest time a read waits for an identical read already in flight, or the request fails with 503.
+         */
+        @NotNull
+        private Duration waitTimeout = Duration.ofSeconds(2);
+    }
+}
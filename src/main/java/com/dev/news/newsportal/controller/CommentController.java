@@ -6,6 +6,8 @@ import com.dev.news.newsportal.api.model.comments.CommentRequest;
 import com.dev.news.newsportal.api.model.comments.CommentResponse;
 import com.dev.news.newsportal.mapper.api.CommentApiMapper;
 import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.CommentSummaryModel;
+import com.dev.news.newsportal.model.FieldSelection;
 import com.dev.news.newsportal.service.CommentService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
@@ -13,10 +15,15 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 class CommentController implements CommentsApi {
 
+    // Properties of CommentListItem that can be selected with the fields parameter
+    private static final Set<String> COMMENT_LIST_FIELDS =
+            Set.of("id", "text", "creationDate", "authorNickname", "hasReplies");
+
     private final CommentService commentService;
     private final CommentApiMapper commentApiMapper;
 
@@ -33,7 +40,12 @@ class CommentController implements CommentsApi {
     }
 
     @Override
-    public ResponseEntity<List<CommentListItem>> getCommentsByNews(Long newsId) {
+    public ResponseEntity<List<CommentListItem>> getCommentsByNews(Long newsId, String fields) {
+        if (fields != null) {
+            FieldSelection selection = FieldSelectionAdvice.select(fields, COMMENT_LIST_FIELDS);
+            List<CommentSummaryModel> comments = commentService.findByNews(newsId, selection);
+            return ResponseEntity.ok(commentApiMapper.toSummaryListItemList(comments));
+        }
         List<CommentModel> commentModels = commentService.findByNews(newsId);
         List<CommentListItem> commentListItems = commentApiMapper.toListItemList(commentModels);
         return ResponseEntity.ok(commentListItems);
@@ -0,0 +1,68 @@
+package com.dev.news.newsportal.controller;
+
+import com.dev.news.newsportal.api.model.news.PagedNewsListResponse;
+import com.dev.news.newsportal.model.FieldSelection;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Set;
+
+/**
+ * Leaves only the properties selected with the {@code fields} query parameter in the responses of the read
+ * endpoints that support it. The generated response classes write properties that were not read as {@code null},
+ * so they are removed from the serialized tree instead.
+ */
+@RestControllerAdvice(assignableTypes = {NewsController.class, CommentController.class, UserController.class})
+class FieldSelectionAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    private static final String SELECTION_ATTRIBUTE = FieldSelectionAdvice.class.getName() + ".selection";
+
+    private final ObjectMapper objectMapper;
+
+    FieldSelectionAdvice(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Parses the {@code fields} parameter of the current request and has its response filtered accordingly.
+     *
+     * @throws com.dev.news.newsportal.exception.ValidationException if a field is not allowed
+     */
+    static FieldSelection select(String fields, Set<String> allowed) {
+        FieldSelection selection = FieldSelection.parse(fields, allowed);
+        RequestContextHolder.currentRequestAttributes()
+                .setAttribute(SELECTION_ATTRIBUTE, selection, RequestAttributes.SCOPE_REQUEST);
+        return selection;
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)
+                || !(servletRequest.getServletRequest().getAttribute(SELECTION_ATTRIBUTE)
+                instanceof FieldSelection selection)) {
+            return;
+        }
+        JsonNode body = objectMapper.valueToTree(bodyContainer.getValue());
+        // Pages keep their paging properties; only the selected properties of their articles remain
+        JsonNode selected = bodyContainer.getValue() instanceof PagedNewsListResponse ? body.get("content") : body;
+        if (selected.isArray()) {
+            selected.forEach(item -> ((ObjectNode) item).retain(selection.names()));
+        } else {
+            ((ObjectNode) selected).retain(selection.names());
+        }
+        bodyContainer.setValue(body);
+    }
+}
@@ -1,18 +1,28 @@
 package com.dev.news.newsportal.controller;
 
 import com.dev.news.newsportal.api.model.news.NewsListItem;
+import com.dev.news.newsportal.api.model.news.NewsPageResponse;
 import com.dev.news.newsportal.api.model.news.NewsRequest;
 import com.dev.news.newsportal.api.model.news.NewsResponse;
 import com.dev.news.newsportal.api.model.news.PagedNewsListResponse;
 import com.dev.news.newsportal.api.news.NewsApi;
 import com.dev.news.newsportal.mapper.api.NewsApiMapper;
+import com.dev.news.newsportal.model.FieldSelection;
+import com.dev.news.newsportal.model.NewsFeedCursor;
 import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.NewsPageModel;
+import com.dev.news.newsportal.model.NewsSummaryModel;
 import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.service.NewsPageService;
 import com.dev.news.newsportal.service.NewsService;
+import com.dev.news.newsportal.trending.TrendingNews;
+import com.dev.news.newsportal.views.NewsViewCounter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -20,20 +30,35 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 class NewsController implements NewsApi {
 
+    // Properties of NewsResponse and NewsListItem that can be selected with the fields parameter
+    private static final Set<String> NEWS_FIELDS =
+            Set.of("id", "title", "text", "imageUrl", "creationDate", "author", "commentCount");
+    private static final Set<String> NEWS_LIST_FIELDS =
+            Set.of("id", "title", "imageUrl", "creationDate", "author", "commentCount");
+
     private final NewsService newsService;
+    private final NewsPageService newsPageService;
     private final NewsApiMapper newsApiMapper;
+    private final NewsViewCounter viewCounter;
+    private final TrendingNews trendingNews;
 
-    NewsController(NewsService newsService, NewsApiMapper newsApiMapper) {
+    NewsController(NewsService newsService, NewsPageService newsPageService, NewsApiMapper newsApiMapper,
+                   ObjectProvider<NewsViewCounter> viewCounter, ObjectProvider<TrendingNews> trendingNews) {
         this.newsService = newsService;
+        this.newsPageService = newsPageService;
         this.newsApiMapper = newsApiMapper;
+        this.viewCounter = viewCounter.getIfAvailable();
+        this.trendingNews = trendingNews.getIfAvailable();
     }
 
     @Override
-    public ResponseEntity<PagedNewsListResponse> getAllNews(Integer page, Integer size, List<String> sort) {
+    public ResponseEntity<PagedNewsListResponse> getAllNews(Integer page, Integer size, List<String> sort,
+                                                            String fields) {
         // Create Pageable with default values if parameters are null
         int pageNumber = page != null ? page : 0;
         int pageSize = size != null ? size : 10;
@@ -53,18 +78,46 @@ class NewsController implements NewsApi {
         }
         
         Pageable pageable = PageRequest.of(pageNumber, pageSize, sortObj);
+        if (fields != null) {
+            FieldSelection selection = FieldSelectionAdvice.select(fields, NEWS_LIST_FIELDS);
+            return ResponseEntity.ok(newsApiMapper.toPagedSummaryResponse(newsService.findAll(pageable, selection)));
+        }
         Page<NewsModel> newsPage = newsService.findAll(pageable);
         PagedNewsListResponse response = newsApiMapper.toPagedResponse(newsPage);
         return ResponseEntity.ok(response);
     }
 
     @Override
-    public ResponseEntity<NewsResponse> getNewsById(Long id) {
-        NewsModel newsModel = newsService.findById(id);
+    public ResponseEntity<NewsResponse> getNewsById(Long id, String fields) {
+        NewsModel newsModel = fields != null
+                ? newsService.findById(id, FieldSelectionAdvice.select(fields, NEWS_FIELDS))
+                : newsService.findById(id);
+        if (viewCounter != null && viewCounter.isCountingReads()) {
+            viewCounter.record(id);
+        }
         NewsResponse newsResponse = newsApiMapper.toResponse(newsModel);
         return ResponseEntity.ok(newsResponse);
     }
 
+    @Override
+    public ResponseEntity<NewsPageResponse> getNewsPage(Long id, Integer commentLimit) {
+        NewsPageModel page = newsPageService.findPage(id, commentLimit != null ? commentLimit : 20);
+        if (viewCounter != null && viewCounter.isCountingReads()) {
+            viewCounter.record(id);
+        }
+        return ResponseEntity.ok(newsApiMapper.toPageResponse(page));
+    }
+
+    @Override
+    public ResponseEntity<Void> recordNewsView(Long id) {
+        // Fails with 404 for unknown articles; served from the news cache for known ones
+        newsService.findById(id);
+        if (viewCounter != null) {
+            viewCounter.record(id);
+        }
+        return ResponseEntity.accepted().build();
+    }
+
     @Override
     public ResponseEntity<NewsResponse> createNews(NewsRequest newsRequest) {
         // Convert DTO to domain model
@@ -119,10 +172,32 @@ class NewsController implements NewsApi {
     }
 
     @Override
-    public ResponseEntity<List<NewsListItem>> getNewsByAuthor(Long authorId) {
-        List<NewsModel> newsModels = newsService.findByAuthor(authorId);
-        List<NewsListItem> newsListItems = newsApiMapper.toListItemList(newsModels);
-        return ResponseEntity.ok(newsListItems);
+    public ResponseEntity<List<NewsListItem>> getTrendingNews(Integer limit) {
+        if (trendingNews == null) {
+            return ResponseEntity.ok(List.of());
+        }
+        List<Long> ids = trendingNews.findTopNewsIds(limit != null ? limit : 10);
+        List<NewsModel> newsModels = newsService.findAllById(ids);
+        return ResponseEntity.ok(newsApiMapper.toListItemList(newsModels));
+    }
+
+    @Override
+    public ResponseEntity<List<NewsListItem>> getNewsByAuthor(Long authorId, Integer limit, String cursor) {
+        int pageSize = limit != null ? limit : 20;
+        NewsFeedCursor after = cursor != null ? NewsFeedCursor.decode(cursor) : null;
+
+        // Fetch one extra article to learn whether a next page exists
+        List<NewsSummaryModel> feed = newsService.findFeedByAuthor(authorId, after, pageSize + 1);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (feed.size() > pageSize) {
+            feed = feed.subList(0, pageSize);
+            URI next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", NewsFeedCursor.after(feed.get(pageSize - 1)).encode())
+                    .build()
+                    .toUri();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(newsApiMapper.toSummaryListItemList(feed));
     }
 
     @Override
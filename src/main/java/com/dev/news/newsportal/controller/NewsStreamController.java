@@ -0,0 +1,63 @@
+package com.dev.news.newsportal.controller;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.dev.news.newsportal.feed.NewsFeed;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-Sent Events stream of newly published news.
+ * <p>
+ * Each event is named {@code news}, carries a {@code NewsListItem} as JSON and has an id that can be sent back
+ * in the {@code Last-Event-ID} header on reconnect. A {@code reset} event means events were missed and the client
+ * should reload the first page of {@code GET /api/v1/news}.
+ * <p>
+ * The endpoint is not part of the OpenAPI contract because the generator cannot express streaming responses.
+ */
+@RestController
+class NewsStreamController {
+
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    private final NewsFeed newsFeed;
+    private final NewsPortalProperties.Feed settings;
+
+    NewsStreamController(NewsFeed newsFeed, NewsPortalProperties properties) {
+        this.newsFeed = newsFeed;
+        this.settings = properties.getFeed();
+    }
+
+    @GetMapping(value = "/api/v1/news/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    ResponseEntity<SseEmitter> streamNews(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = new SseEmitter(settings.getConnectionTimeout().toMillis());
+        if (!newsFeed.subscribe(emitter, parseEventId(lastEventId))) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                // Stops reverse proxies such as nginx from buffering the stream
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException ex) {
+            // Unknown position; the client is treated like a new subscriber
+            return null;
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.dev.news.newsportal.controller;
 
+import com.dev.news.newsportal.api.model.users.UserAvailabilityResponse;
+import com.dev.news.newsportal.api.model.users.UserPurgeJobResponse;
 import com.dev.news.newsportal.api.model.users.UserRequest;
 import com.dev.news.newsportal.api.model.users.UserResponse;
 import com.dev.news.newsportal.api.users.UsersApi;
+import com.dev.news.newsportal.exception.ValidationException;
 import com.dev.news.newsportal.mapper.api.UserApiMapper;
 import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.model.UserPurgeJobModel;
 import com.dev.news.newsportal.service.UserService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
@@ -12,10 +16,14 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 class UserController implements UsersApi {
 
+    // Properties of UserResponse that can be selected with the fields parameter
+    private static final Set<String> USER_FIELDS = Set.of("id", "nickname", "email", "role");
+
     private final UserService userService;
     private final UserApiMapper userApiMapper;
 
@@ -32,7 +40,11 @@ class UserController implements UsersApi {
     }
 
     @Override
-    public ResponseEntity<UserResponse> getUserById(Long id) {
+    public ResponseEntity<UserResponse> getUserById(Long id, String fields) {
+        if (fields != null) {
+            // Users are small and usually cached, so they are read whole and only the response is trimmed
+            FieldSelectionAdvice.select(fields, USER_FIELDS);
+        }
         UserModel userModel = userService.findById(id);
         UserResponse userResponse = userApiMapper.toResponse(userModel);
         return ResponseEntity.ok(userResponse);
@@ -74,9 +86,38 @@ class UserController implements UsersApi {
     }
 
     @Override
-    public ResponseEntity<Void> deleteUser(Long id) {
-        userService.delete(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<UserPurgeJobResponse> deleteUser(Long id) {
+        // The user is hidden now; their content is removed by the purge job the response points to
+        UserPurgeJobModel job = userService.delete(id);
+
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentContextPath()
+                .path("/api/v1/users/purge-jobs/{jobId}")
+                .buildAndExpand(job.getId())
+                .toUri();
+
+        return ResponseEntity.accepted().location(location).body(userApiMapper.toPurgeJobResponse(job));
+    }
+
+    @Override
+    public ResponseEntity<UserPurgeJobResponse> getUserPurgeJob(Long jobId) {
+        UserPurgeJobModel job = userService.findPurgeJob(jobId);
+        return ResponseEntity.ok(userApiMapper.toPurgeJobResponse(job));
+    }
+
+    @Override
+    public ResponseEntity<UserAvailabilityResponse> getUserAvailability(String nickname, String email) {
+        if (nickname == null && email == null) {
+            throw new ValidationException("nickname", "Either nickname or email is required");
+        }
+        UserAvailabilityResponse response = new UserAvailabilityResponse();
+        if (nickname != null) {
+            response.nickname(nickname).nicknameAvailable(userService.isNicknameAvailable(nickname));
+        }
+        if (email != null) {
+            response.email(email).emailAvailable(userService.isEmailAvailable(email));
+        }
+        return ResponseEntity.ok(response);
     }
 
     @Override
@@ -5,19 +5,30 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * A news article. Articles of deleted users are hidden until their purge job removes them.
+ */
 @Entity
 @Table(name = "news")
+@NamedEntityGraph(name = News.WITH_AUTHOR, attributeNodes = @NamedAttributeNode("author"))
+@SQLRestriction("author_id NOT IN (SELECT u.id FROM users u WHERE u.deleted = true)")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class News {
 
+    /**
+     * Entity graph that loads the author together with the article.
+     */
+    public static final String WITH_AUTHOR = "News.withAuthor";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -0,0 +1,68 @@
+package com.dev.news.newsportal.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Background job removing the news articles and comments of a deleted user, and finally the user row.
+ */
+@Entity
+@Table(name = "user_purge_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserPurgeJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(nullable = false)
+    private long newsDeleted;
+
+    @Column(nullable = false)
+    private long commentsDeleted;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime finishedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @PrePersist
+    public void prePersist() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (updatedAt == null) {
+            updatedAt = createdAt;
+        }
+        if (status == null) {
+            status = Status.PENDING;
+        }
+    }
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED
+    }
+}
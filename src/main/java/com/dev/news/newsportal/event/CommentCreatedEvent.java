@@ -0,0 +1,21 @@
+package com.dev.news.newsportal.event;
+
+import com.dev.news.newsportal.model.CommentModel;
+
+/**
+ * Published when a comment or reply has been created.
+ *
+ * @param comment the created comment
+ */
+public record CommentCreatedEvent(CommentModel comment) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "News";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return comment.getNewsId();
+    }
+}
@@ -0,0 +1,20 @@
+package com.dev.news.newsportal.event;
+
+/**
+ * Published when a comment has been deleted together with its replies.
+ *
+ * @param commentId id of the deleted comment
+ * @param newsId    id of the news article the comment belonged to
+ */
+public record CommentDeletedEvent(Long commentId, Long newsId) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "News";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return newsId;
+    }
+}
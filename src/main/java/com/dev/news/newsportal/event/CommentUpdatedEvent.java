@@ -0,0 +1,21 @@
+package com.dev.news.newsportal.event;
+
+import com.dev.news.newsportal.model.CommentModel;
+
+/**
+ * Published when the text of a comment has been edited.
+ *
+ * @param comment the updated comment
+ */
+public record CommentUpdatedEvent(CommentModel comment) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "News";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return comment.getNewsId();
+    }
+}
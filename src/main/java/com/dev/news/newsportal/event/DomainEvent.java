@@ -0,0 +1,28 @@
+package com.dev.news.newsportal.event;
+
+/**
+ * A change to a domain aggregate that is recorded in the transactional outbox and announced to listeners.
+ * <p>
+ * Events of the same aggregate are delivered in the order they were committed. Comments belong to the aggregate
+ * of their news article, so a comment thread is always delivered in order.
+ */
+public interface DomainEvent {
+
+    /**
+     * Returns the type of the aggregate that changed, such as {@code News} or {@code User}.
+     */
+    String aggregateType();
+
+    /**
+     * Returns the id of the aggregate that changed.
+     */
+    Long aggregateId();
+
+    /**
+     * Returns the name of the event, derived from the class name without the {@code Event} suffix.
+     */
+    default String eventType() {
+        String name = getClass().getSimpleName();
+        return name.endsWith("Event") ? name.substring(0, name.length() - "Event".length()) : name;
+    }
+}
@@ -0,0 +1,22 @@
+package com.dev.news.newsportal.event;
+
+import com.dev.news.newsportal.model.NewsModel;
+
+/**
+ * Published when a news article has been created.
+ * Listeners that push the article to clients should run after the transaction commits.
+ *
+ * @param news the created article
+ */
+public record NewsCreatedEvent(NewsModel news) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "News";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return news.getId();
+    }
+}
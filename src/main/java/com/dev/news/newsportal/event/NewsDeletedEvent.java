@@ -0,0 +1,19 @@
+package com.dev.news.newsportal.event;
+
+/**
+ * Published when a news article has been deleted together with its comments.
+ *
+ * @param newsId id of the deleted article
+ */
+public record NewsDeletedEvent(Long newsId) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "News";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return newsId;
+    }
+}
@@ -0,0 +1,21 @@
+package com.dev.news.newsportal.event;
+
+import com.dev.news.newsportal.model.NewsModel;
+
+/**
+ * Published when a news article has been edited.
+ *
+ * @param news the updated article
+ */
+public record NewsUpdatedEvent(NewsModel news) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "News";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return news.getId();
+    }
+}
@@ -0,0 +1,21 @@
+package com.dev.news.newsportal.event;
+
+import com.dev.news.newsportal.model.UserModel;
+
+/**
+ * Published when a user has been registered.
+ *
+ * @param user the created user
+ */
+public record UserCreatedEvent(UserModel user) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "User";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return user.getId();
+    }
+}
@@ -0,0 +1,20 @@
+package com.dev.news.newsportal.event;
+
+/**
+ * Published when a user has been marked as deleted. Their news articles are hidden from then on and removed by a
+ * background purge job.
+ *
+ * @param userId id of the deleted user
+ */
+public record UserDeletedEvent(Long userId) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "User";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return userId;
+    }
+}
@@ -0,0 +1,21 @@
+package com.dev.news.newsportal.event;
+
+import com.dev.news.newsportal.model.UserModel;
+
+/**
+ * Published when the profile of a user has been changed.
+ *
+ * @param user the updated user
+ */
+public record UserUpdatedEvent(UserModel user) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "User";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return user.getId();
+    }
+}
@@ -0,0 +1,14 @@
+package com.dev.news.newsportal.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request could not be answered within its deadline. Answered with 503 Service Unavailable, as
+ * trying again later may well succeed.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String operation, Duration deadline) {
+        super(String.format("%s did not complete within %d ms", operation, deadline.toMillis()));
+    }
+}
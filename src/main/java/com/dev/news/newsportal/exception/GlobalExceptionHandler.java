@@ -48,6 +48,19 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Handles DeadlineExceededException and returns a 503 Service Unavailable response.
+     *
+     * @param ex the exception
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<Object> handleDeadlineExceededException(DeadlineExceededException ex) {
+        String requestPath = getRequestPath();
+        Object errorResponse = createErrorResponseForPath(requestPath, HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     /**
      * Handles ValidationException and returns a 400 Bad Request response.
      *
@@ -1,12 +1,16 @@
 package com.dev.news.newsportal.exception;
 
+/**
+ * Thrown when a requested resource does not exist. A miss is an expected outcome that is answered with
+ * {@code 404 Not Found}, so no stack trace is captured.
+ */
 public class ResourceNotFoundException extends RuntimeException {
 
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public ResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
-        super(String.format("%s not found with %s: %s", resourceName, fieldName, fieldValue));
+        this(String.format("%s not found with %s: %s", resourceName, fieldName, fieldValue));
     }
-}
\ No newline at end of file
+}
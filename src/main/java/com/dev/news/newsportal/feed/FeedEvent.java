@@ -0,0 +1,22 @@
+package com.dev.news.newsportal.feed;
+
+import com.dev.news.newsportal.api.model.news.NewsListItem;
+
+/**
+ * A news feed entry with its stream position.
+ *
+ * @param id   position in the feed, used as the SSE event id
+ * @param news the published article, {@code null} for control entries
+ */
+record FeedEvent(long id, NewsListItem news) {
+
+    /**
+     * Keep-alive comment for idle connections.
+     */
+    static final FeedEvent HEARTBEAT = new FeedEvent(0L, null);
+
+    /**
+     * Tells the client that events were missed and the feed should be reloaded from the list endpoint.
+     */
+    static final FeedEvent RESET = new FeedEvent(-1L, null);
+}
@@ -0,0 +1,127 @@
+package com.dev.news.newsportal.feed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * One connected stream client with its own bounded event buffer.
+ * <p>
+ * Publishing only enqueues; a drain task on the dispatch executor writes the buffer to the connection, so a slow
+ * client never blocks the publisher or other subscribers. When the buffer overflows the subscriber is evicted.
+ */
+@Slf4j
+final class FeedSubscriber {
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<FeedEvent> buffer;
+    private final Executor dispatcher;
+    private final Consumer<FeedSubscriber> onClose;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    FeedSubscriber(SseEmitter emitter, int bufferSize, Executor dispatcher, Consumer<FeedSubscriber> onClose) {
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.dispatcher = dispatcher;
+        this.onClose = onClose;
+        emitter.onCompletion(this::detach);
+        emitter.onTimeout(this::detach);
+        emitter.onError(error -> detach());
+    }
+
+    /**
+     * Queues an event for delivery without blocking.
+     *
+     * @param event the event to deliver
+     * @return {@code false} if the subscriber is closed or was evicted because its buffer is full
+     */
+    boolean offer(FeedEvent event) {
+        if (closed.get()) {
+            return false;
+        }
+        if (!buffer.offer(event)) {
+            log.debug("Evicting slow news feed subscriber with {} undelivered events", buffer.size());
+            close();
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    /**
+     * Queues a keep-alive comment unless events are already waiting, which keep the connection busy anyway.
+     */
+    void heartbeat() {
+        if (buffer.isEmpty()) {
+            offer(FeedEvent.HEARTBEAT);
+        }
+    }
+
+    /**
+     * Completes the connection and releases the subscriber.
+     * Completion runs on the dispatcher because it waits for a send that may be blocked on a slow client.
+     */
+    void close() {
+        if (detach()) {
+            buffer.clear();
+            dispatcher.execute(emitter::complete);
+        }
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    private boolean detach() {
+        if (closed.compareAndSet(false, true)) {
+            onClose.accept(this);
+            return true;
+        }
+        return false;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            dispatcher.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            FeedEvent event;
+            while (!closed.get() && (event = buffer.poll()) != null) {
+                send(event);
+            }
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("News feed subscriber disconnected: {}", ex.getMessage());
+            close();
+        } finally {
+            draining.set(false);
+        }
+        // An offer may have raced with the end of the loop
+        if (!closed.get() && !buffer.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    private void send(FeedEvent event) throws IOException {
+        if (event == FeedEvent.HEARTBEAT) {
+            emitter.send(SseEmitter.event().comment("keep-alive"));
+        } else if (event == FeedEvent.RESET) {
+            emitter.send(SseEmitter.event().name("reset").data(""));
+        } else {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(event.id()))
+                    .name("news")
+                    .data(event.news(), MediaType.APPLICATION_JSON));
+        }
+    }
+}
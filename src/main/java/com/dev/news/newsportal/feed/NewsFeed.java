@@ -0,0 +1,138 @@
+package com.dev.news.newsportal.feed;
+
+import com.dev.news.newsportal.api.model.news.NewsListItem;
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory fan-out of newly published news to Server-Sent Events subscribers.
+ * <p>
+ * Connections are held by async servlet requests, not threads. Deliveries run on virtual threads, one short-lived
+ * drain task per subscriber with pending events, so tens of thousands of idle connections cost only their buffers.
+ * A short backlog of recent events lets reconnecting clients resume from their {@code Last-Event-ID}.
+ * <p>
+ * Event ids start at the startup time in milliseconds, so ids remembered from a previous instance fall before the
+ * backlog and those clients are told to reload instead of silently missing events.
+ */
+@Slf4j
+@Component
+public class NewsFeed implements DisposableBean {
+
+    private final NewsPortalProperties.Feed settings;
+    private final Object lock = new Object();
+    private final Deque<FeedEvent> backlog = new ArrayDeque<>();
+    private final Set<FeedSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis());
+    private final AtomicLong evictions = new AtomicLong();
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("news-feed-heartbeat").daemon().factory());
+
+    public NewsFeed(NewsPortalProperties properties) {
+        this.settings = properties.getFeed();
+        long interval = settings.getHeartbeatInterval().toMillis();
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Appends a news item to the feed and queues it for every connected subscriber.
+     * Subscribers that cannot keep up are disconnected.
+     *
+     * @param news the published article
+     */
+    public void publish(NewsListItem news) {
+        // Publishing and subscribing share one lock so every subscriber sees events in id order without gaps
+        synchronized (lock) {
+            FeedEvent event = new FeedEvent(sequence.incrementAndGet(), news);
+            if (settings.getBacklogSize() > 0) {
+                if (backlog.size() == settings.getBacklogSize()) {
+                    backlog.removeFirst();
+                }
+                backlog.addLast(event);
+            }
+            for (FeedSubscriber subscriber : subscribers) {
+                if (!subscriber.isClosed() && !subscriber.offer(event)) {
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+        log.debug("Published news {} to {} feed subscribers", news.getId(), subscribers.size());
+    }
+
+    /**
+     * Registers a stream connection, replaying backlog events newer than the given id first.
+     * If events after that id are no longer in the backlog, the client is told to reload instead.
+     *
+     * @param emitter     the connection to deliver events to
+     * @param lastEventId id of the last event the client received, or {@code null} for a new client
+     * @return {@code false} if the subscriber limit is reached
+     */
+    public boolean subscribe(SseEmitter emitter, Long lastEventId) {
+        synchronized (lock) {
+            if (subscribers.size() >= settings.getMaxSubscribers()) {
+                return false;
+            }
+            List<FeedEvent> replay = new ArrayList<>();
+            if (lastEventId != null) {
+                long oldest = backlog.isEmpty() ? sequence.get() + 1 : backlog.getFirst().id();
+                if (lastEventId < oldest - 1 || lastEventId > sequence.get()) {
+                    replay.add(FeedEvent.RESET);
+                }
+                for (FeedEvent event : backlog) {
+                    if (event.id() > lastEventId) {
+                        replay.add(event);
+                    }
+                }
+            }
+            FeedSubscriber subscriber = new FeedSubscriber(emitter, settings.getSubscriberBufferSize() + replay.size(),
+                    dispatcher, subscribers::remove);
+            subscribers.add(subscriber);
+            replay.forEach(subscriber::offer);
+            return true;
+        }
+    }
+
+    /**
+     * Returns the number of connected subscribers.
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Returns the number of subscribers disconnected because their buffer overflowed.
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    private void sendHeartbeats() {
+        for (FeedSubscriber subscriber : subscribers) {
+            subscriber.heartbeat();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        for (FeedSubscriber subscriber : subscribers) {
+            subscriber.close();
+        }
+        dispatcher.shutdown();
+    }
+}
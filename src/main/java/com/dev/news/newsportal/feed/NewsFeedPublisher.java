@@ -0,0 +1,28 @@
+package com.dev.news.newsportal.feed;
+
+import com.dev.news.newsportal.event.NewsCreatedEvent;
+import com.dev.news.newsportal.mapper.api.NewsApiMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Pushes created news to the live feed once the creating transaction has committed,
+ * so subscribers never see articles that were rolled back.
+ */
+@Component
+class NewsFeedPublisher {
+
+    private final NewsFeed newsFeed;
+    private final NewsApiMapper newsApiMapper;
+
+    NewsFeedPublisher(NewsFeed newsFeed, NewsApiMapper newsApiMapper) {
+        this.newsFeed = newsFeed;
+        this.newsApiMapper = newsApiMapper;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    void onNewsCreated(NewsCreatedEvent event) {
+        newsFeed.publish(newsApiMapper.toListItem(event.news()));
+    }
+}
@@ -0,0 +1,23 @@
+package com.dev.news.newsportal.logging;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for request summary logging.
+ */
+@Configuration
+public class RequestLoggingConfig {
+
+    /**
+     * Registers the {@link SqlStatementCounter} with Hibernate so that every request summary carries its SQL count.
+     *
+     * @return the Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+}
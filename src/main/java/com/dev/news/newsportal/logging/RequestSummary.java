@@ -0,0 +1,81 @@
+package com.dev.news.newsportal.logging;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-request counters aggregated into the single summary event written by {@link RequestSummaryFilter}.
+ * <p>
+ * The summary is bound to the request thread, and to the tasks it hands to other threads through
+ * {@link #propagate(Callable)}. Recording methods are no-ops outside of a request, so services can call them
+ * unconditionally.
+ */
+public final class RequestSummary {
+
+    private static final ThreadLocal<RequestSummary> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger sqlCount = new AtomicInteger();
+    private volatile Integer resultSize;
+
+    private RequestSummary() {
+    }
+
+    static RequestSummary begin() {
+        RequestSummary summary = new RequestSummary();
+        CURRENT.set(summary);
+        return summary;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Records the number of items returned by the current request.
+     *
+     * @param size number of returned items
+     */
+    public static void recordResultSize(int size) {
+        RequestSummary summary = CURRENT.get();
+        if (summary != null) {
+            summary.resultSize = size;
+        }
+    }
+
+    /**
+     * Wraps a task that the request thread hands to another thread, so that its statements are counted for the
+     * request as well.
+     *
+     * @param task task to run on another thread
+     * @return the task bound to the summary of the current request, or the task itself outside of a request
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        RequestSummary summary = CURRENT.get();
+        if (summary == null) {
+            return task;
+        }
+        return () -> {
+            CURRENT.set(summary);
+            try {
+                return task.call();
+            } finally {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    static void recordSqlStatement() {
+        RequestSummary summary = CURRENT.get();
+        if (summary != null) {
+            summary.sqlCount.incrementAndGet();
+        }
+    }
+
+    int getSqlCount() {
+        return sqlCount.get();
+    }
+
+    Integer getResultSize() {
+        return resultSize;
+    }
+}
@@ -0,0 +1,97 @@
+package com.dev.news.newsportal.logging;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes one structured summary event per request instead of per-method log lines.
+ * <p>
+ * The event carries the operation, status, duration, SQL statement count and result size as key-value pairs.
+ * Failed, client error and slow requests are always logged; successful requests are sampled.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestSummaryFilter extends OncePerRequestFilter {
+
+    /**
+     * Dedicated logger so summaries can be routed to their own appender.
+     */
+    static final Logger SUMMARY_LOG = LoggerFactory.getLogger("com.dev.news.newsportal.request-summary");
+
+    private final NewsPortalProperties.RequestLog settings;
+
+    public RequestSummaryFilter(NewsPortalProperties properties) {
+        this.settings = properties.getRequestLog();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !settings.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long started = System.nanoTime();
+        RequestSummary summary = RequestSummary.begin();
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            RequestSummary.end();
+            long durationMillis = (System.nanoTime() - started) / 1_000_000;
+            int status = failure != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            if (shouldLog(status, durationMillis)) {
+                LoggingEventBuilder event = SUMMARY_LOG.atInfo()
+                        .addKeyValue("op", resolveOperation(request))
+                        .addKeyValue("method", request.getMethod())
+                        .addKeyValue("path", request.getRequestURI())
+                        .addKeyValue("status", status)
+                        .addKeyValue("durationMs", durationMillis)
+                        .addKeyValue("sqlCount", summary.getSqlCount());
+                if (summary.getResultSize() != null) {
+                    event = event.addKeyValue("resultSize", summary.getResultSize());
+                }
+                if (request.isAsyncStarted()) {
+                    event = event.addKeyValue("async", true);
+                }
+                event.log("request completed");
+            }
+        }
+    }
+
+    boolean shouldLog(int status, long durationMillis) {
+        if (status >= 400 || durationMillis >= settings.getSlowThreshold().toMillis()) {
+            return true;
+        }
+        double rate = settings.getSuccessSampleRate();
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private static String resolveOperation(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getMethod().getName();
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "unmapped";
+    }
+}
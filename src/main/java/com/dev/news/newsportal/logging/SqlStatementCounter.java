@@ -0,0 +1,16 @@
+package com.dev.news.newsportal.logging;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that counts the SQL statements issued for the current request.
+ * The statement itself is returned unchanged.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestSummary.recordSqlStatement();
+        return sql;
+    }
+}
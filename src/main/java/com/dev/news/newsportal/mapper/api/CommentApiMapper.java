@@ -4,6 +4,7 @@ import com.dev.news.newsportal.api.model.comments.CommentListItem;
 import com.dev.news.newsportal.api.model.comments.CommentRequest;
 import com.dev.news.newsportal.api.model.comments.CommentResponse;
 import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.CommentSummaryModel;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -31,11 +32,18 @@ public interface CommentApiMapper {
     @Mapping(target = "hasReplies", expression = "java(commentModel.getReplies() != null && !commentModel.getReplies().isEmpty())")
     CommentListItem toListItem(CommentModel commentModel);
 
+    // CommentSummaryModel to CommentListItem
+    @Mapping(target = "creationDate", expression = "java(toOffsetDateTime(commentSummaryModel.getCreationDate()))")
+    @Mapping(target = "hasReplies", expression = "java(commentSummaryModel.getReplyCount() > 0)")
+    CommentListItem toSummaryListItem(CommentSummaryModel commentSummaryModel);
+
     // List mappings
     List<CommentResponse> toResponseList(List<CommentModel> commentModels);
 
     List<CommentListItem> toListItemList(List<CommentModel> commentModels);
 
+    List<CommentListItem> toSummaryListItemList(List<CommentSummaryModel> commentSummaryModels);
+
     // Helper method for date conversion
     default OffsetDateTime toOffsetDateTime(LocalDateTime localDateTime) {
         return localDateTime != null ? localDateTime.atOffset(ZoneOffset.UTC) : null;
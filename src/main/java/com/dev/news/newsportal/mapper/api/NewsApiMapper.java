@@ -1,10 +1,15 @@
 package com.dev.news.newsportal.mapper.api;
 
 import com.dev.news.newsportal.api.model.news.NewsListItem;
+import com.dev.news.newsportal.api.model.news.NewsPageComment;
+import com.dev.news.newsportal.api.model.news.NewsPageResponse;
 import com.dev.news.newsportal.api.model.news.NewsRequest;
 import com.dev.news.newsportal.api.model.news.NewsResponse;
 import com.dev.news.newsportal.api.model.news.PagedNewsListResponse;
+import com.dev.news.newsportal.model.CommentSummaryModel;
 import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.NewsPageModel;
+import com.dev.news.newsportal.model.NewsSummaryModel;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.springframework.data.domain.Page;
@@ -23,26 +28,34 @@ public interface NewsApiMapper {
     @Mapping(target = "creationDate", ignore = true)
     @Mapping(target = "author", ignore = true)
     @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "commentCount", ignore = true)
     @Mapping(target = "imageUrl", expression = "java(uriToString(newsRequest.getImageUrl()))")
     NewsModel toModel(NewsRequest newsRequest);
 
     // NewsModel to NewsResponse
     @Mapping(target = "creationDate", expression = "java(toOffsetDateTime(newsModel.getCreationDate()))")
     @Mapping(target = "imageUrl", expression = "java(stringToUri(newsModel.getImageUrl()))")
-    @Mapping(target = "commentCount", expression = "java(newsModel.getComments() != null ? (long) newsModel.getComments().size() : 0L)")
+    @Mapping(target = "commentCount", expression = "java(countComments(newsModel))")
     NewsResponse toResponse(NewsModel newsModel);
 
     // NewsModel to NewsListItem
     @Mapping(target = "creationDate", expression = "java(toOffsetDateTime(newsModel.getCreationDate()))")
     @Mapping(target = "imageUrl", expression = "java(stringToUri(newsModel.getImageUrl()))")
-    @Mapping(target = "commentCount", expression = "java(newsModel.getComments() != null ? (long) newsModel.getComments().size() : 0L)")
+    @Mapping(target = "commentCount", expression = "java(countComments(newsModel))")
     NewsListItem toListItem(NewsModel newsModel);
 
+    // NewsSummaryModel to NewsListItem
+    @Mapping(target = "creationDate", expression = "java(toOffsetDateTime(newsSummaryModel.getCreationDate()))")
+    @Mapping(target = "imageUrl", expression = "java(stringToUri(newsSummaryModel.getImageUrl()))")
+    NewsListItem toListItem(NewsSummaryModel newsSummaryModel);
+
     // List mappings
     List<NewsResponse> toResponseList(List<NewsModel> newsModels);
 
     List<NewsListItem> toListItemList(List<NewsModel> newsModels);
 
+    List<NewsListItem> toSummaryListItemList(List<NewsSummaryModel> newsSummaryModels);
+
     // Pagination mapping
     @Mapping(target = "content", expression = "java(toListItemList(newsPage.getContent()))")
     @Mapping(target = "totalElements", source = "totalElements")
@@ -56,7 +69,35 @@ public interface NewsApiMapper {
     @Mapping(target = "pageable", source = "pageable")
     PagedNewsListResponse toPagedResponse(Page<NewsModel> newsPage);
 
+    // Pagination mapping of article summaries
+    @Mapping(target = "content", expression = "java(toSummaryListItemList(newsPage.getContent()))")
+    @Mapping(target = "totalElements", source = "totalElements")
+    @Mapping(target = "totalPages", source = "totalPages")
+    @Mapping(target = "size", source = "size")
+    @Mapping(target = "number", source = "number")
+    @Mapping(target = "numberOfElements", source = "numberOfElements")
+    @Mapping(target = "first", source = "first")
+    @Mapping(target = "last", source = "last")
+    @Mapping(target = "empty", source = "empty")
+    @Mapping(target = "pageable", source = "pageable")
+    PagedNewsListResponse toPagedSummaryResponse(Page<NewsSummaryModel> newsPage);
+
+    // NewsPageModel to NewsPageResponse; the article carries the count of all comments as well
+    @Mapping(target = "news", expression = "java(toResponse(newsPageModel.getNews()).commentCount(newsPageModel.getCommentCount()))")
+    NewsPageResponse toPageResponse(NewsPageModel newsPageModel);
+
+    @Mapping(target = "creationDate", expression = "java(toOffsetDateTime(commentSummaryModel.getCreationDate()))")
+    @Mapping(target = "hasReplies", expression = "java(commentSummaryModel.getReplyCount() > 0)")
+    NewsPageComment toPageComment(CommentSummaryModel commentSummaryModel);
+
     // Helper methods for conversions
+    default long countComments(NewsModel newsModel) {
+        if (newsModel.getCommentCount() != null) {
+            return newsModel.getCommentCount();
+        }
+        return newsModel.getComments() != null ? newsModel.getComments().size() : 0L;
+    }
+
     default OffsetDateTime toOffsetDateTime(LocalDateTime localDateTime) {
         return localDateTime != null ? localDateTime.atOffset(ZoneOffset.UTC) : null;
     }
@@ -2,11 +2,16 @@ package com.dev.news.newsportal.mapper.api;
 
 import com.dev.news.newsportal.api.model.news.UserSummary;
 import com.dev.news.newsportal.api.model.users.UserRequest;
+import com.dev.news.newsportal.api.model.users.UserPurgeJobResponse;
 import com.dev.news.newsportal.api.model.users.UserResponse;
 import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.model.UserPurgeJobModel;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 
 @Mapper(componentModel = "spring")
@@ -27,4 +32,15 @@ public interface UserApiMapper {
     List<UserResponse> toResponseList(List<UserModel> userModels);
 
     List<UserSummary> toSummaryList(List<UserModel> userModels);
-}
\ No newline at end of file
+
+    // UserPurgeJobModel to UserPurgeJobResponse
+    @Mapping(target = "createdAt", expression = "java(toOffsetDateTime(jobModel.getCreatedAt()))")
+    @Mapping(target = "updatedAt", expression = "java(toOffsetDateTime(jobModel.getUpdatedAt()))")
+    @Mapping(target = "finishedAt", expression = "java(toOffsetDateTime(jobModel.getFinishedAt()))")
+    UserPurgeJobResponse toPurgeJobResponse(UserPurgeJobModel jobModel);
+
+    // Helper methods for conversions
+    default OffsetDateTime toOffsetDateTime(LocalDateTime localDateTime) {
+        return localDateTime != null ? localDateTime.atOffset(ZoneOffset.UTC) : null;
+    }
+}
@@ -3,11 +3,18 @@ package com.dev.news.newsportal.mapper.entity;
 import com.dev.news.newsportal.entity.Comment;
 import com.dev.news.newsportal.entity.News;
 import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.CommentSummaryModel;
+import com.dev.news.newsportal.repository.CommentSummaryView;
+import jakarta.persistence.Tuple;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Mapper(componentModel = "spring")
 public interface CommentEntityMapper {
@@ -20,10 +27,77 @@ public interface CommentEntityMapper {
     @Mapping(target = "parentComment", expression = "java(createCommentReference(model.getParentCommentId()))")
     Comment toEntity(CommentModel model);
 
+    @Named("withoutReplies")
+    @Mapping(target = "newsId", source = "news.id")
+    @Mapping(target = "parentCommentId", source = "parentComment.id")
+    @Mapping(target = "replies", ignore = true)
+    CommentModel toModelWithoutReplies(Comment entity);
+
+    /**
+     * Maps all comments of an article and attaches every reply to its parent in memory, so no lazy
+     * {@code replies} collection is initialized however deep the thread is.
+     *
+     * @param comments the comments of one article, replies included
+     * @return the mapped comments in the given order
+     */
+    @Named("thread")
+    default List<CommentModel> toThreadModelList(List<Comment> comments) {
+        return attachReplies(comments.stream().map(this::toModelWithoutReplies).toList());
+    }
+
+    /**
+     * Attaches every reply among the comments of one article to its parent, for live and archived comments alike.
+     *
+     * @param models the comments of one article, replies included, with empty {@code replies}
+     * @return the same comments in the given order
+     */
+    @Named("attachReplies")
+    default List<CommentModel> attachReplies(List<CommentModel> models) {
+        Map<Long, CommentModel> byId = new HashMap<>();
+        models.forEach(model -> byId.put(model.getId(), model));
+        for (CommentModel model : models) {
+            CommentModel parent = model.getParentCommentId() != null ? byId.get(model.getParentCommentId()) : null;
+            if (parent != null) {
+                parent.getReplies().add(model);
+            }
+        }
+        return models;
+    }
+
     List<CommentModel> toModelList(List<Comment> entities);
 
     List<Comment> toEntityList(List<CommentModel> models);
 
+    List<CommentSummaryModel> toSummaryModelList(List<CommentSummaryView> views);
+
+    /**
+     * Maps comments whose replies are attached, like those of {@link #toThreadModelList(List)}, to summaries.
+     */
+    default CommentSummaryModel toSummaryModel(CommentModel model) {
+        return CommentSummaryModel.builder()
+                .id(model.getId())
+                .text(model.getText())
+                .creationDate(model.getCreationDate())
+                .authorNickname(model.getAuthorNickname())
+                .replyCount(model.getReplies() != null ? model.getReplies().size() : 0)
+                .build();
+    }
+
+    /**
+     * Maps the fields of a comment read by {@link com.dev.news.newsportal.repository.CommentFieldQueries}. Fields
+     * not read are left empty.
+     */
+    default CommentSummaryModel toFieldsSummaryModel(Tuple fields) {
+        Long replyCount = Tuples.get(fields, "replyCount", Long.class);
+        return CommentSummaryModel.builder()
+                .id(Tuples.get(fields, "id", Long.class))
+                .text(Tuples.get(fields, "text", String.class))
+                .creationDate(Tuples.get(fields, "creationDate", LocalDateTime.class))
+                .authorNickname(Tuples.get(fields, "authorNickname", String.class))
+                .replyCount(replyCount != null ? replyCount : 0)
+                .build();
+    }
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "creationDate", ignore = true)
     @Mapping(target = "news", ignore = true)
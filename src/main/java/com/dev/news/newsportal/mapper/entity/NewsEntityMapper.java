@@ -2,23 +2,80 @@ package com.dev.news.newsportal.mapper.entity;
 
 import com.dev.news.newsportal.entity.News;
 import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.NewsSummaryModel;
+import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.repository.NewsSummaryView;
+import jakarta.persistence.Tuple;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Mapper(componentModel = "spring", uses = {UserEntityMapper.class, CommentEntityMapper.class})
 public interface NewsEntityMapper {
 
+    @Mapping(target = "commentCount", ignore = true)
     NewsModel toModel(News entity);
 
+    @Named("withoutComments")
+    @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "commentCount", ignore = true)
+    NewsModel toModelWithoutComments(News entity);
+
     News toEntity(NewsModel model);
 
     List<NewsModel> toModelList(List<News> entities);
 
     List<News> toEntityList(List<NewsModel> models);
 
+    @Mapping(target = "author.id", source = "authorId")
+    @Mapping(target = "author.nickname", source = "authorNickname")
+    NewsSummaryModel toSummaryModel(NewsSummaryView view);
+
+    List<NewsSummaryModel> toSummaryModelList(List<NewsSummaryView> views);
+
+    /**
+     * Maps the fields of an article read by {@link com.dev.news.newsportal.repository.NewsFieldQueries}. Fields
+     * not read are left empty.
+     */
+    default NewsModel toFieldsModel(Tuple fields) {
+        return NewsModel.builder()
+                .id(Tuples.get(fields, "id", Long.class))
+                .title(Tuples.get(fields, "title", String.class))
+                .text(Tuples.get(fields, "text", String.class))
+                .imageUrl(Tuples.get(fields, "imageUrl", String.class))
+                .creationDate(Tuples.get(fields, "creationDate", LocalDateTime.class))
+                .author(toFieldsAuthor(fields))
+                .commentCount(Tuples.get(fields, "commentCount", Long.class))
+                .build();
+    }
+
+    /**
+     * Maps the fields of an article in a list read by {@link com.dev.news.newsportal.repository.NewsFieldQueries}.
+     * Fields not read are left empty.
+     */
+    default NewsSummaryModel toFieldsSummaryModel(Tuple fields) {
+        Long commentCount = Tuples.get(fields, "commentCount", Long.class);
+        return NewsSummaryModel.builder()
+                .id(Tuples.get(fields, "id", Long.class))
+                .title(Tuples.get(fields, "title", String.class))
+                .imageUrl(Tuples.get(fields, "imageUrl", String.class))
+                .creationDate(Tuples.get(fields, "creationDate", LocalDateTime.class))
+                .author(toFieldsAuthor(fields))
+                .commentCount(commentCount != null ? commentCount : 0)
+                .build();
+    }
+
+    private static UserModel toFieldsAuthor(Tuple fields) {
+        Long authorId = Tuples.get(fields, "authorId", Long.class);
+        return authorId != null
+                ? UserModel.builder().id(authorId).nickname(Tuples.get(fields, "authorNickname", String.class)).build()
+                : null;
+    }
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "creationDate", ignore = true)
     @Mapping(target = "comments", ignore = true)
@@ -0,0 +1,20 @@
+package com.dev.news.newsportal.mapper.entity;
+
+import jakarta.persistence.Tuple;
+
+/**
+ * Reads tuples of queries whose select list depends on the fields a client asked for.
+ */
+final class Tuples {
+
+    private Tuples() {
+    }
+
+    /**
+     * Returns the element with the given alias, or {@code null} if the query did not select it.
+     */
+    static <T> T get(Tuple tuple, String alias, Class<T> type) {
+        boolean selected = tuple.getElements().stream().anyMatch(element -> alias.equals(element.getAlias()));
+        return selected ? tuple.get(alias, type) : null;
+    }
+}
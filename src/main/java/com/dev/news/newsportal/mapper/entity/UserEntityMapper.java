@@ -1,7 +1,9 @@
 package com.dev.news.newsportal.mapper.entity;
 
 import com.dev.news.newsportal.entity.User;
+import com.dev.news.newsportal.entity.UserPurgeJob;
 import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.model.UserPurgeJobModel;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -23,4 +25,6 @@ public interface UserEntityMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "news", ignore = true)
     void updateEntity(@MappingTarget User target, UserModel source);
-}
\ No newline at end of file
+
+    UserPurgeJobModel toPurgeJobModel(UserPurgeJob entity);
+}
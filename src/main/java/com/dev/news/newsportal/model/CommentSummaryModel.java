@@ -0,0 +1,24 @@
+package com.dev.news.newsportal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Comment as shown in lists: without its replies, with the number of direct replies.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentSummaryModel {
+
+    private Long id;
+    private String text;
+    private LocalDateTime creationDate;
+    private String authorNickname;
+    private long replyCount;
+}
@@ -0,0 +1,49 @@
+package com.dev.news.newsportal.model;
+
+import com.dev.news.newsportal.exception.ValidationException;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Properties of a resource that a client asked for with the {@code fields} query parameter, for example
+ * {@code fields=id,title,creationDate}. Reads given a selection load only what it names.
+ *
+ * @param names names of the selected properties, in the order given
+ */
+public record FieldSelection(Set<String> names) {
+
+    /**
+     * Parses a comma-separated list of property names.
+     *
+     * @param fields  the value of the {@code fields} parameter
+     * @param allowed names of the properties that may be selected
+     * @throws ValidationException if the list is empty or names a property not allowed
+     */
+    public static FieldSelection parse(String fields, Set<String> allowed) {
+        Set<String> names = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (names.isEmpty()) {
+            throw new ValidationException("fields", "At least one field must be selected");
+        }
+        for (String name : names) {
+            if (!allowed.contains(name)) {
+                throw new ValidationException("fields",
+                        "Unknown field '" + name + "', expected one of " + new TreeSet<>(allowed));
+            }
+        }
+        return new FieldSelection(names);
+    }
+
+    /**
+     * Returns whether the property with the given name was selected.
+     */
+    public boolean includes(String name) {
+        return names.contains(name);
+    }
+}
@@ -0,0 +1,54 @@
+package com.dev.news.newsportal.model;
+
+import com.dev.news.newsportal.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a feed ordered by creation date descending and id ascending.
+ * Clients receive it as an opaque string and send it back to continue after the given article.
+ *
+ * @param creationDate creation date of the last article seen
+ * @param id           id of the last article seen
+ */
+public record NewsFeedCursor(LocalDateTime creationDate, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Returns the position right after the given article.
+     */
+    public static NewsFeedCursor after(NewsSummaryModel news) {
+        return new NewsFeedCursor(news.getCreationDate(), news.getId());
+    }
+
+    /**
+     * Parses a cursor produced by {@link #encode()}.
+     *
+     * @throws ValidationException if the cursor is malformed
+     */
+    public static NewsFeedCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new ValidationException("cursor", "Malformed cursor");
+            }
+            return new NewsFeedCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new ValidationException("cursor", "Malformed cursor");
+        }
+    }
+
+    /**
+     * Returns the opaque string form of this cursor.
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((creationDate + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -24,4 +24,7 @@ public class NewsModel {
 
     @Builder.Default
     private List<CommentModel> comments = new ArrayList<>();
+
+    // Number of comments when they were counted instead of read, null otherwise
+    private Long commentCount;
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.dev.news.newsportal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything shown on the page of a news article: the article without its comments, its author, the newest
+ * top-level comments and the number of all comments.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NewsPageModel {
+
+    private NewsModel news;
+    private UserModel author;
+
+    @Builder.Default
+    private List<CommentSummaryModel> comments = new ArrayList<>();
+
+    private boolean hasMoreComments;
+    private long commentCount;
+}
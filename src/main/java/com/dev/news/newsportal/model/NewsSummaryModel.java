@@ -0,0 +1,25 @@
+package com.dev.news.newsportal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * News article as shown in lists: without text and comments, with the number of comments.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NewsSummaryModel {
+
+    private Long id;
+    private String title;
+    private String imageUrl;
+    private LocalDateTime creationDate;
+    private UserModel author;
+    private long commentCount;
+}
@@ -0,0 +1,28 @@
+package com.dev.news.newsportal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of removing the content of a deleted user.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPurgeJobModel {
+
+    private Long id;
+    private Long userId;
+    private String status;
+    private long newsDeleted;
+    private long commentsDeleted;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+    private String lastError;
+}
@@ -0,0 +1,212 @@
+package com.dev.news.newsportal.notfound;
+
+import com.dev.news.newsportal.cache.CacheNames;
+import com.dev.news.newsportal.cache.InvalidationBus;
+import com.dev.news.newsportal.cache.InvalidationMessage;
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.dev.news.newsportal.event.UserCreatedEvent;
+import com.dev.news.newsportal.event.UserUpdatedEvent;
+import com.dev.news.newsportal.exception.ResourceNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers repeated lookups of missing news, comments and users with {@code 404 Not Found} before they reach the
+ * service layer.
+ * <p>
+ * A {@code 404} of {@code getNewsById}, {@code getCommentById} or {@code getUserByNickname} is remembered in a bounded
+ * Caffeine cache for {@code ttl}, so scrapers walking ids cost one query per missing id instead of one per request.
+ * Creating a news article or comment evicts its id on every node through the {@link InvalidationBus}, once the
+ * transaction commits. Users are looked up by nickname, which the bus cannot carry, so they are evicted on this node
+ * only and seen by other nodes at the latest after {@code ttl}. A miss that raced with an eviction is not remembered:
+ * each resource has an epoch that every eviction advances, and a miss is only stored if the epoch did not move while
+ * the request ran.
+ */
+@Slf4j
+@Component
+class NotFoundCache implements HandlerInterceptor, WebMvcConfigurer {
+
+    private static final String LOOKUP_ATTRIBUTE = NotFoundCache.class.getName() + ".lookup";
+
+    /**
+     * Lookups whose misses are cached, by the path variable holding the key.
+     */
+    enum Resource {
+        NEWS("getNewsById", "News", "id", CacheNames.MISSING_NEWS),
+        COMMENT("getCommentById", "Comment", "id", CacheNames.MISSING_COMMENTS),
+        USER("getUserByNickname", "User", "nickname", null);
+
+        private final String operationId;
+        private final String name;
+        private final String field;
+        // Name of the entries on the invalidation bus, if the key is an id the bus can carry
+        private final String cacheName;
+
+        Resource(String operationId, String name, String field, String cacheName) {
+            this.operationId = operationId;
+            this.name = name;
+            this.field = field;
+            this.cacheName = cacheName;
+        }
+    }
+
+    private final NewsPortalProperties.NotFoundCache settings;
+    private final Cache<Key, Boolean> misses;
+    private final Map<Resource, AtomicLong> epochs = new EnumMap<>(Resource.class);
+    private final Map<Resource, Counter> hits = new EnumMap<>(Resource.class);
+    private final Map<Method, Optional<Resource>> resources = new ConcurrentHashMap<>();
+
+    NotFoundCache(NewsPortalProperties properties, ObjectProvider<InvalidationBus> invalidationBus,
+                  ObjectProvider<MeterRegistry> meterRegistry) {
+        this.settings = properties.getNotFoundCache();
+        this.misses = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfterWrite(settings.getTtl())
+                .build();
+        for (Resource resource : Resource.values()) {
+            epochs.put(resource, new AtomicLong());
+        }
+        // Web slice tests run the interceptor without a registry or bus
+        meterRegistry.ifAvailable(this::registerMeters);
+        invalidationBus.ifAvailable(bus -> bus.subscribe(this::apply));
+    }
+
+    private void registerMeters(MeterRegistry meterRegistry) {
+        for (Resource resource : Resource.values()) {
+            hits.put(resource, Counter.builder("newsportal.notfound.hits")
+                    .description("Lookups of missing resources answered from the negative cache")
+                    .tag("resource", resource.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("newsportal.notfound.size", misses, Cache::estimatedSize)
+                .description("Missing resources currently remembered")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this).addPathPatterns("/api/**");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!settings.isEnabled() || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        Resource resource = resources.computeIfAbsent(handlerMethod.getMethod(), NotFoundCache::resourceOf)
+                .orElse(null);
+        if (resource == null) {
+            return true;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String value = variables != null ? variables.get(resource.field) : null;
+        if (value == null) {
+            return true;
+        }
+        Key key = new Key(resource, value);
+        if (misses.getIfPresent(key) != null) {
+            Counter counter = hits.get(resource);
+            if (counter != null) {
+                counter.increment();
+            }
+            log.debug("{} with {} {} is known to be missing", resource.name, resource.field, value);
+            throw new ResourceNotFoundException(resource.name, resource.field, value);
+        }
+        request.setAttribute(LOOKUP_ATTRIBUTE, new Lookup(key, epochs.get(resource).get()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (response.getStatus() != HttpStatus.NOT_FOUND.value()
+                || !(request.getAttribute(LOOKUP_ATTRIBUTE) instanceof Lookup lookup)) {
+            return;
+        }
+        if (epochs.get(lookup.key().resource()).get() == lookup.epoch()) {
+            misses.put(lookup.key(), Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Evicts the news articles and comments created on any node, or all of them when the bus may have missed some.
+     */
+    void apply(InvalidationMessage message) {
+        for (InvalidationMessage.Entry entry : message.entries()) {
+            for (Resource resource : Resource.values()) {
+                if (!entry.cacheName().equals(resource.cacheName)) {
+                    continue;
+                }
+                if (entry.key() != null) {
+                    created(resource, entry.key());
+                } else {
+                    epochs.get(resource).incrementAndGet();
+                    misses.asMap().keySet().removeIf(key -> key.resource() == resource);
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    void onUserCreated(UserCreatedEvent event) {
+        created(Resource.USER, event.user().getNickname());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    void onUserUpdated(UserUpdatedEvent event) {
+        created(Resource.USER, event.user().getNickname());
+    }
+
+    private void created(Resource resource, Object value) {
+        epochs.get(resource).incrementAndGet();
+        if (value != null) {
+            misses.invalidate(new Key(resource, value.toString()));
+        }
+    }
+
+    private static Optional<Resource> resourceOf(Method method) {
+        Operation operation = AnnotatedElementUtils.findMergedAnnotation(method, Operation.class);
+        if (operation == null) {
+            return Optional.empty();
+        }
+        for (Resource resource : Resource.values()) {
+            if (resource.operationId.equals(operation.operationId())) {
+                return Optional.of(resource);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private record Key(Resource resource, String value) {
+    }
+
+    private record Lookup(Key key, long epoch) {
+    }
+}
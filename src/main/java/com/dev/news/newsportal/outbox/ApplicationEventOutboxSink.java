@@ -0,0 +1,30 @@
+package com.dev.news.newsportal.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Republishes relayed events as {@link OutboxMessage} application events for in-process listeners.
+ * Listeners run on the relay thread and should hand slow work off.
+ */
+@Component
+@ConditionalOnProperty(prefix = "news-portal.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+class ApplicationEventOutboxSink implements OutboxEventSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    ApplicationEventOutboxSink(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public String name() {
+        return "application-events";
+    }
+
+    @Override
+    public void deliver(OutboxMessage message) {
+        eventPublisher.publishEvent(message);
+    }
+}
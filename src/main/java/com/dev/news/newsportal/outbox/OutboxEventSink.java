@@ -0,0 +1,26 @@
+package com.dev.news.newsportal.outbox;
+
+/**
+ * Destination of events drained from the outbox.
+ * <p>
+ * Every sink bean receives every event. Delivery is at-least-once and not ordered: an event is delivered again to all
+ * sinks if any of them fails, and events of one aggregate written by concurrent transactions, or following a dropped
+ * event, may arrive out of order. Sinks must be idempotent and must not rely on the order of events.
+ */
+public interface OutboxEventSink {
+
+    /**
+     * Returns the name used to tag the delivery metrics of this sink.
+     */
+    default String name() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Delivers one event. Throwing marks the event for redelivery.
+     *
+     * @param message the event to deliver
+     * @throws Exception if the event could not be delivered
+     */
+    void deliver(OutboxMessage message) throws Exception;
+}
@@ -0,0 +1,17 @@
+package com.dev.news.newsportal.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed domain event as read back from the outbox.
+ *
+ * @param id            position of the event in the outbox, increasing in write order
+ * @param aggregateType type of the aggregate that changed, such as {@code News}
+ * @param aggregateId   id of the aggregate that changed
+ * @param eventType     name of the event, such as {@code NewsCreated}
+ * @param payload       the event serialized as JSON
+ * @param createdAt     when the event was written
+ */
+public record OutboxMessage(long id, String aggregateType, long aggregateId, String eventType, String payload,
+                            LocalDateTime createdAt) {
+}
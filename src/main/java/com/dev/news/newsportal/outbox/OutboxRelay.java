@@ -0,0 +1,190 @@
+package com.dev.news.newsportal.outbox;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.dev.news.newsportal.worker.PeriodicWorker;
+import com.dev.news.newsportal.entity.OutboxEvent;
+import com.dev.news.newsportal.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Drains the outbox in batches and hands every event to all {@link OutboxEventSink}s.
+ * <p>
+ * A single relay thread reads events in id order outside of any write transaction. It is woken right after a
+ * transaction with domain events commits and otherwise polls at the configured interval. When an event fails, later
+ * events of the same aggregate are held back until it succeeds, while other aggregates keep flowing.
+ * Delivered events are deleted in one batch per round. Events still failing after the maximum number of attempts are
+ * logged and dropped, and the later events of their aggregate flow on.
+ * <p>
+ * Id order is not a delivery order guarantee: ids are assigned when a row is inserted, not when its transaction
+ * commits, so concurrent transactions on one aggregate may commit, and be delivered, out of id order.
+ * <p>
+ * The relay assumes it is the only one draining the table; run it on a single node.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "news-portal.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+class OutboxRelay implements SmartLifecycle {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxEventSink> sinks;
+    private final NewsPortalProperties.Outbox settings;
+    private final Timer deliveryLag;
+    private final Counter discarded;
+    private final Map<String, Counter> delivered = new HashMap<>();
+    private final Map<String, Counter> failures = new HashMap<>();
+    private final PeriodicWorker worker;
+
+    OutboxRelay(OutboxEventRepository outboxEventRepository, List<OutboxEventSink> sinks,
+                NewsPortalProperties properties, MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = List.copyOf(sinks);
+        this.settings = properties.getOutbox();
+        this.worker = new PeriodicWorker("outbox-relay", Duration.ZERO, settings.getPollInterval(), this::relayAll);
+        Gauge.builder("newsportal.outbox.pending", outboxEventRepository, OutboxEventRepository::count)
+                .description("Events waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("newsportal.outbox.oldest.age", outboxEventRepository, OutboxRelay::oldestAgeSeconds)
+                .description("Age of the oldest event waiting in the outbox")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("newsportal.outbox.delivery.lag")
+                .description("Time from writing an event to delivering it to all sinks")
+                .register(meterRegistry);
+        this.discarded = Counter.builder("newsportal.outbox.discarded")
+                .description("Events dropped after exhausting their delivery attempts")
+                .register(meterRegistry);
+        for (OutboxEventSink sink : this.sinks) {
+            delivered.put(sink.name(), Counter.builder("newsportal.outbox.delivered")
+                    .description("Events delivered to the sink")
+                    .tag("sink", sink.name())
+                    .register(meterRegistry));
+            failures.put(sink.name(), Counter.builder("newsportal.outbox.failures")
+                    .description("Failed deliveries to the sink")
+                    .tag("sink", sink.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Signals that new events were committed, so the relay drains them without waiting for the next poll.
+     */
+    void wakeUp() {
+        worker.wakeUp();
+    }
+
+    /**
+     * Relays batches of events until a batch is not full or has to be retried, which means that no more events are
+     * likely to be waiting, or the relay is stopped.
+     */
+    private void relayAll() {
+        Round round;
+        do {
+            round = relayBatch();
+        } while (round.fetched() == settings.getBatchSize() && round.retried() == 0
+                && !Thread.currentThread().isInterrupted());
+    }
+
+    /**
+     * Delivers one batch of events and removes the delivered ones from the outbox.
+     *
+     * @return the outcome of the round
+     */
+    Round relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.findAllByOrderByIdAsc(Limit.of(settings.getBatchSize()));
+        Set<String> blockedAggregates = new HashSet<>();
+        List<Long> completed = new ArrayList<>();
+        List<Long> retries = new ArrayList<>();
+        for (OutboxEvent event : batch) {
+            String aggregate = event.getAggregateType() + ":" + event.getAggregateId();
+            if (blockedAggregates.contains(aggregate)) {
+                continue;
+            }
+            if (deliver(toMessage(event))) {
+                deliveryLag.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+                completed.add(event.getId());
+            } else if (event.getAttempts() + 1 >= settings.getMaxAttempts()) {
+                log.error("Discarding outbox event {} ({} of {} {}) after {} attempts", event.getId(),
+                        event.getEventType(), event.getAggregateType(), event.getAggregateId(), event.getAttempts() + 1);
+                discarded.increment();
+                completed.add(event.getId());
+            } else {
+                retries.add(event.getId());
+                blockedAggregates.add(aggregate);
+            }
+        }
+        if (!retries.isEmpty()) {
+            outboxEventRepository.incrementAttempts(retries);
+        }
+        if (!completed.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(completed);
+        }
+        return new Round(batch.size(), completed.size(), retries.size());
+    }
+
+    private boolean deliver(OutboxMessage message) {
+        for (OutboxEventSink sink : sinks) {
+            try {
+                sink.deliver(message);
+                delivered.get(sink.name()).increment();
+            } catch (Exception ex) {
+                failures.get(sink.name()).increment();
+                log.warn("Sink {} failed to deliver outbox event {}: {}", sink.name(), message.id(), ex.toString());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void start() {
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        worker.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker.isRunning();
+    }
+
+    private static OutboxMessage toMessage(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                event.getEventType(), event.getPayload(), event.getCreatedAt());
+    }
+
+    private static double oldestAgeSeconds(OutboxEventRepository repository) {
+        return repository.findOldestCreatedAt()
+                .map(createdAt -> Duration.between(createdAt, LocalDateTime.now()).toMillis() / 1000.0)
+                .orElse(0.0);
+    }
+
+    /**
+     * Outcome of one relay round.
+     *
+     * @param fetched   events read from the outbox
+     * @param completed events delivered or discarded and therefore removed
+     * @param retried   events kept for another attempt
+     */
+    record Round(int fetched, int completed, int retried) {
+    }
+}
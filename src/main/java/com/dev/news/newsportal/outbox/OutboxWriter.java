@@ -0,0 +1,47 @@
+package com.dev.news.newsportal.outbox;
+
+import com.dev.news.newsportal.entity.OutboxEvent;
+import com.dev.news.newsportal.event.DomainEvent;
+import com.dev.news.newsportal.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Records domain events in the outbox as part of the transaction that caused them.
+ * <p>
+ * Rows are inserted just before commit, so a rollback discards them together with the change and the id order of
+ * the outbox closely follows commit order. A failing insert fails the whole transaction.
+ */
+@Component
+@ConditionalOnProperty(prefix = "news-portal.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final OutboxRelay relay;
+
+    OutboxWriter(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper, OutboxRelay relay) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.relay = relay;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    void record(DomainEvent event) throws JsonProcessingException {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType(event.aggregateType())
+                .aggregateId(event.aggregateId())
+                .eventType(event.eventType())
+                .payload(objectMapper.writeValueAsString(event))
+                .build());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    void wakeRelay(DomainEvent event) {
+        relay.wakeUp();
+    }
+}
@@ -0,0 +1,137 @@
+package com.dev.news.newsportal.partition;
+
+import com.dev.news.newsportal.cache.CacheNames;
+import com.dev.news.newsportal.cache.InvalidationBus;
+import com.dev.news.newsportal.cache.InvalidationMessage;
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.dev.news.newsportal.worker.PeriodicWorker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Keeps the monthly partitions of {@code comments} ahead of the clock and drops the expired ones.
+ * <p>
+ * Every run creates the partitions of the current month and the next {@code premade-months}, so new comments never
+ * land in the default partition while the maintainer runs. Rows that did land there, or were imported with older
+ * dates, are moved into a partition of their own month. With {@code retention-months} set, the partitions of months
+ * before the retention window are dropped, each in one transaction with the replies to its comments from later
+ * months, and the cached articles are flushed on every node.
+ * <p>
+ * Each partition is created or dropped in its own transaction. A run that fails, for example because another node
+ * created the same partition first, is logged and repeated at the next interval.
+ */
+@Slf4j
+@Component
+@Profile("pgsql")
+@ConditionalOnProperty(prefix = "news-portal.comment-partitions", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+class CommentPartitionMaintainer implements SmartLifecycle {
+
+    private final CommentPartitionStore store;
+    private final InvalidationBus invalidationBus;
+    private final TransactionTemplate transactionTemplate;
+    private final NewsPortalProperties.CommentPartitions settings;
+    private final Counter created;
+    private final Counter dropped;
+    private final Counter moved;
+    private volatile int partitions;
+    private final PeriodicWorker worker;
+
+    CommentPartitionMaintainer(CommentPartitionStore store, InvalidationBus invalidationBus,
+                               PlatformTransactionManager transactionManager, NewsPortalProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.store = store;
+        this.invalidationBus = invalidationBus;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settings = properties.getCommentPartitions();
+        this.worker = new PeriodicWorker("comment-partition-maintainer", Duration.ZERO, settings.getCheckInterval(),
+                this::maintain);
+        this.created = Counter.builder("newsportal.comments.partitions.changes")
+                .description("Monthly comment partitions created or dropped")
+                .tag("action", "created")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("newsportal.comments.partitions.changes")
+                .description("Monthly comment partitions created or dropped")
+                .tag("action", "dropped")
+                .register(meterRegistry);
+        this.moved = Counter.builder("newsportal.comments.partitions.moved")
+                .description("Comments moved from the default partition into a monthly one")
+                .register(meterRegistry);
+        Gauge.builder("newsportal.comments.partitions", this, maintainer -> maintainer.partitions)
+                .description("Monthly comment partitions after the last maintenance run")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates the missing partitions and drops the expired ones.
+     */
+    synchronized void maintain() {
+        YearMonth current = YearMonth.now();
+        SortedSet<YearMonth> existing = store.months();
+        SortedSet<YearMonth> missing = new TreeSet<>(store.monthsInDefault());
+        for (int ahead = 0; ahead <= settings.getPremadeMonths(); ahead++) {
+            missing.add(current.plusMonths(ahead));
+        }
+        missing.removeAll(existing);
+        for (YearMonth month : missing) {
+            int rows = transactionTemplate.execute(status -> store.create(month));
+            existing.add(month);
+            created.increment();
+            moved.increment(rows);
+            if (rows > 0) {
+                log.warn("Created comment partition {} and moved {} comments into it from the default partition",
+                        CommentPartitionStore.name(month), rows);
+            } else {
+                log.info("Created comment partition {}", CommentPartitionStore.name(month));
+            }
+        }
+
+        if (settings.getRetentionMonths() > 0) {
+            YearMonth oldestKept = current.minusMonths(settings.getRetentionMonths());
+            for (YearMonth month : List.copyOf(existing.headSet(oldestKept))) {
+                int replies = transactionTemplate.execute(status -> {
+                    int deleted = store.deleteLaterReplies(month);
+                    store.drop(month);
+                    // Cached articles carry their comments
+                    invalidationBus.publish(Set.of(InvalidationMessage.Entry.all(CacheNames.NEWS)));
+                    return deleted;
+                });
+                existing.remove(month);
+                dropped.increment();
+                log.info("Dropped comment partition {} and {} replies to its comments from later months",
+                        CommentPartitionStore.name(month), replies);
+            }
+        }
+        partitions = existing.size();
+    }
+
+    @Override
+    public void start() {
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        worker.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker.isRunning();
+    }
+}
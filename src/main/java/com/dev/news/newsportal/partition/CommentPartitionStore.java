@@ -0,0 +1,118 @@
+package com.dev.news.newsportal.partition;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lists, creates and drops the monthly partitions of the PostgreSQL {@code comments} table.
+ * <p>
+ * A partition is named {@code comments_pYYYY_MM} and holds the comments created in that calendar month. DDL takes no
+ * bind parameters, so names and bounds are only ever formatted from {@link YearMonth} values. The statements join in
+ * the caller's transaction.
+ */
+@Component
+@Profile("pgsql")
+class CommentPartitionStore {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("comments_p(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter NAME_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String LIST_PARTITIONS_SQL = "SELECT c.relname FROM pg_inherits i "
+            + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'comments'::regclass";
+    private static final String DEFAULT_MONTHS_SQL =
+            "SELECT DISTINCT date_trunc('month', creation_date) FROM comments_default";
+    // Replies in later months to the comments of a partition, and replies to those, down to the last level
+    private static final String DELETE_LATER_REPLIES_SQL = "WITH RECURSIVE replies (id, creation_date) AS ("
+            + "SELECT c.id, c.creation_date FROM comments c JOIN %s p ON c.parent_comment_id = p.id "
+            + "WHERE c.creation_date >= ? "
+            + "UNION SELECT c.id, c.creation_date FROM comments c JOIN replies r ON c.parent_comment_id = r.id "
+            + "WHERE c.creation_date >= r.creation_date) "
+            + "DELETE FROM comments WHERE (id, creation_date) IN (SELECT id, creation_date FROM replies)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    CommentPartitionStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the months that have a partition.
+     */
+    SortedSet<YearMonth> months() {
+        SortedSet<YearMonth> months = new TreeSet<>();
+        for (String name : jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class)) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (matcher.matches()) {
+                months.add(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+            }
+        }
+        return months;
+    }
+
+    /**
+     * Returns the months of the rows in the default partition, which have no partition of their own.
+     */
+    List<YearMonth> monthsInDefault() {
+        return jdbcTemplate.queryForList(DEFAULT_MONTHS_SQL, Timestamp.class).stream()
+                .map(month -> YearMonth.from(month.toLocalDateTime()))
+                .toList();
+    }
+
+    /**
+     * Creates the partition of a month, moving its rows out of the default partition. The default partition is
+     * locked against writes meanwhile, because attaching fails if it still holds rows of the month.
+     *
+     * @return the number of rows moved from the default partition
+     */
+    int create(YearMonth month) {
+        String name = name(month);
+        jdbcTemplate.execute("LOCK TABLE comments_default IN SHARE ROW EXCLUSIVE MODE");
+        jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE comments INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM comments_default "
+                        + "WHERE creation_date >= ? AND creation_date < ? RETURNING *) INSERT INTO " + name
+                        + " SELECT * FROM moved",
+                Timestamp.valueOf(start(month)), Timestamp.valueOf(start(month.plusMonths(1))));
+        jdbcTemplate.execute("ALTER TABLE comments ATTACH PARTITION " + name + " FOR VALUES FROM ('"
+                + start(month) + "') TO ('" + start(month.plusMonths(1)) + "')");
+        return moved;
+    }
+
+    /**
+     * Deletes the replies in later months to the comments of a partition, which would otherwise outlive the
+     * comments they answer when the partition is dropped.
+     *
+     * @return the number of replies deleted
+     */
+    int deleteLaterReplies(YearMonth month) {
+        return jdbcTemplate.update(DELETE_LATER_REPLIES_SQL.formatted(name(month)),
+                Timestamp.valueOf(start(month.plusMonths(1))));
+    }
+
+    /**
+     * Detaches and drops the partition of a month with all of its comments.
+     */
+    void drop(YearMonth month) {
+        String name = name(month);
+        jdbcTemplate.execute("ALTER TABLE comments DETACH PARTITION " + name);
+        jdbcTemplate.execute("DROP TABLE " + name);
+    }
+
+    static String name(YearMonth month) {
+        return "comments_p" + month.format(NAME_SUFFIX);
+    }
+
+    private static LocalDateTime start(YearMonth month) {
+        return month.atDay(1).atStartOfDay();
+    }
+}
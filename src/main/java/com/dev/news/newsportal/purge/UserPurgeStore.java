@@ -0,0 +1,69 @@
+package com.dev.news.newsportal.purge;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Removes the content of a deleted user with set-based statements bounded by a row limit.
+ * <p>
+ * The statements join in the caller's transaction; none of them loads entities.
+ */
+@Component
+class UserPurgeStore {
+
+    private static final String DELETE_COMMENTS_SQL = "DELETE FROM comments WHERE id IN ("
+            + "SELECT c.id FROM comments c JOIN news n ON n.id = c.news_id WHERE n.author_id = ? "
+            + "ORDER BY c.id DESC LIMIT ?)";
+    private static final String DELETE_NEWS_SQL = "DELETE FROM news WHERE id IN ("
+            + "SELECT id FROM news WHERE author_id = ? ORDER BY id LIMIT ?)";
+    private static final String DELETE_ARCHIVED_NEWS_SQL = "DELETE FROM news_archive WHERE id IN ("
+            + "SELECT id FROM news_archive WHERE author_id = ? ORDER BY id LIMIT ?)";
+    private static final String DELETE_USER_SQL = "DELETE FROM users WHERE id = ? AND deleted = TRUE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    UserPurgeStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Deletes up to {@code limit} comments on the user's news articles, newest first so replies mostly go before the
+     * comments they answer. Replies still attached to a deleted comment are removed by {@code ON DELETE CASCADE} and
+     * are not part of the returned count; the partitioned PostgreSQL table has no such cascade, and there they are
+     * removed by a later call.
+     *
+     * @return the number of comments deleted by the statement
+     */
+    int deleteComments(long userId, int limit) {
+        return jdbcTemplate.update(DELETE_COMMENTS_SQL, userId, limit);
+    }
+
+    /**
+     * Deletes up to {@code limit} news articles of the user, together with whatever comments were added after the
+     * last {@link #deleteComments(long, int)} call.
+     *
+     * @return the number of articles deleted
+     */
+    int deleteNews(long userId, int limit) {
+        return jdbcTemplate.update(DELETE_NEWS_SQL, userId, limit);
+    }
+
+    /**
+     * Deletes up to {@code limit} archived news articles of the user. An archived article holds its comments, so
+     * each one is a single row.
+     *
+     * @return the number of archived articles deleted
+     */
+    int deleteArchivedNews(long userId, int limit) {
+        return jdbcTemplate.update(DELETE_ARCHIVED_NEWS_SQL, userId, limit);
+    }
+
+    /**
+     * Deletes the user row, provided it is marked as deleted.
+     *
+     * @return the number of users deleted
+     */
+    int deleteUser(long userId) {
+        return jdbcTemplate.update(DELETE_USER_SQL, userId);
+    }
+}
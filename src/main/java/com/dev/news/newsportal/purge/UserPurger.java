@@ -0,0 +1,176 @@
+package com.dev.news.newsportal.purge;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.dev.news.newsportal.worker.PeriodicWorker;
+import com.dev.news.newsportal.entity.UserPurgeJob;
+import com.dev.news.newsportal.event.UserDeletedEvent;
+import com.dev.news.newsportal.repository.UserPurgeJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the purge jobs of deleted users.
+ * <p>
+ * A job removes the comments on the user's news articles, then the articles, then the archived articles, then the
+ * user row, at most {@code chunk-size} rows per transaction. Each chunk records its progress on the job in the
+ * transaction that removed the rows, so a job interrupted by a restart resumes where it stopped: unfinished jobs are
+ * picked up on startup and at every poll. A failed chunk is rolled back, its error recorded on the job, and retried
+ * at the next poll.
+ * <p>
+ * The purger assumes it is the only one running the jobs; run it on a single node.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "news-portal.user-purge", name = "enabled", havingValue = "true", matchIfMissing = true)
+class UserPurger implements SmartLifecycle {
+
+    private static final Set<UserPurgeJob.Status> UNFINISHED =
+            EnumSet.of(UserPurgeJob.Status.PENDING, UserPurgeJob.Status.RUNNING);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final UserPurgeJobRepository jobRepository;
+    private final UserPurgeStore store;
+    private final TransactionTemplate transactionTemplate;
+    private final NewsPortalProperties.UserPurge settings;
+    private final Counter newsDeleted;
+    private final Counter commentsDeleted;
+    private final Counter failures;
+    private final Timer chunkDuration;
+    private final PeriodicWorker worker;
+
+    UserPurger(UserPurgeJobRepository jobRepository, UserPurgeStore store,
+               PlatformTransactionManager transactionManager, NewsPortalProperties properties,
+               MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        this.store = store;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settings = properties.getUserPurge();
+        this.worker = new PeriodicWorker("user-purger", Duration.ZERO, settings.getPollInterval(), this::purgeAll);
+        this.newsDeleted = Counter.builder("newsportal.users.purge.deleted")
+                .description("Rows removed by user purge jobs")
+                .tag("type", "news")
+                .register(meterRegistry);
+        this.commentsDeleted = Counter.builder("newsportal.users.purge.deleted")
+                .description("Rows removed by user purge jobs")
+                .tag("type", "comments")
+                .register(meterRegistry);
+        this.failures = Counter.builder("newsportal.users.purge.failures")
+                .description("User purge chunks rolled back after an error")
+                .register(meterRegistry);
+        this.chunkDuration = Timer.builder("newsportal.users.purge.chunk")
+                .description("Duration of removing one chunk of a deleted user's content")
+                .register(meterRegistry);
+        Gauge.builder("newsportal.users.purge.pending", jobRepository,
+                        repository -> repository.countByStatusIn(UNFINISHED))
+                .description("User purge jobs not completed yet")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    void onUserDeleted(UserDeletedEvent event) {
+        worker.wakeUp();
+    }
+
+    /**
+     * Runs all unfinished jobs, oldest first, until they complete, fail or the purger is stopped.
+     */
+    void purgeAll() {
+        List<UserPurgeJob> jobs = jobRepository.findByStatusInOrderByIdAsc(UNFINISHED);
+        for (UserPurgeJob job : jobs) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            purge(job);
+        }
+    }
+
+    private void purge(UserPurgeJob job) {
+        log.info("Purging content of deleted user {} (job {})", job.getUserId(), job.getId());
+        try {
+            while (!purgeChunk(job)) {
+                if (Thread.currentThread().isInterrupted()) {
+                    log.info("Purge job {} interrupted, it resumes on the next start", job.getId());
+                    return;
+                }
+            }
+            log.info("Purge job {} of user {} completed", job.getId(), job.getUserId());
+        } catch (RuntimeException ex) {
+            failures.increment();
+            log.warn("Purge job {} of user {} failed, retrying at the next poll: {}", job.getId(), job.getUserId(),
+                    ex.toString());
+            String error = ex.toString();
+            transactionTemplate.executeWithoutResult(status -> jobRepository.recordError(job.getId(),
+                    error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error,
+                    LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Removes one chunk of the job's rows in its own transaction.
+     *
+     * @return whether the job completed
+     */
+    private boolean purgeChunk(UserPurgeJob job) {
+        long userId = job.getUserId();
+        int chunkSize = settings.getChunkSize();
+        long started = System.nanoTime();
+        Chunk chunk = transactionTemplate.execute(status -> {
+            // Comments go first so that deleting an article never cascades into an unbounded number of them
+            int comments = store.deleteComments(userId, chunkSize);
+            int news = comments == 0 ? store.deleteNews(userId, chunkSize) : 0;
+            if (comments == 0 && news == 0) {
+                news = store.deleteArchivedNews(userId, chunkSize);
+            }
+            LocalDateTime now = LocalDateTime.now();
+            if (comments == 0 && news == 0) {
+                store.deleteUser(userId);
+                jobRepository.markCompleted(job.getId(), now);
+            } else {
+                jobRepository.addProgress(job.getId(), news, comments, now);
+            }
+            return new Chunk(news, comments);
+        });
+        chunkDuration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        newsDeleted.increment(chunk.news());
+        commentsDeleted.increment(chunk.comments());
+        return chunk.news() == 0 && chunk.comments() == 0;
+    }
+
+    @Override
+    public void start() {
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        worker.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker.isRunning();
+    }
+
+    /**
+     * Rows removed by one chunk.
+     */
+    private record Chunk(int news, int comments) {
+    }
+}
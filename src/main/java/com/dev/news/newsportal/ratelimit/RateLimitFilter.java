@@ -0,0 +1,253 @@
+package com.dev.news.newsportal.ratelimit;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies per-client token bucket limits to the OpenAPI operations configured under
+ * {@code news-portal.rate-limit.operations}.
+ * <p>
+ * Operations are found by their {@code operationId} on the generated API interfaces, so limits follow the contract
+ * rather than hard-coded paths. Buckets live in a bounded Caffeine map per operation that drops buckets idle for a
+ * whole period; such a bucket would be full again anyway, so eviction never loosens a limit. Every limited response
+ * carries {@code RateLimit-Limit}, {@code RateLimit-Remaining} and {@code RateLimit-Reset}; rejected requests get
+ * {@code 429 Too Many Requests} with {@code Retry-After}.
+ * <p>
+ * Clients are only told apart by values they cannot make up per request: the remote address, which follows
+ * {@code server.forward-headers-strategy} behind a proxy, or an issued API key. Author nicknames are not
+ * authenticated, so a request keyed by its author is charged to its address as well.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+
+    private static final String AUTHOR_NICKNAME_FIELD = "authorNickname";
+
+    private final NewsPortalProperties.RateLimit settings;
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMappings;
+    private final ObjectMapper objectMapper;
+    private volatile List<LimitedOperation> operations;
+
+    public RateLimitFilter(NewsPortalProperties properties,
+                           @Qualifier("requestMappingHandlerMapping") ObjectProvider<RequestMappingHandlerMapping> handlerMappings,
+                           ObjectMapper objectMapper) {
+        this.settings = properties.getRateLimit();
+        this.handlerMappings = handlerMappings;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !settings.isEnabled() || settings.getOperations().isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        LimitedOperation operation = match(request);
+        if (operation == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        HttpServletRequest target = request;
+        String address = "ip:" + request.getRemoteAddr();
+        List<String> clients = switch (operation.settings().getKey()) {
+            case IP -> List.of(address);
+            case API_KEY -> {
+                String apiKey = request.getHeader(settings.getApiKeyHeader());
+                boolean issued = apiKey != null && settings.getApiKeys().contains(apiKey);
+                yield List.of(issued ? "key:" + apiKey : address);
+            }
+            case AUTHOR_NICKNAME -> {
+                long length = request.getContentLengthLong();
+                if (length < 0 || length > settings.getMaxBodySize().toBytes()) {
+                    // Far beyond any valid comment, so not worth holding in memory
+                    yield List.of(address);
+                }
+                CachedBodyRequest cached = new CachedBodyRequest(request, (int) length);
+                target = cached;
+                String nickname = readAuthorNickname(cached.getBody());
+                // A new nickname per request must not buy a new bucket, so the address is always charged
+                yield nickname != null ? List.of(address, "author:" + nickname) : List.of(address);
+            }
+        };
+
+        TokenBucket.Probe probe = consume(operation, clients);
+        response.setHeader(LIMIT_HEADER, Integer.toString(probe.limit()));
+        response.setHeader(REMAINING_HEADER, Integer.toString(probe.remaining()));
+        response.setHeader(RESET_HEADER, Long.toString(toSeconds(probe.resetNanos())));
+        if (probe.allowed()) {
+            filterChain.doFilter(target, response);
+        } else {
+            log.debug("Rate limit of {} exceeded by {}", operation.operationId(), clients);
+            reject(request, response, operation, Math.max(1, toSeconds(probe.retryAfterNanos())));
+        }
+    }
+
+    /**
+     * Takes a token from the bucket of every client key and returns the probe of the most restrictive one. Stops at
+     * the first empty bucket.
+     */
+    private static TokenBucket.Probe consume(LimitedOperation operation, List<String> clients) {
+        long now = System.nanoTime();
+        TokenBucket.Probe tightest = null;
+        for (String client : clients) {
+            TokenBucket.Probe probe = operation.buckets()
+                    .get(client, key -> new TokenBucket(operation.settings().getLimit(),
+                            operation.settings().getPeriod().toNanos(), now))
+                    .tryConsume(now);
+            if (tightest == null || !probe.allowed() || probe.remaining() < tightest.remaining()) {
+                tightest = probe;
+            }
+            if (!probe.allowed()) {
+                break;
+            }
+        }
+        return tightest;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, LimitedOperation operation,
+                        long retryAfterSeconds) throws IOException {
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", OffsetDateTime.now(ZoneOffset.UTC));
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", "Rate limit of " + operation.settings().getLimit() + " requests per "
+                + operation.settings().getPeriod().toSeconds() + "s exceeded, retry in " + retryAfterSeconds + "s");
+        body.put("path", request.getRequestURI());
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private LimitedOperation match(HttpServletRequest request) {
+        List<LimitedOperation> limited = resolveOperations();
+        if (limited.isEmpty()) {
+            return null;
+        }
+        boolean parsed = ServletRequestPathUtils.hasParsedRequestPath(request);
+        if (!parsed) {
+            ServletRequestPathUtils.parseAndCache(request);
+        }
+        try {
+            for (LimitedOperation operation : limited) {
+                if (operation.mapping().getMatchingCondition(request) != null) {
+                    return operation;
+                }
+            }
+            return null;
+        } finally {
+            if (!parsed) {
+                ServletRequestPathUtils.clearParsedRequestPath(request);
+            }
+        }
+    }
+
+    private List<LimitedOperation> resolveOperations() {
+        List<LimitedOperation> resolved = operations;
+        if (resolved == null) {
+            // Handler methods are only known once the MVC infrastructure is up, so this runs on the first request
+            resolved = List.copyOf(findLimitedOperations());
+            operations = resolved;
+        }
+        return resolved;
+    }
+
+    private List<LimitedOperation> findLimitedOperations() {
+        List<LimitedOperation> limited = new ArrayList<>();
+        Set<String> found = new HashSet<>();
+        RequestMappingHandlerMapping handlerMapping = handlerMappings.getIfAvailable();
+        if (handlerMapping != null) {
+            handlerMapping.getHandlerMethods().forEach((mapping, handlerMethod) -> {
+                Operation annotation = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(),
+                        Operation.class);
+                NewsPortalProperties.RateLimit.Operation limit =
+                        annotation != null ? settings.getOperations().get(annotation.operationId()) : null;
+                if (limit != null) {
+                    found.add(annotation.operationId());
+                    limited.add(new LimitedOperation(annotation.operationId(), mapping, limit, newBuckets(limit)));
+                }
+            });
+        }
+        settings.getOperations().keySet().stream()
+                .filter(operationId -> !found.contains(operationId))
+                .forEach(operationId -> log.warn("Rate limit configured for unknown operation {}", operationId));
+        return limited;
+    }
+
+    private Cache<String, TokenBucket> newBuckets(NewsPortalProperties.RateLimit.Operation limit) {
+        return Caffeine.newBuilder()
+                .maximumSize(settings.getMaxBuckets())
+                .expireAfterAccess(limit.getPeriod())
+                .build();
+    }
+
+    private String readAuthorNickname(byte[] body) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (AUTHOR_NICKNAME_FIELD.equals(field) && value == JsonToken.VALUE_STRING) {
+                    return parser.getText();
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException ex) {
+            // Malformed bodies are rejected by the controller; limit them by address meanwhile
+        }
+        return null;
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private record LimitedOperation(String operationId, RequestMappingInfo mapping,
+                                    NewsPortalProperties.RateLimit.Operation settings,
+                                    Cache<String, TokenBucket> buckets) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.dev.news.newsportal.ratelimit;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies one per-client token bucket limit to every route of a functional endpoint, the counterpart of
+ * {@link RateLimitFilter} for servers the servlet filters do not reach.
+ * <p>
+ * Responses carry the same {@code RateLimit-*} headers, and rejected requests get {@code 429 Too Many Requests} with
+ * {@code Retry-After}. Clients are keyed like in {@link RateLimitFilter}: by an issued API key or by the remote
+ * address. The routes only read, so {@code author-nickname} keys fall back to the remote address.
+ */
+@Slf4j
+public class RateLimitHandlerFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    private final NewsPortalProperties.RateLimit settings;
+    private final NewsPortalProperties.RateLimit.Operation limit;
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimitHandlerFilter(NewsPortalProperties.RateLimit settings,
+                                  NewsPortalProperties.RateLimit.Operation limit) {
+        this.settings = settings;
+        this.limit = limit;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxBuckets())
+                .expireAfterAccess(limit.getPeriod())
+                .build();
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        if (!settings.isEnabled()) {
+            return next.handle(request);
+        }
+        String client = client(request);
+        TokenBucket.Probe probe = buckets
+                .get(client, key -> new TokenBucket(limit.getLimit(), limit.getPeriod().toNanos(), System.nanoTime()))
+                .tryConsume(System.nanoTime());
+        if (!probe.allowed()) {
+            log.debug("Rate limit of {} exceeded by {}", request.path(), client);
+            return reject(request, probe);
+        }
+        // Built responses have read-only headers; the exchange ones are written along with them
+        withRateLimitHeaders(request.exchange().getResponse().getHeaders(), probe);
+        return next.handle(request);
+    }
+
+    private String client(ServerRequest request) {
+        String address = request.remoteAddress()
+                .map(InetSocketAddress::getAddress)
+                .map(InetAddress::getHostAddress)
+                .orElse("unknown");
+        if (limit.getKey() == NewsPortalProperties.RateLimit.KeySource.API_KEY) {
+            String apiKey = request.headers().firstHeader(settings.getApiKeyHeader());
+            if (apiKey != null && settings.getApiKeys().contains(apiKey)) {
+                return "key:" + apiKey;
+            }
+        }
+        return "ip:" + address;
+    }
+
+    private Mono<ServerResponse> reject(ServerRequest request, TokenBucket.Probe probe) {
+        long retryAfterSeconds = Math.max(1, toSeconds(probe.retryAfterNanos()));
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", OffsetDateTime.now(ZoneOffset.UTC));
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", "Rate limit of " + limit.getLimit() + " requests per "
+                + limit.getPeriod().toSeconds() + "s exceeded, retry in " + retryAfterSeconds + "s");
+        body.put("path", request.path());
+        return ServerResponse.status(status)
+                .headers(headers -> {
+                    withRateLimitHeaders(headers, probe);
+                    headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body);
+    }
+
+    private static void withRateLimitHeaders(HttpHeaders headers, TokenBucket.Probe probe) {
+        headers.set(RateLimitFilter.LIMIT_HEADER, Integer.toString(probe.limit()));
+        headers.set(RateLimitFilter.REMAINING_HEADER, Integer.toString(probe.remaining()));
+        headers.set(RateLimitFilter.RESET_HEADER, Long.toString(toSeconds(probe.resetNanos())));
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,64 @@
+package com.dev.news.newsportal.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * <p>
+ * Instead of a token count and a refill timestamp the bucket keeps the single instant at which it will be full
+ * again, the generic cell rate algorithm form of a token bucket. Every request pushes that instant one token interval
+ * into the future; a request that would push it beyond one full period from now is rejected. One compare-and-set
+ * per request keeps the bucket consistent without locks.
+ */
+final class TokenBucket {
+
+    private final int capacity;
+    private final long tokenIntervalNanos;
+    private final long periodNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(int capacity, long periodNanos, long nowNanos) {
+        this.capacity = capacity;
+        this.periodNanos = periodNanos;
+        this.tokenIntervalNanos = Math.max(1, periodNanos / capacity);
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return the outcome, including the values of the rate limit headers
+     */
+    Probe tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + tokenIntervalNanos;
+            long debt = next - nowNanos;
+            if (debt > periodNanos) {
+                long waitNanos = debt - periodNanos;
+                return new Probe(false, capacity, remaining(current, nowNanos), current - nowNanos, waitNanos);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return new Probe(true, capacity, remaining(next, nowNanos), debt, 0);
+            }
+        }
+    }
+
+    private int remaining(long full, long nowNanos) {
+        long debt = Math.max(0, full - nowNanos);
+        return (int) Math.max(0, (periodNanos - debt) / tokenIntervalNanos);
+    }
+
+    /**
+     * Outcome of a consumption attempt.
+     *
+     * @param allowed        whether a token was taken
+     * @param limit          capacity of the bucket
+     * @param remaining      tokens left after the attempt
+     * @param resetNanos     time until the bucket is full again
+     * @param retryAfterNanos time until the next token is available when rejected, otherwise 0
+     */
+    record Probe(boolean allowed, int limit, int remaining, long resetNanos, long retryAfterNanos) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.dev.news.newsportal.reactive;
+
+import java.time.LocalDateTime;
+
+/**
+ * List projection of a comment: whether it has replies instead of the replies themselves.
+ */
+record CommentListRow(Long id, String text, LocalDateTime creationDate, String authorNickname, boolean hasReplies) {
+}
@@ -0,0 +1,14 @@
+package com.dev.news.newsportal.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of {@code comments} as read by the reactive read stack.
+ */
+@Table("comments")
+record CommentRow(@Id Long id, String text, LocalDateTime creationDate, String authorNickname, Long newsId,
+                  Long parentCommentId) {
+}
@@ -0,0 +1,18 @@
+package com.dev.news.newsportal.reactive;
+
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+
+/**
+ * Page queries of {@link ReactiveNewsRepository}, whose sort order is only known at run time.
+ */
+interface NewsPageQueries {
+
+    /**
+     * Returns a page of article summaries with their authors and comment counts in one query.
+     *
+     * @throws IllegalArgumentException if the page is sorted by a property other than {@code id}, {@code title}
+     *                                  or {@code creationDate}
+     */
+    Flux<NewsSummaryRow> findPage(Pageable pageable);
+}
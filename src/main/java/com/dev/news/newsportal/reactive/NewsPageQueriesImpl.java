@@ -0,0 +1,60 @@
+package com.dev.news.newsportal.reactive;
+
+import com.dev.news.newsportal.repository.CommentRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+class NewsPageQueriesImpl implements NewsPageQueries {
+
+    // Same restrictions and comment count bound as NewsRepository.SUMMARY_SELECT
+    private static final String FIND_PAGE_SQL = "SELECT n.id, n.title, n.image_url, n.creation_date, n.author_id, "
+            + "a.nickname AS author_nickname, (SELECT COUNT(*) FROM comments c WHERE c.news_id = n.id "
+            + "AND c.creation_date >= n.creation_date - INTERVAL '" + CommentRepository.CREATION_DATE_MARGIN_DAYS
+            + "' DAY) AS comment_count FROM news n JOIN users a ON a.id = n.author_id WHERE a.deleted = FALSE "
+            + "ORDER BY %s LIMIT :limit OFFSET :offset";
+    private static final Map<String, String> SORT_COLUMNS =
+            Map.of("id", "n.id", "title", "n.title", "creationDate", "n.creation_date");
+
+    private final DatabaseClient databaseClient;
+
+    NewsPageQueriesImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Flux<NewsSummaryRow> findPage(Pageable pageable) {
+        return databaseClient.sql(FIND_PAGE_SQL.formatted(orderBy(pageable.getSort())))
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(row -> new NewsSummaryRow(row.get("id", Long.class), row.get("title", String.class),
+                        row.get("image_url", String.class), row.get("creation_date", LocalDateTime.class),
+                        row.get("author_id", Long.class), row.get("author_nickname", String.class),
+                        row.get("comment_count", Long.class)))
+                .all();
+    }
+
+    /**
+     * Renders the sort of a page, ending with the id so that pages do not overlap when sort values repeat.
+     */
+    private static String orderBy(Sort sort) {
+        String orders = sort.stream()
+                .map(order -> {
+                    String column = SORT_COLUMNS.get(order.getProperty());
+                    if (column == null) {
+                        throw new IllegalArgumentException("News cannot be sorted by " + order.getProperty());
+                    }
+                    return column + (order.isAscending() ? " ASC" : " DESC");
+                })
+                .collect(Collectors.joining(", "));
+        if (sort.getOrderFor("id") != null) {
+            return orders;
+        }
+        return orders.isEmpty() ? "n.id" : orders + ", n.id";
+    }
+}
@@ -0,0 +1,13 @@
+package com.dev.news.newsportal.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of {@code news} as read by the reactive read stack.
+ */
+@Table("news")
+record NewsRow(@Id Long id, String title, String text, String imageUrl, LocalDateTime creationDate, Long authorId) {
+}
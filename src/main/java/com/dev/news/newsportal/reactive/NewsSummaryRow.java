@@ -0,0 +1,10 @@
+package com.dev.news.newsportal.reactive;
+
+import java.time.LocalDateTime;
+
+/**
+ * List projection of a news article: no text and no comments, only their count.
+ */
+record NewsSummaryRow(Long id, String title, String imageUrl, LocalDateTime creationDate, Long authorId,
+                      String authorNickname, long commentCount) {
+}
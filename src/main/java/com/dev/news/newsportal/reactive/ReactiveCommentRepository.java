@@ -0,0 +1,28 @@
+package com.dev.news.newsportal.reactive;
+
+import com.dev.news.newsportal.repository.CommentRepository;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reads comments for the reactive read stack. Like {@link CommentRepository}, the queries of an article's comments
+ * take a lower bound of their creation date, so that only the partitions that can hold them are read.
+ */
+interface ReactiveCommentRepository extends R2dbcRepository<CommentRow, Long> {
+
+    Mono<Long> countByNewsIdAndCreationDateGreaterThanEqual(Long newsId, LocalDateTime since);
+
+    /**
+     * Returns the comments of an article, newest first, replies included.
+     */
+    @Query("SELECT c.id, c.text, c.creation_date, c.author_nickname, EXISTS (SELECT 1 FROM comments r "
+            + "WHERE r.parent_comment_id = c.id AND r.creation_date >= c.creation_date - INTERVAL '"
+            + CommentRepository.CREATION_DATE_MARGIN_DAYS + "' DAY) AS has_replies "
+            + "FROM comments c WHERE c.news_id = :newsId AND c.creation_date >= :since "
+            + "ORDER BY c.creation_date DESC, c.id DESC")
+    Flux<CommentListRow> findListByNewsId(Long newsId, LocalDateTime since);
+}
@@ -0,0 +1,29 @@
+package com.dev.news.newsportal.reactive;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Wires the R2DBC repositories of the reactive read stack. Spring Boot derives the entity template and mapping
+ * context of the repositories from the {@link DatabaseClient} bean.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "news-portal.reactive", name = "enabled", havingValue = "true")
+@EnableR2dbcRepositories
+class ReactiveConfig {
+
+    @Bean
+    ReactiveDatabase reactiveDatabase(DataSourceProperties dataSourceProperties, NewsPortalProperties properties) {
+        return new ReactiveDatabase(dataSourceProperties, properties);
+    }
+
+    @Bean
+    DatabaseClient reactiveDatabaseClient(ReactiveDatabase reactiveDatabase) {
+        return reactiveDatabase.client();
+    }
+}
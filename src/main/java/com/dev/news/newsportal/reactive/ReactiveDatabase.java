@@ -0,0 +1,78 @@
+package com.dev.news.newsportal.reactive;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * R2DBC connection pool of the reactive read stack, opened on the database of the JDBC data source.
+ * <p>
+ * The pool is deliberately not a bean: a {@code ConnectionFactory} bean would make Spring Boot drop the JDBC data
+ * source that the rest of the application runs on. Statements run with the configured fetch size, so that a streamed
+ * result is read from the database as fast as the client takes it, and not faster.
+ */
+class ReactiveDatabase implements AutoCloseable {
+
+    private static final Pattern H2_URL = Pattern.compile("jdbc:h2:(mem|file):([^;]+)(;.*)?");
+    private static final Pattern POSTGRESQL_URL = Pattern.compile("jdbc:postgresql://([^/?]+)/([^?]+)(\\?.*)?");
+    private static final Pattern CURRENT_SCHEMA = Pattern.compile("(?:^|&)currentSchema=([^&]+)");
+
+    private final ConnectionPool pool;
+    private final DatabaseClient client;
+
+    ReactiveDatabase(DataSourceProperties dataSource, NewsPortalProperties properties) {
+        NewsPortalProperties.Reactive settings = properties.getReactive();
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(toR2dbcUrl(dataSource.determineUrl()))
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, dataSource.determineUsername());
+        if (dataSource.determinePassword() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, dataSource.determinePassword());
+        }
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name("reactive")
+                .maxSize(settings.getMaxConnections())
+                .build());
+        this.client = DatabaseClient.builder()
+                .connectionFactory(pool)
+                .executeFunction(statement -> Flux.from(statement.fetchSize(settings.getFetchSize()).execute()))
+                .build();
+    }
+
+    DatabaseClient client() {
+        return client;
+    }
+
+    @Override
+    public void close() {
+        pool.dispose();
+    }
+
+    /**
+     * Translates the JDBC URL of an H2 or PostgreSQL database into the R2DBC URL of the same database. Driver
+     * options are dropped, except for the schema of PostgreSQL.
+     *
+     * @throws IllegalStateException for URLs of other databases
+     */
+    static String toR2dbcUrl(String jdbcUrl) {
+        Matcher h2 = H2_URL.matcher(jdbcUrl);
+        if (h2.matches()) {
+            return "r2dbc:h2:" + h2.group(1) + ":///" + h2.group(2);
+        }
+        Matcher postgresql = POSTGRESQL_URL.matcher(jdbcUrl);
+        if (postgresql.matches()) {
+            String url = "r2dbc:postgresql://" + postgresql.group(1) + "/" + postgresql.group(2);
+            String query = postgresql.group(3) != null ? postgresql.group(3).substring(1) : "";
+            Matcher schema = CURRENT_SCHEMA.matcher(query);
+            return schema.find() ? url + "?schema=" + schema.group(1) : url;
+        }
+        throw new IllegalStateException("The reactive server supports H2 and PostgreSQL only, not " + jdbcUrl);
+    }
+}
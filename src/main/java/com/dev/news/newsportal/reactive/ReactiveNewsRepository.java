@@ -0,0 +1,15 @@
+package com.dev.news.newsportal.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads news articles for the reactive read stack. Like the {@code News} entity, it hides the articles of deleted
+ * users in every query except {@link #findById}, whose callers check the author themselves.
+ */
+interface ReactiveNewsRepository extends R2dbcRepository<NewsRow, Long>, NewsPageQueries {
+
+    @Query("SELECT COUNT(*) FROM news WHERE author_id NOT IN (SELECT u.id FROM users u WHERE u.deleted = TRUE)")
+    Mono<Long> countVisible();
+}
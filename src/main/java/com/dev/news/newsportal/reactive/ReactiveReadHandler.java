@@ -0,0 +1,247 @@
+package com.dev.news.newsportal.reactive;
+
+import com.dev.news.newsportal.api.model.comments.CommentListItem;
+import com.dev.news.newsportal.api.model.news.NewsResponse;
+import com.dev.news.newsportal.archive.NewsArchive;
+import com.dev.news.newsportal.exception.ErrorResponseBuilder;
+import com.dev.news.newsportal.exception.ResourceNotFoundException;
+import com.dev.news.newsportal.mapper.api.CommentApiMapper;
+import com.dev.news.newsportal.mapper.api.NewsApiMapper;
+import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.NewsSummaryModel;
+import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.repository.CommentRepository;
+import com.dev.news.newsportal.views.NewsViewCounter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.NotAcceptableStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+/**
+ * Non-blocking counterparts of {@code getAllNews}, {@code getNewsById} and {@code getCommentsByNews}, answering with
+ * the DTOs of the OpenAPI contracts.
+ * <p>
+ * Comment lists are streamed: rows are read from the database as the client consumes the response, as a JSON array
+ * by default or as newline-delimited JSON for {@code application/x-ndjson}. Articles missing from {@code news} are
+ * looked up in the archive on the bounded elastic scheduler, as the archive is read through JDBC.
+ */
+@Component
+@ConditionalOnProperty(prefix = "news-portal.reactive", name = "enabled", havingValue = "true")
+class ReactiveReadHandler {
+
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    // Functional endpoints do not negotiate the content type, so the handlers pick it from these
+    private static final List<MediaType> DOCUMENT_TYPES =
+            List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+    private static final List<MediaType> LIST_TYPES = List.of(MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+    private static final ParameterizedTypeReference<List<CommentListItem>> COMMENT_LIST_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final ReactiveNewsRepository newsRepository;
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveCommentRepository commentRepository;
+    private final NewsArchive newsArchive;
+    private final NewsApiMapper newsApiMapper;
+    private final CommentApiMapper commentApiMapper;
+    private final NewsViewCounter viewCounter;
+
+    ReactiveReadHandler(ReactiveNewsRepository newsRepository, ReactiveUserRepository userRepository,
+                        ReactiveCommentRepository commentRepository, NewsArchive newsArchive,
+                        NewsApiMapper newsApiMapper, CommentApiMapper commentApiMapper,
+                        ObjectProvider<NewsViewCounter> viewCounter) {
+        this.newsRepository = newsRepository;
+        this.userRepository = userRepository;
+        this.commentRepository = commentRepository;
+        this.newsArchive = newsArchive;
+        this.newsApiMapper = newsApiMapper;
+        this.commentApiMapper = commentApiMapper;
+        this.viewCounter = viewCounter.getIfAvailable();
+    }
+
+    RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/api/v1/news", deferred(this::getAllNews))
+                .GET("/api/v1/news/{id}", deferred(this::getNewsById))
+                .GET("/api/v1/comments/news/{newsId}", deferred(this::getCommentsByNews))
+                .onError(ResourceNotFoundException.class, (ex, request) -> error(request, HttpStatus.NOT_FOUND, ex))
+                .onError(IllegalArgumentException.class, (ex, request) -> error(request, HttpStatus.BAD_REQUEST, ex))
+                .build();
+    }
+
+    Mono<ServerResponse> getAllNews(ServerRequest request) {
+        Pageable pageable = pageable(request);
+        return Mono.zip(newsRepository.findPage(pageable).map(ReactiveReadHandler::toSummaryModel).collectList(),
+                        newsRepository.countVisible())
+                .map(page -> newsApiMapper.toPagedSummaryResponse(new PageImpl<>(page.getT1(), pageable,
+                        page.getT2())))
+                .flatMap(response -> ServerResponse.ok().contentType(negotiate(request, DOCUMENT_TYPES))
+                        .bodyValue(response));
+    }
+
+    Mono<ServerResponse> getNewsById(ServerRequest request) {
+        long id = Long.parseLong(request.pathVariable("id"));
+        Mono<NewsResponse> live = newsRepository.findById(id)
+                .flatMap(news -> Mono.zip(userRepository.findByIdAndDeletedFalse(news.authorId()),
+                                commentRepository.countByNewsIdAndCreationDateGreaterThanEqual(id,
+                                        commentsSince(news.creationDate())))
+                        .map(authorAndCount -> toResponse(news, authorAndCount.getT1(), authorAndCount.getT2())));
+        return live
+                .switchIfEmpty(fromArchive(() -> newsArchive.findNews(id).map(newsApiMapper::toResponse)))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("News", "id", id)))
+                .doOnNext(response -> {
+                    if (viewCounter != null && viewCounter.isCountingReads()) {
+                        viewCounter.record(id);
+                    }
+                })
+                .flatMap(response -> ServerResponse.ok().contentType(negotiate(request, DOCUMENT_TYPES))
+                        .bodyValue(response));
+    }
+
+    Mono<ServerResponse> getCommentsByNews(ServerRequest request) {
+        long newsId = Long.parseLong(request.pathVariable("newsId"));
+        Mono<Flux<CommentListItem>> live = newsRepository.findById(newsId)
+                .filterWhen(news -> userRepository.findByIdAndDeletedFalse(news.authorId()).hasElement())
+                .map(news -> commentRepository.findListByNewsId(newsId, commentsSince(news.creationDate()))
+                        .map(ReactiveReadHandler::toListItem));
+        return live
+                .switchIfEmpty(fromArchive(() -> newsArchive.findComments(newsId)
+                        .map(comments -> Flux.fromIterable(commentApiMapper.toListItemList(comments)))))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("News", "id", newsId)))
+                .flatMap(comments -> {
+                    MediaType contentType = negotiate(request, LIST_TYPES);
+                    return MediaType.APPLICATION_CBOR.equals(contentType)
+                            // The CBOR encoder cannot stream, so the list is collected first
+                            ? ServerResponse.ok().contentType(contentType)
+                                    .body(comments.collectList(), COMMENT_LIST_TYPE)
+                            : ServerResponse.ok().contentType(contentType).body(comments, CommentListItem.class);
+                });
+    }
+
+    /**
+     * Reads the page parameters like the servlet endpoint does: ten newest articles by default.
+     */
+    private static Pageable pageable(ServerRequest request) {
+        int page = request.queryParam("page").map(Integer::parseInt).orElse(0);
+        int size = request.queryParam("size").map(Integer::parseInt).orElse(10);
+        if (page < 0 || size < 1 || size > 100) {
+            throw new IllegalArgumentException("Page must be at least 0 and size between 1 and 100");
+        }
+        List<String> sortParams = request.queryParams().getOrDefault("sort", List.of());
+        Sort sort = Sort.by(Sort.Direction.DESC, "creationDate");
+        if (!sortParams.isEmpty()) {
+            List<Sort.Order> orders = new ArrayList<>();
+            for (String sortParam : sortParams) {
+                String[] parts = sortParam.split(",");
+                Sort.Direction direction = parts.length > 1 && "asc".equalsIgnoreCase(parts[1].trim())
+                        ? Sort.Direction.ASC : Sort.Direction.DESC;
+                orders.add(new Sort.Order(direction, parts[0].trim()));
+            }
+            sort = Sort.by(orders);
+        }
+        return PageRequest.of(page, size, sort);
+    }
+
+    /**
+     * Turns exceptions thrown while a handler reads its parameters into error signals, which the error handlers of
+     * the routes only see.
+     */
+    private static HandlerFunction<ServerResponse> deferred(HandlerFunction<ServerResponse> handler) {
+        return request -> Mono.defer(() -> handler.handle(request));
+    }
+
+    /**
+     * Answers with the error response of the API the path belongs to, like {@code GlobalExceptionHandler}.
+     */
+    private static Mono<ServerResponse> error(ServerRequest request, HttpStatus status, Throwable ex) {
+        Object body = request.path().startsWith("/api/v1/comments")
+                ? ErrorResponseBuilder.createCommentsErrorResponse(status, ex.getMessage()).path(request.path())
+                : ErrorResponseBuilder.createNewsErrorResponse(status, ex.getMessage()).path(request.path());
+        return ServerResponse.status(status).bodyValue(body);
+    }
+
+    /**
+     * Returns the first of the producible media types that the first acceptable one of the client matches.
+     *
+     * @throws NotAcceptableStatusException if the client accepts none of them
+     */
+    private static MediaType negotiate(ServerRequest request, List<MediaType> producible) {
+        List<MediaType> accepted = request.headers().accept();
+        if (accepted.isEmpty()) {
+            return producible.getFirst();
+        }
+        for (MediaType acceptedType : accepted) {
+            for (MediaType type : producible) {
+                if (acceptedType.isCompatibleWith(type)) {
+                    return type;
+                }
+            }
+        }
+        throw new NotAcceptableStatusException(producible);
+    }
+
+    private static LocalDateTime commentsSince(LocalDateTime newsCreationDate) {
+        return newsCreationDate.minus(Duration.ofDays(CommentRepository.CREATION_DATE_MARGIN_DAYS));
+    }
+
+    private static <T> Mono<T> fromArchive(Callable<Optional<T>> lookup) {
+        return Mono.fromCallable(() -> lookup.call().orElse(null))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private NewsResponse toResponse(NewsRow news, UserRow author, long commentCount) {
+        NewsModel model = NewsModel.builder()
+                .id(news.id())
+                .title(news.title())
+                .text(news.text())
+                .imageUrl(news.imageUrl())
+                .creationDate(news.creationDate())
+                .author(UserModel.builder().id(author.id()).nickname(author.nickname()).build())
+                .build();
+        return newsApiMapper.toResponse(model).commentCount(commentCount);
+    }
+
+    private static NewsSummaryModel toSummaryModel(NewsSummaryRow row) {
+        return NewsSummaryModel.builder()
+                .id(row.id())
+                .title(row.title())
+                .imageUrl(row.imageUrl())
+                .creationDate(row.creationDate())
+                .author(UserModel.builder().id(row.authorId()).nickname(row.authorNickname()).build())
+                .commentCount(row.commentCount())
+                .build();
+    }
+
+    private static CommentListItem toListItem(CommentListRow row) {
+        return new CommentListItem()
+                .id(row.id())
+                .text(row.text())
+                .creationDate(row.creationDate().atOffset(ZoneOffset.UTC))
+                .authorNickname(row.authorNickname())
+                .hasReplies(row.hasReplies());
+    }
+}
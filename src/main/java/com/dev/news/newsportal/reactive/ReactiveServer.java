@@ -0,0 +1,128 @@
+package com.dev.news.newsportal.reactive;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.dev.news.newsportal.ratelimit.RateLimitHandlerFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Serves the routes of {@link ReactiveReadHandler} from a Reactor Netty server of its own, next to the servlet
+ * container that serves the whole API.
+ * <p>
+ * Responses are written with the same Jackson settings as the servlet endpoints, in JSON, CBOR or Smile. The
+ * servlet filters do not apply on this port: requests are not summarized in the request log, and lookups go past the
+ * news cache and the cache of missing resources straight to the database. As nothing in front of the database
+ * absorbs repeated reads here, every route is limited per client by {@code news-portal.reactive.rate-limit}.
+ * Unless {@code server.forward-headers-strategy} is {@code none}, the client address is taken from the
+ * {@code Forwarded} and {@code X-Forwarded-*} headers of the proxy in front, as on the servlet port.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "news-portal.reactive", name = "enabled", havingValue = "true")
+class ReactiveServer implements SmartLifecycle {
+
+    private final HttpHandler httpHandler;
+    private final int port;
+    private final boolean forwarded;
+    private volatile DisposableServer server;
+
+    ReactiveServer(ReactiveReadHandler handler, ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilders,
+                   NewsPortalProperties properties, ObjectProvider<ServerProperties> serverProperties) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    // Only the encoders of the API, JSON first as it answers clients that accept any media type
+                    codecs.registerDefaults(false);
+                    codecs.customCodecs().register(new Jackson2JsonEncoder(objectMapperBuilders.getObject().build(),
+                            MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON));
+                    codecs.customCodecs().register(new Jackson2SmileEncoder(
+                            objectMapperBuilders.getObject().factory(new SmileFactory()).build(),
+                            MediaType.parseMediaType("application/x-jackson-smile")));
+                    codecs.customCodecs().register(new CborValueEncoder(
+                            objectMapperBuilders.getObject().factory(new CBORFactory()).build()));
+                })
+                .build();
+        RateLimitHandlerFilter rateLimit = new RateLimitHandlerFilter(properties.getRateLimit(),
+                properties.getReactive().getRateLimit());
+        this.httpHandler = RouterFunctions.toHttpHandler(handler.routes().filter(rateLimit), strategies);
+        this.port = properties.getReactive().getPort();
+        ServerProperties.ForwardHeadersStrategy strategy = serverProperties.getIfAvailable(ServerProperties::new)
+                .getForwardHeadersStrategy();
+        this.forwarded = strategy != null && strategy != ServerProperties.ForwardHeadersStrategy.NONE;
+    }
+
+    /**
+     * Returns the port the server listens on, or -1 while it is stopped.
+     */
+    int getPort() {
+        DisposableServer current = server;
+        return current != null ? current.port() : -1;
+    }
+
+    @Override
+    public void start() {
+        server = HttpServer.create()
+                .port(port)
+                .forwarded(forwarded)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Reactive read endpoints listening on port {}", server.port());
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer current = server;
+        server = null;
+        if (current != null) {
+            current.disposeNow(Duration.ofSeconds(5));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * CBOR encoder for response bodies of a single value. The Jackson encoder only encodes values one by one, but
+     * response writers hand every body over as a stream.
+     */
+    private static class CborValueEncoder extends Jackson2CborEncoder {
+
+        CborValueEncoder(ObjectMapper objectMapper) {
+            super(objectMapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            return Flux.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+        }
+    }
+}
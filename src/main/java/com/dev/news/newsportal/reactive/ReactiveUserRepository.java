@@ -0,0 +1,12 @@
+package com.dev.news.newsportal.reactive;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads the authors of news articles for the reactive read stack.
+ */
+interface ReactiveUserRepository extends R2dbcRepository<UserRow, Long> {
+
+    Mono<UserRow> findByIdAndDeletedFalse(Long id);
+}
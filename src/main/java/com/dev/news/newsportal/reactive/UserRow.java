@@ -0,0 +1,11 @@
+package com.dev.news.newsportal.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Row of {@code users} as read by the reactive read stack, reduced to what article responses show of the author.
+ */
+@Table("users")
+record UserRow(@Id Long id, String nickname, boolean deleted) {
+}
@@ -0,0 +1,20 @@
+package com.dev.news.newsportal.repository;
+
+import com.dev.news.newsportal.model.FieldSelection;
+import jakarta.persistence.Tuple;
+
+import java.util.List;
+
+/**
+ * Queries of {@link CommentRepository} that read only the selected fields of comments. Each field is returned under
+ * its own name, except {@code hasReplies}, which is returned as the number of direct replies, {@code replyCount}.
+ * Replies are counted only when selected.
+ */
+public interface CommentFieldQueries {
+
+    /**
+     * Returns the selected fields of the comments of an article, replies included, newest first. The article's
+     * creation date is looked up in the same query.
+     */
+    List<Tuple> findFieldsByNewsId(Long newsId, FieldSelection fields);
+}
@@ -0,0 +1,35 @@
+package com.dev.news.newsportal.repository;
+
+import com.dev.news.newsportal.model.FieldSelection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+class CommentFieldQueriesImpl implements CommentFieldQueries {
+
+    private static final Map<String, String> SELECTIONS = Map.of(
+            "id", "c.id AS id",
+            "text", "c.text AS text",
+            "creationDate", "c.creationDate AS creationDate",
+            "authorNickname", "c.authorNickname AS authorNickname",
+            "hasReplies", CommentRepository.REPLY_COUNT + " AS replyCount");
+
+    private final EntityManager entityManager;
+
+    CommentFieldQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Tuple> findFieldsByNewsId(Long newsId, FieldSelection fields) {
+        String select = fields.names().stream().map(SELECTIONS::get).collect(Collectors.joining(", "));
+        String query = "SELECT " + select + " FROM Comment c WHERE c.news.id = :newsId AND "
+                + CommentRepository.SINCE_NEWS_CREATION + "ORDER BY c.creationDate DESC, c.id DESC";
+        return entityManager.createQuery(query, Tuple.class)
+                .setParameter("newsId", newsId)
+                .getResultList();
+    }
+}
@@ -2,23 +2,98 @@ package com.dev.news.newsportal.repository;
 
 import com.dev.news.newsportal.entity.Comment;
 import com.dev.news.newsportal.entity.News;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface CommentRepository extends JpaRepository<Comment, Long> {
+public interface CommentRepository extends JpaRepository<Comment, Long>, CommentFieldQueries {
+
+    /**
+     * Comments are never older than their article, nor replies than the comment they answer, by more than this
+     * many days, which leaves room for clock differences between nodes. Queries of an article's comments or of
+     * replies are bounded by it, so that PostgreSQL reads only the monthly partitions that can hold them. The
+     * database enforces it on every write (migration {@code V13}); change both together.
+     */
+    int CREATION_DATE_MARGIN_DAYS = 1;
 
     List<Comment> findByNews(News news);
 
-    List<Comment> findByNewsOrderByCreationDateDesc(News news);
+    /**
+     * Returns the comments of an article, newest first.
+     */
+    default List<Comment> findByNewsOrderByCreationDateDesc(News news) {
+        return findByNewsAndCreationDateGreaterThanEqualOrderByCreationDateDesc(news,
+                news.getCreationDate().minus(Duration.ofDays(CREATION_DATE_MARGIN_DAYS)));
+    }
+
+    List<Comment> findByNewsAndCreationDateGreaterThanEqualOrderByCreationDateDesc(News news, LocalDateTime since);
 
     List<Comment> findByParentCommentIsNull();
 
-    List<Comment> findByParentComment(Comment parentComment);
+    /**
+     * Returns the direct replies to a comment.
+     */
+    default List<Comment> findByParentComment(Comment parentComment) {
+        return findByParentCommentAndCreationDateGreaterThanEqual(parentComment,
+                parentComment.getCreationDate().minus(Duration.ofDays(CREATION_DATE_MARGIN_DAYS)));
+    }
+
+    List<Comment> findByParentCommentAndCreationDateGreaterThanEqual(Comment parentComment, LocalDateTime since);
 
     List<Comment> findByAuthorNickname(String authorNickname);
 
     long countByNews(News news);
+
+    /**
+     * Returns all comments of an article, replies included, in one query. Native so that it reads
+     * {@code comments} alone instead of joining the article for its visibility restriction; the article's
+     * creation date is looked up only to skip older partitions.
+     */
+    @Query(value = "SELECT * FROM comments WHERE news_id = :newsId AND creation_date >= "
+            + "(SELECT creation_date FROM news WHERE id = :newsId) - INTERVAL '" + CREATION_DATE_MARGIN_DAYS + "' DAY "
+            + "ORDER BY id", nativeQuery = true)
+    List<Comment> findByNewsIdOrderById(@Param("newsId") Long newsId);
+
+    /**
+     * Returns a comment unless its article is hidden, as those of deleted users are until their purge. The article
+     * is selected as a query root, since Hibernate applies its visibility restriction to roots but not to joins.
+     */
+    @Query("SELECT c FROM Comment c WHERE c.id = :id AND EXISTS (SELECT n.id FROM News n WHERE n.id = c.news.id)")
+    Optional<Comment> findVisibleById(@Param("id") Long id);
+
+    @Query("SELECT c.news.id FROM Comment c WHERE c.id = :id")
+    Optional<Long> findNewsIdById(@Param("id") Long id);
+
+    String SINCE_NEWS_CREATION = "c.creationDate >= (SELECT n.creationDate FROM News n WHERE n.id = :newsId) - "
+            + CREATION_DATE_MARGIN_DAYS + " day ";
+
+    /**
+     * Counts the direct replies to the comment {@code c}.
+     */
+    String REPLY_COUNT = "(SELECT COUNT(r) FROM Comment r WHERE r.parentComment = c AND r.creationDate >= "
+            + "c.creationDate - " + CREATION_DATE_MARGIN_DAYS + " day)";
+
+    /**
+     * Returns the newest top-level comments of an article with the number of their direct replies. The article's
+     * creation date is looked up in the same query, so that it can run before the article has been read.
+     */
+    @Query("SELECT c.id AS id, c.text AS text, c.creationDate AS creationDate, c.authorNickname AS authorNickname, "
+            + REPLY_COUNT + " AS replyCount "
+            + "FROM Comment c WHERE c.news.id = :newsId AND c.parentComment IS NULL AND " + SINCE_NEWS_CREATION
+            + "ORDER BY c.creationDate DESC, c.id DESC")
+    List<CommentSummaryView> findTopLevelByNewsId(@Param("newsId") Long newsId, Limit limit);
+
+    /**
+     * Counts the comments of an article, replies included, without reading the article first.
+     */
+    @Query("SELECT COUNT(c) FROM Comment c WHERE c.news.id = :newsId AND " + SINCE_NEWS_CREATION)
+    long countByNewsId(@Param("newsId") Long newsId);
 }
\ No newline at end of file
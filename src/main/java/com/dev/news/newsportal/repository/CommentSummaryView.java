@@ -0,0 +1,19 @@
+package com.dev.news.newsportal.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * List projection of a comment: no replies, only the number of direct ones.
+ */
+public interface CommentSummaryView {
+
+    Long getId();
+
+    String getText();
+
+    LocalDateTime getCreationDate();
+
+    String getAuthorNickname();
+
+    Long getReplyCount();
+}
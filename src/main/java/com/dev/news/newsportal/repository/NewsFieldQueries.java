@@ -0,0 +1,30 @@
+package com.dev.news.newsportal.repository;
+
+import com.dev.news.newsportal.model.FieldSelection;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Optional;
+
+/**
+ * Queries of {@link NewsRepository} that read only the selected fields of articles. Each field is returned under
+ * its own name, except the author, which is returned as {@code authorId} and {@code authorNickname}. The author is
+ * joined and the comments are counted only when selected.
+ */
+public interface NewsFieldQueries {
+
+    /**
+     * Returns the selected fields of an article.
+     */
+    Optional<Tuple> findFieldsById(Long id, FieldSelection fields);
+
+    /**
+     * Returns a page of the selected fields of articles.
+     *
+     * @throws com.dev.news.newsportal.exception.ValidationException if the page is sorted by a property other than
+     *                                                               {@code id}, {@code title}, {@code imageUrl} or
+     *                                                               {@code creationDate}
+     */
+    Page<Tuple> findFieldsPage(FieldSelection fields, Pageable pageable);
+}
@@ -0,0 +1,78 @@
+package com.dev.news.newsportal.repository;
+
+import com.dev.news.newsportal.exception.ValidationException;
+import com.dev.news.newsportal.model.FieldSelection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+class NewsFieldQueriesImpl implements NewsFieldQueries {
+
+    private static final Map<String, String> SELECTIONS = Map.of(
+            "id", "n.id AS id",
+            "title", "n.title AS title",
+            "text", "n.text AS text",
+            "imageUrl", "n.imageUrl AS imageUrl",
+            "creationDate", "n.creationDate AS creationDate",
+            "author", "a.id AS authorId, a.nickname AS authorNickname",
+            "commentCount", NewsRepository.COMMENT_COUNT + " AS commentCount");
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "n.id", "title", "n.title", "imageUrl", "n.imageUrl", "creationDate", "n.creationDate");
+
+    private final EntityManager entityManager;
+
+    NewsFieldQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<Tuple> findFieldsById(Long id, FieldSelection fields) {
+        return entityManager.createQuery(select(fields) + "WHERE n.id = :id", Tuple.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
+    @Override
+    public Page<Tuple> findFieldsPage(FieldSelection fields, Pageable pageable) {
+        String orderBy = orderBy(pageable.getSort());
+        return PageableExecutionUtils.getPage(
+                entityManager.createQuery(select(fields) + "ORDER BY " + orderBy, Tuple.class)
+                        .setFirstResult((int) pageable.getOffset())
+                        .setMaxResults(pageable.getPageSize())
+                        .getResultList(),
+                pageable,
+                () -> entityManager.createQuery("SELECT COUNT(n) FROM News n", Long.class).getSingleResult());
+    }
+
+    private static String select(FieldSelection fields) {
+        return "SELECT " + fields.names().stream().map(SELECTIONS::get).collect(Collectors.joining(", "))
+                + " FROM News n " + (fields.includes("author") ? "JOIN n.author a " : "");
+    }
+
+    /**
+     * Renders the sort of a page, ending with the id so that pages do not overlap when sort values repeat.
+     */
+    private static String orderBy(Sort sort) {
+        String orders = sort.stream()
+                .map(order -> {
+                    String column = SORT_COLUMNS.get(order.getProperty());
+                    if (column == null) {
+                        throw new ValidationException("sort", "News cannot be sorted by " + order.getProperty());
+                    }
+                    return column + (order.isAscending() ? " ASC" : " DESC");
+                })
+                .collect(Collectors.joining(", "));
+        if (sort.getOrderFor("id") != null) {
+            return orders;
+        }
+        return orders.isEmpty() ? "n.id" : orders + ", n.id";
+    }
+}
@@ -2,20 +2,69 @@ package com.dev.news.newsportal.repository;
 
 import com.dev.news.newsportal.entity.News;
 import com.dev.news.newsportal.entity.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface NewsRepository extends JpaRepository<News, Long> {
-
-    List<News> findByAuthor(User author);
+public interface NewsRepository extends JpaRepository<News, Long>, NewsFieldQueries {
 
     List<News> findByTitleContainingIgnoreCase(String titlePart);
 
     List<News> findByCreationDateBetween(LocalDateTime start, LocalDateTime end);
 
     List<News> findByAuthorOrderByCreationDateDesc(User author);
+
+    /**
+     * Returns an article with its author in one query. Comments are not loaded.
+     */
+    @EntityGraph(News.WITH_AUTHOR)
+    Optional<News> findWithAuthorById(Long id);
+
+    /**
+     * Deletes an article with a single statement, without loading it. Its comments and their replies are removed
+     * by the database through {@code ON DELETE CASCADE}.
+     *
+     * @return the number of deleted articles, zero if none had the id
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM News n WHERE n.id = :id")
+    int deleteNewsById(@Param("id") Long id);
+
+    /**
+     * Counts the comments of the article {@code n}, reading only the partitions that can hold them.
+     */
+    String COMMENT_COUNT = "(SELECT COUNT(c) FROM Comment c WHERE c.news = n AND c.creationDate >= n.creationDate - "
+            + CommentRepository.CREATION_DATE_MARGIN_DAYS + " day)";
+
+    String SUMMARY_SELECT = "SELECT n.id AS id, n.title AS title, n.imageUrl AS imageUrl, "
+            + "n.creationDate AS creationDate, a.id AS authorId, a.nickname AS authorNickname, "
+            + COMMENT_COUNT + " AS commentCount FROM News n JOIN n.author a ";
+
+    /**
+     * Returns the newest articles of an author. The order matches the {@code idx_news_author_feed} index.
+     */
+    @Query(SUMMARY_SELECT + "WHERE n.author.id = :authorId ORDER BY n.creationDate DESC, n.id ASC")
+    List<NewsSummaryView> findFeedByAuthorId(@Param("authorId") Long authorId, Limit limit);
+
+    /**
+     * Returns the articles of an author that come after the given position in
+     * {@link #findFeedByAuthorId(Long, Limit)} order.
+     */
+    @Query(SUMMARY_SELECT + "WHERE n.author.id = :authorId AND (n.creationDate < :creationDate "
+            + "OR (n.creationDate = :creationDate AND n.id > :id)) ORDER BY n.creationDate DESC, n.id ASC")
+    List<NewsSummaryView> findFeedByAuthorIdAfter(@Param("authorId") Long authorId,
+                                                  @Param("creationDate") LocalDateTime creationDate,
+                                                  @Param("id") Long id,
+                                                  Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.dev.news.newsportal.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * List projection of a news article: no text and no comments, only their count.
+ */
+public interface NewsSummaryView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getImageUrl();
+
+    LocalDateTime getCreationDate();
+
+    Long getAuthorId();
+
+    String getAuthorNickname();
+
+    Long getCommentCount();
+}
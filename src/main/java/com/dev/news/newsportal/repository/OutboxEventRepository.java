@@ -0,0 +1,29 @@
+package com.dev.news.newsportal.repository;
+
+import com.dev.news.newsportal.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findAllByOrderByIdAsc(Limit limit);
+
+    @Query("SELECT MIN(o.createdAt) FROM OutboxEvent o")
+    Optional<LocalDateTime> findOldestCreatedAt();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.attempts = o.attempts + 1 WHERE o.id IN :ids")
+    int incrementAttempts(@Param("ids") Collection<Long> ids);
+}
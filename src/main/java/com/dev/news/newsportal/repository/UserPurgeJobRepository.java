@@ -0,0 +1,39 @@
+package com.dev.news.newsportal.repository;
+
+import com.dev.news.newsportal.entity.UserPurgeJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserPurgeJobRepository extends JpaRepository<UserPurgeJob, Long> {
+
+    List<UserPurgeJob> findByStatusInOrderByIdAsc(Collection<UserPurgeJob.Status> statuses);
+
+    long countByStatusIn(Collection<UserPurgeJob.Status> statuses);
+
+    /**
+     * Adds the rows removed by one chunk to the progress of a job, in the transaction that removed them.
+     */
+    @Modifying
+    @Query("UPDATE UserPurgeJob j SET j.status = com.dev.news.newsportal.entity.UserPurgeJob.Status.RUNNING, "
+            + "j.newsDeleted = j.newsDeleted + :news, j.commentsDeleted = j.commentsDeleted + :comments, "
+            + "j.updatedAt = :now, j.lastError = NULL WHERE j.id = :id")
+    int addProgress(@Param("id") Long id, @Param("news") long news, @Param("comments") long comments,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE UserPurgeJob j SET j.status = com.dev.news.newsportal.entity.UserPurgeJob.Status.COMPLETED, "
+            + "j.updatedAt = :now, j.finishedAt = :now, j.lastError = NULL WHERE j.id = :id")
+    int markCompleted(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE UserPurgeJob j SET j.updatedAt = :now, j.lastError = :error WHERE j.id = :id")
+    int recordError(@Param("id") Long id, @Param("error") String error, @Param("now") LocalDateTime now);
+}
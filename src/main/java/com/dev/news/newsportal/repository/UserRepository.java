@@ -2,6 +2,9 @@ package com.dev.news.newsportal.repository;
 
 import com.dev.news.newsportal.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -13,7 +16,36 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
-    boolean existsByNickname(String nickname);
+    /**
+     * Returns whether any user row has the nickname, including a deleted user whose purge has not finished yet.
+     */
+    @Query(value = "SELECT COUNT(*) > 0 FROM users WHERE nickname = :nickname", nativeQuery = true)
+    boolean existsByNickname(@Param("nickname") String nickname);
 
-    boolean existsByEmail(String email);
-}
\ No newline at end of file
+    /**
+     * Returns whether any user row has the email, including a deleted user whose purge has not finished yet.
+     */
+    @Query(value = "SELECT COUNT(*) > 0 FROM users WHERE email = :email", nativeQuery = true)
+    boolean existsByEmail(@Param("email") String email);
+
+    /**
+     * Returns the id of the user row with the nickname, including a deleted user whose purge has not finished yet.
+     */
+    @Query(value = "SELECT id FROM users WHERE nickname = :nickname", nativeQuery = true)
+    Optional<Long> findAnyIdByNickname(@Param("nickname") String nickname);
+
+    /**
+     * Returns the id of the user row with the email, including a deleted user whose purge has not finished yet.
+     */
+    @Query(value = "SELECT id FROM users WHERE email = :email", nativeQuery = true)
+    Optional<Long> findAnyIdByEmail(@Param("email") String email);
+
+    /**
+     * Marks a user as deleted, which hides them and their news articles from every query.
+     *
+     * @return the number of marked users, zero if none had the id or it was deleted already
+     */
+    @Modifying
+    @Query(value = "UPDATE users SET deleted = TRUE WHERE id = :id AND deleted = FALSE", nativeQuery = true)
+    int markDeleted(@Param("id") Long id);
+}
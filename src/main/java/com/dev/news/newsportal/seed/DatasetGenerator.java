@@ -0,0 +1,250 @@
+package com.dev.news.newsportal.seed;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a large, deterministic dataset of users, news articles and nested comment threads.
+ * <p>
+ * Rows are written with batched JDBC inserts and explicit identifiers instead of {@code JpaRepository.save},
+ * so millions of rows can be loaded without a persistence context. The same seed and settings always
+ * produce the same rows on an empty database, which keeps benchmarks and query plans comparable between runs.
+ */
+@Slf4j
+@Component
+public class DatasetGenerator {
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (id, nickname, email, role) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_NEWS_SQL =
+            "INSERT INTO news (id, title, text, image_url, creation_date, author_id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_COMMENT_SQL =
+            "INSERT INTO comments (id, text, creation_date, author_nickname, news_id, parent_comment_id) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String[] WORDS = {
+            "market", "city", "council", "report", "season", "league", "energy", "policy", "storm", "election",
+            "science", "health", "startup", "budget", "festival", "research", "transport", "climate", "court",
+            "museum", "vote", "record", "launch", "update", "study", "team", "price", "school", "river", "night",
+            "the", "a", "of", "and", "in", "on", "for", "with", "after", "before", "new", "local", "major", "early"
+    };
+
+    private static final long PROGRESS_INTERVAL = 100_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Generates the dataset described by the given settings.
+     *
+     * @param settings dataset size and distribution settings
+     * @return the number of generated rows per table and the elapsed time
+     */
+    public DatasetSummary generate(NewsPortalProperties.Seed settings) {
+        long started = System.nanoTime();
+        log.info("Generating dataset with seed {}: {} users, {} news, up to {} comments per news",
+                settings.getRandomSeed(), settings.getUsers(), settings.getNews(), settings.getMaxCommentsPerNews());
+
+        // Independent streams keep users stable when the news or comment settings change
+        SplittableRandom root = new SplittableRandom(settings.getRandomSeed());
+        SplittableRandom userRandom = root.split();
+        SplittableRandom newsRandom = root.split();
+        SplittableRandom commentRandom = root.split();
+
+        long firstUserId = nextId("users");
+        long firstNewsId = nextId("news");
+        long firstCommentId = nextId("comments");
+
+        long users = generateUsers(settings, userRandom, firstUserId);
+        long[] newsAndComments = generateNewsAndComments(settings, newsRandom, commentRandom,
+                firstUserId, firstNewsId, firstCommentId);
+
+        resetIdentity("users");
+        resetIdentity("news");
+        resetIdentity("comments");
+
+        DatasetSummary summary = new DatasetSummary(users, newsAndComments[0], newsAndComments[1],
+                Duration.ofNanos(System.nanoTime() - started));
+        log.info("Generated {} users, {} news and {} comments in {} ms",
+                summary.users(), summary.news(), summary.comments(), summary.elapsed().toMillis());
+        return summary;
+    }
+
+    private long generateUsers(NewsPortalProperties.Seed settings, SplittableRandom random, long firstUserId) {
+        BatchWriter writer = new BatchWriter(INSERT_USER_SQL, settings.getBatchSize());
+        for (int index = 0; index < settings.getUsers(); index++) {
+            double roll = random.nextDouble();
+            String role = roll < 0.01 ? "ADMIN" : roll < 0.05 ? "MODERATOR" : "USER";
+            writer.add(firstUserId + index, nickname(index), nickname(index) + "@seed.newsportal.test", role);
+        }
+        writer.flush();
+        return writer.getWritten();
+    }
+
+    private long[] generateNewsAndComments(NewsPortalProperties.Seed settings,
+                                           SplittableRandom newsRandom, SplittableRandom commentRandom,
+                                           long firstUserId, long firstNewsId, long firstCommentId) {
+        ZipfDistribution authors = new ZipfDistribution(settings.getUsers(), settings.getAuthorZipfExponent());
+        ZipfDistribution commentCounts = new ZipfDistribution(settings.getMaxCommentsPerNews() + 1,
+                settings.getCommentsZipfExponent());
+        ZipfDistribution replyDepths = new ZipfDistribution(settings.getMaxReplyDepth() + 1,
+                settings.getReplyDepthZipfExponent());
+
+        BatchWriter newsWriter = new BatchWriter(INSERT_NEWS_SQL, settings.getBatchSize());
+        BatchWriter commentWriter = new BatchWriter(INSERT_COMMENT_SQL, settings.getBatchSize());
+        // Comments reference news rows, so pending news are always written first
+        commentWriter.setBeforeFlush(newsWriter::flush);
+
+        long timeSpanSeconds = Duration.ofDays(settings.getTimeSpanDays()).toSeconds();
+        long nextCommentId = firstCommentId;
+        List<List<Long>> commentsByDepth = new ArrayList<>();
+
+        for (int index = 0; index < settings.getNews(); index++) {
+            long newsId = firstNewsId + index;
+            long authorId = firstUserId + authors.sample(newsRandom) - 1;
+            LocalDateTime newsDate = settings.getReferenceDate()
+                    .minusSeconds(newsRandom.nextLong(timeSpanSeconds));
+            String imageUrl = newsRandom.nextInt(4) == 0 ? null : "https://cdn.newsportal.test/images/" + newsId + ".jpg";
+            newsWriter.add(newsId, sentence(newsRandom, 4, 12), paragraphs(newsRandom), imageUrl,
+                    Timestamp.valueOf(newsDate), authorId);
+
+            int commentCount = commentCounts.sample(commentRandom) - 1;
+            commentsByDepth.clear();
+            LocalDateTime commentDate = newsDate;
+            for (int c = 0; c < commentCount; c++) {
+                // Strictly increasing dates keep every reply younger than its parent
+                commentDate = commentDate.plusSeconds(1 + commentRandom.nextLong(3_600));
+                int depth = Math.min(replyDepths.sample(commentRandom) - 1, commentsByDepth.size());
+                Long parentId = null;
+                if (depth > 0) {
+                    List<Long> candidates = commentsByDepth.get(depth - 1);
+                    parentId = candidates.get(commentRandom.nextInt(candidates.size()));
+                }
+                if (commentsByDepth.size() == depth) {
+                    commentsByDepth.add(new ArrayList<>());
+                }
+                long commentId = nextCommentId++;
+                commentsByDepth.get(depth).add(commentId);
+                String authorNickname = nickname(authors.sample(commentRandom) - 1);
+                commentWriter.add(commentId, sentence(commentRandom, 3, 40), Timestamp.valueOf(commentDate),
+                        authorNickname, newsId, parentId);
+            }
+        }
+        newsWriter.flush();
+        commentWriter.flush();
+        return new long[]{newsWriter.getWritten(), commentWriter.getWritten()};
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return (max != null ? max : 0L) + 1;
+    }
+
+    /**
+     * Moves the identity generator of the table past the explicitly inserted identifiers.
+     */
+    private void resetIdentity(String table) {
+        long next = nextId(table);
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("PostgreSQL".equalsIgnoreCase(product)) {
+            jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence(?, 'id'), ?, false)",
+                    Long.class, table, next);
+        } else {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        }
+    }
+
+    private static String nickname(int userIndex) {
+        return String.format("user%07d", userIndex);
+    }
+
+    private static String sentence(SplittableRandom random, int minWords, int maxWords) {
+        int words = minWords + random.nextInt(maxWords - minWords + 1);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        text.setCharAt(0, Character.toUpperCase(text.charAt(0)));
+        return text.toString();
+    }
+
+    private static String paragraphs(SplittableRandom random) {
+        int count = 2 + random.nextInt(6);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append("\n\n");
+            }
+            text.append(sentence(random, 20, 80)).append('.');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Buffers rows and writes them as one JDBC batch per transaction.
+     */
+    private final class BatchWriter {
+
+        private final String sql;
+        private final int batchSize;
+        private final List<Object[]> rows;
+        private Runnable beforeFlush = () -> { };
+        private long written;
+
+        private BatchWriter(String sql, int batchSize) {
+            this.sql = sql;
+            this.batchSize = batchSize;
+            this.rows = new ArrayList<>(batchSize);
+        }
+
+        private void setBeforeFlush(Runnable beforeFlush) {
+            this.beforeFlush = beforeFlush;
+        }
+
+        private void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            beforeFlush.run();
+            if (rows.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+            long before = written;
+            written += rows.size();
+            rows.clear();
+            if (before / PROGRESS_INTERVAL != written / PROGRESS_INTERVAL) {
+                log.info("Written {} rows with: {}", written, sql.substring(0, sql.indexOf('(')).trim());
+            }
+        }
+
+        private long getWritten() {
+            return written;
+        }
+    }
+}
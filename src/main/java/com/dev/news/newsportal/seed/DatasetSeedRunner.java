@@ -0,0 +1,32 @@
+package com.dev.news.newsportal.seed;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the {@link DatasetGenerator} on startup when {@code news-portal.seed.enabled} is set,
+ * which is what the {@code --seed} command line mode does.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "news-portal.seed", name = "enabled", havingValue = "true")
+class DatasetSeedRunner implements ApplicationRunner {
+
+    private final DatasetGenerator datasetGenerator;
+    private final NewsPortalProperties properties;
+
+    DatasetSeedRunner(DatasetGenerator datasetGenerator, NewsPortalProperties properties) {
+        this.datasetGenerator = datasetGenerator;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        DatasetSummary summary = datasetGenerator.generate(properties.getSeed());
+        log.info("Dataset seeding finished: {}", summary);
+    }
+}
@@ -0,0 +1,9 @@
+package com.dev.news.newsportal.seed;
+
+import java.time.Duration;
+
+/**
+ * Number of rows written by a {@link DatasetGenerator} run.
+ */
+public record DatasetSummary(long users, long news, long comments, Duration elapsed) {
+}
@@ -0,0 +1,57 @@
+package com.dev.news.newsportal.seed;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Zipf distribution over the ranks {@code 1..n} sampled by inverse transform.
+ * The cumulative distribution is precomputed once, so every sample costs a single binary search.
+ */
+public final class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    /**
+     * Creates a distribution where rank {@code k} has a probability proportional to {@code 1 / k^exponent}.
+     *
+     * @param numberOfElements number of ranks, at least 1
+     * @param exponent         skew of the distribution, 0 meaning uniform
+     */
+    public ZipfDistribution(int numberOfElements, double exponent) {
+        if (numberOfElements < 1) {
+            throw new IllegalArgumentException("Number of elements must be at least 1");
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Exponent must not be negative");
+        }
+        cumulative = new double[numberOfElements];
+        double sum = 0;
+        for (int rank = 1; rank <= numberOfElements; rank++) {
+            sum += 1.0 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < numberOfElements; i++) {
+            cumulative[i] /= sum;
+        }
+        cumulative[numberOfElements - 1] = 1.0;
+    }
+
+    /**
+     * Draws a rank between 1 and the number of elements, inclusive.
+     *
+     * @param random source of randomness
+     * @return the sampled rank
+     */
+    public int sample(RandomGenerator random) {
+        double u = random.nextDouble();
+        int index = Arrays.binarySearch(cumulative, u);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return Math.min(index, cumulative.length - 1) + 1;
+    }
+
+    public int getNumberOfElements() {
+        return cumulative.length;
+    }
+}
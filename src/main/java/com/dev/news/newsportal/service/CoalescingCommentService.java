@@ -0,0 +1,96 @@
+package com.dev.news.newsportal.service;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.CommentSummaryModel;
+import com.dev.news.newsportal.model.FieldSelection;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Entry point of comment operations that times comment creation and, when
+ * {@code news-portal.comment-write-coalescing.enabled} is set, routes it through a {@link CommentWriteCoalescer}.
+ * <p>
+ * Creation is timed as {@code newsportal.comments.create} tagged with {@code mode=direct} or {@code mode=coalesced},
+ * so the throughput and latency of both modes can be compared. All other operations go straight to
+ * {@link CommentServiceImpl}.
+ */
+@Service
+@Primary
+class CoalescingCommentService implements CommentService, DisposableBean {
+
+    private final CommentServiceImpl delegate;
+    private final CommentWriteCoalescer coalescer;
+    private final Timer createTimer;
+
+    CoalescingCommentService(CommentServiceImpl delegate, NewsPortalProperties properties,
+                             NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        NewsPortalProperties.CommentWriteCoalescing settings = properties.getCommentWriteCoalescing();
+        if (settings.isEnabled()) {
+            this.coalescer = new CommentWriteCoalescer(jdbcTemplate, new TransactionTemplate(transactionManager), eventPublisher,
+                    delegate::create, settings, meterRegistry);
+            coalescer.start();
+        } else {
+            this.coalescer = null;
+        }
+        this.createTimer = Timer.builder("newsportal.comments.create")
+                .description("Comment creations as seen by the caller")
+                .tag("mode", coalescer != null ? "coalesced" : "direct")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CommentModel findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<CommentModel> findByNews(Long newsId) {
+        return delegate.findByNews(newsId);
+    }
+
+    @Override
+    public List<CommentSummaryModel> findByNews(Long newsId, FieldSelection fields) {
+        return delegate.findByNews(newsId, fields);
+    }
+
+    @Override
+    public CommentModel create(CommentModel commentModel) {
+        return createTimer.record(() -> coalescer != null
+                ? coalescer.create(commentModel)
+                : delegate.create(commentModel));
+    }
+
+    @Override
+    public CommentModel update(Long id, CommentModel commentModel) {
+        return delegate.update(id, commentModel);
+    }
+
+    @Override
+    public void delete(Long id) {
+        delegate.delete(id);
+    }
+
+    @Override
+    public List<CommentModel> findReplies(Long parentCommentId) {
+        return delegate.findReplies(parentCommentId);
+    }
+
+    @Override
+    public void destroy() {
+        if (coalescer != null) {
+            coalescer.stop();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.dev.news.newsportal.service;
 
 import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.CommentSummaryModel;
+import com.dev.news.newsportal.model.FieldSelection;
 
 import java.util.List;
 
@@ -10,6 +12,14 @@ public interface CommentService {
 
     List<CommentModel> findByNews(Long newsId);
 
+    /**
+     * Returns the comments of an article, newest first, with only the selected fields read. Comments of archived
+     * articles are returned whole.
+     *
+     * @throws com.dev.news.newsportal.exception.ResourceNotFoundException if the article does not exist
+     */
+    List<CommentSummaryModel> findByNews(Long newsId, FieldSelection fields);
+
     CommentModel create(CommentModel commentModel);
 
     CommentModel update(Long id, CommentModel commentModel);
@@ -1,45 +1,70 @@
 package com.dev.news.newsportal.service;
 
+import com.dev.news.newsportal.archive.NewsArchive;
 import com.dev.news.newsportal.entity.Comment;
 import com.dev.news.newsportal.entity.News;
+import com.dev.news.newsportal.event.CommentCreatedEvent;
+import com.dev.news.newsportal.event.CommentDeletedEvent;
+import com.dev.news.newsportal.event.CommentUpdatedEvent;
 import com.dev.news.newsportal.exception.ResourceNotFoundException;
+import com.dev.news.newsportal.logging.RequestSummary;
 import com.dev.news.newsportal.mapper.entity.CommentEntityMapper;
 import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.CommentSummaryModel;
+import com.dev.news.newsportal.model.FieldSelection;
 import com.dev.news.newsportal.repository.CommentRepository;
 import com.dev.news.newsportal.repository.NewsRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Service
 @Transactional
 class CommentServiceImpl implements CommentService {
 
+    /**
+     * Finds the violated foreign key of a comment in the messages of H2 and PostgreSQL, which both name it.
+     */
+    private static final Pattern FOREIGN_KEY = Pattern.compile("fk_comment_(news|parent)", Pattern.CASE_INSENSITIVE);
+
     private final CommentRepository commentRepository;
     private final NewsRepository newsRepository;
     private final CommentEntityMapper commentEntityMapper;
+    private final NewsArchive newsArchive;
+    private final ApplicationEventPublisher eventPublisher;
 
     CommentServiceImpl(CommentRepository commentRepository,
                        NewsRepository newsRepository,
-                       CommentEntityMapper commentEntityMapper) {
+                       CommentEntityMapper commentEntityMapper,
+                       NewsArchive newsArchive,
+                       ApplicationEventPublisher eventPublisher) {
         this.commentRepository = commentRepository;
         this.newsRepository = newsRepository;
         this.commentEntityMapper = commentEntityMapper;
+        this.newsArchive = newsArchive;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     @Transactional(readOnly = true)
     public CommentModel findById(Long id) {
         log.debug("Finding comment by id: {}", id);
-        Comment comment = commentRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.warn("Comment not found with id: {}", id);
-                    return new ResourceNotFoundException("Comment", "id", id);
-                });
-        log.info("Successfully retrieved comment with id: {}", id);
+        Comment comment = commentRepository.findVisibleById(id).orElse(null);
+        if (comment == null) {
+            return newsArchive.findComment(id)
+                    .orElseThrow(() -> {
+                        log.debug("Comment not found with id: {}", id);
+                        return new ResourceNotFoundException("Comment", "id", id);
+                    });
+        }
+        log.debug("Successfully retrieved comment with id: {}", id);
         return commentEntityMapper.toModel(comment);
     }
 
@@ -47,17 +72,45 @@ class CommentServiceImpl implements CommentService {
     @Transactional(readOnly = true)
     public List<CommentModel> findByNews(Long newsId) {
         log.debug("Finding comments by news id: {}", newsId);
-        News news = newsRepository.findById(newsId)
-                .orElseThrow(() -> {
-                    log.warn("News not found with id: {} when searching for comments", newsId);
-                    return new ResourceNotFoundException("News", "id", newsId);
-                });
+        News news = newsRepository.findById(newsId).orElse(null);
+        if (news == null) {
+            List<CommentModel> archived = newsArchive.findComments(newsId)
+                    .orElseThrow(() -> {
+                        log.warn("News not found with id: {} when searching for comments", newsId);
+                        return new ResourceNotFoundException("News", "id", newsId);
+                    });
+            RequestSummary.recordResultSize(archived.size());
+            return archived;
+        }
 
         List<Comment> comments = commentRepository.findByNewsOrderByCreationDateDesc(news);
-        log.info("Successfully retrieved {} comments for news id: {}", comments.size(), newsId);
+        log.debug("Successfully retrieved {} comments for news id: {}", comments.size(), newsId);
+        RequestSummary.recordResultSize(comments.size());
         return commentEntityMapper.toModelList(comments);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<CommentSummaryModel> findByNews(Long newsId, FieldSelection fields) {
+        log.debug("Finding fields {} of comments by news id: {}", fields.names(), newsId);
+        if (!newsRepository.existsById(newsId)) {
+            List<CommentModel> archived = newsArchive.findComments(newsId)
+                    .orElseThrow(() -> {
+                        log.warn("News not found with id: {} when searching for comments", newsId);
+                        return new ResourceNotFoundException("News", "id", newsId);
+                    });
+            RequestSummary.recordResultSize(archived.size());
+            return archived.stream().map(commentEntityMapper::toSummaryModel).toList();
+        }
+
+        List<CommentSummaryModel> comments = commentRepository.findFieldsByNewsId(newsId, fields).stream()
+                .map(commentEntityMapper::toFieldsSummaryModel)
+                .toList();
+        log.debug("Successfully retrieved {} comments for news id: {}", comments.size(), newsId);
+        RequestSummary.recordResultSize(comments.size());
+        return comments;
+    }
+
     @Override
     public CommentModel create(CommentModel commentModel) {
         log.debug("Creating new comment for news id: {} with parent comment id: {}", 
@@ -95,11 +148,35 @@ class CommentServiceImpl implements CommentService {
         comment.setId(null); // Ensure it's a new entity
 
         // Save entity
-        Comment savedComment = commentRepository.save(comment);
+        Comment savedComment = saveLinked(comment);
         log.info("Successfully created comment with id: {} for news id: {}", savedComment.getId(), commentModel.getNewsId());
 
-        // Convert back to domain model and return
-        return commentEntityMapper.toModel(savedComment);
+        // Convert back to domain model, announce it and return
+        CommentModel createdComment = commentEntityMapper.toModel(savedComment);
+        eventPublisher.publishEvent(new CommentCreatedEvent(createdComment));
+        return createdComment;
+    }
+
+    /**
+     * Writes a comment whose article and parent comment were found, turning their removal since then into a
+     * {@link ResourceNotFoundException} as if they had been missing. The news archiver, for one, locks an article
+     * while moving it out of {@code news}, and the insert fails once it is gone.
+     */
+    private Comment saveLinked(Comment comment) {
+        try {
+            return commentRepository.save(comment);
+        } catch (DataIntegrityViolationException ex) {
+            Matcher key = FOREIGN_KEY.matcher(String.valueOf(ex.getMostSpecificCause().getMessage()));
+            if (!key.find()) {
+                throw ex;
+            }
+            if ("news".equalsIgnoreCase(key.group(1))) {
+                log.warn("News with id: {} removed while creating comment", comment.getNews().getId());
+                throw new ResourceNotFoundException("News", "id", comment.getNews().getId());
+            }
+            log.warn("Parent comment with id: {} removed while creating comment", comment.getParentComment().getId());
+            throw new ResourceNotFoundException("Comment", "id", comment.getParentComment().getId());
+        }
     }
 
     @Override
@@ -120,33 +197,44 @@ class CommentServiceImpl implements CommentService {
         Comment updatedComment = commentRepository.save(existingComment);
         log.info("Successfully updated comment with id: {}", updatedComment.getId());
 
-        // Convert back to domain model and return
-        return commentEntityMapper.toModel(updatedComment);
+        // Convert back to domain model, announce it and return
+        CommentModel updatedModel = commentEntityMapper.toModel(updatedComment);
+        eventPublisher.publishEvent(new CommentUpdatedEvent(updatedModel));
+        return updatedModel;
     }
 
     @Override
     public void delete(Long id) {
         log.debug("Deleting comment with id: {}", id);
-        if (!commentRepository.existsById(id)) {
-            log.warn("Comment not found with id: {} for deletion", id);
-            throw new ResourceNotFoundException("Comment", "id", id);
-        }
+        // Resolving the news id doubles as the existence check and lets subscribers of the thread be notified
+        Long newsId = commentRepository.findNewsIdById(id)
+                .orElseThrow(() -> {
+                    log.warn("Comment not found with id: {} for deletion", id);
+                    return new ResourceNotFoundException("Comment", "id", id);
+                });
         commentRepository.deleteById(id);
         log.info("Successfully deleted comment with id: {}", id);
+        eventPublisher.publishEvent(new CommentDeletedEvent(id, newsId));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<CommentModel> findReplies(Long parentCommentId) {
         log.debug("Finding replies for parent comment id: {}", parentCommentId);
-        Comment parentComment = commentRepository.findById(parentCommentId)
-                .orElseThrow(() -> {
-                    log.warn("Parent comment not found with id: {} when searching for replies", parentCommentId);
-                    return new ResourceNotFoundException("Comment", "id", parentCommentId);
-                });
+        Comment parentComment = commentRepository.findVisibleById(parentCommentId).orElse(null);
+        if (parentComment == null) {
+            List<CommentModel> archived = newsArchive.findReplies(parentCommentId)
+                    .orElseThrow(() -> {
+                        log.warn("Parent comment not found with id: {} when searching for replies", parentCommentId);
+                        return new ResourceNotFoundException("Comment", "id", parentCommentId);
+                    });
+            RequestSummary.recordResultSize(archived.size());
+            return archived;
+        }
 
         List<Comment> replies = commentRepository.findByParentComment(parentComment);
-        log.info("Successfully retrieved {} replies for parent comment id: {}", replies.size(), parentCommentId);
+        log.debug("Successfully retrieved {} replies for parent comment id: {}", replies.size(), parentCommentId);
+        RequestSummary.recordResultSize(replies.size());
         return commentEntityMapper.toModelList(replies);
     }
 }
\ No newline at end of file
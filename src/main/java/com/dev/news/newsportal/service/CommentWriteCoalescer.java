@@ -0,0 +1,319 @@
+package com.dev.news.newsportal.service;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.dev.news.newsportal.event.CommentCreatedEvent;
+import com.dev.news.newsportal.exception.ResourceNotFoundException;
+import com.dev.news.newsportal.model.CommentModel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Group commit for comment creation.
+ * <p>
+ * Callers queue their comment and wait on a future. A single writer thread collects the requests arriving within
+ * the batch window, validates all news and parent ids with one lookup each, inserts the valid comments as one JDBC
+ * batch and commits once. Every caller gets its own id or its own error. If the batch transaction fails as a whole,
+ * its requests are retried one by one through the regular service so a single bad request cannot fail the others.
+ * <p>
+ * Callers wait at most {@code waitTimeout} for the writer to pick up their comment, and create it directly if it did
+ * not. A comment the writer already picked up is never created twice: its caller waits for the batch instead.
+ */
+@Slf4j
+final class CommentWriteCoalescer {
+
+    private static final String INSERT_COMMENT_SQL =
+            "INSERT INTO comments (text, creation_date, author_nickname, news_id, parent_comment_id) VALUES (?, ?, ?, ?, ?)";
+    private static final String SELECT_NEWS_IDS_SQL =
+            "SELECT n.id FROM news n JOIN users u ON u.id = n.author_id WHERE n.id IN (:ids) AND u.deleted = FALSE";
+    private static final String SELECT_COMMENT_NEWS_IDS_SQL = "SELECT id, news_id FROM comments WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Function<CommentModel, CommentModel> fallback;
+    private final NewsPortalProperties.CommentWriteCoalescing settings;
+    private final BlockingQueue<PendingComment> queue;
+    private final DistributionSummary batchSizes;
+    private final Timer batchDuration;
+    private final Counter fallbacks;
+    private final Thread writer;
+
+    CommentWriteCoalescer(NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                          ApplicationEventPublisher eventPublisher, Function<CommentModel, CommentModel> fallback,
+                          NewsPortalProperties.CommentWriteCoalescing settings, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.fallback = fallback;
+        this.settings = settings;
+        this.queue = new LinkedBlockingQueue<>(settings.getQueueCapacity());
+        this.batchSizes = DistributionSummary.builder("newsportal.comments.create.batch.size")
+                .description("Comments inserted per coalesced transaction")
+                .register(meterRegistry);
+        this.batchDuration = Timer.builder("newsportal.comments.create.batch")
+                .description("Duration of coalesced comment transactions")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("newsportal.comments.create.fallbacks")
+                .description("Coalesced batches that failed and were retried one comment at a time")
+                .register(meterRegistry);
+        this.writer = Thread.ofPlatform().name("comment-writer").daemon().unstarted(this::run);
+    }
+
+    void start() {
+        writer.start();
+    }
+
+    /**
+     * Stops the writer. Requests still queued fail instead of being left waiting.
+     */
+    void stop() {
+        writer.interrupt();
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingComment> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(pending -> pending.result().completeExceptionally(
+                new IllegalStateException("Comment writer is shutting down")));
+    }
+
+    /**
+     * Creates a comment as part of the next batch and waits for its outcome.
+     * When the queue is full the comment is created directly instead.
+     */
+    CommentModel create(CommentModel commentModel) {
+        PendingComment pending = new PendingComment(commentModel, new CompletableFuture<>(), new AtomicBoolean());
+        if (!queue.offer(pending)) {
+            return fallback.apply(commentModel);
+        }
+        try {
+            return await(pending);
+        } catch (TimeoutException ex) {
+            if (pending.claimed().compareAndSet(false, true)) {
+                log.warn("Comment writer did not pick up a comment within {}, creating it directly",
+                        settings.getWaitTimeout());
+                return fallback.apply(commentModel);
+            }
+        }
+        // The writer is inserting the comment, so creating it directly could create it twice
+        try {
+            return await(pending);
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException("Comment writer did not complete the comment within "
+                    + settings.getWaitTimeout().multipliedBy(2));
+        }
+    }
+
+    private CommentModel await(PendingComment pending) throws TimeoutException {
+        try {
+            return pending.result().get(settings.getWaitTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Comment creation failed", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the comment writer", ex);
+        }
+    }
+
+    private void run() {
+        List<PendingComment> batch = new ArrayList<>(settings.getMaxBatchSize());
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                claim(queue.take(), batch);
+                long deadline = System.nanoTime() + settings.getBatchWindow().toNanos();
+                while (batch.size() < settings.getMaxBatchSize()) {
+                    PendingComment next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    claim(next, batch);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                write(batch);
+            } catch (Throwable ex) {
+                // The writer must outlive any batch; callers still waiting get the error
+                log.error("Coalesced batch of {} comments failed", batch.size(), ex);
+                batch.forEach(pending -> pending.result().completeExceptionally(ex));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Adds a request to the batch unless its caller gave up waiting and created the comment directly.
+     */
+    private static void claim(PendingComment pending, List<PendingComment> batch) {
+        if (pending.claimed().compareAndSet(false, true)) {
+            batch.add(pending);
+        }
+    }
+
+    private void write(List<PendingComment> batch) {
+        long started = System.nanoTime();
+        List<Object> outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> insert(batch));
+        } catch (RuntimeException ex) {
+            log.warn("Coalesced batch of {} comments failed, retrying one by one: {}", batch.size(), ex.toString());
+            fallbacks.increment();
+            batch.forEach(this::writeAlone);
+            return;
+        }
+        batchDuration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        batchSizes.record(batch.size());
+        // Callers are released only after the commit, so their comment is visible to their next request
+        for (int i = 0; i < batch.size(); i++) {
+            Object outcome = outcomes.get(i);
+            if (outcome instanceof CommentModel created) {
+                batch.get(i).result().complete(created);
+            } else {
+                batch.get(i).result().completeExceptionally((RuntimeException) outcome);
+            }
+        }
+    }
+
+    private void writeAlone(PendingComment pending) {
+        try {
+            pending.result().complete(fallback.apply(pending.comment()));
+        } catch (RuntimeException ex) {
+            pending.result().completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * Validates and inserts a batch, returning per request either the created comment or the error to raise.
+     */
+    private List<Object> insert(List<PendingComment> batch) {
+        Set<Long> newsIds = new HashSet<>();
+        Set<Long> parentIds = new HashSet<>();
+        for (PendingComment pending : batch) {
+            newsIds.add(pending.comment().getNewsId());
+            if (pending.comment().getParentCommentId() != null) {
+                parentIds.add(pending.comment().getParentCommentId());
+            }
+        }
+        Set<Long> existingNews = new HashSet<>(jdbcTemplate.queryForList(SELECT_NEWS_IDS_SQL,
+                Map.of("ids", newsIds), Long.class));
+        Map<Long, Long> parentNews = new HashMap<>();
+        if (!parentIds.isEmpty()) {
+            jdbcTemplate.query(SELECT_COMMENT_NEWS_IDS_SQL, Map.of("ids", parentIds),
+                    (ResultSet row) -> {
+                        parentNews.put(row.getLong("id"), row.getLong("news_id"));
+                    });
+        }
+
+        List<Object> outcomes = new ArrayList<>(batch.size());
+        List<CommentModel> valid = new ArrayList<>(batch.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (PendingComment pending : batch) {
+            RuntimeException error = validate(pending.comment(), existingNews, parentNews);
+            if (error != null) {
+                outcomes.add(error);
+                continue;
+            }
+            CommentModel created = CommentModel.builder()
+                    .text(pending.comment().getText())
+                    .creationDate(now)
+                    .authorNickname(pending.comment().getAuthorNickname())
+                    .newsId(pending.comment().getNewsId())
+                    .parentCommentId(pending.comment().getParentCommentId())
+                    .build();
+            valid.add(created);
+            outcomes.add(created);
+        }
+        if (!valid.isEmpty()) {
+            insertRows(valid);
+            valid.forEach(created -> eventPublisher.publishEvent(new CommentCreatedEvent(created)));
+            log.info("Created {} comments in one coalesced transaction", valid.size());
+        }
+        return outcomes;
+    }
+
+    private static RuntimeException validate(CommentModel comment, Set<Long> existingNews, Map<Long, Long> parentNews) {
+        if (!existingNews.contains(comment.getNewsId())) {
+            return new ResourceNotFoundException("News", "id", comment.getNewsId());
+        }
+        if (comment.getParentCommentId() != null) {
+            Long parentNewsId = parentNews.get(comment.getParentCommentId());
+            if (parentNewsId == null) {
+                return new ResourceNotFoundException("Comment", "id", comment.getParentCommentId());
+            }
+            if (!parentNewsId.equals(comment.getNewsId())) {
+                return new IllegalArgumentException("Parent comment does not belong to the specified news");
+            }
+        }
+        return null;
+    }
+
+    private void insertRows(List<CommentModel> comments) {
+        jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_COMMENT_SQL, new String[]{"id"})) {
+                for (CommentModel comment : comments) {
+                    statement.setString(1, comment.getText());
+                    statement.setTimestamp(2, Timestamp.valueOf(comment.getCreationDate()));
+                    statement.setString(3, comment.getAuthorNickname());
+                    statement.setLong(4, comment.getNewsId());
+                    if (comment.getParentCommentId() != null) {
+                        statement.setLong(5, comment.getParentCommentId());
+                    } else {
+                        statement.setNull(5, Types.BIGINT);
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (CommentModel comment : comments) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("Missing generated id for coalesced comment");
+                        }
+                        comment.setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    private record PendingComment(CommentModel comment, CompletableFuture<CommentModel> result,
+                                  AtomicBoolean claimed) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.dev.news.newsportal.service;
+
+import com.dev.news.newsportal.model.NewsPageModel;
+
+public interface NewsPageService {
+
+    /**
+     * Returns everything shown on the page of a news article, read concurrently.
+     *
+     * @param id           id of the article
+     * @param commentLimit maximum number of top-level comments
+     * @throws com.dev.news.newsportal.exception.ResourceNotFoundException if the article does not exist
+     * @throws com.dev.news.newsportal.exception.DeadlineExceededException if the reads did not complete in time
+     */
+    NewsPageModel findPage(Long id, int commentLimit);
+}
@@ -0,0 +1,299 @@
+package com.dev.news.newsportal.service;
+
+import com.dev.news.newsportal.archive.NewsArchive;
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.dev.news.newsportal.exception.DeadlineExceededException;
+import com.dev.news.newsportal.exception.ResourceNotFoundException;
+import com.dev.news.newsportal.logging.RequestSummary;
+import com.dev.news.newsportal.mapper.entity.CommentEntityMapper;
+import com.dev.news.newsportal.mapper.entity.NewsEntityMapper;
+import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.CommentSummaryModel;
+import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.NewsPageModel;
+import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.repository.CommentRepository;
+import com.dev.news.newsportal.repository.NewsRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Reads the parts of an article page concurrently, each on a reader thread and in a read-only transaction of its
+ * own: the article with its author, the newest top-level comments and the number of all comments. The comment
+ * queries look up the article's creation date themselves, so they do not wait for the article.
+ * <p>
+ * All parts must be read within {@code news-portal.news-page.timeout}. Reads still running at the deadline are
+ * abandoned; the transaction timeout, rounded up to whole seconds, makes the database cancel their statements.
+ * <p>
+ * Concurrent reads take three connections per page. So that article pages cannot starve the other endpoints, they
+ * may hold at most half of the connection pool; pages that find no room read their parts one after another. There
+ * is one platform reader thread per permit: a JDBC driver blocking inside a monitor would pin a virtual thread, and
+ * with it the carrier that the reads holding connections need.
+ */
+@Slf4j
+@Service
+class NewsPageServiceImpl implements NewsPageService, DisposableBean {
+
+    private static final Comparator<CommentModel> NEWEST_FIRST = Comparator
+            .comparing(CommentModel::getCreationDate)
+            .thenComparing(CommentModel::getId)
+            .reversed();
+
+    /**
+     * Number of parts read concurrently: the article, the newest comments and their count.
+     */
+    private static final int PARTS = 3;
+
+    private final NewsRepository newsRepository;
+    private final CommentRepository commentRepository;
+    private final UserService userService;
+    private final NewsEntityMapper newsEntityMapper;
+    private final CommentEntityMapper commentEntityMapper;
+    private final NewsArchive newsArchive;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration timeout;
+    private final Counter deadlinesExceeded;
+    private final Counter sequentialPages;
+    private final Semaphore connections;
+    private final ExecutorService readers;
+
+    NewsPageServiceImpl(NewsRepository newsRepository, CommentRepository commentRepository, UserService userService,
+                        NewsEntityMapper newsEntityMapper, CommentEntityMapper commentEntityMapper,
+                        NewsArchive newsArchive, PlatformTransactionManager transactionManager,
+                        NewsPortalProperties properties, DataSource dataSource, MeterRegistry meterRegistry) {
+        this.newsRepository = newsRepository;
+        this.commentRepository = commentRepository;
+        this.userService = userService;
+        this.newsEntityMapper = newsEntityMapper;
+        this.commentEntityMapper = commentEntityMapper;
+        this.newsArchive = newsArchive;
+        this.timeout = properties.getNewsPage().getTimeout();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, (timeout.toMillis() + 999) / 1000));
+        this.deadlinesExceeded = Counter.builder("newsportal.news.page.deadline.exceeded")
+                .description("Article pages not read within their deadline")
+                .register(meterRegistry);
+        this.sequentialPages = Counter.builder("newsportal.news.page.sequential")
+                .description("Article pages read one part after another because too many connections were in use")
+                .register(meterRegistry);
+        int permits = poolSize(dataSource) / 2;
+        this.connections = new Semaphore(permits);
+        this.readers = Executors.newFixedThreadPool(Math.max(1, permits),
+                Thread.ofPlatform().name("news-page-reader-", 0).daemon().factory());
+    }
+
+    @Override
+    public NewsPageModel findPage(Long id, int commentLimit) {
+        log.debug("Finding page of news id: {} with {} comments", id, commentLimit);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        if (!connections.tryAcquire(PARTS)) {
+            sequentialPages.increment();
+            return findPageSequentially(id, commentLimit, deadline);
+        }
+        try (Reads reads = new Reads(deadline)) {
+            Future<Article> found = reads.submit(() -> findArticle(id));
+            Future<List<CommentSummaryModel>> comments = reads.submit(() -> findNewestComments(id, commentLimit));
+            Future<Long> commentCount = reads.submit(() -> readOnly(() -> commentRepository.countByNewsId(id)));
+
+            Article article = reads.await(found, id);
+            if (article.archived()) {
+                return withArchivedComments(article.page(), commentLimit);
+            }
+            return withComments(article.page(), reads.await(comments, id), reads.await(commentCount, id),
+                    commentLimit);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        readers.shutdown();
+    }
+
+    /**
+     * Reads the parts on the calling thread, with one connection at a time like other endpoints. A read cannot be
+     * abandoned here, so the deadline is checked after each of them.
+     */
+    private NewsPageModel findPageSequentially(Long id, int commentLimit, long deadline) {
+        Article article = beforeDeadline(findArticle(id), id, deadline);
+        if (article.archived()) {
+            return withArchivedComments(article.page(), commentLimit);
+        }
+        List<CommentSummaryModel> newest = beforeDeadline(findNewestComments(id, commentLimit), id, deadline);
+        long commentCount = beforeDeadline(readOnly(() -> commentRepository.countByNewsId(id)), id, deadline);
+        return withComments(article.page(), newest, commentCount, commentLimit);
+    }
+
+    private <T> T beforeDeadline(T part, Long id, long deadline) {
+        if (System.nanoTime() - deadline > 0) {
+            throw deadlineExceeded(id);
+        }
+        return part;
+    }
+
+    private DeadlineExceededException deadlineExceeded(Long id) {
+        deadlinesExceeded.increment();
+        log.warn("Page of news id: {} not read within {}", id, timeout);
+        return new DeadlineExceededException("Reading the page of news article " + id, timeout);
+    }
+
+    /**
+     * Reads the article, from the archive if it is no longer live, and then its author.
+     */
+    private Article findArticle(Long id) {
+        NewsModel news = readOnly(() -> newsRepository.findWithAuthorById(id)
+                .map(newsEntityMapper::toModelWithoutComments)
+                .orElse(null));
+        boolean archived = news == null;
+        if (archived) {
+            news = newsArchive.findNews(id)
+                    .orElseThrow(() -> {
+                        log.debug("News not found with id: {} when reading its page", id);
+                        return new ResourceNotFoundException("News", "id", id);
+                    });
+        }
+        // Served from the user cache most of the time
+        UserModel author = userService.findById(news.getAuthor().getId());
+        return new Article(NewsPageModel.builder().news(news).author(author).build(), archived);
+    }
+
+    /**
+     * Returns the newest top-level comments, one more than asked for, which tells whether there are more.
+     */
+    private List<CommentSummaryModel> findNewestComments(Long id, int commentLimit) {
+        return readOnly(() -> commentEntityMapper.toSummaryModelList(
+                commentRepository.findTopLevelByNewsId(id, Limit.of(commentLimit + 1))));
+    }
+
+    private static NewsPageModel withComments(NewsPageModel page, List<CommentSummaryModel> newest,
+                                              long commentCount, int commentLimit) {
+        page.setHasMoreComments(newest.size() > commentLimit);
+        page.setComments(new ArrayList<>(newest.subList(0, Math.min(newest.size(), commentLimit))));
+        page.setCommentCount(commentCount);
+        RequestSummary.recordResultSize(page.getComments().size());
+        return page;
+    }
+
+    /**
+     * Archived articles come with all of their comments, which the live queries no longer find.
+     */
+    private NewsPageModel withArchivedComments(NewsPageModel page, int commentLimit) {
+        List<CommentModel> comments = page.getNews().getComments();
+        List<CommentModel> topLevel = comments.stream()
+                .filter(comment -> comment.getParentCommentId() == null)
+                .sorted(NEWEST_FIRST)
+                .toList();
+        page.setComments(topLevel.stream().limit(commentLimit).map(commentEntityMapper::toSummaryModel).toList());
+        page.setHasMoreComments(topLevel.size() > commentLimit);
+        page.setCommentCount(comments.size());
+        page.getNews().setComments(new ArrayList<>());
+        RequestSummary.recordResultSize(page.getComments().size());
+        return page;
+    }
+
+    private <T> T readOnly(Supplier<T> read) {
+        return readOnlyTransaction.execute(status -> read.get());
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.warn("Could not determine the connection pool size: {}", e.toString());
+        }
+        // Reads every page sequentially
+        return 0;
+    }
+
+    /**
+     * The reads of one article page, sharing its deadline and one connection permit each. Closing abandons those not
+     * awaited yet; a read gives its permit back when it ends, or on closing if it has not started.
+     */
+    private final class Reads implements AutoCloseable {
+
+        private final long deadline;
+        private final List<Read<?>> reads = new ArrayList<>();
+
+        Reads(long deadline) {
+            this.deadline = deadline;
+        }
+
+        <T> Future<T> submit(Callable<T> part) {
+            // Claimed by the read when it starts, or by close() if it is abandoned first; whoever claims releases
+            AtomicBoolean claimed = new AtomicBoolean();
+            Future<T> future = readers.submit(RequestSummary.propagate(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return null;
+                }
+                try {
+                    return part.call();
+                } finally {
+                    connections.release();
+                }
+            }));
+            reads.add(new Read<>(future, claimed));
+            return future;
+        }
+
+        <T> T await(Future<T> future, Long id) {
+            try {
+                return future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                throw deadlineExceeded(id);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while reading the page of news article " + id, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            // Not interrupted, which would close the connections under the reads; the transaction timeout ends them
+            for (Read<?> read : reads) {
+                if (read.future().cancel(false) && read.claimed().compareAndSet(false, true)) {
+                    connections.release();
+                }
+            }
+        }
+    }
+
+    private record Read<T>(Future<T> future, AtomicBoolean claimed) {
+    }
+
+    /**
+     * A page with the article and its author, and whether the article was read from the archive.
+     */
+    private record Article(NewsPageModel page, boolean archived) {
+    }
+}
@@ -1,6 +1,9 @@
 package com.dev.news.newsportal.service;
 
+import com.dev.news.newsportal.model.FieldSelection;
+import com.dev.news.newsportal.model.NewsFeedCursor;
 import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.NewsSummaryModel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -10,17 +13,45 @@ public interface NewsService {
 
     NewsModel findById(Long id);
 
+    /**
+     * Returns an article with only the selected fields read. Archived articles are returned whole.
+     *
+     * @throws com.dev.news.newsportal.exception.ResourceNotFoundException if the article does not exist
+     */
+    NewsModel findById(Long id, FieldSelection fields);
+
     List<NewsModel> findAll();
 
     Page<NewsModel> findAll(Pageable pageable);
 
+    /**
+     * Returns a page of articles with only the selected fields read.
+     *
+     * @throws com.dev.news.newsportal.exception.ValidationException if the page is sorted by a property that
+     *                                                               cannot be selected
+     */
+    Page<NewsSummaryModel> findAll(Pageable pageable, FieldSelection fields);
+
     NewsModel create(NewsModel newsModel);
 
     NewsModel update(Long id, NewsModel newsModel);
 
     void delete(Long id);
 
-    List<NewsModel> findByAuthor(Long authorId);
-
     List<NewsModel> findByTitle(String titlePart);
+
+    /**
+     * Returns a page of an author's articles, newest first.
+     *
+     * @param authorId id of the author
+     * @param after    position to continue after, or {@code null} for the first page
+     * @param limit    maximum number of articles
+     * @throws com.dev.news.newsportal.exception.ResourceNotFoundException if the author does not exist
+     */
+    List<NewsSummaryModel> findFeedByAuthor(Long authorId, NewsFeedCursor after, int limit);
+
+    /**
+     * Returns the articles with the given ids in the order of the ids. Ids of missing articles are skipped.
+     */
+    List<NewsModel> findAllById(List<Long> ids);
 }
\ No newline at end of file
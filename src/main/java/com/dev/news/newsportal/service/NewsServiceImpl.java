@@ -1,20 +1,45 @@
 package com.dev.news.newsportal.service;
 
+import com.dev.news.newsportal.archive.NewsArchive;
+import com.dev.news.newsportal.cache.CacheNames;
+import com.dev.news.newsportal.config.NewsPortalProperties;
 import com.dev.news.newsportal.entity.News;
 import com.dev.news.newsportal.entity.User;
+import com.dev.news.newsportal.event.NewsCreatedEvent;
+import com.dev.news.newsportal.event.NewsDeletedEvent;
+import com.dev.news.newsportal.event.NewsUpdatedEvent;
 import com.dev.news.newsportal.exception.ResourceNotFoundException;
+import com.dev.news.newsportal.logging.RequestSummary;
+import com.dev.news.newsportal.mapper.entity.CommentEntityMapper;
 import com.dev.news.newsportal.mapper.entity.NewsEntityMapper;
 import com.dev.news.newsportal.mapper.entity.UserEntityMapper;
+import com.dev.news.newsportal.model.FieldSelection;
+import com.dev.news.newsportal.model.NewsFeedCursor;
 import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.NewsSummaryModel;
+import com.dev.news.newsportal.repository.CommentRepository;
 import com.dev.news.newsportal.repository.NewsRepository;
+import com.dev.news.newsportal.repository.NewsSummaryView;
 import com.dev.news.newsportal.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -23,28 +48,78 @@ class NewsServiceImpl implements NewsService {
 
     private final NewsRepository newsRepository;
     private final UserRepository userRepository;
+    private final CommentRepository commentRepository;
     private final NewsEntityMapper newsEntityMapper;
     private final UserEntityMapper userEntityMapper;
+    private final CommentEntityMapper commentEntityMapper;
+    private final NewsArchive newsArchive;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<Long, NewsModel> newsReads;
+    private final SingleFlight<FieldsRead, NewsModel> newsFieldsReads;
 
     NewsServiceImpl(NewsRepository newsRepository, UserRepository userRepository,
-                    NewsEntityMapper newsEntityMapper, UserEntityMapper userEntityMapper) {
+                    CommentRepository commentRepository, NewsEntityMapper newsEntityMapper,
+                    UserEntityMapper userEntityMapper, CommentEntityMapper commentEntityMapper,
+                    NewsArchive newsArchive, ApplicationEventPublisher eventPublisher,
+                    PlatformTransactionManager transactionManager, NewsPortalProperties properties,
+                    MeterRegistry meterRegistry) {
         this.newsRepository = newsRepository;
         this.userRepository = userRepository;
+        this.commentRepository = commentRepository;
         this.newsEntityMapper = newsEntityMapper;
         this.userEntityMapper = userEntityMapper;
+        this.commentEntityMapper = commentEntityMapper;
+        this.newsArchive = newsArchive;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        Duration waitTimeout = properties.getSingleFlight().getWaitTimeout();
+        this.newsReads = new SingleFlight<>("news", waitTimeout, meterRegistry);
+        this.newsFieldsReads = new SingleFlight<>("news-fields", waitTimeout, meterRegistry);
     }
 
+    /**
+     * Concurrent misses of the cache are coalesced by it; without the cache they share one load here. Waiting reads
+     * hold no connection, as only the load that runs begins a transaction.
+     */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    @Cacheable(cacheNames = CacheNames.NEWS, key = "#id", sync = true)
     public NewsModel findById(Long id) {
+        return newsReads.load(id, () -> readOnlyTransaction.execute(status -> load(id)));
+    }
+
+    private NewsModel load(Long id) {
         log.debug("Finding news by id: {}", id);
-        News news = newsRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.warn("News not found with id: {}", id);
-                    return new ResourceNotFoundException("News", "id", id);
-                });
-        log.info("Successfully retrieved news with id: {}", id);
-        return newsEntityMapper.toModel(news);
+        // One query for the article and its author, one for the whole comment tree
+        News news = newsRepository.findWithAuthorById(id).orElse(null);
+        if (news == null) {
+            return newsArchive.findNews(id)
+                    .orElseThrow(() -> {
+                        log.debug("News not found with id: {}", id);
+                        return new ResourceNotFoundException("News", "id", id);
+                    });
+        }
+        NewsModel newsModel = newsEntityMapper.toModelWithoutComments(news);
+        newsModel.setComments(commentEntityMapper.toThreadModelList(commentRepository.findByNewsIdOrderById(id)));
+        log.debug("Successfully retrieved news with id: {} and {} comments", id, newsModel.getComments().size());
+        return newsModel;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public NewsModel findById(Long id, FieldSelection fields) {
+        return newsFieldsReads.load(new FieldsRead(id, fields), () -> readOnlyTransaction.execute(status -> {
+            log.debug("Finding fields {} of news by id: {}", fields.names(), id);
+            return newsRepository.findFieldsById(id, fields)
+                    .map(newsEntityMapper::toFieldsModel)
+                    .or(() -> newsArchive.findNews(id))
+                    .orElseThrow(() -> {
+                        log.debug("News not found with id: {}", id);
+                        return new ResourceNotFoundException("News", "id", id);
+                    });
+        }));
     }
 
     @Override
@@ -52,7 +127,8 @@ class NewsServiceImpl implements NewsService {
     public List<NewsModel> findAll() {
         log.debug("Finding all news");
         List<News> newsEntities = newsRepository.findAll();
-        log.info("Successfully retrieved {} news items", newsEntities.size());
+        log.debug("Successfully retrieved {} news items", newsEntities.size());
+        RequestSummary.recordResultSize(newsEntities.size());
         return newsEntityMapper.toModelList(newsEntities);
     }
 
@@ -61,11 +137,23 @@ class NewsServiceImpl implements NewsService {
     public Page<NewsModel> findAll(Pageable pageable) {
         log.debug("Finding all news with pagination - page: {}, size: {}", pageable.getPageNumber(), pageable.getPageSize());
         Page<News> newsEntities = newsRepository.findAll(pageable);
-        log.info("Successfully retrieved {} news items from page {} of {}", 
+        log.debug("Successfully retrieved {} news items from page {} of {}",
                 newsEntities.getNumberOfElements(), newsEntities.getNumber(), newsEntities.getTotalPages());
+        RequestSummary.recordResultSize(newsEntities.getNumberOfElements());
         return newsEntities.map(newsEntityMapper::toModel);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<NewsSummaryModel> findAll(Pageable pageable, FieldSelection fields) {
+        log.debug("Finding fields {} of news with pagination - page: {}, size: {}", fields.names(),
+                pageable.getPageNumber(), pageable.getPageSize());
+        Page<NewsSummaryModel> newsPage = newsRepository.findFieldsPage(fields, pageable)
+                .map(newsEntityMapper::toFieldsSummaryModel);
+        RequestSummary.recordResultSize(newsPage.getNumberOfElements());
+        return newsPage;
+    }
+
     @Override
     public NewsModel create(NewsModel newsModel) {
         log.debug("Creating new news with title: {}", newsModel.getTitle());
@@ -86,8 +174,10 @@ class NewsServiceImpl implements NewsService {
         News savedNews = newsRepository.save(news);
         log.info("Successfully created news with id: {} and title: {}", savedNews.getId(), savedNews.getTitle());
 
-        // Convert back to domain model and return
-        return newsEntityMapper.toModel(savedNews);
+        // Convert back to domain model, announce it and return
+        NewsModel createdNews = newsEntityMapper.toModel(savedNews);
+        eventPublisher.publishEvent(new NewsCreatedEvent(createdNews));
+        return createdNews;
     }
 
     @Override
@@ -121,42 +211,67 @@ class NewsServiceImpl implements NewsService {
         News updatedNews = newsRepository.save(existingNews);
         log.info("Successfully updated news with id: {} and title: {}", updatedNews.getId(), updatedNews.getTitle());
 
-        // Convert back to domain model and return
-        return newsEntityMapper.toModel(updatedNews);
+        // Convert back to domain model, announce it and return
+        NewsModel updatedModel = newsEntityMapper.toModel(updatedNews);
+        eventPublisher.publishEvent(new NewsUpdatedEvent(updatedModel));
+        return updatedModel;
     }
 
     @Override
     public void delete(Long id) {
         log.debug("Deleting news with id: {}", id);
-        if (!newsRepository.existsById(id)) {
+        // One statement however many comments the article has; the database cascades to comments and replies
+        if (newsRepository.deleteNewsById(id) == 0 && !newsArchive.delete(id)) {
             log.warn("News not found with id: {} for deletion", id);
             throw new ResourceNotFoundException("News", "id", id);
         }
-        newsRepository.deleteById(id);
         log.info("Successfully deleted news with id: {}", id);
+        eventPublisher.publishEvent(new NewsDeletedEvent(id));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<NewsModel> findByAuthor(Long authorId) {
-        log.debug("Finding news by author id: {}", authorId);
-        User author = userRepository.findById(authorId)
-                .orElseThrow(() -> {
-                    log.warn("Author not found with id: {} when searching for news", authorId);
-                    return new ResourceNotFoundException("User", "id", authorId);
-                });
-
-        List<News> newsEntities = newsRepository.findByAuthor(author);
-        log.info("Successfully retrieved {} news items for author id: {}", newsEntities.size(), authorId);
+    public List<NewsModel> findByTitle(String titlePart) {
+        log.debug("Finding news by title containing: {}", titlePart);
+        List<News> newsEntities = newsRepository.findByTitleContainingIgnoreCase(titlePart);
+        log.debug("Successfully retrieved {} news items matching title: {}", newsEntities.size(), titlePart);
+        RequestSummary.recordResultSize(newsEntities.size());
         return newsEntityMapper.toModelList(newsEntities);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<NewsModel> findByTitle(String titlePart) {
-        log.debug("Finding news by title containing: {}", titlePart);
-        List<News> newsEntities = newsRepository.findByTitleContainingIgnoreCase(titlePart);
-        log.info("Successfully retrieved {} news items matching title: {}", newsEntities.size(), titlePart);
+    public List<NewsSummaryModel> findFeedByAuthor(Long authorId, NewsFeedCursor after, int limit) {
+        log.debug("Finding feed of author id: {} after {}", authorId, after);
+        List<NewsSummaryView> feed = after == null
+                ? newsRepository.findFeedByAuthorId(authorId, Limit.of(limit))
+                : newsRepository.findFeedByAuthorIdAfter(authorId, after.creationDate(), after.id(), Limit.of(limit));
+        // Only an empty page needs to tell a missing author from one without (further) articles
+        if (feed.isEmpty() && !userRepository.existsById(authorId)) {
+            log.warn("Author not found with id: {} when reading the author feed", authorId);
+            throw new ResourceNotFoundException("User", "id", authorId);
+        }
+        RequestSummary.recordResultSize(feed.size());
+        return newsEntityMapper.toSummaryModelList(feed);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NewsModel> findAllById(List<Long> ids) {
+        log.debug("Finding {} news by id", ids.size());
+        Map<Long, News> newsById = newsRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(News::getId, Function.identity()));
+        List<News> newsEntities = ids.stream()
+                .map(newsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        RequestSummary.recordResultSize(newsEntities.size());
         return newsEntityMapper.toModelList(newsEntities);
     }
-}
\ No newline at end of file
+
+    /**
+     * A read of some properties of an article, identical to another if both select the same properties.
+     */
+    private record FieldsRead(Long id, FieldSelection fields) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.dev.news.newsportal.service;
+
+import com.dev.news.newsportal.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Lets identical reads running at the same time share one load. The first read of a key, the leader, loads it on
+ * its own thread; reads of the same key arriving until it finishes wait for its result, or its exception, instead
+ * of loading again. Nothing is kept once the load has finished.
+ * <p>
+ * Waiters give up after {@code news-portal.single-flight.wait-timeout} with a {@link DeadlineExceededException}, so
+ * a slow load cannot pile up requests behind it. Leaders, coalesced reads and timed out waits are counted as
+ * {@code newsportal.single-flight.leaders}, {@code newsportal.single-flight.coalesced} and
+ * {@code newsportal.single-flight.timeouts}, tagged with the resource.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the loaded values
+ */
+@Slf4j
+final class SingleFlight<K, V> {
+
+    private final String resource;
+    private final Duration waitTimeout;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter coalesced;
+    private final Counter timeouts;
+
+    SingleFlight(String resource, Duration waitTimeout, MeterRegistry meterRegistry) {
+        this.resource = resource;
+        this.waitTimeout = waitTimeout;
+        this.leaders = Counter.builder("newsportal.single-flight.leaders")
+                .description("Reads that loaded a value themselves")
+                .tag("resource", resource)
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("newsportal.single-flight.coalesced")
+                .description("Reads that waited for an identical read already in flight")
+                .tag("resource", resource)
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("newsportal.single-flight.timeouts")
+                .description("Reads that gave up waiting for an identical read")
+                .tag("resource", resource)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the value of the key, loaded by this thread or by the identical read already in flight.
+     *
+     * @throws DeadlineExceededException if the read in flight does not finish within the wait timeout
+     */
+    V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> leading = inFlight.putIfAbsent(key, flight);
+        if (leading != null) {
+            coalesced.increment();
+            return await(key, leading);
+        }
+        leaders.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private V await(K key, CompletableFuture<V> flight) {
+        try {
+            return flight.get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            log.warn("Read of {} {} in flight did not finish within {}", resource, key, waitTimeout);
+            throw new DeadlineExceededException("Waiting for the read of " + resource + " " + key, waitTimeout);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the read of " + resource + " " + key, e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.dev.news.newsportal.service;
 
 import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.model.UserPurgeJobModel;
 
 import java.util.List;
 
@@ -14,7 +15,24 @@ public interface UserService {
 
     UserModel update(Long id, UserModel userModel);
 
-    void delete(Long id);
+    /**
+     * Marks a user as deleted, hiding them and their news articles at once, and enqueues the job that removes them.
+     *
+     * @return the enqueued purge job
+     */
+    UserPurgeJobModel delete(Long id);
+
+    UserPurgeJobModel findPurgeJob(Long jobId);
+
+    /**
+     * Returns whether no user, including a deleted one whose purge has not completed, has the nickname.
+     */
+    boolean isNicknameAvailable(String nickname);
+
+    /**
+     * Returns whether no user, including a deleted one whose purge has not completed, has the email.
+     */
+    boolean isEmailAvailable(String email);
 
     UserModel findByNickname(String nickname);
 
@@ -1,32 +1,62 @@
 package com.dev.news.newsportal.service;
 
+import com.dev.news.newsportal.availability.UserIdentifierFilter;
+import com.dev.news.newsportal.cache.CacheNames;
 import com.dev.news.newsportal.entity.User;
+import com.dev.news.newsportal.entity.UserPurgeJob;
+import com.dev.news.newsportal.event.UserCreatedEvent;
+import com.dev.news.newsportal.event.UserDeletedEvent;
+import com.dev.news.newsportal.event.UserUpdatedEvent;
 import com.dev.news.newsportal.exception.DuplicateResourceException;
 import com.dev.news.newsportal.exception.ResourceNotFoundException;
+import com.dev.news.newsportal.logging.RequestSummary;
 import com.dev.news.newsportal.mapper.entity.UserEntityMapper;
 import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.model.UserPurgeJobModel;
+import com.dev.news.newsportal.repository.UserPurgeJobRepository;
 import com.dev.news.newsportal.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Service
 @Transactional
 class UserServiceImpl implements UserService {
 
+    /**
+     * Finds the violated column in unique constraint messages, such as H2's {@code PUBLIC.USERS(NICKNAME NULLS FIRST)}
+     * and PostgreSQL's {@code Key (nickname)=(...)}. The column comes before the values in both.
+     */
+    private static final Pattern UNIQUE_COLUMN = Pattern.compile("\\((nickname|email)[ )]", Pattern.CASE_INSENSITIVE);
+
     private final UserRepository userRepository;
+    private final UserPurgeJobRepository userPurgeJobRepository;
     private final UserEntityMapper userEntityMapper;
+    private final UserIdentifierFilter identifierFilter;
+    private final ApplicationEventPublisher eventPublisher;
 
-    UserServiceImpl(UserRepository userRepository, UserEntityMapper userEntityMapper) {
+    UserServiceImpl(UserRepository userRepository, UserPurgeJobRepository userPurgeJobRepository,
+                    UserEntityMapper userEntityMapper, UserIdentifierFilter identifierFilter,
+                    ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.userPurgeJobRepository = userPurgeJobRepository;
         this.userEntityMapper = userEntityMapper;
+        this.identifierFilter = identifierFilter;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.USERS, key = "#id", sync = true)
     public UserModel findById(Long id) {
         log.debug("Finding user by id: {}", id);
         User user = userRepository.findById(id)
@@ -34,7 +64,7 @@ class UserServiceImpl implements UserService {
                     log.warn("User not found with id: {}", id);
                     return new ResourceNotFoundException("User", "id", id);
                 });
-        log.info("Successfully retrieved user with id: {}", id);
+        log.debug("Successfully retrieved user with id: {}", id);
         return userEntityMapper.toModel(user);
     }
 
@@ -43,7 +73,8 @@ class UserServiceImpl implements UserService {
     public List<UserModel> findAll() {
         log.debug("Finding all users");
         List<User> users = userRepository.findAll();
-        log.info("Successfully retrieved {} users", users.size());
+        log.debug("Successfully retrieved {} users", users.size());
+        RequestSummary.recordResultSize(users.size());
         return userEntityMapper.toModelList(users);
     }
 
@@ -56,12 +87,14 @@ class UserServiceImpl implements UserService {
         User user = userEntityMapper.toEntity(userModel);
         user.setId(null); // Ensure it's a new entity
 
-        // Save entity
-        User savedUser = userRepository.save(user);
+        // Save entity; the unique constraints catch what the validation could not see
+        User savedUser = saveUnique(user);
         log.info("Successfully created user with id: {} and nickname: {}", savedUser.getId(), savedUser.getNickname());
 
-        // Convert back to domain model and return
-        return userEntityMapper.toModel(savedUser);
+        // Convert back to domain model, announce it and return
+        UserModel createdUser = userEntityMapper.toModel(savedUser);
+        eventPublisher.publishEvent(new UserCreatedEvent(createdUser));
+        return createdUser;
     }
 
     @Override
@@ -81,22 +114,51 @@ class UserServiceImpl implements UserService {
         userEntityMapper.updateEntity(existingUser, userModel);
 
         // Save updated entity
-        User updatedUser = userRepository.save(existingUser);
+        User updatedUser = saveUnique(existingUser);
         log.info("Successfully updated user with id: {} and nickname: {}", updatedUser.getId(), updatedUser.getNickname());
 
-        // Convert back to domain model and return
-        return userEntityMapper.toModel(updatedUser);
+        // Convert back to domain model, announce it and return
+        UserModel updatedModel = userEntityMapper.toModel(updatedUser);
+        eventPublisher.publishEvent(new UserUpdatedEvent(updatedModel));
+        return updatedModel;
     }
 
     @Override
-    public void delete(Long id) {
+    public UserPurgeJobModel delete(Long id) {
         log.debug("Deleting user with id: {}", id);
-        if (!userRepository.existsById(id)) {
+        // One UPDATE hides the user and their news; the content itself is removed later in bounded chunks
+        if (userRepository.markDeleted(id) == 0) {
             log.warn("User not found with id: {} for deletion", id);
             throw new ResourceNotFoundException("User", "id", id);
         }
-        userRepository.deleteById(id);
-        log.info("Successfully deleted user with id: {}", id);
+        UserPurgeJob job = userPurgeJobRepository.save(UserPurgeJob.builder().userId(id).build());
+        log.info("Marked user with id: {} as deleted, purge job id: {}", id, job.getId());
+        eventPublisher.publishEvent(new UserDeletedEvent(id));
+        return userEntityMapper.toPurgeJobModel(job);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserPurgeJobModel findPurgeJob(Long jobId) {
+        log.debug("Finding user purge job by id: {}", jobId);
+        UserPurgeJob job = userPurgeJobRepository.findById(jobId)
+                .orElseThrow(() -> {
+                    log.warn("User purge job not found with id: {}", jobId);
+                    return new ResourceNotFoundException("UserPurgeJob", "id", jobId);
+                });
+        return userEntityMapper.toPurgeJobModel(job);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isNicknameAvailable(String nickname) {
+        return !identifierFilter.isTaken(UserIdentifierFilter.Field.NICKNAME, nickname, userRepository::existsByNickname);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isEmailAvailable(String email) {
+        return !identifierFilter.isTaken(UserIdentifierFilter.Field.EMAIL, email, userRepository::existsByEmail);
     }
 
     @Override
@@ -105,10 +167,10 @@ class UserServiceImpl implements UserService {
         log.debug("Finding user by nickname: {}", nickname);
         User user = userRepository.findByNickname(nickname)
                 .orElseThrow(() -> {
-                    log.warn("User not found with nickname: {}", nickname);
+                    log.debug("User not found with nickname: {}", nickname);
                     return new ResourceNotFoundException("User", "nickname", nickname);
                 });
-        log.info("Successfully retrieved user with nickname: {}", nickname);
+        log.debug("Successfully retrieved user with nickname: {}", nickname);
         return userEntityMapper.toModel(user);
     }
 
@@ -121,33 +183,52 @@ class UserServiceImpl implements UserService {
                     log.warn("User not found with email: {}", email);
                     return new ResourceNotFoundException("User", "email", email);
                 });
-        log.info("Successfully retrieved user with email: {}", email);
+        log.debug("Successfully retrieved user with email: {}", email);
         return userEntityMapper.toModel(user);
     }
 
+    /**
+     * Rejects nicknames and emails already taken by another user. Values the identifier filter has never seen are
+     * accepted without a query; the unique constraints still guard the write.
+     */
     private void validateUniqueFields(Long id, String nickname, String email) {
         log.debug("Validating unique fields for user - nickname: {}, email: {}", nickname, email);
-        
-        // Check if nickname is already taken by another user
-        if (userRepository.existsByNickname(nickname)) {
-            userRepository.findByNickname(nickname)
-                    .filter(user -> !user.getId().equals(id))
-                    .ifPresent(user -> {
-                        log.warn("Nickname already exists: {}", nickname);
-                        throw new DuplicateResourceException("User", "nickname", nickname);
-                    });
+
+        // Check if nickname is already taken by another user. A deleted user keeps it until their purge completes.
+        if (identifierFilter.isTaken(UserIdentifierFilter.Field.NICKNAME, nickname, value ->
+                userRepository.findAnyIdByNickname(value).filter(owner -> !owner.equals(id)).isPresent())) {
+            log.warn("Nickname already exists: {}", nickname);
+            throw new DuplicateResourceException("User", "nickname", nickname);
         }
 
-        // Check if email is already taken by another user
-        if (userRepository.existsByEmail(email)) {
-            userRepository.findByEmail(email)
-                    .filter(user -> !user.getId().equals(id))
-                    .ifPresent(user -> {
-                        log.warn("Email already exists: {}", email);
-                        throw new DuplicateResourceException("User", "email", email);
-                    });
+        // Check if email is already taken by another user, deleted or not
+        if (identifierFilter.isTaken(UserIdentifierFilter.Field.EMAIL, email, value ->
+                userRepository.findAnyIdByEmail(value).filter(owner -> !owner.equals(id)).isPresent())) {
+            log.warn("Email already exists: {}", email);
+            throw new DuplicateResourceException("User", "email", email);
         }
-        
+
         log.debug("Unique field validation passed for nickname: {} and email: {}", nickname, email);
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes a user at once, so that a unique constraint violation surfaces here as a
+     * {@link DuplicateResourceException} instead of at commit.
+     */
+    private User saveUnique(User user) {
+        try {
+            User saved = userRepository.save(user);
+            userRepository.flush();
+            return saved;
+        } catch (DataIntegrityViolationException ex) {
+            Matcher column = UNIQUE_COLUMN.matcher(String.valueOf(ex.getMostSpecificCause().getMessage()));
+            if (!column.find()) {
+                throw ex;
+            }
+            String field = column.group(1).toLowerCase(Locale.ROOT);
+            log.warn("Unique constraint on {} violated for user with nickname: {}", field, user.getNickname());
+            throw new DuplicateResourceException("User", field,
+                    "nickname".equals(field) ? user.getNickname() : user.getEmail());
+        }
+    }
+}
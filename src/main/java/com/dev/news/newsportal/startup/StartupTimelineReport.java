@@ -0,0 +1,55 @@
+package com.dev.news.newsportal.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Logs the slowest startup steps once the application is ready, so that cold starts can be compared between builds.
+ * <p>
+ * Steps are only recorded when the application runs with a {@link BufferingApplicationStartup}, which
+ * {@code NewsPortalApplication} installs. The full timeline stays available at {@code /actuator/startup}.
+ */
+@Slf4j
+@Component
+class StartupTimelineReport {
+
+    static final int SLOWEST_STEPS = 15;
+
+    @EventListener
+    void onApplicationReady(ApplicationReadyEvent event) {
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+        StartupTimeline timeline = buffering.getBufferedTimeline();
+        List<StartupTimeline.TimelineEvent> events = timeline.getEvents();
+        String slowest = events.stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(SLOWEST_STEPS)
+                .map(StartupTimelineReport::describe)
+                .collect(Collectors.joining(System.lineSeparator()));
+        log.info("Ready after {} ms with {} startup steps recorded, slowest:{}{}", event.getTimeTaken().toMillis(),
+                events.size(), System.lineSeparator(), slowest);
+    }
+
+    private static String describe(StartupTimeline.TimelineEvent event) {
+        StartupStep step = event.getStartupStep();
+        String tags = StreamSupport.stream(step.getTags().spliterator(), false)
+                .map(tag -> tag.getKey() + "=" + tag.getValue())
+                .collect(Collectors.joining(", "));
+        Duration duration = event.getDuration();
+        return String.format("  %6d ms  %s%s", duration.toMillis(), step.getName(), tags.isEmpty() ? "" : " [" + tags + "]");
+    }
+}
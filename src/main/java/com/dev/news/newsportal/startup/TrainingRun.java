@@ -0,0 +1,85 @@
+package com.dev.news.newsportal.startup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.Map;
+
+/**
+ * Sends one request to each main endpoint when started with {@code --training-run}, so that a class data sharing
+ * archive recorded from this run covers the classes that serving requests loads, not only those of startup.
+ * <p>
+ * The option is checked at run time rather than through a conditional bean, since ahead-of-time processing fixes the
+ * set of beans at build time. The run writes a user, an article and a comment, so it belongs on a throwaway
+ * database of the profiles the archive is built for.
+ */
+@Slf4j
+@Component
+class TrainingRun implements ApplicationRunner {
+
+    static final String OPTION = "training-run";
+
+    private final Environment environment;
+
+    TrainingRun(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        String baseUrl = "http://localhost:" + environment.getRequiredProperty("local.server.port");
+        RestClient client = RestClient.create(baseUrl);
+        log.info("Training run against {}", baseUrl);
+
+        String nickname = "training" + System.currentTimeMillis();
+        JsonNode user = post(client, "/api/v1/users",
+                Map.of("nickname", nickname, "email", nickname + "@example.com", "role", "USER"));
+        JsonNode news = post(client, "/api/v1/news",
+                Map.of("title", "Training", "text", "Article of the training run", "authorId", id(user)));
+        JsonNode comment = post(client, "/api/v1/comments",
+                Map.of("text", "Comment of the training run", "authorNickname", nickname, "newsId", id(news)));
+        post(client, "/api/v1/comments", Map.of("text", "Reply of the training run", "authorNickname", nickname,
+                "newsId", id(news), "parentCommentId", id(comment)));
+
+        get(client, "/api/v1/news?page=0&size=20");
+        get(client, "/api/v1/news/" + id(news));
+        get(client, "/api/v1/news/trending");
+        get(client, "/api/v1/news/author/" + id(user));
+        get(client, "/api/v1/news/search?title=Training");
+        get(client, "/api/v1/comments/news/" + id(news));
+        get(client, "/api/v1/comments/" + id(comment) + "/replies");
+        get(client, "/api/v1/users/nickname/" + nickname);
+        get(client, "/api/v1/users/availability?nickname=" + nickname);
+        get(client, "/api/v1/news/0");
+        get(client, "/v3/api-docs");
+        log.info("Training run finished");
+    }
+
+    private static JsonNode post(RestClient client, String uri, Map<String, Object> body) {
+        return client.post().uri(uri).contentType(MediaType.APPLICATION_JSON).body(body)
+                .retrieve().body(JsonNode.class);
+    }
+
+    /**
+     * Reads a resource. Error responses are part of the training, such as the not-found one.
+     */
+    private static void get(RestClient client, String uri) {
+        client.get().uri(uri).retrieve()
+                .onStatus(HttpStatusCode::isError, (request, response) -> { })
+                .toBodilessEntity();
+    }
+
+    private static long id(JsonNode resource) {
+        return resource.get("id").asLong();
+    }
+}
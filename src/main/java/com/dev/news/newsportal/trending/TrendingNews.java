@@ -0,0 +1,129 @@
+package com.dev.news.newsportal.trending;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.dev.news.newsportal.worker.PeriodicWorker;
+import com.dev.news.newsportal.event.CommentCreatedEvent;
+import com.dev.news.newsportal.event.NewsDeletedEvent;
+import com.dev.news.newsportal.views.NewsViewsCountedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranks news articles by time-decayed engagement.
+ * <p>
+ * Committed comments and written views feed a {@link TrendingRanking} in memory, so reading the ranking never touches
+ * the database. The ranking is snapshotted to {@code trending_scores} periodically and on shutdown, and restored
+ * from the last snapshot on startup. Engagement after the last snapshot is lost if the node stops abruptly.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "news-portal.trending", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TrendingNews implements SmartLifecycle {
+
+    private final TrendingSnapshotStore snapshotStore;
+    private final NewsPortalProperties.Trending settings;
+    private final Clock clock = Clock.systemDefaultZone();
+    private final TrendingRanking ranking;
+    private final Timer snapshotDuration;
+    private final PeriodicWorker worker;
+
+    TrendingNews(TrendingSnapshotStore snapshotStore, NewsPortalProperties properties, MeterRegistry meterRegistry) {
+        this.snapshotStore = snapshotStore;
+        this.settings = properties.getTrending();
+        this.worker = new PeriodicWorker("trending-snapshot", settings.getSnapshotInterval(),
+                settings.getSnapshotInterval(), this::snapshot);
+        this.ranking = new TrendingRanking(settings.getHalfLife(), settings.getCapacity(), clock.millis());
+        this.snapshotDuration = Timer.builder("newsportal.trending.snapshot")
+                .description("Duration of saving the trending ranking")
+                .register(meterRegistry);
+        Gauge.builder("newsportal.trending.tracked", ranking, TrendingRanking::size)
+                .description("News articles tracked by the trending ranking")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the ids of the currently trending articles, most trending first.
+     */
+    public List<Long> findTopNewsIds(int limit) {
+        return ranking.top(limit);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    void onCommentCreated(CommentCreatedEvent event) {
+        ranking.add(event.comment().getNewsId(), settings.getCommentWeight(), clock.millis());
+    }
+
+    @EventListener
+    void onViewsCounted(NewsViewsCountedEvent event) {
+        long now = clock.millis();
+        event.views().forEach((newsId, views) -> ranking.add(newsId, settings.getViewWeight() * views, now));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    void onNewsDeleted(NewsDeletedEvent event) {
+        ranking.remove(event.newsId());
+    }
+
+    /**
+     * Saves the current ranking, replacing the previous snapshot.
+     */
+    void snapshot() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now(clock);
+        long nowMillis = now.atZone(clock.getZone()).toInstant().toEpochMilli();
+        snapshotStore.save(ranking.scoresAt(nowMillis), now, settings.getSnapshotBatchSize());
+        snapshotDuration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    private void restore() {
+        List<TrendingSnapshotStore.Score> scores = snapshotStore.load();
+        for (TrendingSnapshotStore.Score score : scores) {
+            Instant scoredAt = score.scoredAt().atZone(clock.getZone()).toInstant();
+            ranking.add(score.newsId(), score.score(), scoredAt.toEpochMilli());
+        }
+        log.info("Restored trending scores of {} news articles", scores.size());
+    }
+
+    @Override
+    public void start() {
+        restore();
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        worker.stop();
+        try {
+            snapshot();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to save trending snapshot on shutdown: {}", ex.toString());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker.isRunning();
+    }
+
+    /**
+     * Stops after the view counter, so the views of its final flush are part of the last snapshot.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+}
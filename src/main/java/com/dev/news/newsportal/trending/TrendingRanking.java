@@ -0,0 +1,120 @@
+package com.dev.news.newsportal.trending;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Time-decayed engagement scores of news articles with the best ones kept in score order.
+ * <p>
+ * Scores use forward decay: an interaction at time {@code t} adds {@code weight * e^(lambda * (t - landmark))}, so
+ * stored scores never have to be decayed as time passes and their order stays valid. The score of an article at time
+ * {@code now} is its stored score times {@code e^(-lambda * (now - landmark))}. When the exponent grows too large
+ * the landmark is moved forward and all scores are rescaled.
+ * <p>
+ * At most {@code capacity} articles are tracked; adding beyond that evicts the lowest score. Updates are serialized,
+ * while {@link #top(int)} reads the skip list without locking.
+ */
+final class TrendingRanking {
+
+    private static final double MAX_EXPONENT = 500;
+
+    private static final Comparator<Ranked> BY_SCORE_DESC = Comparator.comparingDouble(Ranked::score).reversed()
+            .thenComparingLong(Ranked::newsId);
+
+    private final double lambda;
+    private final int capacity;
+    private final Map<Long, Ranked> byNews = new HashMap<>();
+    private final ConcurrentSkipListSet<Ranked> ranked = new ConcurrentSkipListSet<>(BY_SCORE_DESC);
+    private long landmarkMillis;
+
+    TrendingRanking(Duration halfLife, int capacity, long nowMillis) {
+        this.lambda = Math.log(2) / halfLife.toMillis();
+        this.capacity = capacity;
+        this.landmarkMillis = nowMillis;
+    }
+
+    /**
+     * Adds an interaction of the given weight to an article.
+     */
+    synchronized void add(long newsId, double weight, long atMillis) {
+        if (lambda * (atMillis - landmarkMillis) > MAX_EXPONENT) {
+            rescale(atMillis);
+        }
+        double increment = weight * Math.exp(lambda * (atMillis - landmarkMillis));
+        Ranked previous = byNews.get(newsId);
+        double score = previous != null ? previous.score() + increment : increment;
+        if (previous == null && byNews.size() >= capacity) {
+            Ranked lowest = ranked.last();
+            if (lowest.score() >= score) {
+                return;
+            }
+            remove(lowest.newsId());
+        }
+        put(new Ranked(newsId, score), previous);
+    }
+
+    /**
+     * Stops tracking an article.
+     */
+    synchronized void remove(long newsId) {
+        Ranked previous = byNews.remove(newsId);
+        if (previous != null) {
+            ranked.remove(previous);
+        }
+    }
+
+    /**
+     * Returns the ids of the highest scored articles, best first.
+     */
+    List<Long> top(int limit) {
+        // Reads are not locked, so an article being updated may briefly appear twice or not at all
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Ranked entry : ranked) {
+            if (ids.size() >= limit) {
+                break;
+            }
+            ids.add(entry.newsId());
+        }
+        return new ArrayList<>(ids);
+    }
+
+    /**
+     * Returns the decayed scores of all tracked articles at the given time.
+     */
+    synchronized Map<Long, Double> scoresAt(long nowMillis) {
+        double decay = Math.exp(-lambda * (nowMillis - landmarkMillis));
+        Map<Long, Double> scores = new HashMap<>();
+        byNews.values().forEach(entry -> scores.put(entry.newsId(), entry.score() * decay));
+        return scores;
+    }
+
+    synchronized int size() {
+        return byNews.size();
+    }
+
+    private void put(Ranked entry, Ranked previous) {
+        if (previous != null) {
+            ranked.remove(previous);
+        }
+        byNews.put(entry.newsId(), entry);
+        ranked.add(entry);
+    }
+
+    private void rescale(long nowMillis) {
+        double factor = Math.exp(-lambda * (nowMillis - landmarkMillis));
+        for (Ranked entry : new ArrayList<>(byNews.values())) {
+            put(new Ranked(entry.newsId(), entry.score() * factor), entry);
+        }
+        landmarkMillis = nowMillis;
+    }
+
+    private record Ranked(long newsId, double score) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.dev.news.newsportal.trending;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Saves and loads snapshots of the trending ranking in the {@code trending_scores} table.
+ */
+@Component
+class TrendingSnapshotStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    TrendingSnapshotStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Replaces the stored snapshot. Scores of articles deleted in the meantime are skipped.
+     *
+     * @param scores    decayed score by news id
+     * @param scoredAt  time the scores were taken at
+     * @param batchSize rows written per JDBC batch
+     */
+    @Transactional
+    public void save(Map<Long, Double> scores, LocalDateTime scoredAt, int batchSize) {
+        jdbcTemplate.update("DELETE FROM trending_scores");
+        List<Object[]> rows = new ArrayList<>(scores.size());
+        Timestamp timestamp = Timestamp.valueOf(scoredAt);
+        scores.forEach((newsId, score) -> rows.add(new Object[]{score, timestamp, newsId}));
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate("INSERT INTO trending_scores (news_id, score, scored_at) "
+                            + "SELECT id, ?, ? FROM news WHERE id = ?",
+                    rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+    }
+
+    /**
+     * Loads the stored snapshot.
+     */
+    @Transactional(readOnly = true)
+    public List<Score> load() {
+        return jdbcTemplate.query("SELECT news_id, score, scored_at FROM trending_scores",
+                (row, rowNum) -> new Score(row.getLong("news_id"), row.getDouble("score"),
+                        row.getTimestamp("scored_at").toLocalDateTime()));
+    }
+
+    record Score(long newsId, double score, LocalDateTime scoredAt) {
+    }
+}
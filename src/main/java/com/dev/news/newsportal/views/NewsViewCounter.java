@@ -0,0 +1,156 @@
+package com.dev.news.newsportal.views;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.dev.news.newsportal.worker.PeriodicWorker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts news views in memory and writes them to the database in batches.
+ * <p>
+ * Every article has its own {@link LongAdder}, so concurrent views of the same article update separate cells
+ * instead of contending on one lock or field. A flush thread reads each counter, subtracts what it read and adds
+ * the totals to {@code news_stats} with one statement per batch of articles, then publishes them as a
+ * {@link NewsViewsCountedEvent}. Counts that could not be written stay in memory for the next flush. The last
+ * flush happens on shutdown, after the web server stopped taking requests.
+ * <p>
+ * Counters of articles without new views are dropped at the next flush. A view recorded at the very moment its idle
+ * counter is dropped can be lost; views are statistics, not ledger entries.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "news-portal.view-counts", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class NewsViewCounter implements SmartLifecycle {
+
+    private final NewsViewStore store;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NewsPortalProperties.ViewCounts settings;
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final Counter recorded;
+    private final Timer flushDuration;
+    private final PeriodicWorker worker;
+
+    NewsViewCounter(NewsViewStore store, ApplicationEventPublisher eventPublisher, NewsPortalProperties properties,
+                    MeterRegistry meterRegistry) {
+        this.store = store;
+        this.eventPublisher = eventPublisher;
+        this.settings = properties.getViewCounts();
+        this.worker = new PeriodicWorker("news-view-flusher", settings.getFlushInterval(), settings.getFlushInterval(),
+                this::flush);
+        this.recorded = Counter.builder("newsportal.news.views")
+                .description("News views counted")
+                .register(meterRegistry);
+        this.flushDuration = Timer.builder("newsportal.news.views.flush")
+                .description("Duration of writing accumulated news views")
+                .register(meterRegistry);
+        Gauge.builder("newsportal.news.views.pending", pending, Map::size)
+                .description("News articles with views counted in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns whether reads of a single article count as views.
+     */
+    public boolean isCountingReads() {
+        return settings.isCountReads();
+    }
+
+    /**
+     * Counts one view of a news article.
+     */
+    public void record(long newsId) {
+        pending.computeIfAbsent(newsId, id -> new LongAdder()).increment();
+        recorded.increment();
+    }
+
+    /**
+     * Returns the stored view count of an article plus the views not written yet.
+     */
+    public long getViews(long newsId) {
+        LongAdder unwritten = pending.get(newsId);
+        return store.findViews(newsId) + (unwritten != null ? unwritten.sum() : 0);
+    }
+
+    /**
+     * Writes all accumulated views to the database. Flushes run one at a time, so the last flush on shutdown waits
+     * for one the worker did not finish within its stop timeout instead of writing alongside it.
+     */
+    public synchronized void flush() {
+        Map<Long, Long> views = new HashMap<>();
+        pending.forEach((newsId, counter) -> {
+            long count = counter.sum();
+            if (count == 0) {
+                // Idle counter: drop it, and keep whatever slipped in before it was removed
+                if (pending.remove(newsId, counter)) {
+                    count = counter.sum();
+                }
+            } else {
+                counter.add(-count);
+            }
+            if (count != 0) {
+                views.put(newsId, count);
+            }
+        });
+        if (views.isEmpty()) {
+            return;
+        }
+        long started = System.nanoTime();
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(views.entrySet());
+        for (int from = 0; from < entries.size(); from += settings.getMaxBatchSize()) {
+            int to = Math.min(from + settings.getMaxBatchSize(), entries.size());
+            Map<Long, Long> batch = new HashMap<>();
+            entries.subList(from, to).forEach(entry -> batch.put(entry.getKey(), entry.getValue()));
+            try {
+                store.addViews(batch);
+            } catch (RuntimeException ex) {
+                log.warn("Failed to write views of {} news articles, keeping them for the next flush: {}",
+                        entries.size() - from, ex.toString());
+                entries.subList(from, entries.size()).forEach(entry ->
+                        pending.computeIfAbsent(entry.getKey(), id -> new LongAdder()).add(entry.getValue()));
+                return;
+            }
+            eventPublisher.publishEvent(new NewsViewsCountedEvent(batch));
+        }
+        flushDuration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        log.debug("Wrote views of {} news articles", views.size());
+    }
+
+    @Override
+    public void start() {
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        worker.stop();
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker.isRunning();
+    }
+
+    /**
+     * Stops after the web server, which stops in an earlier phase, so views of the last requests are written too.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
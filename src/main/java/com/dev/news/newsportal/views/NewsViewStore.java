@@ -0,0 +1,76 @@
+package com.dev.news.newsportal.views;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Adds view counts to the {@code news_stats} table with one statement per batch of articles.
+ * <p>
+ * PostgreSQL upserts with {@code INSERT ... ON CONFLICT DO UPDATE}, other databases with the standard {@code MERGE}.
+ * Either way the counts are joined against {@code news}, so views of articles deleted in the meantime are dropped.
+ */
+@Component
+class NewsViewStore {
+
+    private static final String POSTGRESQL_UPSERT_SQL = """
+            INSERT INTO news_stats (news_id, view_count, updated_at)
+            SELECT n.id, v.views, ? FROM (VALUES %s) AS v(news_id, views) JOIN news n ON n.id = v.news_id
+            ON CONFLICT (news_id) DO UPDATE
+            SET view_count = news_stats.view_count + EXCLUDED.view_count, updated_at = EXCLUDED.updated_at""";
+
+    private static final String MERGE_SQL = """
+            MERGE INTO news_stats s
+            USING (SELECT n.id AS news_id, v.views, CAST(? AS TIMESTAMP) AS updated_at
+                   FROM (VALUES %s) AS v(news_id, views) JOIN news n ON n.id = v.news_id) u
+            ON s.news_id = u.news_id
+            WHEN MATCHED THEN UPDATE SET view_count = s.view_count + u.views, updated_at = u.updated_at
+            WHEN NOT MATCHED THEN INSERT (news_id, view_count, updated_at) VALUES (u.news_id, u.views, u.updated_at)""";
+
+    private static final String ROW = "(CAST(? AS BIGINT), CAST(? AS BIGINT))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String upsertSql;
+
+    NewsViewStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        this.upsertSql = "PostgreSQL".equals(product) ? POSTGRESQL_UPSERT_SQL : MERGE_SQL;
+    }
+
+    /**
+     * Adds views to the stored counts of the given articles.
+     *
+     * @param views number of new views by news id
+     */
+    void addViews(Map<Long, Long> views) {
+        if (views.isEmpty()) {
+            return;
+        }
+        String rows = views.keySet().stream().map(id -> ROW).collect(Collectors.joining(", "));
+        List<Object> parameters = new ArrayList<>(1 + views.size() * 2);
+        parameters.add(Timestamp.valueOf(LocalDateTime.now()));
+        views.forEach((newsId, count) -> {
+            parameters.add(newsId);
+            parameters.add(count);
+        });
+        jdbcTemplate.update(upsertSql.formatted(rows), parameters.toArray());
+    }
+
+    /**
+     * Returns the stored view count of an article, or zero when none has been written yet.
+     */
+    long findViews(long newsId) {
+        List<Long> counts = jdbcTemplate.queryForList(
+                "SELECT view_count FROM news_stats WHERE news_id = ?", Long.class, newsId);
+        return counts.isEmpty() ? 0 : counts.get(0);
+    }
+}
@@ -0,0 +1,11 @@
+package com.dev.news.newsportal.views;
+
+import java.util.Map;
+
+/**
+ * Published after accumulated news views have been written.
+ *
+ * @param views number of new views by news id
+ */
+public record NewsViewsCountedEvent(Map<Long, Long> views) {
+}
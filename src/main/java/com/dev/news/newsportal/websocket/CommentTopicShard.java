@@ -0,0 +1,164 @@
+package com.dev.news.newsportal.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.TextMessage;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers comment updates for the subset of news articles it owns.
+ * <p>
+ * A single worker thread per shard keeps updates of an article in commit order. After the first pending update the
+ * worker collects further updates until the batch window has passed or the batch is full, and then sends everything
+ * queued for an article as one frame, so a burst on a hot thread costs one serialization and one write per
+ * subscriber instead of one per comment.
+ * <p>
+ * The worker only queues frames in the {@link SessionOutbox} of each subscriber, which writes them on a thread of its
+ * own, so a client that stops reading cannot stall the other articles of the shard.
+ */
+@Slf4j
+final class CommentTopicShard {
+
+    private static final int QUEUE_CAPACITY = 10_000;
+
+    private final ObjectMapper objectMapper;
+    private final Duration batchWindow;
+    private final int maxBatchSize;
+    private final BlockingQueue<CommentUpdate> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final Map<Long, Set<SessionOutbox>> topics = new ConcurrentHashMap<>();
+    private final Counter frames;
+    private final Counter dropped;
+    private final Counter slowConsumers;
+    private final Thread worker;
+
+    CommentTopicShard(int index, ObjectMapper objectMapper, Duration batchWindow, int maxBatchSize,
+                      MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.batchWindow = batchWindow;
+        this.maxBatchSize = maxBatchSize;
+        String shard = Integer.toString(index);
+        Gauge.builder("newsportal.websocket.subscriptions", this, CommentTopicShard::getSubscriptionCount)
+                .description("Subscriptions of WebSocket connections to news articles")
+                .tag("shard", shard)
+                .register(meterRegistry);
+        this.frames = Counter.builder("newsportal.websocket.frames")
+                .description("Comment update frames queued for subscribers")
+                .tag("shard", shard)
+                .register(meterRegistry);
+        this.dropped = Counter.builder("newsportal.websocket.updates.dropped")
+                .description("Comment updates dropped because the shard queue was full")
+                .tag("shard", shard)
+                .register(meterRegistry);
+        this.slowConsumers = Counter.builder("newsportal.websocket.slow.consumers")
+                .description("Connections closed because they could not keep up")
+                .tag("shard", shard)
+                .register(meterRegistry);
+        this.worker = Thread.ofPlatform().name("comment-updates-" + shard).daemon().unstarted(this::run);
+    }
+
+    void start() {
+        worker.start();
+    }
+
+    void stop() {
+        worker.interrupt();
+    }
+
+    void subscribe(long newsId, SessionOutbox outbox) {
+        topics.computeIfAbsent(newsId, id -> ConcurrentHashMap.newKeySet()).add(outbox);
+    }
+
+    void unsubscribe(long newsId, SessionOutbox outbox) {
+        topics.computeIfPresent(newsId, (id, outboxes) -> {
+            outboxes.remove(outbox);
+            return outboxes.isEmpty() ? null : outboxes;
+        });
+    }
+
+    /**
+     * Queues an update for delivery. Updates of articles nobody is subscribed to are ignored.
+     */
+    void publish(CommentUpdate update) {
+        if (!topics.containsKey(update.newsId())) {
+            return;
+        }
+        if (!queue.offer(update)) {
+            dropped.increment();
+            log.warn("Comment update queue is full, dropping update of comment {}", update.commentId());
+        }
+    }
+
+    int getSubscriptionCount() {
+        return topics.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void run() {
+        List<CommentUpdate> batch = new ArrayList<>(maxBatchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + batchWindow.toNanos();
+                while (batch.size() < maxBatchSize) {
+                    CommentUpdate next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                deliver(batch);
+            } catch (RuntimeException ex) {
+                log.error("Failed to deliver comment updates", ex);
+            }
+            batch.clear();
+        }
+    }
+
+    private void deliver(List<CommentUpdate> batch) {
+        Map<Long, List<CommentUpdate>> byNews = new LinkedHashMap<>();
+        for (CommentUpdate update : batch) {
+            byNews.computeIfAbsent(update.newsId(), id -> new ArrayList<>()).add(update);
+        }
+        byNews.forEach((newsId, updates) -> {
+            Set<SessionOutbox> outboxes = topics.get(newsId);
+            if (outboxes == null || outboxes.isEmpty()) {
+                return;
+            }
+            TextMessage message;
+            try {
+                message = new TextMessage(objectMapper.writeValueAsString(new CommentUpdateFrame(newsId, updates)));
+            } catch (JsonProcessingException ex) {
+                log.error("Failed to serialize comment updates of news {}", newsId, ex);
+                return;
+            }
+            for (SessionOutbox outbox : outboxes) {
+                if (!outbox.isOpen()) {
+                    // Normally removed on close; this catches a subscription racing with the close
+                    unsubscribe(newsId, outbox);
+                } else if (outbox.offer(message)) {
+                    frames.increment();
+                } else {
+                    slowConsumers.increment();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,27 @@
+package com.dev.news.newsportal.websocket;
+
+import com.dev.news.newsportal.api.model.comments.CommentListItem;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A change to one comment of a news article, as sent to WebSocket subscribers.
+ *
+ * @param newsId          the news article the comment belongs to
+ * @param type            kind of change
+ * @param commentId       id of the changed comment
+ * @param parentCommentId id of the parent comment for replies
+ * @param comment         current state of the comment, absent for deletions
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+record CommentUpdate(long newsId, Type type, Long commentId, Long parentCommentId, CommentListItem comment) {
+
+    enum Type {
+        @JsonProperty("created") CREATED,
+        @JsonProperty("updated") UPDATED,
+        /**
+         * The comment and all of its replies were removed.
+         */
+        @JsonProperty("deleted") DELETED
+    }
+}
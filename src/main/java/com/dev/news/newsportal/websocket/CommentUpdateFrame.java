@@ -0,0 +1,17 @@
+package com.dev.news.newsportal.websocket;
+
+import java.util.List;
+
+/**
+ * One WebSocket frame carrying every pending update of a news article, oldest first.
+ *
+ * @param type    frame type, always {@code comments}
+ * @param newsId  the news article
+ * @param updates the updates in the order they were committed
+ */
+record CommentUpdateFrame(String type, long newsId, List<CommentUpdate> updates) {
+
+    CommentUpdateFrame(long newsId, List<CommentUpdate> updates) {
+        this("comments", newsId, updates);
+    }
+}
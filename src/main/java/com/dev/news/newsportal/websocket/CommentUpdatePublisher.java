@@ -0,0 +1,45 @@
+package com.dev.news.newsportal.websocket;
+
+import com.dev.news.newsportal.event.CommentCreatedEvent;
+import com.dev.news.newsportal.event.CommentDeletedEvent;
+import com.dev.news.newsportal.event.CommentUpdatedEvent;
+import com.dev.news.newsportal.mapper.api.CommentApiMapper;
+import com.dev.news.newsportal.model.CommentModel;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Forwards committed comment changes to the WebSocket subscribers of their news article.
+ */
+@Component
+class CommentUpdatePublisher {
+
+    private final CommentUpdateRouter router;
+    private final CommentApiMapper commentApiMapper;
+
+    CommentUpdatePublisher(CommentUpdateRouter router, CommentApiMapper commentApiMapper) {
+        this.router = router;
+        this.commentApiMapper = commentApiMapper;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    void onCommentCreated(CommentCreatedEvent event) {
+        router.publish(toUpdate(CommentUpdate.Type.CREATED, event.comment()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    void onCommentUpdated(CommentUpdatedEvent event) {
+        router.publish(toUpdate(CommentUpdate.Type.UPDATED, event.comment()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    void onCommentDeleted(CommentDeletedEvent event) {
+        router.publish(new CommentUpdate(event.newsId(), CommentUpdate.Type.DELETED, event.commentId(), null, null));
+    }
+
+    private CommentUpdate toUpdate(CommentUpdate.Type type, CommentModel comment) {
+        return new CommentUpdate(comment.getNewsId(), type, comment.getId(), comment.getParentCommentId(),
+                commentApiMapper.toListItem(comment));
+    }
+}
@@ -0,0 +1,122 @@
+package com.dev.news.newsportal.websocket;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Routes comment updates to the shard owning their news article and tracks connections and their subscriptions.
+ */
+@Component
+class CommentUpdateRouter implements DisposableBean {
+
+    private final NewsPortalProperties.CommentUpdates settings;
+    private final CommentTopicShard[] shards;
+    private final Map<String, Connection> connections = new ConcurrentHashMap<>();
+
+    CommentUpdateRouter(NewsPortalProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.settings = properties.getCommentUpdates();
+        this.shards = new CommentTopicShard[settings.getShards()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new CommentTopicShard(i, objectMapper, settings.getBatchWindow(), settings.getMaxBatchSize(),
+                    meterRegistry);
+            shards[i].start();
+        }
+        Gauge.builder("newsportal.websocket.connections", connections, Map::size)
+                .description("Open comment updates WebSocket connections")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers an opened connection. From then on its frames are written by its {@link SessionOutbox} only.
+     */
+    void register(WebSocketSession session) {
+        SessionOutbox outbox = new SessionOutbox(session, settings.getSendTimeLimit(),
+                settings.getSendBufferSizeLimit());
+        connections.put(session.getId(), new Connection(outbox, ConcurrentHashMap.newKeySet()));
+    }
+
+    /**
+     * Removes a closed connection together with all of its subscriptions.
+     */
+    void unregister(String sessionId) {
+        Connection connection = connections.remove(sessionId);
+        if (connection != null) {
+            for (Long newsId : connection.newsIds()) {
+                shardFor(newsId).unsubscribe(newsId, connection.outbox());
+            }
+        }
+    }
+
+    /**
+     * Sends a frame to a connection, queued behind the updates already waiting for it so that the two never
+     * interleave. Connections that are not registered are written to directly.
+     */
+    void send(WebSocketSession session, TextMessage message) throws IOException {
+        Connection connection = connections.get(session.getId());
+        if (connection != null) {
+            connection.outbox().offer(message);
+        } else {
+            session.sendMessage(message);
+        }
+    }
+
+    /**
+     * Subscribes a connection to a news article.
+     *
+     * @return {@code false} if the connection is unknown or already has the maximum number of subscriptions
+     */
+    boolean subscribe(String sessionId, long newsId, int maxSubscriptions) {
+        Connection connection = connections.get(sessionId);
+        if (connection == null) {
+            return false;
+        }
+        synchronized (connection) {
+            if (!connection.newsIds().contains(newsId) && connection.newsIds().size() >= maxSubscriptions) {
+                return false;
+            }
+            connection.newsIds().add(newsId);
+        }
+        shardFor(newsId).subscribe(newsId, connection.outbox());
+        return true;
+    }
+
+    void unsubscribe(String sessionId, long newsId) {
+        Connection connection = connections.get(sessionId);
+        if (connection != null && connection.newsIds().remove(newsId)) {
+            shardFor(newsId).unsubscribe(newsId, connection.outbox());
+        }
+    }
+
+    void publish(CommentUpdate update) {
+        shardFor(update.newsId()).publish(update);
+    }
+
+    int getConnectionCount() {
+        return connections.size();
+    }
+
+    private CommentTopicShard shardFor(long newsId) {
+        return shards[Math.floorMod(Long.hashCode(newsId), shards.length)];
+    }
+
+    @Override
+    public void destroy() {
+        for (CommentTopicShard shard : shards) {
+            shard.stop();
+        }
+    }
+
+    private record Connection(SessionOutbox outbox, Set<Long> newsIds) {
+    }
+}
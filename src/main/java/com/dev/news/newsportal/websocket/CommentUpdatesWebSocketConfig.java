@@ -0,0 +1,33 @@
+package com.dev.news.newsportal.websocket;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Registers the comment updates WebSocket endpoint.
+ */
+@Configuration
+@EnableWebSocket
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+class CommentUpdatesWebSocketConfig implements WebSocketConfigurer {
+
+    static final String ENDPOINT = "/ws/comments";
+
+    private final CommentUpdatesWebSocketHandler handler;
+    private final NewsPortalProperties.CommentUpdates settings;
+
+    CommentUpdatesWebSocketConfig(CommentUpdatesWebSocketHandler handler, NewsPortalProperties properties) {
+        this.handler = handler;
+        this.settings = properties.getCommentUpdates();
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(handler, ENDPOINT)
+                .setAllowedOriginPatterns(settings.getAllowedOriginPatterns().toArray(String[]::new));
+    }
+}
@@ -0,0 +1,83 @@
+package com.dev.news.newsportal.websocket;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Handles the comment updates WebSocket protocol.
+ * <p>
+ * Clients send {@code {"action":"subscribe","newsId":1}} or {@code {"action":"unsubscribe","newsId":1}} and get a
+ * {@code subscribed}, {@code unsubscribed} or {@code error} reply. Updates arrive as {@link CommentUpdateFrame}s.
+ */
+@Slf4j
+@Component
+class CommentUpdatesWebSocketHandler extends TextWebSocketHandler {
+
+    private final CommentUpdateRouter router;
+    private final ObjectMapper objectMapper;
+    private final NewsPortalProperties.CommentUpdates settings;
+
+    CommentUpdatesWebSocketHandler(CommentUpdateRouter router, ObjectMapper objectMapper,
+                                   NewsPortalProperties properties) {
+        this.router = router;
+        this.objectMapper = objectMapper;
+        this.settings = properties.getCommentUpdates();
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        router.register(session);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        SubscriptionRequest request;
+        try {
+            request = objectMapper.readValue(message.getPayload(), SubscriptionRequest.class);
+        } catch (JsonProcessingException ex) {
+            reply(session, Map.of("type", "error", "message", "Malformed message"));
+            return;
+        }
+        if (request.newsId() == null || request.action() == null) {
+            reply(session, Map.of("type", "error", "message", "Both action and newsId are required"));
+            return;
+        }
+        switch (request.action()) {
+            case "subscribe" -> {
+                if (router.subscribe(session.getId(), request.newsId(), settings.getMaxSubscriptionsPerSession())) {
+                    reply(session, Map.of("type", "subscribed", "newsId", request.newsId()));
+                } else {
+                    reply(session, Map.of("type", "error", "newsId", request.newsId(),
+                            "message", "Subscription limit of " + settings.getMaxSubscriptionsPerSession() + " reached"));
+                }
+            }
+            case "unsubscribe" -> {
+                router.unsubscribe(session.getId(), request.newsId());
+                reply(session, Map.of("type", "unsubscribed", "newsId", request.newsId()));
+            }
+            default -> reply(session, Map.of("type", "error", "message", "Unknown action: " + request.action()));
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        router.unregister(session.getId());
+    }
+
+    private void reply(WebSocketSession session, Map<String, Object> body) throws IOException {
+        router.send(session, new TextMessage(objectMapper.writeValueAsString(body)));
+    }
+
+    record SubscriptionRequest(String action, Long newsId) {
+    }
+}
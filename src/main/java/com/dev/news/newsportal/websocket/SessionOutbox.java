@@ -0,0 +1,112 @@
+package com.dev.news.newsportal.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes the frames of one connection on a virtual thread of its own, so that a client that stops reading holds up
+ * only itself and never the shard worker that queued the frames.
+ * <p>
+ * Frames are written in the order they were queued. A connection is closed as a slow consumer once its unsent
+ * frames exceed the buffer size limit, or a write has been stuck for longer than the send time limit.
+ */
+@Slf4j
+final class SessionOutbox {
+
+    private final WebSocketSession session;
+    private final long sendTimeLimitNanos;
+    private final long bufferSizeLimit;
+    private final Queue<TextMessage> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingBytes = new AtomicLong();
+    private final AtomicBoolean writing = new AtomicBoolean();
+    private final AtomicBoolean closing = new AtomicBoolean();
+    private volatile long writeStartedAt;
+
+    SessionOutbox(WebSocketSession session, Duration sendTimeLimit, DataSize bufferSizeLimit) {
+        this.session = session;
+        this.sendTimeLimitNanos = sendTimeLimit.toNanos();
+        this.bufferSizeLimit = bufferSizeLimit.toBytes();
+    }
+
+    boolean isOpen() {
+        return session.isOpen() && !closing.get();
+    }
+
+    /**
+     * Queues a frame without blocking.
+     *
+     * @return {@code false} if the connection could not keep up and is being closed instead
+     */
+    boolean offer(TextMessage message) {
+        if (closing.get()) {
+            return false;
+        }
+        long started = writeStartedAt;
+        if (started != 0 && System.nanoTime() - started > sendTimeLimitNanos) {
+            closeSlow("a write took longer than " + Duration.ofNanos(sendTimeLimitNanos).toMillis() + " ms");
+            return false;
+        }
+        if (pendingBytes.addAndGet(message.getPayloadLength()) > bufferSizeLimit) {
+            pendingBytes.addAndGet(-message.getPayloadLength());
+            closeSlow("more than " + bufferSizeLimit + " bytes are waiting to be sent");
+            return false;
+        }
+        pending.add(message);
+        if (writing.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("comment-updates-" + session.getId()).start(this::write);
+        }
+        return true;
+    }
+
+    private void write() {
+        do {
+            TextMessage message;
+            while ((message = pending.poll()) != null) {
+                pendingBytes.addAndGet(-message.getPayloadLength());
+                if (closing.get()) {
+                    continue;
+                }
+                writeStartedAt = System.nanoTime();
+                try {
+                    session.sendMessage(message);
+                } catch (IOException | RuntimeException ex) {
+                    log.debug("Failed to send comment updates to {}: {}", session.getId(), ex.getMessage());
+                    if (closing.compareAndSet(false, true)) {
+                        closeQuietly(CloseStatus.SERVER_ERROR);
+                    }
+                } finally {
+                    writeStartedAt = 0;
+                }
+            }
+            writing.set(false);
+            // A frame queued after the queue was found empty, but before the flag was cleared, is written here
+        } while (!pending.isEmpty() && writing.compareAndSet(false, true));
+    }
+
+    private void closeSlow(String reason) {
+        if (!closing.compareAndSet(false, true)) {
+            return;
+        }
+        log.debug("Closing slow comment updates subscriber {}: {}", session.getId(), reason);
+        // Closing writes a close frame, which must not block the shard either
+        Thread.ofVirtual().start(() -> closeQuietly(CloseStatus.SESSION_NOT_RELIABLE));
+    }
+
+    private void closeQuietly(CloseStatus status) {
+        try {
+            session.close(status);
+        } catch (IOException ex) {
+            log.debug("Failed to close WebSocket session {}", session.getId(), ex);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.dev.news.newsportal.worker;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a round of background work on a platform daemon thread of its own, again and again with a fixed pause in
+ * between, like {@link java.util.concurrent.ScheduledExecutorService#scheduleWithFixedDelay} but with a thread that
+ * can be interrupted and woken up.
+ * <p>
+ * A round that throws is logged and retried after the usual pause. {@link #wakeUp()} ends the current pause early.
+ * {@link #stop()} interrupts the thread and waits up to five seconds for the running round to end, so rounds that
+ * loop over batches should check {@link Thread#isInterrupted()} between them. Components running a worker implement
+ * {@link org.springframework.context.SmartLifecycle} and delegate to it.
+ */
+@Slf4j
+public final class PeriodicWorker {
+
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(5);
+
+    private final String name;
+    private final Duration initialDelay;
+    private final Duration interval;
+    private final Runnable round;
+    private final Semaphore wakeups = new Semaphore(0);
+    private volatile Thread thread;
+
+    /**
+     * @param name         name of the thread, also used in the log
+     * @param initialDelay pause before the first round
+     * @param interval     pause after each round
+     * @param round        work of one round
+     */
+    public PeriodicWorker(String name, Duration initialDelay, Duration interval, Runnable round) {
+        this.name = name;
+        this.initialDelay = initialDelay;
+        this.interval = interval;
+        this.round = round;
+    }
+
+    public void start() {
+        Thread started = Thread.ofPlatform().name(name).daemon().unstarted(this::run);
+        thread = started;
+        started.start();
+    }
+
+    public void stop() {
+        Thread running = thread;
+        thread = null;
+        if (running != null) {
+            running.interrupt();
+            try {
+                running.join(STOP_TIMEOUT);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isRunning() {
+        return thread != null;
+    }
+
+    /**
+     * Ends the current pause, or the next one if a round is running, so that the next round starts right away.
+     */
+    public void wakeUp() {
+        if (wakeups.availablePermits() == 0) {
+            wakeups.release();
+        }
+    }
+
+    private void run() {
+        if (!pause(initialDelay)) {
+            return;
+        }
+        do {
+            try {
+                round.run();
+            } catch (RuntimeException ex) {
+                log.warn("Round of {} failed, retrying in {}: {}", name, interval, ex.toString());
+            }
+        } while (!Thread.currentThread().isInterrupted() && pause(interval));
+    }
+
+    /**
+     * @return {@code false} if the thread was interrupted while pausing
+     */
+    private boolean pause(Duration delay) {
+        try {
+            wakeups.tryAcquire(delay.toNanos(), TimeUnit.NANOSECONDS);
+            wakeups.drainPermits();
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
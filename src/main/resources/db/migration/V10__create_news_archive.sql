@@ -0,0 +1,20 @@
+-- Create the archive of old news articles, one compressed row per article holding its text and all of its comments.
+-- There is no foreign key to users: archived articles of a deleted user are removed by the user's purge job.
+CREATE TABLE news_archive (
+    id BIGINT PRIMARY KEY,
+    author_id BIGINT NOT NULL,
+    creation_date TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+    payload BYTEA NOT NULL
+);
+
+CREATE INDEX idx_news_archive_author ON news_archive(author_id);
+
+-- Finds the archived article of a comment id, for lookups of single comments and their replies
+CREATE TABLE news_archive_comments (
+    id BIGINT PRIMARY KEY,
+    news_id BIGINT NOT NULL,
+    CONSTRAINT fk_news_archive_comments_news FOREIGN KEY (news_id) REFERENCES news_archive(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_news_archive_comments_news ON news_archive_comments(news_id);
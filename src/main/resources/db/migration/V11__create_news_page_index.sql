@@ -0,0 +1,4 @@
+-- Pages of all articles are ordered by creation date descending and id, which this index returns without a sort.
+-- It also serves the date range queries of the single-column index it replaces.
+CREATE INDEX idx_news_page ON news (creation_date DESC, id);
+DROP INDEX idx_news_creation_date;
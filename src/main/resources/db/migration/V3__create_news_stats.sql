@@ -0,0 +1,7 @@
+-- Create per-article statistics table, updated in batches from in-memory counters
+CREATE TABLE news_stats (
+    news_id BIGINT PRIMARY KEY,
+    view_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_news_stats_news FOREIGN KEY (news_id) REFERENCES news(id) ON DELETE CASCADE
+);
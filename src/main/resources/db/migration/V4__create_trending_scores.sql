@@ -0,0 +1,7 @@
+-- Create snapshot table of the in-memory trending ranking, read back on startup
+CREATE TABLE trending_scores (
+    news_id BIGINT PRIMARY KEY,
+    score DOUBLE PRECISION NOT NULL,
+    scored_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_trending_scores_news FOREIGN KEY (news_id) REFERENCES news(id) ON DELETE CASCADE
+);
@@ -0,0 +1,4 @@
+-- Serve the author feed, newest first with id as tie-breaker, from one index range scan.
+-- It also covers lookups by author alone, which makes the single-column author index redundant.
+CREATE INDEX idx_news_author_feed ON news (author_id, creation_date DESC, id);
+DROP INDEX idx_news_author;
@@ -0,0 +1,6 @@
+-- Let the database remove the comments of a deleted article, and the replies of a deleted comment,
+-- as part of the same DELETE statement instead of one statement per comment
+ALTER TABLE comments DROP CONSTRAINT fk_comment_news;
+ALTER TABLE comments ADD CONSTRAINT fk_comment_news FOREIGN KEY (news_id) REFERENCES news(id) ON DELETE CASCADE;
+ALTER TABLE comments DROP CONSTRAINT fk_comment_parent;
+ALTER TABLE comments ADD CONSTRAINT fk_comment_parent FOREIGN KEY (parent_comment_id) REFERENCES comments(id) ON DELETE CASCADE;
@@ -0,0 +1,18 @@
+-- Mark deleted users instead of removing them in the request; their news articles are hidden until purged
+ALTER TABLE users ADD COLUMN deleted BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Create table of background jobs removing the content of deleted users chunk by chunk.
+-- There is no foreign key to users: the job outlives the user row it removes last.
+CREATE TABLE user_purge_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    news_deleted BIGINT NOT NULL DEFAULT 0,
+    comments_deleted BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP,
+    last_error VARCHAR(1000)
+);
+
+CREATE INDEX idx_user_purge_jobs_status ON user_purge_jobs(status);
@@ -0,0 +1,196 @@
+package com.dev.news.newsportal.archive;
+
+import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.repository.UserRepository;
+import com.dev.news.newsportal.service.CommentService;
+import com.dev.news.newsportal.service.NewsService;
+import com.dev.news.newsportal.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that old news articles move into the archive with their comments and stay readable through the API.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archivedb",
+        "news-portal.archive.enabled=true",
+        "news-portal.archive.batch-size=2",
+        "news-portal.archive.poll-interval=1h"
+})
+@AutoConfigureMockMvc
+class NewsArchiverIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private NewsArchiver archiver;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void archiveAll_shouldMoveOldNewsAndServeThemFromTheArchive() throws Exception {
+        // Given three old articles, one of them with a thread, and a recent one
+        UserModel author = createUser("archiveauthor");
+        NewsModel old = createNews(author, "Old");
+        CommentModel comment = commentService.create(comment(old.getId(), null, "First"));
+        CommentModel reply = commentService.create(comment(old.getId(), comment.getId(), "Reply"));
+        CommentModel later = commentService.create(comment(old.getId(), null, "Later"));
+        NewsModel older = createNews(author, "Older");
+        NewsModel oldest = createNews(author, "Oldest");
+        NewsModel recent = createNews(author, "Recent");
+        backdate(old.getId(), 400);
+        backdate(older.getId(), 500);
+        backdate(oldest.getId(), 600);
+
+        // When
+        archiver.archiveAll();
+
+        // Then the old articles left the live tables in batches, and the recent one stayed
+        assertThat(count("SELECT COUNT(*) FROM news WHERE id IN (?, ?, ?)", old.getId(), older.getId(),
+                oldest.getId())).isZero();
+        assertThat(count("SELECT COUNT(*) FROM comments WHERE news_id = ?", old.getId())).isZero();
+        assertThat(count("SELECT COUNT(*) FROM news_archive WHERE id IN (?, ?, ?)", old.getId(), older.getId(),
+                oldest.getId())).isEqualTo(3);
+        assertThat(count("SELECT COUNT(*) FROM news_archive_comments WHERE news_id = ?", old.getId())).isEqualTo(3);
+        assertThat(count("SELECT COUNT(*) FROM news WHERE id = ?", recent.getId())).isEqualTo(1);
+        assertThat(meterRegistry.get("newsportal.news.archived").tag("type", "news").counter().count())
+                .isGreaterThanOrEqualTo(3.0);
+
+        // And they are still served, threads included
+        mockMvc.perform(get("/api/v1/news/" + old.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Old"))
+                .andExpect(jsonPath("$.author.nickname").value("archiveauthor"))
+                .andExpect(jsonPath("$.commentCount").value(3));
+        mockMvc.perform(get("/api/v1/comments/" + comment.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.text").value("First"))
+                .andExpect(jsonPath("$.replies[*].id").value(contains(reply.getId().intValue())));
+        mockMvc.perform(get("/api/v1/comments/news/" + old.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id").value(contains(later.getId().intValue(), reply.getId().intValue(),
+                        comment.getId().intValue())));
+        mockMvc.perform(get("/api/v1/comments/" + comment.getId() + "/replies"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].text").value(contains("Reply")));
+
+        // And they are read-only
+        mockMvc.perform(post("/api/v1/comments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"Late\",\"authorNickname\":\"reader\",\"newsId\":" + old.getId() + "}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteNews_withArchivedNews_shouldRemoveItFromTheArchive() throws Exception {
+        // Given
+        UserModel author = createUser("deletedarchive");
+        NewsModel old = createNews(author, "Deleted later");
+        CommentModel comment = commentService.create(comment(old.getId(), null, "Gone"));
+        backdate(old.getId(), 400);
+        archiver.archiveAll();
+
+        // When
+        mockMvc.perform(delete("/api/v1/news/" + old.getId()))
+                .andExpect(status().isNoContent());
+
+        // Then
+        assertThat(count("SELECT COUNT(*) FROM news_archive WHERE id = ?", old.getId())).isZero();
+        assertThat(count("SELECT COUNT(*) FROM news_archive_comments WHERE id = ?", comment.getId())).isZero();
+        mockMvc.perform(get("/api/v1/news/" + old.getId()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/comments/" + comment.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void findNews_withDeletedAuthor_shouldHideArchivedNews() throws Exception {
+        // Given
+        UserModel author = createUser("hiddenarchive");
+        NewsModel old = createNews(author, "Hidden");
+        backdate(old.getId(), 400);
+        archiver.archiveAll();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> userRepository.markDeleted(author.getId()));
+
+        // Then
+        mockMvc.perform(get("/api/v1/comments/news/" + old.getId()))
+                .andExpect(status().isNotFound());
+        assertThat(count("SELECT COUNT(*) FROM news_archive WHERE id = ?", old.getId())).isEqualTo(1);
+    }
+
+    private void backdate(Long newsId, int days) {
+        jdbcTemplate.update("UPDATE news SET creation_date = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(days)), newsId);
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+
+    private UserModel createUser(String nickname) {
+        return userService.create(UserModel.builder()
+                .nickname(nickname)
+                .email(nickname + "@example.com")
+                .role("USER")
+                .build());
+    }
+
+    private NewsModel createNews(UserModel author, String title) {
+        return newsService.create(NewsModel.builder()
+                .title(title)
+                .text("Article by " + author.getNickname())
+                .author(UserModel.builder().id(author.getId()).build())
+                .build());
+    }
+
+    private static CommentModel comment(Long newsId, Long parentCommentId, String text) {
+        return CommentModel.builder()
+                .text(text)
+                .authorNickname("reader")
+                .newsId(newsId)
+                .parentCommentId(parentCommentId)
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.dev.news.newsportal.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_withAddedValues_shouldNeverAnswerFalse() {
+        // Given
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+
+        // When
+        IntStream.range(0, 10_000).forEach(i -> filter.put("user" + i + "@example.com"));
+
+        // Then
+        assertThat(IntStream.range(0, 10_000)).allMatch(i -> filter.mightContain("user" + i + "@example.com"));
+    }
+
+    @Test
+    void mightContain_withOtherValues_shouldStayNearFalsePositiveProbability() {
+        // Given
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("member" + i));
+
+        // When
+        long falsePositives = IntStream.range(0, 100_000).filter(i -> filter.mightContain("visitor" + i)).count();
+
+        // Then
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void constructor_shouldSizeForExpectedInsertions() {
+        // Given/When
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+        // Then: about 9.6 bits and 7 hashes per value for 1%
+        assertThat(filter.bitCount()).isBetween(9_585L, 9_585L + 64);
+        assertThat(filter.hashCount()).isEqualTo(7);
+    }
+
+    @Test
+    void put_fromConcurrentThreads_shouldKeepEveryValue() throws Exception {
+        // Given
+        BloomFilter filter = new BloomFilter(40_000, 0.01);
+        List<Thread> threads = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < 4; t++) {
+            int offset = t * 10_000;
+            threads.add(Thread.ofPlatform().start(() ->
+                    IntStream.range(offset, offset + 10_000).forEach(i -> filter.put("nick" + i))));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertThat(IntStream.range(0, 40_000)).allMatch(i -> filter.mightContain("nick" + i));
+    }
+}
@@ -0,0 +1,118 @@
+package com.dev.news.newsportal.availability;
+
+import com.dev.news.newsportal.cache.CacheNames;
+import com.dev.news.newsportal.cache.InvalidationBus;
+import com.dev.news.newsportal.cache.InvalidationMessage;
+import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies nickname and email lookups through the Bloom filters and the unique constraints behind them.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:identifiersdb",
+        "news-portal.user-identifiers.rebuild-interval=1h"
+})
+@AutoConfigureMockMvc
+class UserIdentifierFilterIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserIdentifierFilter identifierFilter;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @BeforeEach
+    void setUp() {
+        identifierFilter.rebuild();
+    }
+
+    @Test
+    void getUserAvailability_shouldAnswerFreeValuesFromFilter() throws Exception {
+        // Given
+        userService.create(UserModel.builder().nickname("taken").email("taken@example.com").role("USER").build());
+        double absentBefore = lookups("nickname", "absent");
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/users/availability?nickname=taken&email=taken@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nicknameAvailable", is(false)))
+                .andExpect(jsonPath("$.emailAvailable", is(false)));
+        mockMvc.perform(get("/api/v1/users/availability?nickname=vacant"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nicknameAvailable", is(true)));
+        assertThat(lookups("nickname", "absent")).isEqualTo(absentBefore + 1);
+    }
+
+    @Test
+    void createUser_withNicknameMissingFromFilter_shouldBeRejectedByUniqueConstraint() throws Exception {
+        // Given a user written by another node, which this node's filter has not seen yet
+        jdbcTemplate.update("INSERT INTO users (nickname, email, role) VALUES ('elsewhere', 'elsewhere@example.com', 'USER')");
+
+        // When/Then
+        mockMvc.perform(post("/api/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nickname\":\"elsewhere\",\"email\":\"here@example.com\",\"role\":\"USER\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message", is("User with nickname: elsewhere already exists")));
+        mockMvc.perform(post("/api/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nickname\":\"here\",\"email\":\"elsewhere@example.com\",\"role\":\"USER\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message", is("User with email: elsewhere@example.com already exists")));
+    }
+
+    @Test
+    void getUserAvailability_afterUserCreatedOnOtherNode_shouldReportNicknameTaken() throws Exception {
+        // Given a user committed by another node, which announces it on the bus
+        jdbcTemplate.update("INSERT INTO users (nickname, email, role) VALUES (?, ?, 'USER')",
+                "remote", "remote@example.com");
+        Long id = jdbcTemplate.queryForObject("SELECT id FROM users WHERE nickname = 'remote'", Long.class);
+
+        // When
+        invalidationBus.publish(Set.of(InvalidationMessage.Entry.of(CacheNames.USER_IDENTIFIERS, id)));
+
+        // Then
+        mockMvc.perform(get("/api/v1/users/availability?nickname=remote&email=remote@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nicknameAvailable", is(false)))
+                .andExpect(jsonPath("$.emailAvailable", is(false)));
+    }
+
+    private double lookups(String field, String result) {
+        return meterRegistry.get("newsportal.users.identifiers.lookups")
+                .tag("field", field)
+                .tag("result", result)
+                .counter().count();
+    }
+}
@@ -0,0 +1,268 @@
+package com.dev.news.newsportal.benchmark;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares insert and lookup latency of the comments table without and with monthly partitioning.
+ * <p>
+ * The same generated comments, spread over {@value #MONTHS} months, are loaded into an unpartitioned table and into
+ * one partitioned by creation month like the {@code V9} migration, with the same indexes. Both live in the
+ * {@code comment_benchmark} schema of the {@code pgsql} profile's database and are reused while the row count stays
+ * the same. The row count defaults to 100 million and can be lowered with {@code -Dnewsportal.benchmark.rows}.
+ * <p>
+ * Every statement runs in its own transaction with {@code synchronous_commit} off, so the numbers reflect the table
+ * and its indexes rather than the disk flush of the commit. The class is not picked up by the regular test run;
+ * execute it explicitly with {@code ./mvnw test -Dtest=CommentPartitioningBenchmark}.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CommentPartitioningBenchmark {
+
+    private static final String URL = System.getProperty("newsportal.benchmark.url",
+            "jdbc:postgresql://localhost:5432/newsdb");
+    private static final long ROWS = Long.getLong("newsportal.benchmark.rows", 100_000_000L);
+    private static final int MONTHS = 36;
+    private static final int COMMENTS_PER_ARTICLE = 50;
+    // Comments go to one of the articles published during the last week
+    private static final Duration ARTICLE_WINDOW = Duration.ofDays(7);
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private static final LocalDateTime END = START.plusMonths(MONTHS);
+    private static final long ARTICLES = Math.max(1, ROWS / COMMENTS_PER_ARTICLE);
+    private static final int WARMUP_ITERATIONS = 1_000;
+    private static final int MEASURED_ITERATIONS = 5_000;
+
+    private static final String HEAP = "comment_benchmark.comments_heap";
+    private static final String PARTITIONED = "comment_benchmark.comments_partitioned";
+    private static final List<String> TABLES = List.of(HEAP, PARTITIONED);
+
+    private static final String GENERATE_SQL = "INSERT INTO " + HEAP + " SELECT g, 'Comment number ' || g, "
+            + "?::timestamp + make_interval(secs => g * ?::float8), 'user' || (g % 10000), "
+            + "GREATEST(1, CEIL(g * ?::float8) - (hashint8(g) & 2147483647) % ?), "
+            + "CASE WHEN g % 4 = 0 THEN g - 1 END FROM generate_series(?, ?) g";
+
+    private static Connection connection;
+    private static long nextId;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        connection = DriverManager.getConnection(URL, System.getProperty("newsportal.benchmark.user", "postgres"),
+                System.getProperty("newsportal.benchmark.password", "postgres"));
+        execute("CREATE SCHEMA IF NOT EXISTS comment_benchmark");
+        execute("SET synchronous_commit = off");
+        if (!String.valueOf(ROWS).equals(queryString("SELECT obj_description(to_regclass('" + PARTITIONED
+                + "'), 'pg_class')"))) {
+            load();
+        }
+        nextId = queryLong("SELECT MAX(id) FROM " + HEAP) + 1;
+        System.out.printf("%n%,d comments in %d months, %,d articles%n%-26s %-22s %10s %10s %10s%n", ROWS, MONTHS,
+                ARTICLES, "operation", "table", "mean us", "p50 us", "p99 us");
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    @Order(1)
+    void insertComment() throws SQLException {
+        for (String table : TABLES) {
+            try (PreparedStatement statement = connection.prepareStatement("INSERT INTO " + table
+                    + " (id, text, creation_date, author_nickname, news_id) VALUES (?, 'Benchmark comment', ?, "
+                    + "'reader', ?)")) {
+                measure("insert comment", table, () -> {
+                    statement.setLong(1, nextId++);
+                    statement.setTimestamp(2, Timestamp.valueOf(END.minusMinutes(1)));
+                    statement.setLong(3, ARTICLES);
+                    statement.executeUpdate();
+                });
+            }
+        }
+    }
+
+    @Test
+    @Order(2)
+    void findThreadOfRecentArticle() throws SQLException {
+        findThreads("thread of recent article", ARTICLES - ARTICLES / 100);
+    }
+
+    @Test
+    @Order(3)
+    void findThreadOfAnyArticle() throws SQLException {
+        findThreads("thread of any article", 1);
+    }
+
+    @Test
+    @Order(4)
+    void findCommentById() throws SQLException {
+        for (String table : TABLES) {
+            SplittableRandom random = new SplittableRandom(42);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT * FROM " + table + " WHERE id = ?")) {
+                measure("comment by id", table, () -> {
+                    statement.setLong(1, 1 + random.nextLong(ROWS));
+                    assertEquals(1, countRows(statement), "comment should exist");
+                });
+            }
+        }
+    }
+
+    @Test
+    @Order(5)
+    void removeOldestMonth() throws SQLException {
+        // Destroys the tables' initial state, so the next run loads them again
+        execute("COMMENT ON TABLE " + PARTITIONED + " IS NULL");
+        long started = System.nanoTime();
+        try (PreparedStatement statement = connection.prepareStatement("DELETE FROM " + HEAP
+                + " WHERE creation_date < ?")) {
+            statement.setTimestamp(1, Timestamp.valueOf(START.plusMonths(1)));
+            statement.executeUpdate();
+        }
+        report("remove oldest month", HEAP, System.nanoTime() - started);
+        started = System.nanoTime();
+        execute("ALTER TABLE " + PARTITIONED + " DETACH PARTITION " + partition(START));
+        execute("DROP TABLE " + partition(START));
+        report("remove oldest month", PARTITIONED, System.nanoTime() - started);
+    }
+
+    /**
+     * Times the query of an article's comments, bounded by its publication date like {@code CommentRepository}.
+     */
+    private static void findThreads(String label, long firstArticle) throws SQLException {
+        double secondsPerArticle = (double) Duration.between(START, END).toSeconds() / ARTICLES;
+        for (String table : TABLES) {
+            SplittableRandom random = new SplittableRandom(42);
+            try (PreparedStatement statement = connection.prepareStatement("SELECT * FROM " + table
+                    + " WHERE news_id = ? AND creation_date >= ? ORDER BY id")) {
+                measure(label, table, () -> {
+                    long article = firstArticle + random.nextLong(ARTICLES - firstArticle + 1);
+                    LocalDateTime published = START.plusSeconds((long) ((article - 1) * secondsPerArticle));
+                    statement.setLong(1, article);
+                    statement.setTimestamp(2, Timestamp.valueOf(published.minusDays(1)));
+                    countRows(statement);
+                });
+            }
+        }
+    }
+
+    private static void load() throws SQLException {
+        long started = System.nanoTime();
+        execute("DROP TABLE IF EXISTS " + HEAP);
+        execute("DROP TABLE IF EXISTS " + PARTITIONED);
+        execute("CREATE TABLE " + HEAP + " (id BIGINT NOT NULL, text TEXT NOT NULL, creation_date TIMESTAMP NOT NULL, "
+                + "author_nickname VARCHAR(255) NOT NULL, news_id BIGINT NOT NULL, parent_comment_id BIGINT)");
+        execute("CREATE TABLE " + PARTITIONED + " (LIKE " + HEAP + ") PARTITION BY RANGE (creation_date)");
+        execute("CREATE TABLE " + PARTITIONED + "_default PARTITION OF " + PARTITIONED + " DEFAULT");
+        for (LocalDateTime month = START; month.isBefore(END); month = month.plusMonths(1)) {
+            execute("CREATE TABLE " + partition(month) + " PARTITION OF " + PARTITIONED + " FOR VALUES FROM ('"
+                    + month + "') TO ('" + month.plusMonths(1) + "')");
+        }
+
+        double secondsPerRow = (double) Duration.between(START, END).toSeconds() / ROWS;
+        long articlesPerWindow = Math.max(1, ARTICLES * ARTICLE_WINDOW.toSeconds()
+                / Duration.between(START, END).toSeconds());
+        long chunk = 1_000_000;
+        for (long first = 1; first <= ROWS; first += chunk) {
+            try (PreparedStatement statement = connection.prepareStatement(GENERATE_SQL)) {
+                statement.setTimestamp(1, Timestamp.valueOf(START));
+                statement.setDouble(2, secondsPerRow);
+                statement.setDouble(3, (double) ARTICLES / ROWS);
+                statement.setLong(4, articlesPerWindow);
+                statement.setLong(5, first);
+                statement.setLong(6, Math.min(ROWS, first + chunk - 1));
+                statement.executeUpdate();
+            }
+        }
+        execute("INSERT INTO " + PARTITIONED + " SELECT * FROM " + HEAP);
+
+        execute("ALTER TABLE " + HEAP + " ADD PRIMARY KEY (id)");
+        execute("ALTER TABLE " + PARTITIONED + " ADD PRIMARY KEY (id, creation_date)");
+        for (String table : TABLES) {
+            execute("CREATE INDEX ON " + table + " (news_id, creation_date)");
+            execute("CREATE INDEX ON " + table + " (author_nickname)");
+            execute("CREATE INDEX ON " + table + " (parent_comment_id)");
+            execute("VACUUM ANALYZE " + table);
+        }
+        execute("COMMENT ON TABLE " + PARTITIONED + " IS '" + ROWS + "'");
+        System.out.printf("%nLoaded %,d comments into both tables in %d s%n", ROWS,
+                Duration.ofNanos(System.nanoTime() - started).toSeconds());
+    }
+
+    private static void measure(String label, String table, SqlAction action) throws SQLException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            action.run();
+        }
+        long[] nanos = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long started = System.nanoTime();
+            action.run();
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-26s %-22s %10.1f %10.1f %10.1f%n", label, table.substring(table.indexOf('.') + 1),
+                Arrays.stream(nanos).average().orElse(0) / 1_000.0, nanos[nanos.length / 2] / 1_000.0,
+                nanos[nanos.length * 99 / 100] / 1_000.0);
+    }
+
+    private static void report(String label, String table, long nanos) {
+        System.out.printf("%-26s %-22s %10.1f%n", label, table.substring(table.indexOf('.') + 1), nanos / 1_000.0);
+    }
+
+    private static int countRows(PreparedStatement statement) throws SQLException {
+        int rows = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static String partition(LocalDateTime month) {
+        return PARTITIONED + String.format("_p%d_%02d", month.getYear(), month.getMonthValue());
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static long queryLong(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static String queryString(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SqlAction {
+        void run() throws SQLException;
+    }
+}
@@ -0,0 +1,407 @@
+package com.dev.news.newsportal.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the latency of queries on recent news articles before and after the older ones are archived.
+ * <p>
+ * Articles spread over {@value #YEARS} years, with {@value #COMMENTS_PER_ARTICLE} comments each on average, are
+ * loaded into copies of {@code news}, {@code comments} and the archive tables in the {@code archive_benchmark} schema
+ * of the {@code pgsql} profile's database. The queries of the active set run before archiving, after moving every
+ * article older than a year into gzip-compressed Smile payloads like {@code NewsArchiver} does followed by a plain
+ * {@code VACUUM}, and after {@code VACUUM FULL} has compacted the live tables. The reads of archived articles are
+ * measured last. The article count defaults to one million and can be lowered with
+ * {@code -Dnewsportal.benchmark.news}.
+ * <p>
+ * The tables are loaded again on every run. The class is not picked up by the regular test run; execute it
+ * explicitly with {@code ./mvnw test -Dtest=NewsArchivingBenchmark}.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class NewsArchivingBenchmark {
+
+    private static final String URL = System.getProperty("newsportal.benchmark.url",
+            "jdbc:postgresql://localhost:5432/newsdb");
+    private static final long NEWS = Long.getLong("newsportal.benchmark.news", 1_000_000L);
+    private static final int YEARS = 3;
+    private static final int COMMENTS_PER_ARTICLE = 10;
+    private static final int AUTHORS = 10_000;
+    private static final LocalDateTime END = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime START = END.minusYears(YEARS);
+    private static final LocalDateTime CUTOFF = END.minusYears(1);
+    private static final int ARCHIVE_BATCH_SIZE = 500;
+    private static final int WARMUP_ITERATIONS = 500;
+    private static final int MEASURED_ITERATIONS = 2_000;
+
+    private static final String NEWS_TABLE = "archive_benchmark.news";
+    private static final String COMMENTS_TABLE = "archive_benchmark.comments";
+    private static final String ARCHIVE_TABLE = "archive_benchmark.news_archive";
+    private static final String ARCHIVE_COMMENTS_TABLE = "archive_benchmark.news_archive_comments";
+
+    private static final ObjectMapper SMILE = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+
+    private static Connection connection;
+    private static long firstRecentArticle;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        connection = DriverManager.getConnection(URL, System.getProperty("newsportal.benchmark.user", "postgres"),
+                System.getProperty("newsportal.benchmark.password", "postgres"));
+        execute("CREATE SCHEMA IF NOT EXISTS archive_benchmark");
+        execute("SET synchronous_commit = off");
+        load();
+        firstRecentArticle = queryLong("SELECT MIN(id) FROM " + NEWS_TABLE + " WHERE creation_date >= '"
+                + CUTOFF + "'");
+        System.out.printf("%n%,d articles in %d years, %,d comments%n%-20s %-28s %10s %10s %10s%n", NEWS, YEARS,
+                queryLong("SELECT COUNT(*) FROM " + COMMENTS_TABLE), "phase", "operation", "mean us", "p50 us",
+                "p99 us");
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    @Order(1)
+    void activeSetBeforeArchiving() throws SQLException {
+        reportSizes("before archiving");
+        measureActiveSet("before archiving");
+    }
+
+    @Test
+    @Order(2)
+    void archiveOldNews() throws SQLException, IOException {
+        long started = System.nanoTime();
+        long archived = 0;
+        long payloadBytes = 0;
+        connection.setAutoCommit(false);
+        try {
+            while (true) {
+                List<Long> ids = new ArrayList<>();
+                try (PreparedStatement statement = connection.prepareStatement("SELECT id FROM " + NEWS_TABLE
+                        + " WHERE creation_date < ? ORDER BY creation_date, id LIMIT ? FOR UPDATE")) {
+                    statement.setTimestamp(1, Timestamp.valueOf(CUTOFF));
+                    statement.setInt(2, ARCHIVE_BATCH_SIZE);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            ids.add(resultSet.getLong(1));
+                        }
+                    }
+                }
+                if (ids.isEmpty()) {
+                    break;
+                }
+                payloadBytes += archiveBatch(ids);
+                archived += ids.size();
+                connection.commit();
+            }
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        execute("VACUUM ANALYZE " + NEWS_TABLE);
+        execute("VACUUM ANALYZE " + COMMENTS_TABLE);
+        execute("VACUUM ANALYZE " + ARCHIVE_TABLE);
+        System.out.printf("%-20s archived %,d articles in %d s, %.0f payload bytes per article%n", "archiving",
+                archived, Duration.ofNanos(System.nanoTime() - started).toSeconds(),
+                (double) payloadBytes / Math.max(1, archived));
+        assertTrue(archived > 0, "old articles should have been archived");
+    }
+
+    @Test
+    @Order(3)
+    void activeSetAfterArchiving() throws SQLException {
+        reportSizes("after archiving");
+        measureActiveSet("after archiving");
+    }
+
+    @Test
+    @Order(4)
+    void activeSetAfterCompaction() throws SQLException {
+        execute("VACUUM FULL ANALYZE " + NEWS_TABLE);
+        execute("VACUUM FULL ANALYZE " + COMMENTS_TABLE);
+        reportSizes("after compaction");
+        measureActiveSet("after compaction");
+    }
+
+    @Test
+    @Order(5)
+    void readArchivedNews() throws SQLException {
+        long archived = queryLong("SELECT COUNT(*) FROM " + ARCHIVE_TABLE);
+        SplittableRandom random = new SplittableRandom(42);
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT payload FROM " + ARCHIVE_TABLE + " WHERE id = ?")) {
+            measure("archive", "archived article by id", () -> {
+                statement.setLong(1, 1 + random.nextLong(archived));
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    assertTrue(resultSet.next(), "archived article should exist");
+                    decode(resultSet.getBytes(1));
+                }
+            });
+        }
+    }
+
+    /**
+     * Times the queries served from the live tables for articles of the last year, the same before and after
+     * archiving.
+     */
+    private static void measureActiveSet(String phase) throws SQLException {
+        long lastArticle = NEWS;
+        SplittableRandom random = new SplittableRandom(42);
+        try (PreparedStatement news = connection.prepareStatement("SELECT * FROM " + NEWS_TABLE + " WHERE id = ?");
+             PreparedStatement comments = connection.prepareStatement("SELECT * FROM " + COMMENTS_TABLE
+                     + " WHERE news_id = ? AND creation_date >= ? ORDER BY id")) {
+            measure(phase, "recent article by id", () -> {
+                long article = firstRecentArticle + random.nextLong(lastArticle - firstRecentArticle + 1);
+                news.setLong(1, article);
+                Timestamp published;
+                try (ResultSet resultSet = news.executeQuery()) {
+                    assertTrue(resultSet.next(), "recent article should exist");
+                    published = resultSet.getTimestamp("creation_date");
+                }
+                comments.setLong(1, article);
+                comments.setTimestamp(2, Timestamp.valueOf(published.toLocalDateTime().minusDays(1)));
+                countRows(comments);
+            });
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT n.id, n.title, n.creation_date, "
+                + "(SELECT COUNT(*) FROM " + COMMENTS_TABLE + " c WHERE c.news_id = n.id "
+                + "AND c.creation_date >= n.creation_date - INTERVAL '1' DAY) FROM " + NEWS_TABLE + " n "
+                + "WHERE n.creation_date < ? ORDER BY n.creation_date DESC LIMIT 20")) {
+            measure(phase, "page of recent news", () -> {
+                statement.setTimestamp(1, Timestamp.valueOf(END.minusDays(random.nextInt(300))));
+                assertEquals(20, countRows(statement), "page should be full");
+            });
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT id FROM " + NEWS_TABLE
+                + " WHERE author_id = ? ORDER BY creation_date DESC LIMIT 20")) {
+            measure(phase, "author feed", () -> {
+                statement.setLong(1, 1 + random.nextInt(AUTHORS));
+                countRows(statement);
+            });
+        }
+    }
+
+    /**
+     * Moves a batch of articles with their comments into the archive tables and deletes them from the live ones.
+     *
+     * @return the total payload size of the batch
+     */
+    private static long archiveBatch(List<Long> ids) throws SQLException, IOException {
+        Long[] idArray = ids.toArray(Long[]::new);
+        Map<Long, List<Map<String, Object>>> comments = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT * FROM " + COMMENTS_TABLE
+                + " WHERE news_id = ANY (?) ORDER BY id")) {
+            statement.setArray(1, connection.createArrayOf("bigint", idArray));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    Map<String, Object> comment = new LinkedHashMap<>();
+                    comment.put("id", resultSet.getLong("id"));
+                    comment.put("text", resultSet.getString("text"));
+                    comment.put("creationDate", resultSet.getTimestamp("creation_date").toLocalDateTime());
+                    comment.put("authorNickname", resultSet.getString("author_nickname"));
+                    comment.put("parentCommentId", resultSet.getObject("parent_comment_id", Long.class));
+                    comments.computeIfAbsent(resultSet.getLong("news_id"), id -> new ArrayList<>()).add(comment);
+                }
+            }
+        }
+        long payloadBytes = 0;
+        try (PreparedStatement select = connection.prepareStatement("SELECT * FROM " + NEWS_TABLE
+                + " WHERE id = ANY (?)");
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO " + ARCHIVE_TABLE
+                     + " (id, author_id, creation_date, archived_at, payload) VALUES (?, ?, ?, now(), ?)");
+             PreparedStatement insertComment = connection.prepareStatement("INSERT INTO " + ARCHIVE_COMMENTS_TABLE
+                     + " (id, news_id) VALUES (?, ?)")) {
+            select.setArray(1, connection.createArrayOf("bigint", idArray));
+            try (ResultSet resultSet = select.executeQuery()) {
+                while (resultSet.next()) {
+                    long id = resultSet.getLong("id");
+                    Map<String, Object> news = new LinkedHashMap<>();
+                    news.put("id", id);
+                    news.put("title", resultSet.getString("title"));
+                    news.put("text", resultSet.getString("text"));
+                    news.put("imageUrl", resultSet.getString("image_url"));
+                    news.put("creationDate", resultSet.getTimestamp("creation_date").toLocalDateTime());
+                    news.put("authorId", resultSet.getLong("author_id"));
+                    news.put("comments", comments.getOrDefault(id, List.of()));
+                    byte[] payload = encode(news);
+                    payloadBytes += payload.length;
+                    insert.setLong(1, id);
+                    insert.setLong(2, resultSet.getLong("author_id"));
+                    insert.setTimestamp(3, resultSet.getTimestamp("creation_date"));
+                    insert.setBytes(4, payload);
+                    insert.addBatch();
+                    for (Map<String, Object> comment : comments.getOrDefault(id, List.of())) {
+                        insertComment.setLong(1, (Long) comment.get("id"));
+                        insertComment.setLong(2, id);
+                        insertComment.addBatch();
+                    }
+                }
+            }
+            insert.executeBatch();
+            insertComment.executeBatch();
+        }
+        try (PreparedStatement statement = connection.prepareStatement("DELETE FROM " + NEWS_TABLE
+                + " WHERE id = ANY (?)")) {
+            statement.setArray(1, connection.createArrayOf("bigint", idArray));
+            statement.executeUpdate();
+        }
+        return payloadBytes;
+    }
+
+    private static void load() throws SQLException {
+        long started = System.nanoTime();
+        execute("DROP TABLE IF EXISTS " + ARCHIVE_COMMENTS_TABLE + ", " + ARCHIVE_TABLE + ", " + COMMENTS_TABLE
+                + ", " + NEWS_TABLE);
+        execute("CREATE TABLE " + NEWS_TABLE + " (id BIGINT PRIMARY KEY, title VARCHAR(255) NOT NULL, "
+                + "text TEXT NOT NULL, image_url VARCHAR(255), creation_date TIMESTAMP NOT NULL, "
+                + "author_id BIGINT NOT NULL)");
+        execute("CREATE TABLE " + COMMENTS_TABLE + " (id BIGINT PRIMARY KEY, text TEXT NOT NULL, "
+                + "creation_date TIMESTAMP NOT NULL, author_nickname VARCHAR(255) NOT NULL, "
+                + "news_id BIGINT NOT NULL REFERENCES " + NEWS_TABLE + " (id) ON DELETE CASCADE, "
+                + "parent_comment_id BIGINT)");
+        execute("CREATE TABLE " + ARCHIVE_TABLE + " (id BIGINT PRIMARY KEY, author_id BIGINT NOT NULL, "
+                + "creation_date TIMESTAMP NOT NULL, archived_at TIMESTAMP NOT NULL, payload BYTEA NOT NULL)");
+        execute("CREATE TABLE " + ARCHIVE_COMMENTS_TABLE + " (id BIGINT PRIMARY KEY, news_id BIGINT NOT NULL "
+                + "REFERENCES " + ARCHIVE_TABLE + " (id) ON DELETE CASCADE)");
+
+        double secondsPerArticle = (double) Duration.between(START, END).toSeconds() / NEWS;
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO " + NEWS_TABLE
+                + " SELECT g, 'Article number ' || g, repeat('Text of article ' || g || '. ', 40), "
+                + "'https://example.com/images/' || g || '.jpg', ?::timestamp + make_interval(secs => g * ?::float8), "
+                + "1 + (hashint8(g) & 2147483647) % ? FROM generate_series(1, ?) g")) {
+            statement.setTimestamp(1, Timestamp.valueOf(START));
+            statement.setDouble(2, secondsPerArticle);
+            statement.setLong(3, AUTHORS);
+            statement.setLong(4, NEWS);
+            statement.executeUpdate();
+        }
+        // Comments follow their article within a week; every fourth answers the previous comment
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO " + COMMENTS_TABLE
+                + " SELECT g, 'Comment number ' || g, n.creation_date + make_interval(mins => (g % 10080)::int), "
+                + "'user' || (g % 10000), n.id, CASE WHEN g % 4 = 0 THEN g - 1 END "
+                + "FROM generate_series(1, ?) g JOIN " + NEWS_TABLE + " n ON n.id = (g - 1) / ? + 1")) {
+            statement.setLong(1, NEWS * COMMENTS_PER_ARTICLE);
+            statement.setLong(2, COMMENTS_PER_ARTICLE);
+            statement.executeUpdate();
+        }
+        execute("CREATE INDEX ON " + NEWS_TABLE + " (creation_date)");
+        execute("CREATE INDEX ON " + NEWS_TABLE + " (author_id, creation_date DESC, id)");
+        execute("CREATE INDEX ON " + COMMENTS_TABLE + " (news_id, creation_date)");
+        execute("CREATE INDEX ON " + COMMENTS_TABLE + " (author_nickname)");
+        execute("CREATE INDEX ON " + COMMENTS_TABLE + " (parent_comment_id)");
+        execute("VACUUM ANALYZE " + NEWS_TABLE);
+        execute("VACUUM ANALYZE " + COMMENTS_TABLE);
+        System.out.printf("%nLoaded %,d articles in %d s%n", NEWS,
+                Duration.ofNanos(System.nanoTime() - started).toSeconds());
+    }
+
+    private static void reportSizes(String phase) throws SQLException {
+        System.out.printf("%-20s news %s, comments %s, archive %s%n", phase,
+                queryString("SELECT pg_size_pretty(pg_total_relation_size('" + NEWS_TABLE + "'))"),
+                queryString("SELECT pg_size_pretty(pg_total_relation_size('" + COMMENTS_TABLE + "'))"),
+                queryString("SELECT pg_size_pretty(pg_total_relation_size('" + ARCHIVE_TABLE + "') "
+                        + "+ pg_total_relation_size('" + ARCHIVE_COMMENTS_TABLE + "'))"));
+    }
+
+    private static byte[] encode(Object payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            SMILE.writeValue(out, payload);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void decode(byte[] payload) throws SQLException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            SMILE.readTree(in);
+        } catch (IOException ex) {
+            throw new SQLException("Unreadable payload", ex);
+        }
+    }
+
+    private static void measure(String phase, String label, SqlAction action) throws SQLException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            action.run();
+        }
+        long[] nanos = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long started = System.nanoTime();
+            action.run();
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-20s %-28s %10.1f %10.1f %10.1f%n", phase, label,
+                Arrays.stream(nanos).average().orElse(0) / 1_000.0, nanos[nanos.length / 2] / 1_000.0,
+                nanos[nanos.length * 99 / 100] / 1_000.0);
+    }
+
+    private static int countRows(PreparedStatement statement) throws SQLException {
+        int rows = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static long queryLong(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static String queryString(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SqlAction {
+        void run() throws SQLException;
+    }
+}
@@ -0,0 +1,173 @@
+package com.dev.news.newsportal.benchmark;
+
+import com.dev.news.newsportal.NewsPortalApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the servlet endpoints with their reactive counterparts under a growing number of concurrent clients.
+ * <p>
+ * The application is started with the {@code pgsql} and {@code reactive} profiles, so both stacks read the same
+ * database through pools of the same size; seed it first with {@code --seed}. The news cache, the cache of missing
+ * resources and debug logging are turned off, so that both stacks reach the database on every request and do the
+ * same work for it. Each client sends requests one after another over HTTP/1.1 from a virtual thread; the throughput
+ * and latency of 5,000 requests are measured after 1,000 warm-up requests; change the count with
+ * {@code -Dnewsportal.benchmark.requests}. The client counts default to 16, 256 and 2048 and can be changed with
+ * {@code -Dnewsportal.benchmark.clients}.
+ * <p>
+ * The class is not picked up by the regular test run; execute it explicitly with
+ * {@code ./mvnw test -Dtest=ReactiveEndpointsBenchmark}.
+ */
+class ReactiveEndpointsBenchmark {
+
+    private static final List<Integer> CLIENTS = Arrays.stream(System.getProperty("newsportal.benchmark.clients",
+            "16,256,2048").split(",")).map(String::trim).map(Integer::valueOf).toList();
+    private static final int MEASURED_REQUESTS = Integer.getInteger("newsportal.benchmark.requests", 5_000);
+    private static final int WARMUP_REQUESTS = MEASURED_REQUESTS / 5;
+
+    private static ConfigurableApplicationContext context;
+    private static HttpClient client;
+    private static int servletPort;
+    private static int reactivePort;
+    private static long firstNews;
+    private static long lastNews;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        servletPort = freePort();
+        reactivePort = freePort();
+        context = new SpringApplicationBuilder(NewsPortalApplication.class)
+                .profiles("pgsql", "reactive")
+                .run("--server.port=" + servletPort,
+                        "--news-portal.reactive.port=" + reactivePort,
+                        "--spring.cache.type=none",
+                        "--news-portal.not-found-cache.enabled=false",
+                        "--news-portal.rate-limit.enabled=false",
+                        "--logging.level.com.dev.news.newsportal=WARN",
+                        "--logging.level.org.hibernate.SQL=INFO");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        firstNews = jdbcTemplate.queryForObject("SELECT MIN(id) FROM news", Long.class);
+        lastNews = jdbcTemplate.queryForObject("SELECT MAX(id) FROM news", Long.class);
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        System.out.printf("%n%,d news articles%n%-10s %-22s %8s %12s %10s %10s%n", lastNews - firstNews + 1, "stack",
+                "endpoint", "clients", "requests/s", "p50 ms", "p99 ms");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Test
+    void bothStacksShouldAnswerTheSame() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (String path : List.of("/api/v1/news?page=3&size=20", "/api/v1/news/" + firstNews,
+                "/api/v1/comments/news/" + firstNews)) {
+            assertEquals(objectMapper.readTree(get(servletPort, path).body()),
+                    objectMapper.readTree(get(reactivePort, path).body()), path);
+        }
+    }
+
+    @Test
+    void pageOfNews() throws Exception {
+        compare("getAllNews", id -> "/api/v1/news?page=" + id % 50 + "&size=20");
+    }
+
+    @Test
+    void newsById() throws Exception {
+        compare("getNewsById", id -> "/api/v1/news/" + id);
+    }
+
+    @Test
+    void commentsOfNews() throws Exception {
+        compare("getCommentsByNews", id -> "/api/v1/comments/news/" + id);
+    }
+
+    private static void compare(String endpoint, LongFunction<String> path) throws Exception {
+        for (int clients : CLIENTS) {
+            measure("servlet", endpoint, clients, servletPort, path);
+            measure("reactive", endpoint, clients, reactivePort, path);
+        }
+    }
+
+    /**
+     * Sends the warm-up and measured requests from the given number of concurrent clients, each asking for random
+     * news articles.
+     */
+    private static void measure(String stack, String endpoint, int clients, int port, LongFunction<String> path)
+            throws Exception {
+        run(clients, WARMUP_REQUESTS, port, path, new long[WARMUP_REQUESTS]);
+        long[] nanos = new long[MEASURED_REQUESTS];
+        long started = System.nanoTime();
+        run(clients, MEASURED_REQUESTS, port, path, nanos);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        Arrays.sort(nanos);
+        System.out.printf("%-10s %-22s %8d %12.0f %10.2f %10.2f%n", stack, endpoint, clients,
+                MEASURED_REQUESTS / seconds, nanos[nanos.length / 2] / 1e6, nanos[nanos.length * 99 / 100] / 1e6);
+    }
+
+    private static void run(int clients, int requests, int port, LongFunction<String> path, long[] nanos)
+            throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                SplittableRandom random = new SplittableRandom(i);
+                results.add(executor.submit(() -> {
+                    for (int request = next.getAndIncrement(); request < requests;
+                         request = next.getAndIncrement()) {
+                        long started = System.nanoTime();
+                        HttpResponse<String> response =
+                                get(port, path.apply(firstNews + random.nextLong(lastNews - firstNews + 1)));
+                        nanos[request] = System.nanoTime() - started;
+                        assertEquals(200, response.statusCode(), response::body);
+                    }
+                    return null;
+                }));
+            }
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+    }
+
+    private static HttpResponse<String> get(int port, String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(60))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.dev.news.newsportal.benchmark;
+
+import com.dev.news.newsportal.api.model.comments.CommentListItem;
+import com.dev.news.newsportal.api.model.news.NewsListItem;
+import com.dev.news.newsportal.api.model.news.PagedNewsListResponse;
+import com.dev.news.newsportal.api.model.news.UserSummary;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares payload size and serialization CPU time of JSON, CBOR and Smile for the bulk list responses.
+ * <p>
+ * The mappers are built the same way as the HTTP message converters, so the numbers reflect what the
+ * endpoints actually send. The class is not picked up by the regular test run; execute it explicitly with
+ * {@code ./mvnw test -Dtest=SerializationBenchmark}.
+ */
+class SerializationBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 5_000;
+
+    private static final Map<String, ObjectMapper> MAPPERS = new LinkedHashMap<>();
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private static PagedNewsListResponse newsPage;
+    private static List<CommentListItem> comments;
+
+    @BeforeAll
+    static void setUp() {
+        MAPPERS.put("JSON", Jackson2ObjectMapperBuilder.json().build());
+        MAPPERS.put("CBOR", Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build());
+        MAPPERS.put("Smile", Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+
+        OffsetDateTime created = OffsetDateTime.of(2025, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+        List<NewsListItem> items = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            items.add(new NewsListItem()
+                    .id(id)
+                    .title("Council approves new energy policy after a long public debate #" + id)
+                    .imageUrl(URI.create("https://cdn.newsportal.test/images/" + id + ".jpg"))
+                    .creationDate(created.minusMinutes(id))
+                    .author(new UserSummary().id(id % 17).nickname("user" + (id % 17)))
+                    .commentCount(id * 3));
+        }
+        newsPage = new PagedNewsListResponse()
+                .content(items)
+                .totalElements(10_000L)
+                .totalPages(100)
+                .size(100)
+                .number(0)
+                .numberOfElements(items.size())
+                .first(true)
+                .last(false)
+                .empty(false);
+
+        comments = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            comments.add(new CommentListItem()
+                    .id(id)
+                    .text("I think the report misses the impact on local transport and schools, comment " + id)
+                    .creationDate(created.plusSeconds(id * 37))
+                    .authorNickname("user" + (id % 53))
+                    .hasReplies(id % 4 == 0));
+        }
+    }
+
+    @Test
+    void pagedNewsList() throws Exception {
+        run("PagedNewsListResponse (100 items)", newsPage,
+                mapper -> mapper.constructType(PagedNewsListResponse.class));
+    }
+
+    @Test
+    void commentList() throws Exception {
+        run("List<CommentListItem> (500 items)", comments,
+                mapper -> mapper.getTypeFactory().constructType(new TypeReference<List<CommentListItem>>() { }));
+    }
+
+    private void run(String label, Object payload, TypeResolver typeResolver) throws Exception {
+        System.out.printf("%n%s%n%-6s %10s %16s %16s%n", label, "format", "bytes", "serialize us", "deserialize us");
+        int jsonSize = -1;
+        for (Map.Entry<String, ObjectMapper> entry : MAPPERS.entrySet()) {
+            ObjectMapper mapper = entry.getValue();
+            JavaType type = typeResolver.resolve(mapper);
+            byte[] bytes = mapper.writeValueAsBytes(payload);
+            assertEquals(payload, mapper.readValue(bytes, type), entry.getKey() + " round trip");
+
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                mapper.readValue(mapper.writeValueAsBytes(payload), type);
+            }
+            long serializeStart = THREADS.getCurrentThreadCpuTime();
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                mapper.writeValueAsBytes(payload);
+            }
+            long serializeNanos = THREADS.getCurrentThreadCpuTime() - serializeStart;
+            long deserializeStart = THREADS.getCurrentThreadCpuTime();
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                mapper.readValue(bytes, type);
+            }
+            long deserializeNanos = THREADS.getCurrentThreadCpuTime() - deserializeStart;
+
+            System.out.printf("%-6s %10d %16.1f %16.1f%n", entry.getKey(), bytes.length,
+                    serializeNanos / 1_000.0 / MEASURED_ITERATIONS, deserializeNanos / 1_000.0 / MEASURED_ITERATIONS);
+            if (jsonSize < 0) {
+                jsonSize = bytes.length;
+            } else {
+                assertTrue(bytes.length < jsonSize, entry.getKey() + " payload should be smaller than JSON");
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface TypeResolver {
+        JavaType resolve(ObjectMapper mapper);
+    }
+}
@@ -0,0 +1,144 @@
+package com.dev.news.newsportal.cache;
+
+import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.service.CommentService;
+import com.dev.news.newsportal.service.NewsService;
+import com.dev.news.newsportal.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies the after-commit invalidation of the news and user caches through the loopback bus.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:cachedb")
+class CacheInvalidationIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    private UserModel author;
+    private NewsModel news;
+
+    @BeforeEach
+    void setUp() {
+        author = userService.create(UserModel.builder()
+                .nickname("cacheauthor" + System.nanoTime())
+                .email("cacheauthor" + System.nanoTime() + "@example.com")
+                .role("USER")
+                .build());
+        news = newsService.create(NewsModel.builder()
+                .title("Cached")
+                .text("Cached article")
+                .author(UserModel.builder().id(author.getId()).build())
+                .build());
+    }
+
+    @Test
+    void findById_shouldBeServedFromCacheUntilUpdateCommits() {
+        // Given
+        NewsModel first = newsService.findById(news.getId());
+
+        // When
+        NewsModel second = newsService.findById(news.getId());
+        newsService.update(news.getId(), NewsModel.builder().title("Renamed").text("Cached article").author(author).build());
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(newsCache().get(news.getId())).isNull();
+        assertThat(newsService.findById(news.getId()).getTitle()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void commentCreated_shouldEvictItsNews() {
+        // Given
+        newsService.findById(news.getId());
+
+        // When
+        commentService.create(CommentModel.builder()
+                .text("Invalidating")
+                .authorNickname("reader")
+                .newsId(news.getId())
+                .build());
+
+        // Then
+        assertThat(newsCache().get(news.getId())).isNull();
+        assertThat(newsService.findById(news.getId()).getComments()).hasSize(1);
+    }
+
+    @Test
+    void userUpdated_shouldEvictUserAndAllNews() {
+        // Given
+        userService.findById(author.getId());
+        newsService.findById(news.getId());
+
+        // When
+        userService.update(author.getId(), UserModel.builder()
+                .nickname(author.getNickname() + "x")
+                .email(author.getEmail())
+                .role("ADMIN")
+                .build());
+
+        // Then
+        assertThat(cacheManager.getCache(CacheNames.USERS).get(author.getId())).isNull();
+        assertThat(newsCache().get(news.getId())).isNull();
+        assertThat(newsService.findById(news.getId()).getAuthor().getRole()).isEqualTo("ADMIN");
+    }
+
+    @Test
+    void rolledBackUpdate_shouldKeepCachedEntry() {
+        // Given
+        newsService.findById(news.getId());
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            newsService.update(news.getId(), NewsModel.builder().title("Discarded").text("Cached article").author(author).build());
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(newsCache().get(news.getId())).isNotNull();
+        assertThat(newsService.findById(news.getId()).getTitle()).isEqualTo("Cached");
+    }
+
+    @Test
+    void publish_outsideTransaction_shouldInvalidateImmediately() {
+        // Given
+        newsService.findById(news.getId());
+
+        // When
+        invalidationBus.publish(Set.of(InvalidationMessage.Entry.all(CacheNames.NEWS)));
+
+        // Then
+        assertThat(newsCache().get(news.getId())).isNull();
+    }
+
+    private Cache newsCache() {
+        return cacheManager.getCache(CacheNames.NEWS);
+    }
+}
@@ -0,0 +1,55 @@
+package com.dev.news.newsportal.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InvalidationMessageTest {
+
+    @Test
+    void encode_thenDecode_shouldRoundTrip() {
+        // Given
+        InvalidationMessage message = new InvalidationMessage("node1", Set.of(
+                InvalidationMessage.Entry.of(CacheNames.NEWS, 42L),
+                InvalidationMessage.Entry.all(CacheNames.USERS)));
+
+        // When
+        String encoded = message.encode();
+
+        // Then
+        assertThat(encoded).startsWith("node1 ").contains("news:42").contains("users:*");
+        assertThat(InvalidationMessage.decode(encoded)).isEqualTo(message);
+    }
+
+    @Test
+    void encode_withTooManyEntries_shouldCollapseToWholeCaches() {
+        // Given
+        Set<InvalidationMessage.Entry> entries = new HashSet<>();
+        for (long id = 1_000_000; id < 1_002_000; id++) {
+            entries.add(InvalidationMessage.Entry.of(CacheNames.NEWS, id));
+        }
+        entries.add(InvalidationMessage.Entry.of(CacheNames.USERS, 1L));
+
+        // When
+        String encoded = new InvalidationMessage("node1", entries).encode();
+
+        // Then
+        assertThat(encoded.length()).isLessThanOrEqualTo(InvalidationMessage.MAX_ENCODED_LENGTH);
+        assertThat(InvalidationMessage.decode(encoded).entries()).containsExactlyInAnyOrder(
+                InvalidationMessage.Entry.all(CacheNames.NEWS),
+                InvalidationMessage.Entry.all(CacheNames.USERS));
+    }
+
+    @Test
+    void decode_withMalformedEntry_shouldThrowIllegalArgumentException() {
+        // When/Then
+        assertThatThrownBy(() -> InvalidationMessage.decode("node1 news"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> InvalidationMessage.decode("node1 news:abc"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -6,8 +6,12 @@ import com.dev.news.newsportal.api.model.comments.CommentResponse;
 import com.dev.news.newsportal.exception.ResourceNotFoundException;
 import com.dev.news.newsportal.mapper.api.CommentApiMapper;
 import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.CommentSummaryModel;
+import com.dev.news.newsportal.model.FieldSelection;
 import com.dev.news.newsportal.service.CommentService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,9 +24,11 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
@@ -35,6 +41,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -42,6 +49,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(CommentController.class)
 class CommentControllerTest {
 
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -145,6 +154,48 @@ class CommentControllerTest {
         verify(commentApiMapper).toListItemList(commentModels);
     }
 
+    @Test
+    void getCommentsByNews_withFields_shouldReturnOnlySelectedProperties() throws Exception {
+        // Given
+        FieldSelection selection = new FieldSelection(Set.of("id", "hasReplies"));
+        List<CommentSummaryModel> summaries = List.of(CommentSummaryModel.builder().id(1L).replyCount(2).build());
+        List<CommentListItem> commentListItems = List.of(new CommentListItem().id(1L).hasReplies(true));
+        when(commentService.findByNews(1L, selection)).thenReturn(summaries);
+        when(commentApiMapper.toSummaryListItemList(summaries)).thenReturn(commentListItems);
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/comments/news/1").param("fields", "id,hasReplies"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].hasReplies", is(true)))
+                .andExpect(jsonPath("$[0].text").doesNotExist())
+                .andExpect(jsonPath("$[0].authorNickname").doesNotExist());
+
+        verify(commentService).findByNews(1L, selection);
+    }
+
+    @Test
+    void getCommentsByNews_withSmileAccept_shouldReturnSmileEncodedList() throws Exception {
+        // Given
+        List<CommentModel> commentModels = Arrays.asList(commentModel);
+        List<CommentListItem> commentListItems = Arrays.asList(commentListItem);
+        when(commentService.findByNews(1L)).thenReturn(commentModels);
+        when(commentApiMapper.toListItemList(commentModels)).thenReturn(commentListItems);
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/v1/comments/news/1").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        JsonNode comments = new SmileMapper().readTree(body);
+        assertEquals(1, comments.size());
+        assertEquals("Test comment", comments.get(0).get("text").asText());
+        assertEquals("testuser", comments.get(0).get("authorNickname").asText());
+    }
+
     @Test
     void getCommentsByNews_withNonExistingNewsId_shouldReturnNotFound() throws Exception {
         // Given
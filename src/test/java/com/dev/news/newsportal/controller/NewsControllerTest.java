@@ -2,11 +2,21 @@ package com.dev.news.newsportal.controller;
 
 import com.dev.news.newsportal.api.model.news.*;
 import com.dev.news.newsportal.exception.ResourceNotFoundException;
+import com.dev.news.newsportal.model.FieldSelection;
 import com.dev.news.newsportal.mapper.api.NewsApiMapper;
+import com.dev.news.newsportal.model.NewsFeedCursor;
+import com.dev.news.newsportal.exception.DeadlineExceededException;
 import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.NewsPageModel;
+import com.dev.news.newsportal.model.NewsSummaryModel;
 import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.service.NewsPageService;
 import com.dev.news.newsportal.service.NewsService;
+import com.dev.news.newsportal.trending.TrendingNews;
+import com.dev.news.newsportal.views.NewsViewCounter;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,12 +29,15 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -33,6 +46,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(NewsController.class)
 class NewsControllerTest {
 
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -42,9 +57,18 @@ class NewsControllerTest {
     @MockitoBean
     private NewsService newsService;
 
+    @MockitoBean
+    private NewsPageService newsPageService;
+
     @MockitoBean
     private NewsApiMapper newsApiMapper;
 
+    @MockitoBean
+    private NewsViewCounter viewCounter;
+
+    @MockitoBean
+    private TrendingNews trendingNews;
+
     private NewsRequest newsRequest;
     private NewsResponse newsResponse;
     private NewsListItem newsListItem;
@@ -141,6 +165,38 @@ class NewsControllerTest {
         verify(newsApiMapper).toPagedResponse(newsPage);
     }
 
+    @Test
+    void getAllNews_withCborAccept_shouldReturnCborEncodedPage() throws Exception {
+        // Given
+        Pageable defaultPageable = PageRequest.of(0, 10);
+        Page<NewsModel> newsPage = new PageImpl<>(Arrays.asList(newsModel), defaultPageable, 1);
+        PagedNewsListResponse pagedResponse = new PagedNewsListResponse()
+                .content(Arrays.asList(newsListItem))
+                .totalElements(1L)
+                .totalPages(1)
+                .size(10)
+                .number(0)
+                .numberOfElements(1)
+                .first(true)
+                .last(true)
+                .empty(false);
+
+        when(newsService.findAll(any(Pageable.class))).thenReturn(newsPage);
+        when(newsApiMapper.toPagedResponse(newsPage)).thenReturn(pagedResponse);
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/v1/news").accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        JsonNode page = new CBORMapper().readTree(body);
+        assertEquals(1L, page.get("totalElements").asLong());
+        assertEquals("Test News", page.get("content").get(0).get("title").asText());
+        assertEquals("testuser", page.get("content").get(0).get("author").get("nickname").asText());
+    }
+
     @Test
     void getNewsById_withExistingId_shouldReturnNewsResponseDto() throws Exception {
         // Given
@@ -174,6 +230,180 @@ class NewsControllerTest {
         verify(newsService).findById(999L);
     }
 
+    @Test
+    void getNewsById_withCountedReads_shouldRecordView() throws Exception {
+        // Given
+        when(newsService.findById(1L)).thenReturn(newsModel);
+        when(newsApiMapper.toResponse(newsModel)).thenReturn(newsResponse);
+        when(viewCounter.isCountingReads()).thenReturn(true);
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/news/1"))
+                .andExpect(status().isOk());
+
+        verify(viewCounter).record(1L);
+    }
+
+    @Test
+    void getNewsById_withFields_shouldReturnOnlySelectedProperties() throws Exception {
+        // Given
+        FieldSelection selection = new FieldSelection(Set.of("id", "title"));
+        when(newsService.findById(1L, selection)).thenReturn(newsModel);
+        when(newsApiMapper.toResponse(newsModel)).thenReturn(newsResponse);
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/news/1").param("fields", "id, title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.title", is("Test News")))
+                .andExpect(jsonPath("$.text").doesNotExist())
+                .andExpect(jsonPath("$.author").doesNotExist())
+                .andExpect(jsonPath("$.commentCount").doesNotExist());
+
+        verify(newsService).findById(1L, selection);
+        verify(newsService, never()).findById(1L);
+    }
+
+    @Test
+    void getNewsById_withUnknownField_shouldReturnBadRequest() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/v1/news/1").param("fields", "id,comments"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(newsService);
+    }
+
+    @Test
+    void getNewsById_withFieldsAndNonExistingId_shouldReturnWholeError() throws Exception {
+        // Given
+        when(newsService.findById(eq(998L), any(FieldSelection.class)))
+                .thenThrow(new ResourceNotFoundException("News", "id", 998L));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/news/998").param("fields", "title"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status", is(404)))
+                .andExpect(jsonPath("$.message").exists());
+    }
+
+    @Test
+    void getAllNews_withFields_shouldReturnOnlySelectedPropertiesOfEachArticle() throws Exception {
+        // Given
+        Pageable defaultPageable = PageRequest.of(0, 10);
+        NewsSummaryModel summary = NewsSummaryModel.builder().id(1L).title("Test News").build();
+        Page<NewsSummaryModel> newsPage = new PageImpl<>(List.of(summary), defaultPageable, 1);
+        PagedNewsListResponse pagedResponse = new PagedNewsListResponse()
+                .content(List.of(new NewsListItem().id(1L).title("Test News").commentCount(0L)))
+                .totalElements(1L)
+                .totalPages(1)
+                .size(10)
+                .number(0)
+                .numberOfElements(1)
+                .first(true)
+                .last(true)
+                .empty(false);
+        when(newsService.findAll(any(Pageable.class), eq(new FieldSelection(Set.of("title"))))).thenReturn(newsPage);
+        when(newsApiMapper.toPagedSummaryResponse(newsPage)).thenReturn(pagedResponse);
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/news").param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title", is("Test News")))
+                .andExpect(jsonPath("$.content[0].id").doesNotExist())
+                .andExpect(jsonPath("$.content[0].commentCount").doesNotExist())
+                .andExpect(jsonPath("$.totalElements", is(1)))
+                .andExpect(jsonPath("$.first", is(true)));
+
+        verify(newsService, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void recordNewsView_withExistingId_shouldReturnAccepted() throws Exception {
+        // Given
+        when(newsService.findById(1L)).thenReturn(newsModel);
+
+        // When/Then
+        mockMvc.perform(post("/api/v1/news/1/views"))
+                .andExpect(status().isAccepted());
+
+        verify(viewCounter).record(1L);
+    }
+
+    @Test
+    void recordNewsView_withNonExistingId_shouldReturnNotFound() throws Exception {
+        // Given
+        when(newsService.findById(999L)).thenThrow(new ResourceNotFoundException("News", "id", 999L));
+
+        // When/Then
+        mockMvc.perform(post("/api/v1/news/999/views"))
+                .andExpect(status().isNotFound());
+
+        verify(viewCounter, never()).record(anyLong());
+    }
+
+    @Test
+    void getNewsPage_shouldReturnArticleAuthorAndComments() throws Exception {
+        // Given
+        NewsPageModel page = NewsPageModel.builder().news(newsModel).author(authorModel).commentCount(3).build();
+        when(newsPageService.findPage(1L, 5)).thenReturn(page);
+        when(newsApiMapper.toPageResponse(page)).thenReturn(new NewsPageResponse()
+                .news(newsResponse.commentCount(3L))
+                .author(new NewsPageAuthor().id(1L).nickname("testuser").email("test@example.com").role("USER"))
+                .comments(List.of(new NewsPageComment().id(7L).text("First!").hasReplies(true)))
+                .hasMoreComments(true)
+                .commentCount(3L));
+        when(viewCounter.isCountingReads()).thenReturn(true);
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/news/1/page").param("commentLimit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.news.title", is("Test News")))
+                .andExpect(jsonPath("$.author.email", is("test@example.com")))
+                .andExpect(jsonPath("$.comments", hasSize(1)))
+                .andExpect(jsonPath("$.comments[0].hasReplies", is(true)))
+                .andExpect(jsonPath("$.hasMoreComments", is(true)))
+                .andExpect(jsonPath("$.commentCount", is(3)));
+
+        verify(viewCounter).record(1L);
+    }
+
+    @Test
+    void getNewsPage_withoutCommentLimit_shouldAskForTwentyComments() throws Exception {
+        // Given
+        NewsPageModel page = NewsPageModel.builder().news(newsModel).author(authorModel).build();
+        when(newsPageService.findPage(1L, 20)).thenReturn(page);
+        when(newsApiMapper.toPageResponse(page)).thenReturn(new NewsPageResponse().news(newsResponse));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/news/1/page"))
+                .andExpect(status().isOk());
+
+        verify(newsPageService).findPage(1L, 20);
+    }
+
+    @Test
+    void getNewsPage_withTooLargeCommentLimit_shouldReturnBadRequest() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/v1/news/1/page").param("commentLimit", "101"))
+                .andExpect(status().isBadRequest());
+
+        verify(newsPageService, never()).findPage(anyLong(), anyInt());
+    }
+
+    @Test
+    void getNewsPage_withMissedDeadline_shouldReturnServiceUnavailable() throws Exception {
+        // Given
+        when(newsPageService.findPage(1L, 20))
+                .thenThrow(new DeadlineExceededException("Reading the page of news article 1", Duration.ofSeconds(2)));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/news/1/page"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status", is(503)))
+                .andExpect(jsonPath("$.message",
+                        is("Reading the page of news article 1 did not complete within 2000 ms")));
+    }
+
     @Test
     void createNews_withValidData_shouldReturnCreatedNewsResponseDto() throws Exception {
         // Given
@@ -270,6 +500,22 @@ class NewsControllerTest {
         verify(newsService, times(0)).update(anyLong(), any(NewsModel.class));
     }
 
+    @Test
+    void getTrendingNews_shouldReturnRankedNewsListItems() throws Exception {
+        // Given
+        when(trendingNews.findTopNewsIds(5)).thenReturn(List.of(1L));
+        when(newsService.findAllById(List.of(1L))).thenReturn(List.of(newsModel));
+        when(newsApiMapper.toListItemList(List.of(newsModel))).thenReturn(List.of(newsListItem));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/news/trending").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(1)));
+
+        verify(trendingNews).findTopNewsIds(5);
+    }
+
     @Test
     void deleteNews_withExistingId_shouldReturnNoContent() throws Exception {
         // Given
@@ -298,14 +544,15 @@ class NewsControllerTest {
     @Test
     void getNewsByAuthor_withExistingAuthorId_shouldReturnListOfNewsListItemDto() throws Exception {
         // Given
-        List<NewsModel> newsModels = Arrays.asList(newsModel);
+        List<NewsSummaryModel> feed = List.of(summary(1L));
         List<NewsListItem> newsListItems = Arrays.asList(newsListItem);
-        when(newsService.findByAuthor(1L)).thenReturn(newsModels);
-        when(newsApiMapper.toListItemList(newsModels)).thenReturn(newsListItems);
+        when(newsService.findFeedByAuthor(1L, null, 21)).thenReturn(feed);
+        when(newsApiMapper.toSummaryListItemList(feed)).thenReturn(newsListItems);
 
         // When/Then
         mockMvc.perform(get("/api/v1/news/author/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Link"))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id", is(1)))
                 .andExpect(jsonPath("$[0].title", is("Test News")))
@@ -314,19 +561,60 @@ class NewsControllerTest {
                 .andExpect(jsonPath("$[0].author.nickname", is("testuser")))
                 .andExpect(jsonPath("$[0].commentCount", is(0)));
 
-        verify(newsService).findByAuthor(1L);
+        verify(newsService).findFeedByAuthor(1L, null, 21);
+    }
+
+    @Test
+    void getNewsByAuthor_withMoreArticlesThanLimit_shouldLinkToNextPage() throws Exception {
+        // Given
+        NewsSummaryModel first = summary(1L);
+        NewsSummaryModel second = summary(2L);
+        when(newsService.findFeedByAuthor(1L, null, 2)).thenReturn(List.of(first, second));
+        when(newsApiMapper.toSummaryListItemList(List.of(first))).thenReturn(List.of(newsListItem));
+        String cursor = NewsFeedCursor.after(first).encode();
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/news/author/1?limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Link",
+                        "<http://localhost/api/v1/news/author/1?limit=1&cursor=" + cursor + ">; rel=\"next\""))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void getNewsByAuthor_withCursor_shouldContinueAfterIt() throws Exception {
+        // Given
+        NewsFeedCursor cursor = new NewsFeedCursor(creationDate, 7L);
+        when(newsService.findFeedByAuthor(1L, cursor, 21)).thenReturn(List.of());
+        when(newsApiMapper.toSummaryListItemList(List.of())).thenReturn(List.of());
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/news/author/1").param("cursor", cursor.encode()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        verify(newsService).findFeedByAuthor(1L, cursor, 21);
+    }
+
+    @Test
+    void getNewsByAuthor_withMalformedCursor_shouldReturnBadRequest() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/v1/news/author/1").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        verify(newsService, never()).findFeedByAuthor(anyLong(), any(), anyInt());
     }
 
     @Test
     void getNewsByAuthor_withNonExistingAuthorId_shouldReturnNotFound() throws Exception {
         // Given
-        when(newsService.findByAuthor(999L)).thenThrow(new ResourceNotFoundException("User", "id", 999L));
+        when(newsService.findFeedByAuthor(999L, null, 21)).thenThrow(new ResourceNotFoundException("User", "id", 999L));
 
         // When/Then
         mockMvc.perform(get("/api/v1/news/author/999"))
                 .andExpect(status().isNotFound());
 
-        verify(newsService).findByAuthor(999L);
+        verify(newsService).findFeedByAuthor(999L, null, 21);
     }
 
     @Test
@@ -483,4 +771,13 @@ class NewsControllerTest {
         verify(newsService).findAll(any(Pageable.class));
         verify(newsApiMapper).toPagedResponse(emptyPage);
     }
-}
\ No newline at end of file
+
+    private NewsSummaryModel summary(Long id) {
+        return NewsSummaryModel.builder()
+                .id(id)
+                .title("Test News")
+                .creationDate(creationDate)
+                .author(authorModel)
+                .build();
+    }
+}
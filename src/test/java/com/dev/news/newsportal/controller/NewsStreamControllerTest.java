@@ -0,0 +1,83 @@
+package com.dev.news.newsportal.controller;
+
+import com.dev.news.newsportal.feed.NewsFeed;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(NewsStreamController.class)
+class NewsStreamControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private NewsFeed newsFeed;
+
+    @Test
+    void streamNews_withoutLastEventId_shouldStartEventStream() throws Exception {
+        // Given
+        when(newsFeed.subscribe(any(SseEmitter.class), isNull())).thenReturn(true);
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/news/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+
+        verify(newsFeed).subscribe(any(SseEmitter.class), isNull());
+    }
+
+    @Test
+    void streamNews_withLastEventId_shouldResumeFromThatEvent() throws Exception {
+        // Given
+        when(newsFeed.subscribe(any(SseEmitter.class), eq(42L))).thenReturn(true);
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/news/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", "42"))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+
+        verify(newsFeed).subscribe(any(SseEmitter.class), eq(42L));
+    }
+
+    @Test
+    void streamNews_withMalformedLastEventId_shouldSubscribeAsNewClient() throws Exception {
+        // Given
+        when(newsFeed.subscribe(any(SseEmitter.class), isNull())).thenReturn(true);
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/news/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", "not-a-number"))
+                .andExpect(status().isOk());
+
+        verify(newsFeed).subscribe(any(SseEmitter.class), isNull());
+    }
+
+    @Test
+    void streamNews_whenSubscriberLimitReached_shouldReturnServiceUnavailable() throws Exception {
+        // Given
+        when(newsFeed.subscribe(any(SseEmitter.class), isNull())).thenReturn(false);
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/news/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"));
+    }
+}
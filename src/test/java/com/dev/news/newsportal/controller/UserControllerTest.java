@@ -1,11 +1,13 @@
 package com.dev.news.newsportal.controller;
 
+import com.dev.news.newsportal.api.model.users.UserPurgeJobResponse;
 import com.dev.news.newsportal.api.model.users.UserRequest;
 import com.dev.news.newsportal.api.model.users.UserResponse;
 import com.dev.news.newsportal.exception.DuplicateResourceException;
 import com.dev.news.newsportal.exception.ResourceNotFoundException;
 import com.dev.news.newsportal.mapper.api.UserApiMapper;
 import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.model.UserPurgeJobModel;
 import com.dev.news.newsportal.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,8 +27,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -116,6 +118,27 @@ class UserControllerTest {
         verify(userApiMapper).toResponse(userModel);
     }
 
+    @Test
+    void getUserById_withFields_shouldReturnOnlySelectedProperties() throws Exception {
+        // Given
+        when(userService.findById(1L)).thenReturn(userModel);
+        when(userApiMapper.toResponse(userModel)).thenReturn(userResponse);
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/users/1").param("fields", "nickname"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nickname", is("testuser")))
+                .andExpect(jsonPath("$.id").doesNotExist())
+                .andExpect(jsonPath("$.email").doesNotExist());
+    }
+
+    @Test
+    void getUserById_withUnknownField_shouldReturnBadRequest() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/v1/users/1").param("fields", "password"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getUserById_withNonExistingId_shouldReturnNotFound() throws Exception {
         // Given
@@ -253,13 +276,25 @@ class UserControllerTest {
     }
 
     @Test
-    void deleteUser_withExistingId_shouldReturnNoContent() throws Exception {
+    void deleteUser_withExistingId_shouldReturnAcceptedWithPurgeJobLocation() throws Exception {
         // Given
-        doNothing().when(userService).delete(1L);
+        UserPurgeJobModel jobModel = UserPurgeJobModel.builder().id(5L).userId(1L).status("PENDING").build();
+        UserPurgeJobResponse jobResponse = new UserPurgeJobResponse()
+                .id(5L)
+                .userId(1L)
+                .status(UserPurgeJobResponse.StatusEnum.PENDING)
+                .newsDeleted(0L)
+                .commentsDeleted(0L);
+        when(userService.delete(1L)).thenReturn(jobModel);
+        when(userApiMapper.toPurgeJobResponse(jobModel)).thenReturn(jobResponse);
 
         // When/Then
         mockMvc.perform(delete("/api/v1/users/1"))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/v1/users/purge-jobs/5"))
+                .andExpect(jsonPath("$.id", is(5)))
+                .andExpect(jsonPath("$.userId", is(1)))
+                .andExpect(jsonPath("$.status", is("PENDING")));
 
         verify(userService).delete(1L);
     }
@@ -277,6 +312,75 @@ class UserControllerTest {
         verify(userService).delete(999L);
     }
 
+    @Test
+    void getUserPurgeJob_withExistingId_shouldReturnProgress() throws Exception {
+        // Given
+        UserPurgeJobModel jobModel = UserPurgeJobModel.builder().id(5L).userId(1L).status("RUNNING").build();
+        UserPurgeJobResponse jobResponse = new UserPurgeJobResponse()
+                .id(5L)
+                .userId(1L)
+                .status(UserPurgeJobResponse.StatusEnum.RUNNING)
+                .newsDeleted(1500L)
+                .commentsDeleted(42000L);
+        when(userService.findPurgeJob(5L)).thenReturn(jobModel);
+        when(userApiMapper.toPurgeJobResponse(jobModel)).thenReturn(jobResponse);
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/users/purge-jobs/5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("RUNNING")))
+                .andExpect(jsonPath("$.newsDeleted", is(1500)))
+                .andExpect(jsonPath("$.commentsDeleted", is(42000)));
+    }
+
+    @Test
+    void getUserPurgeJob_withNonExistingId_shouldReturnNotFound() throws Exception {
+        // Given
+        when(userService.findPurgeJob(999L)).thenThrow(new ResourceNotFoundException("UserPurgeJob", "id", 999L));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/users/purge-jobs/999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getUserAvailability_withNicknameAndEmail_shouldReportBoth() throws Exception {
+        // Given
+        when(userService.isNicknameAvailable("freeuser")).thenReturn(true);
+        when(userService.isEmailAvailable("test@example.com")).thenReturn(false);
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/users/availability")
+                        .param("nickname", "freeuser")
+                        .param("email", "test@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nickname", is("freeuser")))
+                .andExpect(jsonPath("$.nicknameAvailable", is(true)))
+                .andExpect(jsonPath("$.email", is("test@example.com")))
+                .andExpect(jsonPath("$.emailAvailable", is(false)));
+    }
+
+    @Test
+    void getUserAvailability_withNicknameOnly_shouldNotCheckEmail() throws Exception {
+        // Given
+        when(userService.isNicknameAvailable("testuser")).thenReturn(false);
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/users/availability").param("nickname", "testuser"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nicknameAvailable", is(false)))
+                .andExpect(jsonPath("$.emailAvailable").doesNotExist());
+
+        verify(userService, never()).isEmailAvailable(anyString());
+    }
+
+    @Test
+    void getUserAvailability_withoutParameters_shouldReturnBadRequest() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/v1/users/availability"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getUserByNickname_withExistingNickname_shouldReturnUserResponseDto() throws Exception {
         // Given
@@ -0,0 +1,199 @@
+package com.dev.news.newsportal.feed;
+
+import com.dev.news.newsportal.api.model.news.NewsListItem;
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NewsFeedTest {
+
+    private NewsPortalProperties properties;
+    private NewsFeed newsFeed;
+
+    @BeforeEach
+    void setUp() {
+        properties = new NewsPortalProperties();
+        properties.getFeed().setBacklogSize(3);
+        properties.getFeed().setSubscriberBufferSize(8);
+        properties.getFeed().setMaxSubscribers(2);
+        properties.getFeed().setHeartbeatInterval(Duration.ofHours(1));
+        newsFeed = new NewsFeed(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        newsFeed.destroy();
+    }
+
+    @Test
+    void publish_shouldDeliverNewsToSubscribers() throws Exception {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter();
+        newsFeed.subscribe(emitter, null);
+
+        // When
+        newsFeed.publish(news(1L));
+        newsFeed.publish(news(2L));
+
+        // Then
+        assertThat(emitter.next()).contains("event:news").contains("\"id\":1");
+        assertThat(emitter.next()).contains("event:news").contains("\"id\":2");
+    }
+
+    @Test
+    void subscribe_withLastEventId_shouldReplayNewerBacklogEvents() throws Exception {
+        // Given
+        RecordingEmitter first = new RecordingEmitter();
+        newsFeed.subscribe(first, null);
+        newsFeed.publish(news(1L));
+        newsFeed.publish(news(2L));
+        newsFeed.publish(news(3L));
+        String firstEventId = eventId(first.next());
+
+        // When
+        RecordingEmitter resumed = new RecordingEmitter();
+        newsFeed.subscribe(resumed, Long.parseLong(firstEventId));
+
+        // Then
+        assertThat(resumed.next()).contains("\"id\":2");
+        assertThat(resumed.next()).contains("\"id\":3");
+        assertThat(resumed.poll()).isNull();
+    }
+
+    @Test
+    void subscribe_withLastEventIdOutsideBacklog_shouldSendResetFirst() throws Exception {
+        // Given
+        RecordingEmitter first = new RecordingEmitter();
+        newsFeed.subscribe(first, null);
+        for (long id = 1; id <= 5; id++) {
+            newsFeed.publish(news(id));
+        }
+        String firstEventId = eventId(first.next());
+
+        // When
+        RecordingEmitter resumed = new RecordingEmitter();
+        newsFeed.subscribe(resumed, Long.parseLong(firstEventId));
+
+        // Then
+        assertThat(resumed.next()).contains("event:reset");
+        assertThat(resumed.next()).contains("\"id\":3");
+        assertThat(resumed.next()).contains("\"id\":4");
+        assertThat(resumed.next()).contains("\"id\":5");
+    }
+
+    @Test
+    void subscribe_whenSubscriberLimitReached_shouldReject() {
+        assertThat(newsFeed.subscribe(new RecordingEmitter(), null)).isTrue();
+        assertThat(newsFeed.subscribe(new RecordingEmitter(), null)).isTrue();
+
+        assertThat(newsFeed.subscribe(new RecordingEmitter(), null)).isFalse();
+        assertThat(newsFeed.getSubscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    void publish_toSlowSubscriber_shouldEvictItWithoutAffectingOthers() throws Exception {
+        // Given
+        properties.getFeed().setSubscriberBufferSize(2);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter();
+        newsFeed.subscribe(slow, null);
+        newsFeed.subscribe(fast, null);
+
+        // When
+        newsFeed.publish(news(1L));
+        slow.awaitBlocked();
+        assertThat(fast.next()).contains("\"id\":1");
+        for (long id = 2; id <= 4; id++) {
+            newsFeed.publish(news(id));
+            assertThat(fast.next()).contains("\"id\":" + id);
+        }
+        release.countDown();
+
+        // Then
+        assertThat(newsFeed.getEvictionCount()).isEqualTo(1);
+        assertThat(newsFeed.getSubscriberCount()).isEqualTo(1);
+        assertThat(slow.awaitCompletion()).isTrue();
+    }
+
+    private static NewsListItem news(long id) {
+        return new NewsListItem().id(id).title("News " + id).commentCount(0L);
+    }
+
+    private static String eventId(String event) {
+        int start = event.indexOf("id:") + 3;
+        return event.substring(start, event.indexOf('\n', start));
+    }
+
+    /**
+     * Emitter that renders sent events as text instead of writing them to a response.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+            StringBuilder text = new StringBuilder();
+            for (DataWithMediaType data : builder.build()) {
+                text.append(data.getData() instanceof String value
+                        ? value
+                        : Jackson2ObjectMapperBuilder.json().build().writeValueAsString(data.getData()));
+            }
+            events.add(text.toString());
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+        }
+
+        String next() throws InterruptedException {
+            String event = events.poll(5, TimeUnit.SECONDS);
+            assertThat(event).as("event delivered").isNotNull();
+            return event;
+        }
+
+        String poll() throws InterruptedException {
+            return events.poll(200, TimeUnit.MILLISECONDS);
+        }
+
+        void awaitBlocked() throws InterruptedException {
+            assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        boolean awaitCompletion() throws InterruptedException {
+            return completed.await(5, TimeUnit.SECONDS);
+        }
+    }
+}
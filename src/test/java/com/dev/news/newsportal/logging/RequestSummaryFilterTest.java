@@ -0,0 +1,109 @@
+package com.dev.news.newsportal.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestSummaryFilterTest {
+
+    private NewsPortalProperties properties;
+    private RequestSummaryFilter filter;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        properties = new NewsPortalProperties();
+        properties.getRequestLog().setSuccessSampleRate(1.0);
+        properties.getRequestLog().setSlowThreshold(Duration.ofSeconds(10));
+        filter = new RequestSummaryFilter(properties);
+
+        appender = new ListAppender<>();
+        appender.start();
+        ((Logger) RequestSummaryFilter.SUMMARY_LOG).addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((Logger) RequestSummaryFilter.SUMMARY_LOG).detachAppender(appender);
+    }
+
+    @Test
+    void doFilter_shouldWriteSingleSummaryWithSqlCountAndResultSize() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/news");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                RequestSummary.recordSqlStatement();
+                RequestSummary.recordSqlStatement();
+                RequestSummary.recordResultSize(7);
+            }
+        });
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(appender.list).hasSize(1);
+        Map<String, Object> values = keyValues(appender.list.get(0));
+        assertThat(values).containsEntry("method", "GET")
+                .containsEntry("path", "/api/v1/news")
+                .containsEntry("status", 200)
+                .containsEntry("sqlCount", 2)
+                .containsEntry("resultSize", 7);
+    }
+
+    @Test
+    void doFilter_shouldNotLeakSummaryOutsideRequest() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/users"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        // Recording after the request has completed must be a no-op
+        RequestSummary.recordSqlStatement();
+        RequestSummary.recordResultSize(3);
+        assertThat(appender.list).hasSize(1);
+    }
+
+    @Test
+    void shouldLog_withZeroSampleRate_shouldOnlyLogErrorsAndSlowRequests() {
+        properties.getRequestLog().setSuccessSampleRate(0.0);
+        properties.getRequestLog().setSlowThreshold(Duration.ofMillis(100));
+
+        assertThat(filter.shouldLog(200, 5)).isFalse();
+        assertThat(filter.shouldLog(201, 99)).isFalse();
+        assertThat(filter.shouldLog(200, 100)).isTrue();
+        assertThat(filter.shouldLog(404, 1)).isTrue();
+        assertThat(filter.shouldLog(500, 1)).isTrue();
+    }
+
+    @Test
+    void doFilter_whenDisabled_shouldNotLog() throws Exception {
+        properties.getRequestLog().setEnabled(false);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/news"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        assertThat(appender.list).isEmpty();
+    }
+
+    private static Map<String, Object> keyValues(ILoggingEvent event) {
+        return event.getKeyValuePairs().stream()
+                .filter(pair -> pair.value != null)
+                .collect(Collectors.toMap(pair -> pair.key, pair -> pair.value));
+    }
+}
@@ -6,6 +6,7 @@ import com.dev.news.newsportal.api.model.news.NewsResponse;
 import com.dev.news.newsportal.api.model.news.PagedNewsListResponse;
 import com.dev.news.newsportal.model.CommentModel;
 import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.NewsSummaryModel;
 import com.dev.news.newsportal.model.UserModel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -146,6 +147,22 @@ class NewsApiMapperTest {
         assertThat(result.getCommentCount()).isEqualTo(0L);
     }
 
+    @Test
+    void toResponse_withCountedComments_shouldReturnCount() {
+        // Given an article whose comments were counted rather than read
+        NewsModel countedNewsModel = NewsModel.builder()
+                .id(1L)
+                .title("Test News")
+                .commentCount(7L)
+                .build();
+
+        // When
+        NewsResponse result = newsApiMapper.toResponse(countedNewsModel);
+
+        // Then
+        assertThat(result.getCommentCount()).isEqualTo(7L);
+    }
+
     @Test
     void toResponse_withNullImageUrl_shouldHandleGracefully() {
         // Given
@@ -189,6 +206,31 @@ class NewsApiMapperTest {
         assertThat(result.getAuthor().getNickname()).isEqualTo("testuser");
     }
 
+    @Test
+    void toListItem_shouldConvertNewsSummaryModelToNewsListItem() {
+        // Given
+        NewsSummaryModel summary = NewsSummaryModel.builder()
+                .id(2L)
+                .title("Summary")
+                .imageUrl("https://example.com/summary.jpg")
+                .creationDate(creationDate)
+                .author(UserModel.builder().id(1L).nickname("testuser").build())
+                .commentCount(42)
+                .build();
+
+        // When
+        List<NewsListItem> result = newsApiMapper.toSummaryListItemList(List.of(summary));
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getId()).isEqualTo(2L);
+        assertThat(result.get(0).getTitle()).isEqualTo("Summary");
+        assertThat(result.get(0).getImageUrl()).isEqualTo(URI.create("https://example.com/summary.jpg"));
+        assertThat(result.get(0).getCreationDate()).isEqualTo(creationDate.atOffset(ZoneOffset.UTC));
+        assertThat(result.get(0).getCommentCount()).isEqualTo(42L);
+        assertThat(result.get(0).getAuthor().getNickname()).isEqualTo("testuser");
+    }
+
     @Test
     void toResponseList_shouldConvertListOfNewsModelsToNewsResponses() {
         // Given
@@ -0,0 +1,96 @@
+package com.dev.news.newsportal.notfound;
+
+import com.dev.news.newsportal.exception.ResourceNotFoundException;
+import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that repeated lookups of missing resources are answered from the negative cache until a create commits.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:notfounddb")
+@AutoConfigureMockMvc
+class NotFoundCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void getUserByNickname_withKnownMiss_shouldNotReachDatabase() throws Exception {
+        // Given a miss, then the user written behind the service layer's back
+        mockMvc.perform(get("/api/v1/users/nickname/ghost"))
+                .andExpect(status().isNotFound());
+        jdbcTemplate.update("INSERT INTO users (nickname, email, role) VALUES ('ghost', 'ghost@example.com', 'USER')");
+        double hitsBefore = hits("user");
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/users/nickname/ghost"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("User not found with nickname: ghost")))
+                .andExpect(jsonPath("$.path", is("/api/v1/users/nickname/ghost")));
+        assertThat(hits("user")).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    void getUserByNickname_afterUserCreated_shouldFindUser() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/v1/users/nickname/newcomer"))
+                .andExpect(status().isNotFound());
+
+        // When
+        userService.create(UserModel.builder().nickname("newcomer").email("newcomer@example.com").role("USER").build());
+
+        // Then
+        mockMvc.perform(get("/api/v1/users/nickname/newcomer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nickname", is("newcomer")));
+    }
+
+    @Test
+    void getNewsById_withRepeatedMiss_shouldAnswerFromCache() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/v1/news/987654"))
+                .andExpect(status().isNotFound());
+        double hitsBefore = hits("news");
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/news/987654"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("News not found with id: 987654")));
+        assertThat(hits("news")).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    void resourceNotFoundException_shouldNotCaptureStackTrace() {
+        // Given/When
+        ResourceNotFoundException exception = new ResourceNotFoundException("News", "id", 1L);
+
+        // Then
+        assertThat(exception.getStackTrace()).isEmpty();
+    }
+
+    private double hits(String resource) {
+        return meterRegistry.get("newsportal.notfound.hits").tag("resource", resource).counter().count();
+    }
+}
@@ -0,0 +1,117 @@
+package com.dev.news.newsportal.notfound;
+
+import com.dev.news.newsportal.NewsPortalApplication;
+import com.dev.news.newsportal.cache.InvalidationBus;
+import com.dev.news.newsportal.cache.InvalidationMessage;
+import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.service.CommentService;
+import com.dev.news.newsportal.service.NewsService;
+import com.dev.news.newsportal.service.UserService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that a news article or comment created on one node is no longer reported missing by another node that
+ * remembered its id as missing. The nodes share an H2 database, and the messages of the first node's bus are handed
+ * to the second node in their wire format, as the PostgreSQL bus would.
+ */
+@SpringBootTest(properties = "spring.datasource.url=" + NotFoundCacheNodesIntegrationTest.DATABASE_URL)
+class NotFoundCacheNodesIntegrationTest {
+
+    static final String DATABASE_URL = "jdbc:h2:mem:notfoundnodes;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    private ConfigurableApplicationContext otherNode;
+    private MockMvc otherNodeMvc;
+    private UserModel author;
+
+    @BeforeAll
+    void startOtherNode() {
+        otherNode = new SpringApplicationBuilder(NewsPortalApplication.class)
+                .run("--server.port=0", "--spring.datasource.url=" + DATABASE_URL);
+        otherNodeMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) otherNode).build();
+        NotFoundCache otherNodeCache = otherNode.getBean(NotFoundCache.class);
+        invalidationBus.subscribe(message -> otherNodeCache.apply(InvalidationMessage.decode(message.encode())));
+        author = userService.create(UserModel.builder()
+                .nickname("nodesauthor")
+                .email("nodesauthor@example.com")
+                .role("USER")
+                .build());
+    }
+
+    @AfterAll
+    void stopOtherNode() {
+        otherNode.close();
+    }
+
+    @Test
+    void getNewsById_afterNewsCreatedOnOtherNode_shouldFindNews() throws Exception {
+        // Given the id the next article will get, remembered as missing on the other node
+        long id = nextId("news");
+        otherNodeMvc.perform(get("/api/v1/news/" + id)).andExpect(status().isNotFound());
+
+        // When
+        NewsModel news = newsService.create(NewsModel.builder()
+                .title("Broadcast")
+                .text("Created on the first node")
+                .author(UserModel.builder().id(author.getId()).build())
+                .build());
+
+        // Then
+        otherNodeMvc.perform(get("/api/v1/news/" + news.getId())).andExpect(status().isOk());
+    }
+
+    @Test
+    void getCommentById_afterCommentCreatedOnOtherNode_shouldFindComment() throws Exception {
+        // Given
+        NewsModel news = newsService.create(NewsModel.builder()
+                .title("Commented")
+                .text("Commented on the first node")
+                .author(UserModel.builder().id(author.getId()).build())
+                .build());
+        long id = nextId("comments");
+        otherNodeMvc.perform(get("/api/v1/comments/" + id)).andExpect(status().isNotFound());
+
+        // When
+        CommentModel comment = commentService.create(CommentModel.builder()
+                .text("Broadcast")
+                .authorNickname("reader")
+                .newsId(news.getId())
+                .build());
+
+        // Then
+        otherNodeMvc.perform(get("/api/v1/comments/" + comment.getId())).andExpect(status().isOk());
+    }
+
+    private long nextId(String table) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,145 @@
+package com.dev.news.newsportal.outbox;
+
+import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.repository.OutboxEventRepository;
+import com.dev.news.newsportal.service.CommentService;
+import com.dev.news.newsportal.service.NewsService;
+import com.dev.news.newsportal.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the outbox against its own in-memory database so relays of other cached test contexts cannot drain it.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:outboxdb")
+@Import(OutboxIntegrationTest.ListenerConfiguration.class)
+class OutboxIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BlockingQueue<OutboxMessage> received;
+
+    @BeforeEach
+    void setUp() {
+        received.clear();
+    }
+
+    @Test
+    void committedChanges_shouldBeRelayedInOrderAndPurged() throws Exception {
+        // Given
+        UserModel author = userService.create(UserModel.builder()
+                .nickname("outboxauthor")
+                .email("outboxauthor@example.com")
+                .role("USER")
+                .build());
+
+        // When
+        NewsModel news = newsService.create(NewsModel.builder()
+                .title("Outbox")
+                .text("Relayed article")
+                .author(UserModel.builder().id(author.getId()).build())
+                .build());
+        commentService.create(CommentModel.builder()
+                .text("Relayed comment")
+                .authorNickname("reader")
+                .newsId(news.getId())
+                .build());
+
+        // Then
+        OutboxMessage userCreated = next();
+        OutboxMessage newsCreated = next();
+        OutboxMessage commentCreated = next();
+        assertThat(userCreated.eventType()).isEqualTo("UserCreated");
+        assertThat(userCreated.aggregateId()).isEqualTo(author.getId());
+        assertThat(newsCreated.eventType()).isEqualTo("NewsCreated");
+        assertThat(newsCreated.aggregateType()).isEqualTo("News");
+        assertThat(commentCreated.eventType()).isEqualTo("CommentCreated");
+        assertThat(commentCreated.aggregateType()).isEqualTo("News");
+        assertThat(commentCreated.aggregateId()).isEqualTo(news.getId());
+        assertThat(commentCreated.id()).isGreaterThan(newsCreated.id());
+        JsonNode payload = objectMapper.readTree(newsCreated.payload());
+        assertThat(payload.at("/news/title").asText()).isEqualTo("Outbox");
+        awaitEmptyOutbox();
+    }
+
+    @Test
+    void rolledBackChange_shouldLeaveNoEvent() throws Exception {
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.create(UserModel.builder()
+                    .nickname("rolledback")
+                    .email("rolledback@example.com")
+                    .role("USER")
+                    .build());
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(received.poll(500, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    private OutboxMessage next() throws InterruptedException {
+        OutboxMessage message = received.poll(5, TimeUnit.SECONDS);
+        assertThat(message).as("relayed event").isNotNull();
+        return message;
+    }
+
+    private void awaitEmptyOutbox() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (outboxEventRepository.count() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @TestConfiguration
+    static class ListenerConfiguration {
+
+        private final BlockingQueue<OutboxMessage> received = new LinkedBlockingQueue<>();
+
+        @Bean
+        BlockingQueue<OutboxMessage> receivedOutboxMessages() {
+            return received;
+        }
+
+        @EventListener
+        void onOutboxMessage(OutboxMessage message) {
+            received.add(message);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.dev.news.newsportal.outbox;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.dev.news.newsportal.entity.OutboxEvent;
+import com.dev.news.newsportal.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private NewsPortalProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RecordingSink sink;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        properties = new NewsPortalProperties();
+        properties.getOutbox().setBatchSize(10);
+        properties.getOutbox().setMaxAttempts(3);
+        meterRegistry = new SimpleMeterRegistry();
+        sink = new RecordingSink();
+        relay = new OutboxRelay(outboxEventRepository, List.of(sink), properties, meterRegistry);
+    }
+
+    @Test
+    void relayBatch_shouldDeliverInIdOrderAndDeleteDeliveredEvents() {
+        // Given
+        when(outboxEventRepository.findAllByOrderByIdAsc(Limit.of(10)))
+                .thenReturn(List.of(event(1L, "News", 1L, 0), event(2L, "User", 5L, 0), event(3L, "News", 1L, 0)));
+
+        // When
+        OutboxRelay.Round round = relay.relayBatch();
+
+        // Then
+        assertThat(round).isEqualTo(new OutboxRelay.Round(3, 3, 0));
+        assertThat(sink.received).containsExactly(1L, 2L, 3L);
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+        verify(outboxEventRepository, never()).incrementAttempts(anyCollection());
+        assertThat(meterRegistry.get("newsportal.outbox.delivered").tag("sink", "recording").counter().count())
+                .isEqualTo(3.0);
+        assertThat(meterRegistry.get("newsportal.outbox.delivery.lag").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void relayBatch_withFailingEvent_shouldHoldBackLaterEventsOfSameAggregateOnly() {
+        // Given
+        sink.failing.add(1L);
+        when(outboxEventRepository.findAllByOrderByIdAsc(Limit.of(10)))
+                .thenReturn(List.of(event(1L, "News", 1L, 0), event(2L, "News", 2L, 0), event(3L, "News", 1L, 0)));
+
+        // When
+        OutboxRelay.Round round = relay.relayBatch();
+
+        // Then
+        assertThat(round).isEqualTo(new OutboxRelay.Round(3, 1, 1));
+        assertThat(sink.received).containsExactly(1L, 2L);
+        verify(outboxEventRepository).incrementAttempts(List.of(1L));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(2L));
+        assertThat(meterRegistry.get("newsportal.outbox.failures").tag("sink", "recording").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void relayBatch_withEventOutOfAttempts_shouldDiscardItAndContinueWithItsAggregate() {
+        // Given
+        sink.failing.add(1L);
+        when(outboxEventRepository.findAllByOrderByIdAsc(Limit.of(10)))
+                .thenReturn(List.of(event(1L, "News", 1L, 2), event(2L, "News", 1L, 0)));
+
+        // When
+        OutboxRelay.Round round = relay.relayBatch();
+
+        // Then
+        assertThat(round).isEqualTo(new OutboxRelay.Round(2, 2, 0));
+        assertThat(sink.received).containsExactly(1L, 2L);
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        assertThat(meterRegistry.get("newsportal.outbox.discarded").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void relayBatch_withEmptyOutbox_shouldNotTouchTheTable() {
+        // Given
+        when(outboxEventRepository.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(List.of());
+
+        // When
+        OutboxRelay.Round round = relay.relayBatch();
+
+        // Then
+        assertThat(round).isEqualTo(new OutboxRelay.Round(0, 0, 0));
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(anyCollection());
+        verify(outboxEventRepository, never()).incrementAttempts(anyCollection());
+    }
+
+    private static OutboxEvent event(long id, String aggregateType, long aggregateId, int attempts) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .eventType(aggregateType + "Updated")
+                .payload("{}")
+                .createdAt(LocalDateTime.now().minusSeconds(1))
+                .attempts(attempts)
+                .build();
+    }
+
+    private static final class RecordingSink implements OutboxEventSink {
+
+        private final List<Long> received = new ArrayList<>();
+        private final Set<Long> failing = new HashSet<>();
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public void deliver(OutboxMessage message) {
+            received.add(message.id());
+            if (failing.contains(message.id())) {
+                throw new IllegalStateException("Sink unavailable");
+            }
+        }
+    }
+}
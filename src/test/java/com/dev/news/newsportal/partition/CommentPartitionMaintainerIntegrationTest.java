@@ -0,0 +1,127 @@
+package com.dev.news.newsportal.partition;
+
+import com.dev.news.newsportal.entity.Comment;
+import com.dev.news.newsportal.repository.CommentRepository;
+import com.dev.news.newsportal.repository.NewsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies the creation, filling and retention of the monthly comment partitions on PostgreSQL.
+ * <p>
+ * Runs against the server of the {@code pgsql} profile in a schema of its own, so that dropping expired partitions
+ * never touches the development data. Enabled with {@code -Dnewsportal.pgsql-tests=true}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:postgresql://localhost:5432/newsdb?currentSchema=partition_test,public",
+        "spring.flyway.default-schema=partition_test",
+        "news-portal.comment-partitions.retention-months=12",
+        "news-portal.comment-partitions.check-interval=1h",
+        "news-portal.user-purge.enabled=false"
+})
+@ActiveProfiles("pgsql")
+@EnabledIfSystemProperty(named = "newsportal.pgsql-tests", matches = "true")
+class CommentPartitionMaintainerIntegrationTest {
+
+    @Autowired
+    private CommentPartitionMaintainer maintainer;
+
+    @Autowired
+    private CommentPartitionStore store;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private NewsRepository newsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void maintain_shouldCreateUpcomingPartitions() {
+        // When
+        maintainer.maintain();
+
+        // Then
+        YearMonth current = YearMonth.now();
+        assertThat(store.months()).contains(current, current.plusMonths(1), current.plusMonths(2),
+                current.plusMonths(3));
+    }
+
+    @Test
+    void maintain_withCommentsInDefaultPartition_shouldMoveThemIntoTheirMonth() {
+        // Given comments imported with dates no partition covers yet
+        YearMonth imported = YearMonth.now().minusMonths(6);
+        long newsId = insertNews(imported);
+        long commentId = insertComment(newsId, null, imported);
+
+        // When
+        maintainer.maintain();
+
+        // Then
+        assertThat(store.months()).contains(imported);
+        assertThat(count("SELECT COUNT(*) FROM comments_default")).isZero();
+        assertThat(count("SELECT COUNT(*) FROM " + CommentPartitionStore.name(imported) + " WHERE id = ?",
+                commentId)).isEqualTo(1);
+        assertThat(commentRepository.findById(commentId)).isPresent();
+    }
+
+    @Test
+    void maintain_withExpiredMonth_shouldDropItWithRepliesFromLaterMonths() {
+        // Given a thread that started before the retention window and continued within it
+        YearMonth expired = YearMonth.now().minusMonths(14);
+        YearMonth kept = YearMonth.now().minusMonths(2);
+        long newsId = insertNews(expired);
+        long root = insertComment(newsId, null, expired);
+        long reply = insertComment(newsId, root, kept);
+        long nestedReply = insertComment(newsId, reply, kept.plusMonths(1));
+        long otherThread = insertComment(newsId, null, kept);
+
+        // When
+        maintainer.maintain();
+
+        // Then
+        assertThat(store.months()).doesNotContain(expired).contains(kept);
+        assertThat(count("SELECT COUNT(*) FROM comments WHERE id IN (?, ?, ?)", root, reply, nestedReply)).isZero();
+        List<Comment> remaining = transactionTemplate.execute(status ->
+                commentRepository.findByNewsOrderByCreationDateDesc(newsRepository.findById(newsId).orElseThrow()));
+        assertThat(remaining).extracting(Comment::getId).containsExactly(otherThread);
+    }
+
+    private long insertNews(YearMonth month) {
+        long authorId = jdbcTemplate.queryForObject("INSERT INTO users (nickname, email, role) VALUES (?, ?, 'USER') "
+                + "RETURNING id", Long.class, "p" + UUID.randomUUID(), UUID.randomUUID() + "@example.com");
+        return jdbcTemplate.queryForObject("INSERT INTO news (title, text, creation_date, author_id) "
+                + "VALUES ('Partitioned', 'Text', ?, ?) RETURNING id", Long.class, timestamp(month), authorId);
+    }
+
+    private long insertComment(long newsId, Long parentId, YearMonth month) {
+        return jdbcTemplate.queryForObject("INSERT INTO comments (text, creation_date, author_nickname, news_id, "
+                        + "parent_comment_id) VALUES ('Comment', ?, 'reader', ?, ?) RETURNING id", Long.class,
+                timestamp(month), newsId, parentId);
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+
+    private static Timestamp timestamp(YearMonth month) {
+        return Timestamp.valueOf(month.atDay(10).atTime(12, 0));
+    }
+}
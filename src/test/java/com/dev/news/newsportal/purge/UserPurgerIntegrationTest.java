@@ -0,0 +1,225 @@
+package com.dev.news.newsportal.purge;
+
+import com.dev.news.newsportal.entity.UserPurgeJob;
+import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.repository.UserPurgeJobRepository;
+import com.dev.news.newsportal.repository.UserRepository;
+import com.dev.news.newsportal.service.CommentService;
+import com.dev.news.newsportal.service.NewsService;
+import com.dev.news.newsportal.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that deleting a user hides their content at once and that the purge job removes it chunk by chunk.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:purgedb",
+        "news-portal.user-purge.chunk-size=2",
+        "news-portal.user-purge.poll-interval=1h"
+})
+@AutoConfigureMockMvc
+class UserPurgerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserPurger userPurger;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserPurgeJobRepository jobRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void deleteUser_shouldHideContentAndPurgeItInChunks() throws Exception {
+        // Given
+        UserModel author = createUser("purgeauthor");
+        UserModel other = createUser("otherauthor");
+        NewsModel first = createNews(author, "First");
+        createNews(author, "Second");
+        createNews(author, "Third");
+        NewsModel kept = createNews(other, "Kept");
+        for (int i = 0; i < 2; i++) {
+            CommentModel comment = commentService.create(comment(first.getId(), null));
+            commentService.create(comment(first.getId(), comment.getId()));
+        }
+        commentService.create(comment(kept.getId(), null));
+
+        // When
+        String location = mockMvc.perform(delete("/api/v1/users/" + author.getId()))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn().getResponse().getHeader("Location");
+
+        // Then
+        mockMvc.perform(get("/api/v1/users/" + author.getId()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/news/" + first.getId()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/v1/comments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"Late\",\"authorNickname\":\"reader\",\"newsId\":" + first.getId() + "}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/news/" + kept.getId()))
+                .andExpect(status().isOk());
+
+        JsonNode job = awaitCompletion(location);
+        assertThat(job.get("userId").asLong()).isEqualTo(author.getId());
+        assertThat(job.get("newsDeleted").asLong()).isEqualTo(3);
+        assertThat(job.get("commentsDeleted").asLong()).isBetween(2L, 4L);
+        assertThat(job.get("finishedAt").isNull()).isFalse();
+        assertThat(count("SELECT COUNT(*) FROM users WHERE id = ?", author.getId())).isZero();
+        assertThat(count("SELECT COUNT(*) FROM news WHERE author_id = ?", author.getId())).isZero();
+        assertThat(count("SELECT COUNT(*) FROM comments WHERE news_id = ?", first.getId())).isZero();
+        assertThat(count("SELECT COUNT(*) FROM comments WHERE news_id = ?", kept.getId())).isEqualTo(1);
+        assertThat(meterRegistry.get("newsportal.users.purge.deleted").tag("type", "news").counter().count())
+                .isGreaterThanOrEqualTo(3.0);
+    }
+
+    @Test
+    void purgeAll_withJobInterruptedByRestart_shouldResumeFromRecordedProgress() {
+        // Given a user marked as deleted whose job already removed one article before the node stopped
+        UserModel author = createUser("resumeauthor");
+        createNews(author, "Left over");
+        createNews(author, "Also left over");
+        Long jobId = transactionTemplate.execute(status -> {
+            userRepository.markDeleted(author.getId());
+            return jobRepository.save(UserPurgeJob.builder()
+                    .userId(author.getId())
+                    .status(UserPurgeJob.Status.RUNNING)
+                    .newsDeleted(1)
+                    .build()).getId();
+        });
+
+        // When
+        userPurger.purgeAll();
+
+        // Then
+        UserPurgeJob job = jobRepository.findById(jobId).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(UserPurgeJob.Status.COMPLETED);
+        assertThat(job.getNewsDeleted()).isEqualTo(3);
+        assertThat(count("SELECT COUNT(*) FROM users WHERE id = ?", author.getId())).isZero();
+    }
+
+    @Test
+    void getComment_onNewsOfUserPendingPurge_shouldBeNotFound() throws Exception {
+        // Given a deleted user whose purge has not run yet, and a comment by someone else on their article
+        UserModel author = createUser("hiddenauthor");
+        NewsModel hidden = createNews(author, "Hidden");
+        CommentModel comment = commentService.create(comment(hidden.getId(), null));
+        commentService.create(comment(hidden.getId(), comment.getId()));
+        NewsModel kept = createNews(createUser("visibleauthor"), "Visible");
+        CommentModel visible = commentService.create(comment(kept.getId(), null));
+        transactionTemplate.executeWithoutResult(status -> userRepository.markDeleted(author.getId()));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/comments/" + comment.getId()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/comments/" + comment.getId() + "/replies"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/comments/news/" + hidden.getId()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/comments/" + visible.getId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void createUser_withNicknameOfUserPendingPurge_shouldBeRejected() throws Exception {
+        // Given a deleted user whose purge has not run yet
+        UserModel author = createUser("pendingauthor");
+        transactionTemplate.executeWithoutResult(status -> userRepository.markDeleted(author.getId()));
+
+        // When/Then
+        mockMvc.perform(post("/api/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nickname\":\"pendingauthor\",\"email\":\"fresh@example.com\",\"role\":\"USER\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    private JsonNode awaitCompletion(String location) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            JsonNode job = objectMapper.readTree(mockMvc.perform(get(location))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            if ("COMPLETED".equals(job.get("status").asText()) || System.nanoTime() > deadline) {
+                assertThat(job.get("status").asText()).isEqualTo("COMPLETED");
+                return job;
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private long count(String sql, Long id) {
+        return jdbcTemplate.queryForObject(sql, Long.class, id);
+    }
+
+    private UserModel createUser(String nickname) {
+        return userService.create(UserModel.builder()
+                .nickname(nickname)
+                .email(nickname + "@example.com")
+                .role("USER")
+                .build());
+    }
+
+    private NewsModel createNews(UserModel author, String title) {
+        return newsService.create(NewsModel.builder()
+                .title(title)
+                .text("Article by " + author.getNickname())
+                .author(UserModel.builder().id(author.getId()).build())
+                .build());
+    }
+
+    private static CommentModel comment(Long newsId, Long parentCommentId) {
+        return CommentModel.builder()
+                .text("Comment")
+                .authorNickname("reader")
+                .newsId(newsId)
+                .parentCommentId(parentCommentId)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.dev.news.newsportal.ratelimit;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedBodyRequestTest {
+
+    private static final byte[] BODY = "{\"authorNickname\":\"reader\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void getInputStream_shouldReplayTheBody() throws IOException {
+        // Given
+        CachedBodyRequest request = new CachedBodyRequest(request(), BODY.length);
+
+        // When
+        byte[] read = request.getInputStream().readAllBytes();
+
+        // Then
+        assertThat(request.getBody()).isEqualTo(BODY);
+        assertThat(read).isEqualTo(BODY);
+    }
+
+    @Test
+    void setReadListener_shouldHandOverTheWholeBody() throws IOException {
+        // Given
+        CachedBodyRequest request = new CachedBodyRequest(request(), BODY.length);
+        ServletInputStream input = request.getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        boolean[] allRead = {false};
+
+        // When
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[8];
+                while (input.isReady() && !input.isFinished()) {
+                    int count = input.read(buffer);
+                    read.write(buffer, 0, count);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allRead[0] = true;
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throw new AssertionError(throwable);
+            }
+        });
+
+        // Then
+        assertThat(read.toByteArray()).isEqualTo(BODY);
+        assertThat(allRead[0]).isTrue();
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/comments");
+        request.setContent(BODY);
+        return request;
+    }
+}
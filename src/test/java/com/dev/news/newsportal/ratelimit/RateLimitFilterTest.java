@@ -0,0 +1,134 @@
+package com.dev.news.newsportal.ratelimit;
+
+import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.service.NewsService;
+import com.dev.news.newsportal.service.UserService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exercises the rate limits of the real endpoints, matched by their OpenAPI operation ids.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ratelimitdb",
+        "news-portal.rate-limit.operations.createComment.limit=2",
+        "news-portal.rate-limit.operations.createComment.key=author-nickname",
+        "news-portal.rate-limit.operations.createUser.limit=1",
+        "news-portal.rate-limit.operations.createUser.key=api-key",
+        "news-portal.rate-limit.api-keys=client-a,client-b"
+})
+@AutoConfigureMockMvc
+class RateLimitFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NewsService newsService;
+
+    private NewsModel news;
+
+    @BeforeAll
+    void setUpNews() {
+        UserModel author = userService.create(UserModel.builder()
+                .nickname("limitauthor")
+                .email("limitauthor@example.com")
+                .role("USER")
+                .build());
+        news = newsService.create(NewsModel.builder()
+                .title("Limited")
+                .text("Article with rate limited comments")
+                .author(UserModel.builder().id(author.getId()).build())
+                .build());
+    }
+
+    @Test
+    void createComment_beyondLimit_shouldBeRejectedPerAuthorNickname() throws Exception {
+        // When/Then
+        createComment("chatty", "10.0.0.1")
+                .andExpect(status().isCreated())
+                .andExpect(header().string(RateLimitFilter.LIMIT_HEADER, "2"))
+                .andExpect(header().string(RateLimitFilter.REMAINING_HEADER, "1"));
+        createComment("chatty", "10.0.0.2")
+                .andExpect(status().isCreated())
+                .andExpect(header().string(RateLimitFilter.REMAINING_HEADER, "0"))
+                .andExpect(header().string(RateLimitFilter.RESET_HEADER, "60"));
+        createComment("chatty", "10.0.0.3")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "30"))
+                .andExpect(header().string(RateLimitFilter.REMAINING_HEADER, "0"))
+                .andExpect(jsonPath("$.status", is(429)))
+                .andExpect(jsonPath("$.path", is("/api/v1/comments")));
+        createComment("quiet", "10.0.0.4")
+                .andExpect(status().isCreated())
+                .andExpect(header().string(RateLimitFilter.REMAINING_HEADER, "1"));
+    }
+
+    @Test
+    void createComment_withNewNicknamePerRequest_shouldBeRejectedPerAddress() throws Exception {
+        // When/Then
+        createComment("rotating1", "10.0.1.1").andExpect(status().isCreated());
+        createComment("rotating2", "10.0.1.1").andExpect(status().isCreated());
+        createComment("rotating3", "10.0.1.1")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(RateLimitFilter.REMAINING_HEADER, "0"));
+    }
+
+    @Test
+    void createUser_beyondLimit_shouldBeRejectedPerApiKey() throws Exception {
+        // When/Then
+        createUser("first", "client-a").andExpect(status().isCreated());
+        createUser("second", "client-a").andExpect(status().isTooManyRequests());
+        createUser("third", "client-b").andExpect(status().isCreated());
+    }
+
+    @Test
+    void createUser_withUnknownApiKeys_shouldBeRejectedPerAddress() throws Exception {
+        // When/Then
+        createUser("fourth", "made-up-1").andExpect(status().isCreated());
+        createUser("fifth", "made-up-2").andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void unlimitedOperation_shouldNotCarryRateLimitHeaders() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/v1/news/" + news.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(RateLimitFilter.LIMIT_HEADER));
+    }
+
+    private ResultActions createComment(String nickname, String address) throws Exception {
+        return mockMvc.perform(post("/api/v1/comments")
+                .with(request -> {
+                    request.setRemoteAddr(address);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"text\":\"Hello\",\"authorNickname\":\"" + nickname + "\",\"newsId\":" + news.getId() + "}"));
+    }
+
+    private ResultActions createUser(String nickname, String apiKey) throws Exception {
+        return mockMvc.perform(post("/api/v1/users")
+                .header("X-API-Key", apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nickname\":\"" + nickname + "\",\"email\":\"" + nickname + "@example.com\",\"role\":\"USER\"}"));
+    }
+}
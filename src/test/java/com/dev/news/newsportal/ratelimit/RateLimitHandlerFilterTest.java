@@ -0,0 +1,129 @@
+package com.dev.news.newsportal.ratelimit;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitHandlerFilterTest {
+
+    private NewsPortalProperties.RateLimit settings;
+    private NewsPortalProperties.RateLimit.Operation limit;
+
+    @BeforeEach
+    void setUp() {
+        settings = new NewsPortalProperties.RateLimit();
+        limit = new NewsPortalProperties.RateLimit.Operation();
+        limit.setLimit(2);
+        limit.setPeriod(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void filter_beyondLimit_shouldBeRejectedPerRemoteAddress() {
+        // Given
+        RateLimitHandlerFilter filter = new RateLimitHandlerFilter(settings, limit);
+
+        // When
+        ServerResponse first = handle(filter, request("10.0.0.1", null));
+        handle(filter, request("10.0.0.1", null));
+        ServerResponse rejected = handle(filter, request("10.0.0.1", null));
+        ServerResponse other = handle(filter, request("10.0.0.2", null));
+
+        // Then
+        assertThat(first.statusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(rejected.statusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected.headers().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+        assertThat(rejected.headers().getFirst(RateLimitFilter.REMAINING_HEADER)).isEqualTo("0");
+        assertThat(other.statusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void filter_withApiKey_shouldLimitPerKey() {
+        // Given
+        limit.setKey(NewsPortalProperties.RateLimit.KeySource.API_KEY);
+        settings.setApiKeys(Set.of("client-a", "client-b"));
+        RateLimitHandlerFilter filter = new RateLimitHandlerFilter(settings, limit);
+        handle(filter, request("10.0.0.1", "client-a"));
+        handle(filter, request("10.0.0.1", "client-a"));
+
+        // When
+        ServerResponse rejected = handle(filter, request("10.0.0.1", "client-a"));
+        ServerResponse other = handle(filter, request("10.0.0.1", "client-b"));
+
+        // Then
+        assertThat(rejected.statusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(other.statusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void filter_withUnknownApiKeys_shouldLimitPerRemoteAddress() {
+        // Given
+        limit.setKey(NewsPortalProperties.RateLimit.KeySource.API_KEY);
+        settings.setApiKeys(Set.of("client-a"));
+        RateLimitHandlerFilter filter = new RateLimitHandlerFilter(settings, limit);
+        handle(filter, request("10.0.0.1", "made-up-1"));
+        handle(filter, request("10.0.0.1", "made-up-2"));
+
+        // When
+        ServerResponse rejected = handle(filter, request("10.0.0.1", "made-up-3"));
+
+        // Then
+        assertThat(rejected.statusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void filter_shouldSetRateLimitHeadersOfAllowedRequests() {
+        // Given
+        RateLimitHandlerFilter filter = new RateLimitHandlerFilter(settings, limit);
+        ServerRequest request = request("10.0.0.1", null);
+
+        // When
+        handle(filter, request);
+
+        // Then
+        HttpHeaders headers = request.exchange().getResponse().getHeaders();
+        assertThat(headers.getFirst(RateLimitFilter.LIMIT_HEADER)).isEqualTo("2");
+        assertThat(headers.getFirst(RateLimitFilter.REMAINING_HEADER)).isEqualTo("1");
+    }
+
+    @Test
+    void filter_whenRateLimitingDisabled_shouldAllowEveryRequest() {
+        // Given
+        settings.setEnabled(false);
+        limit.setLimit(1);
+        RateLimitHandlerFilter filter = new RateLimitHandlerFilter(settings, limit);
+        handle(filter, request("10.0.0.1", null));
+
+        // When
+        ServerResponse second = handle(filter, request("10.0.0.1", null));
+
+        // Then
+        assertThat(second.statusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private ServerRequest request(String address, String apiKey) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/v1/news")
+                .remoteAddress(new InetSocketAddress(address, 40000));
+        if (apiKey != null) {
+            request.header(settings.getApiKeyHeader(), apiKey);
+        }
+        return ServerRequest.create(MockServerWebExchange.from(request),
+                HandlerStrategies.withDefaults().messageReaders());
+    }
+
+    private static ServerResponse handle(RateLimitHandlerFilter filter, ServerRequest request) {
+        return filter.filter(request, ignored -> ServerResponse.ok().build()).block();
+    }
+}
@@ -0,0 +1,70 @@
+package com.dev.news.newsportal.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long PERIOD = TimeUnit.SECONDS.toNanos(60);
+
+    @Test
+    void tryConsume_shouldAllowBurstUpToCapacityThenReject() {
+        // Given
+        TokenBucket bucket = new TokenBucket(3, PERIOD, 0);
+
+        // When
+        TokenBucket.Probe first = bucket.tryConsume(0);
+        bucket.tryConsume(0);
+        TokenBucket.Probe third = bucket.tryConsume(0);
+        TokenBucket.Probe rejected = bucket.tryConsume(0);
+
+        // Then
+        assertThat(first.allowed()).isTrue();
+        assertThat(first.remaining()).isEqualTo(2);
+        assertThat(third.allowed()).isTrue();
+        assertThat(third.remaining()).isZero();
+        assertThat(third.resetNanos()).isEqualTo(PERIOD);
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.remaining()).isZero();
+        assertThat(rejected.retryAfterNanos()).isEqualTo(TimeUnit.SECONDS.toNanos(20));
+    }
+
+    @Test
+    void tryConsume_shouldRefillOneTokenPerInterval() {
+        // Given
+        TokenBucket bucket = new TokenBucket(3, PERIOD, 0);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryConsume(0);
+        }
+
+        // When
+        TokenBucket.Probe tooEarly = bucket.tryConsume(TimeUnit.SECONDS.toNanos(19));
+        TokenBucket.Probe refilled = bucket.tryConsume(TimeUnit.SECONDS.toNanos(20));
+
+        // Then
+        assertThat(tooEarly.allowed()).isFalse();
+        assertThat(tooEarly.retryAfterNanos()).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(refilled.allowed()).isTrue();
+        assertThat(refilled.remaining()).isZero();
+    }
+
+    @Test
+    void tryConsume_afterIdlePeriod_shouldNotAccumulateMoreThanCapacity() {
+        // Given
+        TokenBucket bucket = new TokenBucket(2, PERIOD, 0);
+
+        // When
+        long later = TimeUnit.MINUTES.toNanos(10);
+        TokenBucket.Probe first = bucket.tryConsume(later);
+        TokenBucket.Probe second = bucket.tryConsume(later);
+        TokenBucket.Probe third = bucket.tryConsume(later);
+
+        // Then
+        assertThat(first.remaining()).isEqualTo(1);
+        assertThat(second.allowed()).isTrue();
+        assertThat(third.allowed()).isFalse();
+    }
+}
@@ -0,0 +1,251 @@
+package com.dev.news.newsportal.reactive;
+
+import com.dev.news.newsportal.api.model.comments.CommentListItem;
+import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.repository.UserRepository;
+import com.dev.news.newsportal.service.CommentService;
+import com.dev.news.newsportal.service.NewsService;
+import com.dev.news.newsportal.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Verifies that the reactive read endpoints answer like their servlet counterparts.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactivedb",
+        "news-portal.reactive.enabled=true",
+        "news-portal.reactive.port=0",
+        "news-portal.reactive.fetch-size=2"
+})
+@AutoConfigureMockMvc
+class ReactiveReadEndpointsTest {
+
+    @Autowired
+    private ReactiveServer server;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private WebTestClient client;
+    private NewsModel busy;
+    private CommentModel first;
+    private CommentModel reply;
+    private CommentModel later;
+    private NewsModel hidden;
+
+    @BeforeAll
+    void setUp() {
+        client = WebTestClient.bindToServer().baseUrl("http://localhost:" + server.getPort()).build();
+        UserModel author = createUser("reactiveauthor");
+        busy = createNews(author, "Busy");
+        first = commentService.create(comment(busy.getId(), null, "First"));
+        reply = commentService.create(comment(busy.getId(), first.getId(), "Reply"));
+        later = commentService.create(comment(busy.getId(), null, "Later"));
+        createNews(author, "Quiet");
+        UserModel deleted = createUser("reactivedeleted");
+        hidden = createNews(deleted, "Hidden");
+        transactionTemplate.executeWithoutResult(status -> userRepository.markDeleted(deleted.getId()));
+    }
+
+    @Test
+    void getAllNews_shouldAnswerLikeTheServletEndpoint() throws Exception {
+        // Given
+        String servlet = mockMvc.perform(get("/api/v1/news").param("size", "1"))
+                .andReturn().getResponse().getContentAsString();
+
+        // When
+        byte[] reactive = client.get().uri("/api/v1/news?size=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody();
+
+        // Then the article of the deleted user is hidden from both, and the rest is the same
+        assertThat(objectMapper.readTree(reactive)).isEqualTo(objectMapper.readTree(servlet));
+        assertThat(objectMapper.readTree(reactive).at("/totalElements").asLong()).isEqualTo(2);
+        assertThat(objectMapper.readTree(reactive).at("/content/0/title").asText()).isEqualTo("Quiet");
+    }
+
+    @Test
+    void getAllNews_withSort_shouldCountComments() {
+        client.get().uri("/api/v1/news?sort=title,asc")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[*].title").isEqualTo(List.of("Busy", "Quiet"))
+                .jsonPath("$.content[0].commentCount").isEqualTo(3)
+                .jsonPath("$.content[1].commentCount").isEqualTo(0);
+    }
+
+    @Test
+    void getAllNews_withUnknownSortProperty_shouldAnswerBadRequest() {
+        client.get().uri("/api/v1/news?sort=text,asc")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.path").isEqualTo("/api/v1/news");
+    }
+
+    @Test
+    void getNewsById_shouldAnswerLikeTheServletEndpoint() throws Exception {
+        // Given
+        String servlet = mockMvc.perform(get("/api/v1/news/" + busy.getId()))
+                .andReturn().getResponse().getContentAsString();
+
+        // When
+        byte[] reactive = client.get().uri("/api/v1/news/{id}", busy.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody();
+
+        // Then
+        assertThat(objectMapper.readTree(reactive)).isEqualTo(objectMapper.readTree(servlet));
+    }
+
+    @Test
+    void getNewsById_shouldBeRateLimited() {
+        client.get().uri("/api/v1/news/{id}", busy.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("RateLimit-Limit", "60");
+    }
+
+    @Test
+    void getNewsById_withUnknownId_shouldAnswerNotFound() {
+        client.get().uri("/api/v1/news/{id}", Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.path").isEqualTo("/api/v1/news/" + Long.MAX_VALUE);
+    }
+
+    @Test
+    void getCommentsByNews_shouldAnswerLikeTheServletEndpoint() throws Exception {
+        // Given
+        String servlet = mockMvc.perform(get("/api/v1/comments/news/" + busy.getId()))
+                .andReturn().getResponse().getContentAsString();
+
+        // When
+        byte[] reactive = client.get().uri("/api/v1/comments/news/{id}", busy.getId())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody();
+
+        // Then
+        assertThat(objectMapper.readTree(reactive)).isEqualTo(objectMapper.readTree(servlet));
+    }
+
+    @Test
+    void getCommentsByNews_withNdjson_shouldStreamNewestFirst() {
+        // When
+        List<CommentListItem> comments = client.get().uri("/api/v1/comments/news/{id}", busy.getId())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(CommentListItem.class)
+                .returnResult().getResponseBody();
+
+        // Then
+        assertThat(comments).extracting(CommentListItem::getId)
+                .containsExactly(later.getId(), reply.getId(), first.getId());
+        assertThat(comments).extracting(CommentListItem::getHasReplies).containsExactly(false, false, true);
+    }
+
+    @Test
+    void getCommentsByNews_withCbor_shouldAnswerTheWholeList() throws Exception {
+        // When
+        byte[] body = client.get().uri("/api/v1/comments/news/{id}", busy.getId())
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody().returnResult().getResponseBody();
+
+        // Then
+        assertThat(new ObjectMapper(new CBORFactory()).readTree(body).findValuesAsText("text"))
+                .containsExactly("Later", "Reply", "First");
+    }
+
+    @Test
+    void getCommentsByNews_withNewsOfDeletedUser_shouldAnswerNotFound() {
+        client.get().uri("/api/v1/comments/news/{id}", hidden.getId())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.path").isEqualTo("/api/v1/comments/news/" + hidden.getId());
+    }
+
+    @Test
+    void toR2dbcUrl_shouldKeepTheDatabaseAndSchema() {
+        assertThat(ReactiveDatabase.toR2dbcUrl("jdbc:h2:mem:newsdb;DB_CLOSE_DELAY=-1"))
+                .isEqualTo("r2dbc:h2:mem:///newsdb");
+        assertThat(ReactiveDatabase.toR2dbcUrl(
+                "jdbc:postgresql://localhost:5432/newsdb?reWriteBatchedInserts=true&currentSchema=bench"))
+                .isEqualTo("r2dbc:postgresql://localhost:5432/newsdb?schema=bench");
+        assertThat(ReactiveDatabase.toR2dbcUrl("jdbc:postgresql://db:5432/newsdb"))
+                .isEqualTo("r2dbc:postgresql://db:5432/newsdb");
+    }
+
+    private UserModel createUser(String nickname) {
+        return userService.create(UserModel.builder()
+                .nickname(nickname)
+                .email(nickname + "@example.com")
+                .role("USER")
+                .build());
+    }
+
+    private NewsModel createNews(UserModel author, String title) {
+        return newsService.create(NewsModel.builder()
+                .title(title)
+                .text("Article by " + author.getNickname())
+                .author(UserModel.builder().id(author.getId()).build())
+                .build());
+    }
+
+    private static CommentModel comment(Long newsId, Long parentCommentId, String text) {
+        return CommentModel.builder()
+                .text(text)
+                .authorNickname("reader")
+                .newsId(newsId)
+                .parentCommentId(parentCommentId)
+                .build();
+    }
+}
@@ -3,18 +3,24 @@ package com.dev.news.newsportal.repository;
 import com.dev.news.newsportal.entity.Comment;
 import com.dev.news.newsportal.entity.News;
 import com.dev.news.newsportal.entity.User;
+import com.dev.news.newsportal.model.FieldSelection;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@Import(StatementRecorder.Configuration.class)
 public class CommentRepositoryTest {
 
     @Autowired
@@ -277,6 +283,27 @@ public class CommentRepositoryTest {
         assertThat(count).isEqualTo(3);
     }
 
+    @Test
+    public void testFindNewsIdById() {
+        // Create a comment
+        Comment comment = Comment.builder()
+                .text("Comment with news")
+                .authorNickname("user1")
+                .news(news)
+                .build();
+
+        entityManager.persist(comment);
+        entityManager.flush();
+
+        // Resolve the news id without loading the comment
+        Optional<Long> newsId = commentRepository.findNewsIdById(comment.getId());
+        Optional<Long> missing = commentRepository.findNewsIdById(comment.getId() + 1000);
+
+        // Assert that only the existing comment resolves to its news
+        assertThat(newsId).contains(news.getId());
+        assertThat(missing).isEmpty();
+    }
+
     @Test
     public void testUpdateComment() {
         // Create a comment
@@ -357,4 +384,37 @@ public class CommentRepositoryTest {
         assertThat(foundReply).isPresent();
         assertThat(foundReply.get().getParentComment().getId()).isEqualTo(savedRootComment.getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFindFieldsByNewsIdCountsRepliesOnlyWhenSelected() {
+        // Create a comment with a reply
+        Comment root = commentRepository.save(Comment.builder()
+                .text("Root comment")
+                .authorNickname("user1")
+                .news(news)
+                .build());
+        Comment reply = commentRepository.save(Comment.builder()
+                .text("Reply comment")
+                .authorNickname("user2")
+                .news(news)
+                .parentComment(root)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // Read the ids alone
+        AtomicReference<List<Tuple>> ids = new AtomicReference<>();
+        List<StatementRecorder.RecordedStatement> statements = StatementRecorder.record(() ->
+                ids.set(commentRepository.findFieldsByNewsId(news.getId(), new FieldSelection(Set.of("id")))));
+
+        // Assert the comments are listed newest first without reading their text or counting replies
+        assertThat(ids.get()).extracting(tuple -> tuple.get("id")).containsExactly(reply.getId(), root.getId());
+        assertThat(statements).hasSize(1);
+        assertThat(statements.get(0).sql().toLowerCase()).doesNotContain("text", "count(");
+
+        // Read whether they have replies
+        List<Tuple> replies = commentRepository.findFieldsByNewsId(news.getId(),
+                new FieldSelection(Set.of("id", "hasReplies")));
+        assertThat(replies).extracting(tuple -> tuple.get("replyCount")).containsExactly(0L, 1L);
+    }
+}
@@ -1,12 +1,18 @@
 package com.dev.news.newsportal.repository;
 
+import com.dev.news.newsportal.entity.Comment;
 import com.dev.news.newsportal.entity.News;
 import com.dev.news.newsportal.entity.User;
+import com.dev.news.newsportal.exception.ValidationException;
+import com.dev.news.newsportal.model.FieldSelection;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -15,10 +21,14 @@ import org.springframework.data.domain.Sort;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
+@Import(StatementRecorder.Configuration.class)
 public class NewsRepositoryTest {
 
     @Autowired
@@ -70,33 +80,6 @@ public class NewsRepositoryTest {
         assertThat(foundNews.get().getCreationDate()).isNotNull();
     }
 
-    @Test
-    public void testFindByAuthor() {
-        // Create multiple news items by the same author
-        News news1 = News.builder()
-                .title("First News")
-                .text("First news content")
-                .author(author)
-                .build();
-
-        News news2 = News.builder()
-                .title("Second News")
-                .text("Second news content")
-                .author(author)
-                .build();
-
-        entityManager.persist(news1);
-        entityManager.persist(news2);
-        entityManager.flush();
-
-        // Find news by author
-        List<News> newsList = newsRepository.findByAuthor(author);
-
-        // Assert that both news items were found
-        assertThat(newsList).hasSize(2);
-        assertThat(newsList).extracting(News::getTitle).containsExactlyInAnyOrder("First News", "Second News");
-    }
-
     @Test
     public void testFindByTitleContainingIgnoreCase() {
         // Create news items with different titles
@@ -363,4 +346,111 @@ public class NewsRepositoryTest {
         assertThat(secondPage.getContent().get(3).getTitle()).isEqualTo("News 2");
         assertThat(secondPage.getContent().get(4).getTitle()).isEqualTo("News 1");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFindFeedByAuthorIdWithKeysetPagination() {
+        // Create an author feed where two articles share the same creation date
+        User otherAuthor = User.builder()
+                .nickname("otherauthor")
+                .email("other@example.com")
+                .role("REGISTERED_USER")
+                .build();
+        entityManager.persist(otherAuthor);
+        LocalDateTime baseTime = now.minusDays(1);
+        News oldest = persistNews("Oldest", author, baseTime);
+        News tiedFirst = persistNews("Tied first", author, baseTime.plusHours(1));
+        News tiedSecond = persistNews("Tied second", author, baseTime.plusHours(1));
+        News newest = persistNews("Newest", author, baseTime.plusHours(2));
+        persistNews("Someone else's", otherAuthor, baseTime.plusHours(3));
+        for (int i = 0; i < 2; i++) {
+            entityManager.persist(Comment.builder()
+                    .text("Comment " + i)
+                    .authorNickname("reader")
+                    .news(newest)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Read the feed two articles at a time
+        List<NewsSummaryView> firstPage = newsRepository.findFeedByAuthorId(author.getId(), Limit.of(2));
+        NewsSummaryView last = firstPage.get(1);
+        List<NewsSummaryView> secondPage = newsRepository.findFeedByAuthorIdAfter(author.getId(),
+                last.getCreationDate(), last.getId(), Limit.of(2));
+
+        // Assert newest first, ties broken by id, and no article skipped or repeated
+        assertThat(firstPage).extracting(NewsSummaryView::getId).containsExactly(newest.getId(), tiedFirst.getId());
+        assertThat(secondPage).extracting(NewsSummaryView::getId).containsExactly(tiedSecond.getId(), oldest.getId());
+
+        // Assert the projection carries the author and the comment count
+        assertThat(firstPage.get(0).getTitle()).isEqualTo("Newest");
+        assertThat(firstPage.get(0).getAuthorId()).isEqualTo(author.getId());
+        assertThat(firstPage.get(0).getAuthorNickname()).isEqualTo("newsauthor");
+        assertThat(firstPage.get(0).getCommentCount()).isEqualTo(2);
+        assertThat(firstPage.get(1).getCommentCount()).isZero();
+    }
+
+    @Test
+    public void testFindFieldsByIdReadsOnlySelectedColumns() {
+        // Create an article with a comment
+        News news = persistNews("Headline", author, now);
+        entityManager.persist(Comment.builder().text("Comment").authorNickname("reader").news(news).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // Read the title alone
+        AtomicReference<Optional<Tuple>> headline = new AtomicReference<>();
+        List<StatementRecorder.RecordedStatement> statements = StatementRecorder.record(() ->
+                headline.set(newsRepository.findFieldsById(news.getId(), new FieldSelection(Set.of("title")))));
+
+        // Assert neither the text nor the author nor the comments were read
+        assertThat(headline.get()).isPresent();
+        assertThat(headline.get().get().getElements()).hasSize(1);
+        assertThat(headline.get().get().get("title")).isEqualTo("Headline");
+        assertThat(statements).hasSize(1);
+        assertThat(statements.get(0).sql().toLowerCase()).doesNotContain("text", "join", "comments");
+
+        // Read the text, the author and the comment count as well
+        Tuple article = newsRepository.findFieldsById(news.getId(),
+                new FieldSelection(Set.of("title", "text", "author", "commentCount"))).orElseThrow();
+        assertThat(article.get("text")).isEqualTo("Content of Headline");
+        assertThat(article.get("authorId")).isEqualTo(author.getId());
+        assertThat(article.get("authorNickname")).isEqualTo("newsauthor");
+        assertThat(article.get("commentCount")).isEqualTo(1L);
+    }
+
+    @Test
+    public void testFindFieldsPageWithPaginationAndSorting() {
+        // Create three articles
+        for (int i = 1; i <= 3; i++) {
+            persistNews("News " + i, author, now.minusHours(3 - i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Read the first page of two titles, newest first
+        Page<Tuple> page = newsRepository.findFieldsPage(new FieldSelection(Set.of("title")),
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "creationDate")));
+
+        // Assert the page content and metadata
+        assertThat(page.getContent()).extracting(tuple -> tuple.get("title")).containsExactly("News 3", "News 2");
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+
+        // Assert properties outside the articles themselves cannot be sorted by
+        assertThatThrownBy(() -> newsRepository.findFieldsPage(new FieldSelection(Set.of("title")),
+                PageRequest.of(0, 2, Sort.by("author"))))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    private News persistNews(String title, User newsAuthor, LocalDateTime creationDate) {
+        News news = News.builder()
+                .title(title)
+                .text("Content of " + title)
+                .author(newsAuthor)
+                .creationDate(creationDate)
+                .build();
+        entityManager.persist(news);
+        return news;
+    }
+}
@@ -0,0 +1,265 @@
+package com.dev.news.newsportal.repository;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.dev.news.newsportal.entity.News;
+import com.dev.news.newsportal.entity.User;
+import com.dev.news.newsportal.model.FieldSelection;
+import com.dev.news.newsportal.seed.DatasetGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Explains every query of {@link NewsRepository}, {@link CommentRepository} and {@link UserRepository} on a seeded
+ * PostgreSQL database. It fails on sequential scans of large tables, index scans that do not constrain the leading
+ * column of the index, and sorts of many rows.
+ * <p>
+ * Runs against the database of the {@code pgsql} profile with its Flyway schema, so it is only enabled with
+ * {@code -Dnewsportal.plan-tests=true}. The dataset is generated on the first run and kept for later ones.
+ */
+@SpringBootTest
+@ActiveProfiles("pgsql")
+@EnabledIfSystemProperty(named = "newsportal.plan-tests", matches = "true")
+@Import(StatementRecorder.Configuration.class)
+class QueryPlanRegressionTest {
+
+    // Tables with at least this many rows must not be read sequentially
+    private static final long LARGE_TABLE_ROWS = 5_000;
+    // Sorts of more rows than this should be served by an index instead
+    private static final long SORTED_ROWS_LIMIT = 1_000;
+    private static final String SEARCH_TITLE = "Zeppelin";
+
+    /**
+     * Queries whose plans may scan a large table, with the reason.
+     */
+    private static final Map<String, String> ALLOWED_SCANS = Map.of(
+            "CommentRepository.findByParentCommentIsNull", "returns most comments of all articles");
+
+    @Autowired
+    private NewsRepository newsRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Set<String> largeTables;
+    private Map<String, String> leadingColumns;
+    private long authorId;
+    private String authorNickname;
+    private String authorEmail;
+    private long newsId;
+    private long commentId;
+    private String commenter;
+    private LocalDateTime creationDate;
+
+    @BeforeAll
+    void seedDataset() {
+        NewsPortalProperties.Seed seed = new NewsPortalProperties.Seed();
+        seed.setUsers(10_000);
+        seed.setNews(50_000);
+        seed.setMaxCommentsPerNews(100);
+        if (count("SELECT COUNT(*) FROM news") < seed.getNews()) {
+            datasetGenerator.generate(seed);
+        }
+        if (count("SELECT COUNT(*) FROM news WHERE title LIKE '%" + SEARCH_TITLE + "%'") == 0) {
+            jdbcTemplate.update("INSERT INTO news (title, text, creation_date, author_id) "
+                    + "SELECT ?, 'Rare article', now(), MIN(id) FROM users", SEARCH_TITLE + " lands in the harbour");
+        }
+        // Vacuumed as well, so that index-only scans see the visibility map of a settled database
+        jdbcTemplate.execute("VACUUM ANALYZE");
+
+        largeTables = new HashSet<>(jdbcTemplate.queryForList("SELECT relname FROM pg_class "
+                + "WHERE relkind = 'r' AND relnamespace = 'public'::regnamespace AND reltuples >= ?",
+                String.class, LARGE_TABLE_ROWS));
+        // Leading column of every plain index of a large table; expression indexes have none
+        leadingColumns = new HashMap<>();
+        jdbcTemplate.query("SELECT i.indexrelid::regclass::text AS index_name, a.attname FROM pg_index i "
+                + "JOIN pg_class t ON t.oid = i.indrelid JOIN pg_attribute a "
+                + "ON a.attrelid = i.indrelid AND a.attnum = i.indkey[0] WHERE t.relname = ANY (?)",
+                row -> {
+                    leadingColumns.put(row.getString("index_name"), row.getString("attname"));
+                }, (Object) largeTables.toArray(String[]::new));
+        // Typical rather than extreme values: the 100th most active author, article and commenter
+        authorId = jdbcTemplate.queryForObject("SELECT author_id FROM news GROUP BY author_id "
+                + "ORDER BY COUNT(*) DESC, author_id OFFSET 100 LIMIT 1", Long.class);
+        Map<String, Object> author = jdbcTemplate.queryForMap("SELECT nickname, email FROM users WHERE id = ?",
+                authorId);
+        authorNickname = (String) author.get("nickname");
+        authorEmail = (String) author.get("email");
+        newsId = jdbcTemplate.queryForObject("SELECT news_id FROM comments GROUP BY news_id "
+                + "ORDER BY COUNT(*) DESC, news_id OFFSET 100 LIMIT 1", Long.class);
+        commentId = jdbcTemplate.queryForObject("SELECT MIN(parent_comment_id) FROM comments WHERE news_id = ?",
+                Long.class, newsId);
+        commenter = jdbcTemplate.queryForObject("SELECT author_nickname FROM comments GROUP BY author_nickname "
+                + "ORDER BY COUNT(*) DESC, author_nickname OFFSET 100 LIMIT 1", String.class);
+        creationDate = jdbcTemplate.queryForObject("SELECT creation_date FROM news WHERE id = ?",
+                LocalDateTime.class, newsId);
+    }
+
+    @Test
+    void everyRepositoryQuery_shouldHavePlanCase() {
+        // Given
+        Set<String> declared = Stream.of(NewsRepository.class, CommentRepository.class, UserRepository.class)
+                .flatMap(repository -> Stream.of(repository.getDeclaredMethods())
+                        .filter(method -> !method.isDefault() && !Modifier.isStatic(method.getModifiers()))
+                        .map(Method::getName)
+                        .map(name -> repository.getSimpleName() + "." + name))
+                .collect(Collectors.toSet());
+
+        // When/Then
+        assertThat(queries().keySet()).containsAll(declared);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueries_shouldNotScanOrSortLargeTables() {
+        return queries().entrySet().stream().map(query -> DynamicTest.dynamicTest(query.getKey(), () -> {
+            // When
+            List<StatementRecorder.RecordedStatement> statements = new ArrayList<>();
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                statements.addAll(StatementRecorder.record(query.getValue()));
+                status.setRollbackOnly();
+            });
+
+            // Then
+            assertThat(statements).as("statements of %s", query.getKey()).isNotEmpty();
+            for (StatementRecorder.RecordedStatement statement : statements) {
+                JsonNode plan = explain(statement);
+                List<String> problems = new ArrayList<>();
+                inspect(plan, ALLOWED_SCANS.containsKey(query.getKey()), problems);
+                assertThat(problems).as("plan of %s%n%s%n%s", query.getKey(), statement.sql(),
+                        plan.toPrettyString()).isEmpty();
+            }
+        }));
+    }
+
+    /**
+     * One call per repository query, with parameters typical for the application.
+     */
+    private Map<String, Runnable> queries() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("NewsRepository.findById", () -> newsRepository.findById(newsId));
+        queries.put("NewsRepository.findByTitleContainingIgnoreCase",
+                () -> newsRepository.findByTitleContainingIgnoreCase(SEARCH_TITLE.toLowerCase()));
+        queries.put("NewsRepository.findByCreationDateBetween",
+                () -> newsRepository.findByCreationDateBetween(creationDate.minusHours(12), creationDate.plusHours(12)));
+        queries.put("NewsRepository.findByAuthorOrderByCreationDateDesc",
+                () -> newsRepository.findByAuthorOrderByCreationDateDesc(author()));
+        queries.put("NewsRepository.findWithAuthorById", () -> newsRepository.findWithAuthorById(newsId));
+        queries.put("NewsRepository.deleteNewsById", () -> newsRepository.deleteNewsById(newsId));
+        queries.put("NewsRepository.findFeedByAuthorId",
+                () -> newsRepository.findFeedByAuthorId(authorId, Limit.of(20)));
+        queries.put("NewsRepository.findFeedByAuthorIdAfter",
+                () -> newsRepository.findFeedByAuthorIdAfter(authorId, creationDate, newsId, Limit.of(20)));
+        queries.put("NewsRepository.findFieldsById", () -> newsRepository.findFieldsById(newsId,
+                new FieldSelection(Set.of("id", "title", "text", "author", "commentCount"))));
+        queries.put("NewsRepository.findFieldsPage", () -> newsRepository.findFieldsPage(
+                new FieldSelection(Set.of("id", "title", "author", "commentCount")),
+                PageRequest.of(3, 20, Sort.by(Sort.Direction.DESC, "creationDate"))));
+        queries.put("CommentRepository.findById", () -> commentRepository.findById(commentId));
+        queries.put("CommentRepository.findByNews", () -> commentRepository.findByNews(news()));
+        queries.put("CommentRepository.findByNewsAndCreationDateGreaterThanEqualOrderByCreationDateDesc",
+                () -> commentRepository.findByNewsOrderByCreationDateDesc(news()));
+        queries.put("CommentRepository.findByParentCommentIsNull", commentRepository::findByParentCommentIsNull);
+        queries.put("CommentRepository.findByParentCommentAndCreationDateGreaterThanEqual",
+                () -> commentRepository.findByParentComment(commentRepository.getReferenceById(commentId)));
+        queries.put("CommentRepository.findByAuthorNickname", () -> commentRepository.findByAuthorNickname(commenter));
+        queries.put("CommentRepository.countByNews", () -> commentRepository.countByNews(news()));
+        queries.put("CommentRepository.findByNewsIdOrderById", () -> commentRepository.findByNewsIdOrderById(newsId));
+        queries.put("CommentRepository.findVisibleById", () -> commentRepository.findVisibleById(commentId));
+        queries.put("CommentRepository.findNewsIdById", () -> commentRepository.findNewsIdById(commentId));
+        queries.put("CommentRepository.findTopLevelByNewsId",
+                () -> commentRepository.findTopLevelByNewsId(newsId, Limit.of(21)));
+        queries.put("CommentRepository.countByNewsId", () -> commentRepository.countByNewsId(newsId));
+        queries.put("CommentRepository.findFieldsByNewsId", () -> commentRepository.findFieldsByNewsId(newsId,
+                new FieldSelection(Set.of("id", "creationDate", "authorNickname", "hasReplies"))));
+        queries.put("UserRepository.findById", () -> userRepository.findById(authorId));
+        queries.put("UserRepository.findByNickname", () -> userRepository.findByNickname(authorNickname));
+        queries.put("UserRepository.findByEmail", () -> userRepository.findByEmail(authorEmail));
+        queries.put("UserRepository.existsByNickname", () -> userRepository.existsByNickname(authorNickname));
+        queries.put("UserRepository.existsByEmail", () -> userRepository.existsByEmail(authorEmail));
+        queries.put("UserRepository.findAnyIdByNickname", () -> userRepository.findAnyIdByNickname(authorNickname));
+        queries.put("UserRepository.findAnyIdByEmail", () -> userRepository.findAnyIdByEmail(authorEmail));
+        queries.put("UserRepository.markDeleted", () -> userRepository.markDeleted(authorId));
+        return queries;
+    }
+
+    private User author() {
+        return userRepository.getReferenceById(authorId);
+    }
+
+    private News news() {
+        return newsRepository.getReferenceById(newsId);
+    }
+
+    private JsonNode explain(StatementRecorder.RecordedStatement statement) throws Exception {
+        String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + statement.sql(), String.class,
+                statement.parameters().toArray());
+        return objectMapper.readTree(json).get(0).get("Plan");
+    }
+
+    private void inspect(JsonNode node, boolean scanAllowed, List<String> problems) {
+        String type = node.path("Node Type").asText();
+        String relation = node.path("Relation Name").asText(null);
+        if (type.equals("Seq Scan") && largeTables.contains(relation) && !scanAllowed) {
+            problems.add("sequential scan of " + relation);
+        }
+        String index = node.path("Index Name").asText(null);
+        String leadingColumn = index != null ? leadingColumns.get(index) : null;
+        if (leadingColumn != null && node.has("Index Cond")
+                && !node.path("Index Cond").asText().matches(".*\\(" + Pattern.quote(leadingColumn) + "[ )].*")) {
+            problems.add("scan of the whole " + index + " index, which leads with " + leadingColumn);
+        }
+        if (type.endsWith("Sort") && node.path("Plan Rows").asLong() > SORTED_ROWS_LIMIT) {
+            problems.add("sort of " + node.path("Plan Rows").asLong() + " rows");
+        }
+        node.path("Plans").forEach(child -> inspect(child, scanAllowed, problems));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,94 @@
+package com.dev.news.newsportal.seed;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class DatasetGeneratorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private DatasetGenerator datasetGenerator;
+    private NewsPortalProperties.Seed settings;
+
+    @BeforeEach
+    void setUp() {
+        datasetGenerator = new DatasetGenerator(jdbcTemplate, transactionManager);
+
+        settings = new NewsPortalProperties.Seed();
+        settings.setUsers(20);
+        settings.setNews(30);
+        settings.setMaxCommentsPerNews(40);
+        settings.setMaxReplyDepth(4);
+        settings.setBatchSize(7);
+    }
+
+    @Test
+    void generate_shouldWriteRequestedVolumes() {
+        DatasetSummary summary = datasetGenerator.generate(settings);
+
+        assertThat(summary.users()).isEqualTo(20);
+        assertThat(summary.news()).isEqualTo(30);
+        assertThat(count("users")).isEqualTo(20);
+        assertThat(count("news")).isEqualTo(30);
+        assertThat(count("comments")).isEqualTo(summary.comments());
+    }
+
+    @Test
+    void generate_shouldKeepRepliesInTheirParentThread() {
+        datasetGenerator.generate(settings);
+
+        Integer foreignReplies = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM comments c JOIN comments p ON c.parent_comment_id = p.id " +
+                        "WHERE c.news_id <> p.news_id OR c.creation_date <= p.creation_date", Integer.class);
+        assertThat(foreignReplies).isZero();
+    }
+
+    @Test
+    void generate_withSameSeed_shouldProduceSameDataset() {
+        datasetGenerator.generate(settings);
+        List<String> first = fingerprint();
+
+        jdbcTemplate.update("UPDATE comments SET parent_comment_id = NULL");
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM news");
+        jdbcTemplate.update("DELETE FROM users");
+
+        datasetGenerator.generate(settings);
+        assertThat(fingerprint()).isEqualTo(first);
+    }
+
+    @Test
+    void generate_shouldAdvanceIdentityPastGeneratedRows() {
+        datasetGenerator.generate(settings);
+
+        jdbcTemplate.update("INSERT INTO users (nickname, email, role) VALUES ('fresh', 'fresh@example.com', 'USER')");
+        Long freshId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE nickname = 'fresh'", Long.class);
+        assertThat(freshId).isEqualTo(21L);
+    }
+
+    private long count(String table) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        return count != null ? count : 0;
+    }
+
+    private List<String> fingerprint() {
+        return jdbcTemplate.queryForList(
+                "SELECT n.title || '|' || u.nickname || '|' || n.creation_date || '|' || " +
+                        "(SELECT COUNT(*) FROM comments c WHERE c.news_id = n.id) " +
+                        "FROM news n JOIN users u ON n.author_id = u.id ORDER BY n.id", String.class);
+    }
+}
@@ -0,0 +1,71 @@
+package com.dev.news.newsportal.seed;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ZipfDistributionTest {
+
+    @Test
+    void sample_shouldStayWithinRankBounds() {
+        ZipfDistribution distribution = new ZipfDistribution(50, 1.2);
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(distribution.sample(random)).isBetween(1, 50);
+        }
+    }
+
+    @Test
+    void sample_withSameSeed_shouldProduceSameSequence() {
+        ZipfDistribution distribution = new ZipfDistribution(1_000, 1.1);
+        SplittableRandom first = new SplittableRandom(42);
+        SplittableRandom second = new SplittableRandom(42);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(distribution.sample(first)).isEqualTo(distribution.sample(second));
+        }
+    }
+
+    @Test
+    void sample_shouldFavourLowRanks() {
+        ZipfDistribution distribution = new ZipfDistribution(100, 1.5);
+        SplittableRandom random = new SplittableRandom(1);
+        int[] counts = new int[101];
+
+        for (int i = 0; i < 100_000; i++) {
+            counts[distribution.sample(random)]++;
+        }
+
+        // P(1) / P(2) = 2^1.5, roughly 2.83
+        assertThat((double) counts[1] / counts[2]).isBetween(2.5, 3.2);
+        assertThat(counts[1]).isGreaterThan(counts[10]);
+        assertThat(counts[10]).isGreaterThan(counts[100]);
+    }
+
+    @Test
+    void sample_withZeroExponent_shouldBeUniform() {
+        ZipfDistribution distribution = new ZipfDistribution(4, 0.0);
+        SplittableRandom random = new SplittableRandom(3);
+        int[] counts = new int[5];
+
+        for (int i = 0; i < 40_000; i++) {
+            counts[distribution.sample(random)]++;
+        }
+
+        for (int rank = 1; rank <= 4; rank++) {
+            assertThat(counts[rank]).isBetween(9_000, 11_000);
+        }
+    }
+
+    @Test
+    void constructor_withInvalidArguments_shouldThrow() {
+        assertThatThrownBy(() -> new ZipfDistribution(0, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ZipfDistribution(10, -1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,7 +1,11 @@
 package com.dev.news.newsportal.service;
 
+import com.dev.news.newsportal.archive.NewsArchive;
 import com.dev.news.newsportal.entity.Comment;
 import com.dev.news.newsportal.entity.News;
+import com.dev.news.newsportal.event.CommentCreatedEvent;
+import com.dev.news.newsportal.event.CommentDeletedEvent;
+import com.dev.news.newsportal.event.CommentUpdatedEvent;
 import com.dev.news.newsportal.exception.ResourceNotFoundException;
 import com.dev.news.newsportal.mapper.entity.CommentEntityMapper;
 import com.dev.news.newsportal.model.CommentModel;
@@ -14,6 +18,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -41,6 +47,12 @@ class CommentServiceTest {
     @Mock
     private CommentEntityMapper commentEntityMapper;
 
+    @Mock
+    private NewsArchive newsArchive;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private CommentServiceImpl commentService;
 
     private News newsEntity;
@@ -56,7 +68,8 @@ class CommentServiceTest {
         MockitoAnnotations.openMocks(this);
         
         // Manually instantiate service with mocked dependencies
-        commentService = new CommentServiceImpl(commentRepository, newsRepository, commentEntityMapper);
+        commentService = new CommentServiceImpl(commentRepository, newsRepository, commentEntityMapper,
+                newsArchive, eventPublisher);
         
         creationDate = LocalDateTime.now();
         
@@ -111,7 +124,7 @@ class CommentServiceTest {
     @Test
     void findById_withExistingId_shouldReturnCommentModel() {
         // Given
-        when(commentRepository.findById(1L)).thenReturn(Optional.of(commentEntity));
+        when(commentRepository.findVisibleById(1L)).thenReturn(Optional.of(commentEntity));
         when(commentEntityMapper.toModel(commentEntity)).thenReturn(commentModel);
 
         // When
@@ -124,21 +137,35 @@ class CommentServiceTest {
         assertThat(result.getAuthorNickname()).isEqualTo("testuser");
         assertThat(result.getNewsId()).isEqualTo(1L);
 
-        verify(commentRepository).findById(1L);
+        verify(commentRepository).findVisibleById(1L);
         verify(commentEntityMapper).toModel(commentEntity);
     }
 
     @Test
     void findById_withNonExistingId_shouldThrowResourceNotFoundException() {
         // Given
-        when(commentRepository.findById(999L)).thenReturn(Optional.empty());
+        when(commentRepository.findVisibleById(999L)).thenReturn(Optional.empty());
 
         // When/Then
         assertThatThrownBy(() -> commentService.findById(999L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Comment not found with id: 999");
 
-        verify(commentRepository).findById(999L);
+        verify(commentRepository).findVisibleById(999L);
+        verify(commentEntityMapper, never()).toModel(any(Comment.class));
+    }
+
+    @Test
+    void findById_withArchivedId_shouldReturnCommentFromArchive() {
+        // Given
+        when(commentRepository.findVisibleById(1L)).thenReturn(Optional.empty());
+        when(newsArchive.findComment(1L)).thenReturn(Optional.of(commentModel));
+
+        // When
+        CommentModel result = commentService.findById(1L);
+
+        // Then
+        assertThat(result).isSameAs(commentModel);
         verify(commentEntityMapper, never()).toModel(any(Comment.class));
     }
 
@@ -178,6 +205,20 @@ class CommentServiceTest {
         verify(commentRepository, never()).findByNewsOrderByCreationDateDesc(any(News.class));
     }
 
+    @Test
+    void findByNews_withArchivedNewsId_shouldReturnCommentsFromArchive() {
+        // Given
+        when(newsRepository.findById(1L)).thenReturn(Optional.empty());
+        when(newsArchive.findComments(1L)).thenReturn(Optional.of(List.of(commentModel)));
+
+        // When
+        List<CommentModel> result = commentService.findByNews(1L);
+
+        // Then
+        assertThat(result).containsExactly(commentModel);
+        verify(commentRepository, never()).findByNewsOrderByCreationDateDesc(any(News.class));
+    }
+
     @Test
     void create_withValidCommentModel_shouldReturnCreatedCommentModel() {
         // Given
@@ -233,6 +274,7 @@ class CommentServiceTest {
         verify(commentEntityMapper).toEntity(inputModel);
         verify(commentRepository).save(any(Comment.class));
         verify(commentEntityMapper).toModel(savedEntity);
+        verify(eventPublisher).publishEvent(new CommentCreatedEvent(savedModel));
     }
 
     @Test
@@ -255,6 +297,48 @@ class CommentServiceTest {
         verify(commentRepository, never()).save(any(Comment.class));
     }
 
+    @Test
+    void create_whenNewsRemovedBeforeInsert_shouldThrowResourceNotFoundException() {
+        // Given news archived between the lookup and the insert
+        CommentModel inputModel = CommentModel.builder()
+                .text("New comment")
+                .authorNickname("newuser")
+                .newsId(1L)
+                .build();
+        Comment inputEntity = Comment.builder().text("New comment").authorNickname("newuser").build();
+        when(newsRepository.findById(1L)).thenReturn(Optional.of(newsEntity));
+        when(commentEntityMapper.toEntity(inputModel)).thenReturn(inputEntity);
+        when(commentRepository.save(inputEntity)).thenThrow(new DataIntegrityViolationException("could not execute",
+                new RuntimeException("insert or update on table \"comments_2026_10\" violates foreign key "
+                        + "constraint \"fk_comment_news\"")));
+
+        // When/Then
+        assertThatThrownBy(() -> commentService.create(inputModel))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("News not found with id: 1");
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void create_violatingOtherConstraint_shouldRethrow() {
+        // Given
+        CommentModel inputModel = CommentModel.builder()
+                .text("New comment")
+                .authorNickname("newuser")
+                .newsId(1L)
+                .build();
+        Comment inputEntity = Comment.builder().text("New comment").authorNickname("newuser").build();
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("could not execute",
+                new RuntimeException("Check constraint violation: \"CHK_COMMENT_NEWS_CREATION_DATE\""));
+        when(newsRepository.findById(1L)).thenReturn(Optional.of(newsEntity));
+        when(commentEntityMapper.toEntity(inputModel)).thenReturn(inputEntity);
+        when(commentRepository.save(inputEntity)).thenThrow(violation);
+
+        // When/Then
+        assertThatThrownBy(() -> commentService.create(inputModel)).isSameAs(violation);
+    }
+
     @Test
     void create_withValidParentComment_shouldReturnCreatedCommentModel() {
         // Given
@@ -379,6 +463,7 @@ class CommentServiceTest {
         verify(commentRepository).findById(1L);
         verify(commentRepository).save(any(Comment.class));
         verify(commentEntityMapper).toModel(updatedEntity);
+        verify(eventPublisher).publishEvent(new CommentUpdatedEvent(updatedModel));
     }
 
     @Test
@@ -402,28 +487,30 @@ class CommentServiceTest {
     @Test
     void delete_withExistingId_shouldDeleteComment() {
         // Given
-        when(commentRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findNewsIdById(1L)).thenReturn(Optional.of(1L));
 
         // When
         commentService.delete(1L);
 
         // Then
-        verify(commentRepository).existsById(1L);
+        verify(commentRepository).findNewsIdById(1L);
         verify(commentRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(new CommentDeletedEvent(1L, 1L));
     }
 
     @Test
     void delete_withNonExistingId_shouldThrowResourceNotFoundException() {
         // Given
-        when(commentRepository.existsById(999L)).thenReturn(false);
+        when(commentRepository.findNewsIdById(999L)).thenReturn(Optional.empty());
 
         // When/Then
         assertThatThrownBy(() -> commentService.delete(999L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Comment not found with id: 999");
 
-        verify(commentRepository).existsById(999L);
+        verify(commentRepository).findNewsIdById(999L);
         verify(commentRepository, never()).deleteById(anyLong());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -431,7 +518,7 @@ class CommentServiceTest {
         // Given
         List<Comment> replyEntities = Arrays.asList(commentEntity);
         List<CommentModel> replyModels = Arrays.asList(commentModel);
-        when(commentRepository.findById(2L)).thenReturn(Optional.of(parentCommentEntity));
+        when(commentRepository.findVisibleById(2L)).thenReturn(Optional.of(parentCommentEntity));
         when(commentRepository.findByParentComment(parentCommentEntity)).thenReturn(replyEntities);
         when(commentEntityMapper.toModelList(replyEntities)).thenReturn(replyModels);
 
@@ -443,7 +530,7 @@ class CommentServiceTest {
         assertThat(result.get(0).getId()).isEqualTo(1L);
         assertThat(result.get(0).getText()).isEqualTo("Test comment");
 
-        verify(commentRepository).findById(2L);
+        verify(commentRepository).findVisibleById(2L);
         verify(commentRepository).findByParentComment(parentCommentEntity);
         verify(commentEntityMapper).toModelList(replyEntities);
     }
@@ -451,21 +538,35 @@ class CommentServiceTest {
     @Test
     void findReplies_withNonExistingCommentId_shouldThrowResourceNotFoundException() {
         // Given
-        when(commentRepository.findById(999L)).thenReturn(Optional.empty());
+        when(commentRepository.findVisibleById(999L)).thenReturn(Optional.empty());
 
         // When/Then
         assertThatThrownBy(() -> commentService.findReplies(999L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Comment not found with id: 999");
 
-        verify(commentRepository).findById(999L);
+        verify(commentRepository).findVisibleById(999L);
+        verify(commentRepository, never()).findByParentComment(any(Comment.class));
+    }
+
+    @Test
+    void findReplies_withArchivedCommentId_shouldReturnRepliesFromArchive() {
+        // Given
+        when(commentRepository.findVisibleById(2L)).thenReturn(Optional.empty());
+        when(newsArchive.findReplies(2L)).thenReturn(Optional.of(List.of(commentModel)));
+
+        // When
+        List<CommentModel> result = commentService.findReplies(2L);
+
+        // Then
+        assertThat(result).containsExactly(commentModel);
         verify(commentRepository, never()).findByParentComment(any(Comment.class));
     }
 
     @Test
     void findReplies_withNoReplies_shouldReturnEmptyList() {
         // Given
-        when(commentRepository.findById(2L)).thenReturn(Optional.of(parentCommentEntity));
+        when(commentRepository.findVisibleById(2L)).thenReturn(Optional.of(parentCommentEntity));
         when(commentRepository.findByParentComment(parentCommentEntity)).thenReturn(Arrays.asList());
         when(commentEntityMapper.toModelList(Arrays.asList())).thenReturn(Arrays.asList());
 
@@ -475,7 +576,7 @@ class CommentServiceTest {
         // Then
         assertThat(result).isEmpty();
 
-        verify(commentRepository).findById(2L);
+        verify(commentRepository).findVisibleById(2L);
         verify(commentRepository).findByParentComment(parentCommentEntity);
         verify(commentEntityMapper).toModelList(Arrays.asList());
     }
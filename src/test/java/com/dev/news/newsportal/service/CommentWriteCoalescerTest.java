@@ -0,0 +1,90 @@
+package com.dev.news.newsportal.service;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.dev.news.newsportal.model.CommentModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CommentWriteCoalescerTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private NewsPortalProperties.CommentWriteCoalescing settings;
+    private AtomicInteger directCreates;
+    private CommentWriteCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        settings = new NewsPortalProperties.CommentWriteCoalescing();
+        settings.setEnabled(true);
+        settings.setWaitTimeout(Duration.ofMillis(200));
+        directCreates = new AtomicInteger();
+        coalescer = new CommentWriteCoalescer(jdbcTemplate, transactionTemplate, eventPublisher, comment -> {
+            directCreates.incrementAndGet();
+            return CommentModel.builder().id(-1L).text(comment.getText()).build();
+        }, settings, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.stop();
+    }
+
+    @Test
+    void create_whenWriterDoesNotPickUpComment_shouldCreateItDirectly() {
+        // Given a writer that never runs
+
+        // When
+        CommentModel created = coalescer.create(comment("Stuck"));
+
+        // Then
+        assertThat(created.getId()).isEqualTo(-1L);
+        assertThat(directCreates).hasValue(1);
+    }
+
+    @Test
+    void create_afterBatchFailedWithError_shouldStillBeWritten() {
+        // Given a batch failing with an error instead of an exception, then a working one
+        CommentModel written = CommentModel.builder().id(7L).text("Written").build();
+        when(transactionTemplate.<List<Object>>execute(any()))
+                .thenThrow(new StackOverflowError())
+                .thenReturn(List.of(written));
+        coalescer.start();
+
+        // When/Then
+        assertThatThrownBy(() -> coalescer.create(comment("Failing")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(StackOverflowError.class);
+        assertThat(coalescer.create(comment("Written"))).isSameAs(written);
+        assertThat(directCreates).hasValue(0);
+    }
+
+    private static CommentModel comment(String text) {
+        return CommentModel.builder().text(text).authorNickname("reader").newsId(1L).build();
+    }
+}
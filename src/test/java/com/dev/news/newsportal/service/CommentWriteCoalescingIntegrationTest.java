@@ -0,0 +1,148 @@
+package com.dev.news.newsportal.service;
+
+import com.dev.news.newsportal.exception.ResourceNotFoundException;
+import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.UserModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies group-committed comment creation against the database.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:coalescedb",
+        "news-portal.comment-write-coalescing.enabled=true",
+        "news-portal.comment-write-coalescing.batch-window=20ms"
+})
+class CommentWriteCoalescingIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private NewsModel news;
+    private NewsModel otherNews;
+
+    @BeforeEach
+    void setUp() {
+        UserModel author = userService.create(UserModel.builder()
+                .nickname("batchauthor" + System.nanoTime())
+                .email("batchauthor" + System.nanoTime() + "@example.com")
+                .role("USER")
+                .build());
+        news = newsService.create(NewsModel.builder()
+                .title("Busy thread")
+                .text("Article with many comments")
+                .author(UserModel.builder().id(author.getId()).build())
+                .build());
+        otherNews = newsService.create(NewsModel.builder()
+                .title("Quiet thread")
+                .text("Article with few comments")
+                .author(UserModel.builder().id(author.getId()).build())
+                .build());
+    }
+
+    @Test
+    void create_withConcurrentCallers_shouldCommitAllInBatches() throws Exception {
+        // Given
+        int callers = 50;
+        List<Future<CommentModel>> results = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                String text = "Comment " + i;
+                results.add(executor.submit(() -> commentService.create(comment(news.getId(), null, text))));
+            }
+        }
+
+        // Then
+        HashSet<Long> ids = new HashSet<>();
+        for (Future<CommentModel> result : results) {
+            CommentModel created = result.get();
+            assertThat(created.getId()).isNotNull();
+            assertThat(created.getCreationDate()).isNotNull();
+            ids.add(created.getId());
+        }
+        assertThat(ids).hasSize(callers);
+        assertThat(commentService.findByNews(news.getId())).hasSize(callers);
+        assertThat(meterRegistry.get("newsportal.comments.create.batch.size").summary().max()).isGreaterThan(1.0);
+        assertThat(meterRegistry.get("newsportal.comments.create").tag("mode", "coalesced").timer().count())
+                .isGreaterThanOrEqualTo(callers);
+    }
+
+    @Test
+    void create_withReply_shouldKeepParent() {
+        // Given
+        CommentModel parent = commentService.create(comment(news.getId(), null, "Parent"));
+
+        // When
+        CommentModel reply = commentService.create(comment(news.getId(), parent.getId(), "Reply"));
+
+        // Then
+        assertThat(commentService.findReplies(parent.getId()))
+                .extracting(CommentModel::getId)
+                .containsExactly(reply.getId());
+    }
+
+    @Test
+    void create_withMissingNews_shouldFailOnlyThatCaller() throws Exception {
+        // Given
+        CommentModel valid = comment(news.getId(), null, "Valid");
+        CommentModel invalid = comment(Long.MAX_VALUE, null, "Orphan");
+
+        // When
+        Future<CommentModel> validResult;
+        Future<CommentModel> invalidResult;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            validResult = executor.submit(() -> commentService.create(valid));
+            invalidResult = executor.submit(() -> commentService.create(invalid));
+        }
+
+        // Then
+        assertThat(validResult.get().getId()).isNotNull();
+        assertThatThrownBy(invalidResult::get).hasCauseInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void create_withParentFromOtherNews_shouldThrowIllegalArgumentException() {
+        // Given
+        CommentModel parent = commentService.create(comment(otherNews.getId(), null, "Elsewhere"));
+
+        // When/Then
+        assertThatThrownBy(() -> commentService.create(comment(news.getId(), parent.getId(), "Misplaced")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Parent comment does not belong to the specified news");
+    }
+
+    private static CommentModel comment(Long newsId, Long parentCommentId, String text) {
+        return CommentModel.builder()
+                .text(text)
+                .authorNickname("reader")
+                .newsId(newsId)
+                .parentCommentId(parentCommentId)
+                .build();
+    }
+}
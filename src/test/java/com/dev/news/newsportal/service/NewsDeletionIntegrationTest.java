@@ -0,0 +1,100 @@
+package com.dev.news.newsportal.service;
+
+import com.dev.news.newsportal.cache.CacheNames;
+import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.UserModel;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.Lifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that deleting a news article removes its whole comment tree with a constant number of statements.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:deletiondb",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class NewsDeletionIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    @Qualifier("outboxRelay")
+    private Lifecycle outboxRelay;
+
+    @Test
+    void delete_withCommentTree_shouldRemoveEverythingInConstantStatements() {
+        // Given
+        UserModel author = userService.create(UserModel.builder()
+                .nickname("deleteauthor")
+                .email("deleteauthor@example.com")
+                .role("USER")
+                .build());
+        NewsModel news = newsService.create(NewsModel.builder()
+                .title("Viral")
+                .text("Article with a large discussion")
+                .author(UserModel.builder().id(author.getId()).build())
+                .build());
+        for (int i = 0; i < 20; i++) {
+            CommentModel comment = commentService.create(comment(news.getId(), null));
+            commentService.create(comment(news.getId(), comment.getId()));
+        }
+        newsService.findById(news.getId());
+        assertThat(cacheManager.getCache(CacheNames.NEWS).get(news.getId())).isNotNull();
+        // Statistics are global and the relay reads the outbox as soon as the delete commits
+        outboxRelay.stop();
+        try {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            // When
+            newsService.delete(news.getId());
+
+            // Then
+            assertThat(statistics.getEntityLoadCount()).isZero();
+            assertThat(statistics.getEntityDeleteCount()).isZero();
+            // The article delete plus the outbox row of its domain event
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        } finally {
+            outboxRelay.start();
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comments WHERE news_id = ?", Long.class,
+                news.getId())).isZero();
+        assertThat(cacheManager.getCache(CacheNames.NEWS).get(news.getId())).isNull();
+    }
+
+    private static CommentModel comment(Long newsId, Long parentCommentId) {
+        return CommentModel.builder()
+                .text("Me too")
+                .authorNickname("reader")
+                .newsId(newsId)
+                .parentCommentId(parentCommentId)
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.dev.news.newsportal.service;
+
+import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.UserModel;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that an article is assembled with a fixed number of queries however large its comment tree is.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querybudgetdb",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Statistics are global, so keep background workers from querying while the budget is measured
+        "news-portal.outbox.enabled=false",
+        "news-portal.view-counts.enabled=false",
+        "news-portal.trending.enabled=false",
+        "news-portal.user-purge.enabled=false",
+        "news-portal.user-identifiers.enabled=false"
+})
+class NewsDetailQueryBudgetIntegrationTest {
+
+    // The article with its author, then all of its comments
+    private static final long QUERY_BUDGET = 2;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void findById_withDeepCommentTree_shouldStayWithinQueryBudget() {
+        // Given 30 threads, each four replies deep
+        UserModel author = createUser("budgetauthor");
+        NewsModel news = createNews(author, "Long discussion");
+        for (int thread = 0; thread < 30; thread++) {
+            Long parentId = null;
+            for (int depth = 0; depth < 5; depth++) {
+                parentId = commentService.create(comment(news.getId(), parentId)).getId();
+            }
+        }
+        Statistics statistics = statistics();
+
+        // When
+        NewsModel result = newsService.findById(news.getId());
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(QUERY_BUDGET);
+        assertThat(result.getAuthor().getNickname()).isEqualTo("budgetauthor");
+        assertThat(result.getComments()).hasSize(150);
+        assertThat(result.getComments()).filteredOn(comment -> comment.getParentCommentId() == null).hasSize(30);
+        CommentModel reply = result.getComments().get(0);
+        for (int depth = 1; depth < 5; depth++) {
+            assertThat(reply.getReplies()).hasSize(1);
+            reply = reply.getReplies().get(0);
+        }
+        assertThat(reply.getReplies()).isEmpty();
+    }
+
+    @Test
+    void findById_withoutComments_shouldStayWithinQueryBudget() {
+        // Given
+        NewsModel news = createNews(createUser("quietauthor"), "No discussion");
+        Statistics statistics = statistics();
+
+        // When
+        NewsModel result = newsService.findById(news.getId());
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(QUERY_BUDGET);
+        assertThat(result.getComments()).isEmpty();
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private UserModel createUser(String nickname) {
+        return userService.create(UserModel.builder()
+                .nickname(nickname)
+                .email(nickname + "@example.com")
+                .role("USER")
+                .build());
+    }
+
+    private NewsModel createNews(UserModel author, String title) {
+        return newsService.create(NewsModel.builder()
+                .title(title)
+                .text("Article by " + author.getNickname())
+                .author(UserModel.builder().id(author.getId()).build())
+                .build());
+    }
+
+    private static CommentModel comment(Long newsId, Long parentCommentId) {
+        return CommentModel.builder()
+                .text("Reply")
+                .authorNickname("reader")
+                .newsId(newsId)
+                .parentCommentId(parentCommentId)
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.dev.news.newsportal.service;
+
+import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.NewsPageModel;
+import com.dev.news.newsportal.model.UserModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that article pages keep to their share of a small connection pool under concurrent requests.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:newspagepooldb",
+        // Room for the concurrent reads of one page at a time
+        "spring.datasource.hikari.maximum-pool-size=6",
+        "spring.datasource.hikari.connection-timeout=5000",
+        "news-portal.news-page.timeout=5s"
+})
+class NewsPageConnectionLimitIntegrationTest {
+
+    private static final int REQUESTS = 24;
+
+    @Autowired
+    private NewsPageService newsPageService;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void findPage_withMoreConcurrentPagesThanConnections_shouldReadEveryPage() throws Exception {
+        // Given
+        UserModel author = userService.create(UserModel.builder()
+                .nickname("poolauthor")
+                .email("poolauthor@example.com")
+                .role("USER")
+                .build());
+        NewsModel news = newsService.create(NewsModel.builder()
+                .title("Busy")
+                .text("Article read by many")
+                .author(UserModel.builder().id(author.getId()).build())
+                .build());
+        commentService.create(CommentModel.builder()
+                .text("Only comment")
+                .authorNickname("reader")
+                .newsId(news.getId())
+                .build());
+
+        // When all requests start at once
+        List<Future<NewsPageModel>> pages = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService clients = Executors.newFixedThreadPool(REQUESTS)) {
+            for (int i = 0; i < REQUESTS; i++) {
+                pages.add(clients.submit(() -> {
+                    start.await();
+                    return newsPageService.findPage(news.getId(), 20);
+                }));
+            }
+            start.countDown();
+
+            // Then none of them waits for a connection in vain
+            for (Future<NewsPageModel> page : pages) {
+                assertThat(page.get(10, TimeUnit.SECONDS).getCommentCount()).isEqualTo(1);
+            }
+        }
+        assertThat(meterRegistry.get("newsportal.news.page.sequential").counter().count()).isPositive();
+        assertThat(meterRegistry.get("newsportal.news.page.deadline.exceeded").counter().count()).isZero();
+    }
+}
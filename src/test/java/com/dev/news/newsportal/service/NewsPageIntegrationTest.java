@@ -0,0 +1,155 @@
+package com.dev.news.newsportal.service;
+
+import com.dev.news.newsportal.exception.DeadlineExceededException;
+import com.dev.news.newsportal.exception.ResourceNotFoundException;
+import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.CommentSummaryModel;
+import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.NewsPageModel;
+import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Verifies that the parts of an article page are read together and within the deadline.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:newspagedb",
+        // The spy sits behind the cache, so every author must be read through it
+        "spring.cache.type=none",
+        "news-portal.news-page.timeout=500ms"
+})
+class NewsPageIntegrationTest {
+
+    @Autowired
+    private NewsPageService newsPageService;
+
+    @MockitoSpyBean
+    private UserService userService;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void findPage_shouldReadArticleAuthorNewestTopLevelCommentsAndCount() {
+        // Given three threads, the first with two replies
+        UserModel author = createUser("pageauthor");
+        NewsModel news = createNews(author, "Discussed");
+        CommentModel first = commentService.create(comment(news.getId(), null, "First"));
+        commentService.create(comment(news.getId(), first.getId(), "Reply"));
+        commentService.create(comment(news.getId(), first.getId(), "Another reply"));
+        CommentModel second = commentService.create(comment(news.getId(), null, "Second"));
+        CommentModel third = commentService.create(comment(news.getId(), null, "Third"));
+
+        // When
+        NewsPageModel page = newsPageService.findPage(news.getId(), 2);
+
+        // Then
+        assertThat(page.getNews().getTitle()).isEqualTo("Discussed");
+        assertThat(page.getNews().getComments()).isEmpty();
+        assertThat(page.getAuthor().getEmail()).isEqualTo("pageauthor@example.com");
+        assertThat(page.getComments()).extracting(CommentSummaryModel::getId)
+                .containsExactly(third.getId(), second.getId());
+        assertThat(page.isHasMoreComments()).isTrue();
+        assertThat(page.getCommentCount()).isEqualTo(5);
+
+        NewsPageModel all = newsPageService.findPage(news.getId(), 3);
+        assertThat(all.isHasMoreComments()).isFalse();
+        assertThat(all.getComments()).extracting(CommentSummaryModel::getReplyCount).containsExactly(0L, 0L, 2L);
+    }
+
+    @Test
+    void findPage_withoutComments_shouldReturnEmptyPage() {
+        // Given
+        NewsModel news = createNews(createUser("quietpageauthor"), "Quiet");
+
+        // When
+        NewsPageModel page = newsPageService.findPage(news.getId(), 20);
+
+        // Then
+        assertThat(page.getComments()).isEmpty();
+        assertThat(page.isHasMoreComments()).isFalse();
+        assertThat(page.getCommentCount()).isZero();
+    }
+
+    @Test
+    void findPage_withUnknownId_shouldThrowNotFound() {
+        assertThatThrownBy(() -> newsPageService.findPage(Long.MAX_VALUE, 20))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void findPage_withNewsOfDeletedUser_shouldThrowNotFound() {
+        // Given
+        UserModel author = createUser("deletedpageauthor");
+        NewsModel news = createNews(author, "Hidden");
+        commentService.create(comment(news.getId(), null, "Still stored"));
+        transactionTemplate.executeWithoutResult(status -> userRepository.markDeleted(author.getId()));
+
+        // When/Then
+        assertThatThrownBy(() -> newsPageService.findPage(news.getId(), 20))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void findPage_withSlowRead_shouldFailAtTheDeadline() {
+        // Given an author that takes longer to read than the whole page may
+        UserModel author = createUser("slowpageauthor");
+        NewsModel news = createNews(author, "Slow");
+        doAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return invocation.callRealMethod();
+        }).when(userService).findById(author.getId());
+
+        // When
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> newsPageService.findPage(news.getId(), 20))
+                .isInstanceOf(DeadlineExceededException.class)
+                .hasMessageContaining("500 ms");
+
+        // Then
+        assertThat((System.nanoTime() - started) / 1_000_000).isLessThan(1_500);
+    }
+
+    private UserModel createUser(String nickname) {
+        return userService.create(UserModel.builder()
+                .nickname(nickname)
+                .email(nickname + "@example.com")
+                .role("USER")
+                .build());
+    }
+
+    private NewsModel createNews(UserModel author, String title) {
+        return newsService.create(NewsModel.builder()
+                .title(title)
+                .text("Article by " + author.getNickname())
+                .author(UserModel.builder().id(author.getId()).build())
+                .build());
+    }
+
+    private static CommentModel comment(Long newsId, Long parentCommentId, String text) {
+        return CommentModel.builder()
+                .text(text)
+                .authorNickname("reader")
+                .newsId(newsId)
+                .parentCommentId(parentCommentId)
+                .build();
+    }
+}
@@ -1,14 +1,27 @@
 package com.dev.news.newsportal.service;
 
+import com.dev.news.newsportal.archive.NewsArchive;
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.dev.news.newsportal.entity.Comment;
 import com.dev.news.newsportal.entity.News;
 import com.dev.news.newsportal.entity.User;
+import com.dev.news.newsportal.event.NewsCreatedEvent;
+import com.dev.news.newsportal.event.NewsDeletedEvent;
+import com.dev.news.newsportal.event.NewsUpdatedEvent;
 import com.dev.news.newsportal.exception.ResourceNotFoundException;
+import com.dev.news.newsportal.mapper.entity.CommentEntityMapper;
 import com.dev.news.newsportal.mapper.entity.NewsEntityMapper;
 import com.dev.news.newsportal.mapper.entity.UserEntityMapper;
+import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.NewsFeedCursor;
 import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.NewsSummaryModel;
 import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.repository.CommentRepository;
 import com.dev.news.newsportal.repository.NewsRepository;
+import com.dev.news.newsportal.repository.NewsSummaryView;
 import com.dev.news.newsportal.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,7 +37,10 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -45,12 +61,27 @@ class NewsServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CommentRepository commentRepository;
+
     @Mock
     private NewsEntityMapper newsEntityMapper;
 
     @Mock
     private UserEntityMapper userEntityMapper;
 
+    @Mock
+    private CommentEntityMapper commentEntityMapper;
+
+    @Mock
+    private NewsArchive newsArchive;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private NewsServiceImpl newsService;
 
     private User authorEntity;
@@ -65,7 +96,9 @@ class NewsServiceTest {
         MockitoAnnotations.openMocks(this);
         
         // Manually instantiate service with mocked dependencies
-        newsService = new NewsServiceImpl(newsRepository, userRepository, newsEntityMapper, userEntityMapper);
+        newsService = new NewsServiceImpl(newsRepository, userRepository, commentRepository, newsEntityMapper,
+                userEntityMapper, commentEntityMapper, newsArchive, eventPublisher, transactionManager,
+                new NewsPortalProperties(), new SimpleMeterRegistry());
         
         creationDate = LocalDateTime.now();
         
@@ -109,8 +142,12 @@ class NewsServiceTest {
     @Test
     void findById_withExistingId_shouldReturnNewsModel() {
         // Given
-        when(newsRepository.findById(1L)).thenReturn(Optional.of(newsEntity));
-        when(newsEntityMapper.toModel(newsEntity)).thenReturn(newsModel);
+        List<Comment> commentEntities = List.of(Comment.builder().id(5L).build());
+        List<CommentModel> commentModels = List.of(CommentModel.builder().id(5L).build());
+        when(newsRepository.findWithAuthorById(1L)).thenReturn(Optional.of(newsEntity));
+        when(newsEntityMapper.toModelWithoutComments(newsEntity)).thenReturn(newsModel);
+        when(commentRepository.findByNewsIdOrderById(1L)).thenReturn(commentEntities);
+        when(commentEntityMapper.toThreadModelList(commentEntities)).thenReturn(commentModels);
 
         // When
         NewsModel result = newsService.findById(1L);
@@ -123,23 +160,39 @@ class NewsServiceTest {
         assertThat(result.getImageUrl()).isEqualTo("https://example.com/image.jpg");
         assertThat(result.getAuthor().getId()).isEqualTo(1L);
         assertThat(result.getAuthor().getNickname()).isEqualTo("testuser");
+        assertThat(result.getComments()).isEqualTo(commentModels);
 
-        verify(newsRepository).findById(1L);
-        verify(newsEntityMapper).toModel(newsEntity);
+        verify(newsRepository).findWithAuthorById(1L);
+        verify(newsEntityMapper).toModelWithoutComments(newsEntity);
     }
 
     @Test
     void findById_withNonExistingId_shouldThrowResourceNotFoundException() {
         // Given
-        when(newsRepository.findById(999L)).thenReturn(Optional.empty());
+        when(newsRepository.findWithAuthorById(999L)).thenReturn(Optional.empty());
 
         // When/Then
         assertThatThrownBy(() -> newsService.findById(999L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("News not found with id: 999");
 
-        verify(newsRepository).findById(999L);
-        verify(newsEntityMapper, never()).toModel(any(News.class));
+        verify(newsRepository).findWithAuthorById(999L);
+        verify(commentRepository, never()).findByNewsIdOrderById(anyLong());
+        verify(newsEntityMapper, never()).toModelWithoutComments(any(News.class));
+    }
+
+    @Test
+    void findById_withArchivedId_shouldReturnNewsFromArchive() {
+        // Given
+        when(newsRepository.findWithAuthorById(1L)).thenReturn(Optional.empty());
+        when(newsArchive.findNews(1L)).thenReturn(Optional.of(newsModel));
+
+        // When
+        NewsModel result = newsService.findById(1L);
+
+        // Then
+        assertThat(result).isSameAs(newsModel);
+        verify(commentRepository, never()).findByNewsIdOrderById(anyLong());
     }
 
     @Test
@@ -217,6 +270,7 @@ class NewsServiceTest {
         verify(newsEntityMapper).toEntity(inputModel);
         verify(newsRepository).save(any(News.class));
         verify(newsEntityMapper).toModel(savedEntity);
+        verify(eventPublisher).publishEvent(new NewsCreatedEvent(savedModel));
     }
 
     @Test
@@ -237,6 +291,7 @@ class NewsServiceTest {
 
         verify(userRepository).findById(999L);
         verify(newsRepository, never()).save(any(News.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -285,6 +340,7 @@ class NewsServiceTest {
         verify(newsRepository).findById(1L);
         verify(newsRepository).save(any(News.class));
         verify(newsEntityMapper).toModel(updatedEntity);
+        verify(eventPublisher).publishEvent(new NewsUpdatedEvent(updatedModel));
     }
 
     @Test
@@ -310,64 +366,43 @@ class NewsServiceTest {
     @Test
     void delete_withExistingId_shouldDeleteNews() {
         // Given
-        when(newsRepository.existsById(1L)).thenReturn(true);
+        when(newsRepository.deleteNewsById(1L)).thenReturn(1);
 
         // When
         newsService.delete(1L);
 
         // Then
-        verify(newsRepository).existsById(1L);
-        verify(newsRepository).deleteById(1L);
+        verify(newsRepository).deleteNewsById(1L);
+        verify(newsRepository, never()).findById(anyLong());
+        verify(eventPublisher).publishEvent(new NewsDeletedEvent(1L));
     }
 
     @Test
     void delete_withNonExistingId_shouldThrowResourceNotFoundException() {
         // Given
-        when(newsRepository.existsById(999L)).thenReturn(false);
+        when(newsRepository.deleteNewsById(999L)).thenReturn(0);
 
         // When/Then
         assertThatThrownBy(() -> newsService.delete(999L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("News not found with id: 999");
 
-        verify(newsRepository).existsById(999L);
-        verify(newsRepository, never()).deleteById(anyLong());
+        verify(newsRepository).deleteNewsById(999L);
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
-    void findByAuthor_withExistingAuthorId_shouldReturnListOfNewsModels() {
+    void delete_withArchivedId_shouldDeleteArchivedNews() {
         // Given
-        List<News> newsEntities = Arrays.asList(newsEntity);
-        List<NewsModel> newsModels = Arrays.asList(newsModel);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(authorEntity));
-        when(newsRepository.findByAuthor(authorEntity)).thenReturn(newsEntities);
-        when(newsEntityMapper.toModelList(newsEntities)).thenReturn(newsModels);
+        when(newsRepository.deleteNewsById(1L)).thenReturn(0);
+        when(newsArchive.delete(1L)).thenReturn(true);
 
         // When
-        List<NewsModel> result = newsService.findByAuthor(1L);
+        newsService.delete(1L);
 
         // Then
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getId()).isEqualTo(1L);
-        assertThat(result.get(0).getAuthor().getId()).isEqualTo(1L);
-
-        verify(userRepository).findById(1L);
-        verify(newsRepository).findByAuthor(authorEntity);
-        verify(newsEntityMapper).toModelList(newsEntities);
-    }
-
-    @Test
-    void findByAuthor_withNonExistingAuthorId_shouldThrowResourceNotFoundException() {
-        // Given
-        when(userRepository.findById(999L)).thenReturn(Optional.empty());
-
-        // When/Then
-        assertThatThrownBy(() -> newsService.findByAuthor(999L))
-                .isInstanceOf(ResourceNotFoundException.class)
-                .hasMessage("User not found with id: 999");
-
-        verify(userRepository).findById(999L);
-        verify(newsRepository, never()).findByAuthor(any(User.class));
+        verify(newsArchive).delete(1L);
+        verify(eventPublisher).publishEvent(new NewsDeletedEvent(1L));
     }
 
     @Test
@@ -405,6 +440,65 @@ class NewsServiceTest {
         verify(newsEntityMapper).toModelList(Arrays.asList());
     }
 
+    @Test
+    void findFeedByAuthor_withCursor_shouldQueryAfterCursor() {
+        // Given
+        NewsFeedCursor cursor = new NewsFeedCursor(creationDate, 5L);
+        NewsSummaryView view = mock(NewsSummaryView.class);
+        NewsSummaryModel summary = NewsSummaryModel.builder().id(1L).build();
+        when(newsRepository.findFeedByAuthorIdAfter(1L, creationDate, 5L, Limit.of(10))).thenReturn(List.of(view));
+        when(newsEntityMapper.toSummaryModelList(List.of(view))).thenReturn(List.of(summary));
+
+        // When
+        List<NewsSummaryModel> result = newsService.findFeedByAuthor(1L, cursor, 10);
+
+        // Then
+        assertThat(result).containsExactly(summary);
+        verify(userRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void findFeedByAuthor_withNonExistingAuthorId_shouldThrowResourceNotFoundException() {
+        // Given
+        when(newsRepository.findFeedByAuthorId(999L, Limit.of(10))).thenReturn(List.of());
+        when(userRepository.existsById(999L)).thenReturn(false);
+
+        // When/Then
+        assertThatThrownBy(() -> newsService.findFeedByAuthor(999L, null, 10))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("User not found with id: 999");
+    }
+
+    @Test
+    void findFeedByAuthor_withAuthorWithoutNews_shouldReturnEmptyList() {
+        // Given
+        when(newsRepository.findFeedByAuthorId(1L, Limit.of(10))).thenReturn(List.of());
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(newsEntityMapper.toSummaryModelList(List.of())).thenReturn(List.of());
+
+        // When
+        List<NewsSummaryModel> result = newsService.findFeedByAuthor(1L, null, 10);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void findAllById_shouldReturnExistingNewsInRequestedOrder() {
+        // Given
+        News other = News.builder().id(2L).title("Other News").build();
+        NewsModel otherModel = NewsModel.builder().id(2L).build();
+        when(newsRepository.findAllById(List.of(2L, 999L, 1L))).thenReturn(Arrays.asList(newsEntity, other));
+        when(newsEntityMapper.toModelList(List.of(other, newsEntity))).thenReturn(List.of(otherModel, newsModel));
+
+        // When
+        List<NewsModel> result = newsService.findAllById(List.of(2L, 999L, 1L));
+
+        // Then
+        assertThat(result).extracting(NewsModel::getId).containsExactly(2L, 1L);
+        verify(newsEntityMapper).toModelList(List.of(other, newsEntity));
+    }
+
     @Test
     void findAll_WithPageable_ShouldReturnPagedResults() {
         // Given
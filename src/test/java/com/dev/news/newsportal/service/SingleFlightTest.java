@@ -0,0 +1,155 @@
+package com.dev.news.newsportal.service;
+
+import com.dev.news.newsportal.exception.DeadlineExceededException;
+import com.dev.news.newsportal.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int WAITERS = 8;
+
+    private MeterRegistry meterRegistry;
+    private ExecutorService readers;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        readers = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        readers.shutdownNow();
+    }
+
+    @Test
+    void load_withConcurrentIdenticalReads_shouldLoadOnce() throws Exception {
+        // Given a leader whose load blocks until every other read waits for it
+        SingleFlight<Long, String> flight = new SingleFlight<>("news", Duration.ofSeconds(5), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Future<String> leader = readers.submit(() -> flight.load(1L, () -> {
+            loads.incrementAndGet();
+            awaitRelease(release);
+            return "article";
+        }));
+        waitUntil(() -> loads.get() == 1);
+
+        // When
+        List<Future<String>> waiters = new ArrayList<>();
+        for (int i = 0; i < WAITERS; i++) {
+            waiters.add(readers.submit(() -> flight.load(1L, () -> {
+                loads.incrementAndGet();
+                return "reloaded";
+            })));
+        }
+        waitUntil(() -> counter("newsportal.single-flight.coalesced") == WAITERS);
+        release.countDown();
+
+        // Then
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("article");
+        for (Future<String> waiter : waiters) {
+            assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("article");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(counter("newsportal.single-flight.leaders")).isEqualTo(1);
+    }
+
+    @Test
+    void load_afterLoadFinished_shouldLoadAgain() {
+        // Given
+        SingleFlight<Long, String> flight = new SingleFlight<>("news", Duration.ofSeconds(5), meterRegistry);
+        flight.load(1L, () -> "first");
+
+        // When
+        String second = flight.load(1L, () -> "second");
+
+        // Then
+        assertThat(second).isEqualTo("second");
+        assertThat(counter("newsportal.single-flight.leaders")).isEqualTo(2);
+        assertThat(counter("newsportal.single-flight.coalesced")).isZero();
+    }
+
+    @Test
+    void load_withFailingLeader_shouldThrowItsExceptionToWaiters() throws Exception {
+        // Given
+        SingleFlight<Long, String> flight = new SingleFlight<>("news", Duration.ofSeconds(5), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch loading = new CountDownLatch(1);
+        Future<String> leader = readers.submit(() -> flight.load(404L, () -> {
+            loading.countDown();
+            awaitRelease(release);
+            throw new ResourceNotFoundException("News", "id", 404L);
+        }));
+        loading.await(5, TimeUnit.SECONDS);
+
+        // When
+        Future<String> waiter = readers.submit(() -> flight.load(404L, () -> "found"));
+        waitUntil(() -> counter("newsportal.single-flight.coalesced") == 1);
+        release.countDown();
+
+        // Then
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void load_withSlowLeader_shouldStopWaitingAtTheTimeout() throws Exception {
+        // Given
+        SingleFlight<Long, String> flight = new SingleFlight<>("news", Duration.ofMillis(100), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch loading = new CountDownLatch(1);
+        Future<String> leader = readers.submit(() -> flight.load(1L, () -> {
+            loading.countDown();
+            awaitRelease(release);
+            return "article";
+        }));
+        loading.await(5, TimeUnit.SECONDS);
+
+        // When/Then
+        assertThatThrownBy(() -> flight.load(1L, () -> "reloaded"))
+                .isInstanceOf(DeadlineExceededException.class)
+                .hasMessageContaining("100 ms");
+        assertThat(counter("newsportal.single-flight.timeouts")).isEqualTo(1);
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("article");
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).tag("resource", "news").counter().count();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private static void awaitRelease(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
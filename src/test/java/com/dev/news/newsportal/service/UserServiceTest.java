@@ -1,10 +1,17 @@
 package com.dev.news.newsportal.service;
 
+import com.dev.news.newsportal.availability.UserIdentifierFilter;
 import com.dev.news.newsportal.entity.User;
+import com.dev.news.newsportal.entity.UserPurgeJob;
+import com.dev.news.newsportal.event.UserCreatedEvent;
+import com.dev.news.newsportal.event.UserDeletedEvent;
+import com.dev.news.newsportal.event.UserUpdatedEvent;
 import com.dev.news.newsportal.exception.DuplicateResourceException;
 import com.dev.news.newsportal.exception.ResourceNotFoundException;
 import com.dev.news.newsportal.mapper.entity.UserEntityMapper;
 import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.model.UserPurgeJobModel;
+import com.dev.news.newsportal.repository.UserPurgeJobRepository;
 import com.dev.news.newsportal.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,16 +20,22 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -33,9 +46,18 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserPurgeJobRepository userPurgeJobRepository;
+
     @Mock
     private UserEntityMapper userEntityMapper;
 
+    @Mock
+    private UserIdentifierFilter identifierFilter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private UserServiceImpl userService;
 
     private User userEntity;
@@ -47,7 +69,12 @@ class UserServiceTest {
         MockitoAnnotations.openMocks(this);
         
         // Manually instantiate service with mocked dependencies
-        userService = new UserServiceImpl(userRepository, userEntityMapper);
+        userService = new UserServiceImpl(userRepository, userPurgeJobRepository, userEntityMapper, identifierFilter,
+                eventPublisher);
+
+        // The identifier filter cannot rule anything out unless a test says otherwise
+        lenient().when(identifierFilter.isTaken(any(), anyString(), any()))
+                .thenAnswer(invocation -> invocation.<Predicate<String>>getArgument(2).test(invocation.getArgument(1)));
         
         // Set up entity data
         userEntity = User.builder()
@@ -149,8 +176,8 @@ class UserServiceTest {
                 .role("USER")
                 .build();
 
-        when(userRepository.existsByNickname("newuser")).thenReturn(false);
-        when(userRepository.existsByEmail("newuser@example.com")).thenReturn(false);
+        when(userRepository.findAnyIdByNickname("newuser")).thenReturn(Optional.empty());
+        when(userRepository.findAnyIdByEmail("newuser@example.com")).thenReturn(Optional.empty());
         when(userEntityMapper.toEntity(inputModel)).thenReturn(inputEntity);
         when(userRepository.save(any(User.class))).thenReturn(savedEntity);
         when(userEntityMapper.toModel(savedEntity)).thenReturn(savedModel);
@@ -164,11 +191,12 @@ class UserServiceTest {
         assertThat(result.getNickname()).isEqualTo("newuser");
         assertThat(result.getEmail()).isEqualTo("newuser@example.com");
 
-        verify(userRepository).existsByNickname("newuser");
-        verify(userRepository).existsByEmail("newuser@example.com");
+        verify(userRepository).findAnyIdByNickname("newuser");
+        verify(userRepository).findAnyIdByEmail("newuser@example.com");
         verify(userEntityMapper).toEntity(inputModel);
         verify(userRepository).save(any(User.class));
         verify(userEntityMapper).toModel(savedEntity);
+        verify(eventPublisher).publishEvent(new UserCreatedEvent(savedModel));
     }
 
     @Test
@@ -180,18 +208,100 @@ class UserServiceTest {
                 .role("USER")
                 .build();
 
-        when(userRepository.existsByNickname("testuser")).thenReturn(true);
-        when(userRepository.findByNickname("testuser")).thenReturn(Optional.of(userEntity));
+        when(userRepository.findAnyIdByNickname("testuser")).thenReturn(Optional.of(userEntity.getId()));
 
         // When/Then
         assertThatThrownBy(() -> userService.create(inputModel))
                 .isInstanceOf(DuplicateResourceException.class)
                 .hasMessage("User with nickname: testuser already exists");
 
-        verify(userRepository).existsByNickname("testuser");
+        verify(userRepository).findAnyIdByNickname("testuser");
         verify(userRepository, never()).save(any(User.class));
     }
 
+    @Test
+    void create_withIdentifiersUnknownToFilter_shouldNotQueryThem() {
+        // Given
+        UserModel inputModel = UserModel.builder()
+                .nickname("newuser")
+                .email("newuser@example.com")
+                .role("USER")
+                .build();
+        User inputEntity = User.builder().nickname("newuser").email("newuser@example.com").role("USER").build();
+        doReturn(false).when(identifierFilter).isTaken(any(), anyString(), any());
+        when(userEntityMapper.toEntity(inputModel)).thenReturn(inputEntity);
+        when(userRepository.save(inputEntity)).thenReturn(inputEntity);
+        when(userEntityMapper.toModel(inputEntity)).thenReturn(inputModel);
+
+        // When
+        userService.create(inputModel);
+
+        // Then
+        verify(userRepository, never()).findAnyIdByNickname(anyString());
+        verify(userRepository, never()).findAnyIdByEmail(anyString());
+        verify(userRepository).flush();
+    }
+
+    @Test
+    void create_violatingUniqueConstraint_shouldThrowDuplicateResourceException() {
+        // Given a nickname taken after the validation, so only the unique constraint notices
+        UserModel inputModel = UserModel.builder()
+                .nickname("racer")
+                .email("racer@example.com")
+                .role("USER")
+                .build();
+        User inputEntity = User.builder().nickname("racer").email("racer@example.com").role("USER").build();
+        when(userEntityMapper.toEntity(inputModel)).thenReturn(inputEntity);
+        when(userRepository.save(inputEntity)).thenThrow(new DataIntegrityViolationException("could not execute",
+                new RuntimeException("duplicate key value violates unique constraint \"users_nickname_key\"\n"
+                        + "  Detail: Key (nickname)=(racer) already exists.")));
+
+        // When/Then
+        assertThatThrownBy(() -> userService.create(inputModel))
+                .isInstanceOf(DuplicateResourceException.class)
+                .hasMessage("User with nickname: racer already exists");
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void create_violatingOtherConstraint_shouldRethrow() {
+        // Given
+        UserModel inputModel = UserModel.builder().nickname("newuser").email("newuser@example.com").build();
+        User inputEntity = User.builder().nickname("newuser").email("newuser@example.com").build();
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("could not execute",
+                new RuntimeException("NULL not allowed for column \"ROLE\""));
+        when(userEntityMapper.toEntity(inputModel)).thenReturn(inputEntity);
+        when(userRepository.save(inputEntity)).thenThrow(violation);
+
+        // When/Then
+        assertThatThrownBy(() -> userService.create(inputModel)).isSameAs(violation);
+    }
+
+    @Test
+    void isNicknameAvailable_shouldAskFilterWithDatabaseConfirmation() {
+        // Given
+        doReturn(true).when(identifierFilter).isTaken(eq(UserIdentifierFilter.Field.NICKNAME), eq("testuser"), any());
+        doReturn(false).when(identifierFilter).isTaken(eq(UserIdentifierFilter.Field.NICKNAME), eq("freeuser"), any());
+
+        // When/Then
+        assertThat(userService.isNicknameAvailable("testuser")).isFalse();
+        assertThat(userService.isNicknameAvailable("freeuser")).isTrue();
+    }
+
+    @Test
+    void isEmailAvailable_withPossibleHit_shouldConfirmWithDatabase() {
+        // Given
+        when(userRepository.existsByEmail("test@example.com")).thenReturn(false);
+
+        // When
+        boolean available = userService.isEmailAvailable("test@example.com");
+
+        // Then
+        assertThat(available).isTrue();
+        verify(userRepository).existsByEmail("test@example.com");
+    }
+
     @Test
     void create_withDuplicateEmail_shouldThrowDuplicateResourceException() {
         // Given
@@ -201,17 +311,16 @@ class UserServiceTest {
                 .role("USER")
                 .build();
 
-        when(userRepository.existsByNickname("newuser")).thenReturn(false);
-        when(userRepository.existsByEmail("test@example.com")).thenReturn(true);
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(userEntity));
+        when(userRepository.findAnyIdByNickname("newuser")).thenReturn(Optional.empty());
+        when(userRepository.findAnyIdByEmail("test@example.com")).thenReturn(Optional.of(userEntity.getId()));
 
         // When/Then
         assertThatThrownBy(() -> userService.create(inputModel))
                 .isInstanceOf(DuplicateResourceException.class)
                 .hasMessage("User with email: test@example.com already exists");
 
-        verify(userRepository).existsByNickname("newuser");
-        verify(userRepository).existsByEmail("test@example.com");
+        verify(userRepository).findAnyIdByNickname("newuser");
+        verify(userRepository).findAnyIdByEmail("test@example.com");
         verify(userRepository, never()).save(any(User.class));
     }
 
@@ -239,8 +348,8 @@ class UserServiceTest {
                 .build();
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));
-        when(userRepository.existsByNickname("updateduser")).thenReturn(false);
-        when(userRepository.existsByEmail("updated@example.com")).thenReturn(false);
+        when(userRepository.findAnyIdByNickname("updateduser")).thenReturn(Optional.empty());
+        when(userRepository.findAnyIdByEmail("updated@example.com")).thenReturn(Optional.empty());
         when(userRepository.save(any(User.class))).thenReturn(updatedEntity);
         when(userEntityMapper.toModel(updatedEntity)).thenReturn(updatedModel);
 
@@ -257,6 +366,7 @@ class UserServiceTest {
         verify(userRepository).findById(1L);
         verify(userRepository).save(any(User.class));
         verify(userEntityMapper).toModel(updatedEntity);
+        verify(eventPublisher).publishEvent(new UserUpdatedEvent(updatedModel));
     }
 
     @Test
@@ -296,8 +406,8 @@ class UserServiceTest {
                 .build();
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));
-        when(userRepository.existsByNickname("existinguser")).thenReturn(true);
-        when(userRepository.findByNickname("existinguser")).thenReturn(Optional.of(existingUserWithNickname));
+        when(userRepository.findAnyIdByNickname("existinguser"))
+                .thenReturn(Optional.of(existingUserWithNickname.getId()));
 
         // When/Then
         assertThatThrownBy(() -> userService.update(1L, updateModel))
@@ -309,30 +419,78 @@ class UserServiceTest {
     }
 
     @Test
-    void delete_withExistingId_shouldDeleteUser() {
+    void delete_withExistingId_shouldMarkUserDeletedAndEnqueuePurgeJob() {
         // Given
-        when(userRepository.existsById(1L)).thenReturn(true);
+        UserPurgeJob savedJob = UserPurgeJob.builder().id(5L).userId(1L).status(UserPurgeJob.Status.PENDING).build();
+        UserPurgeJobModel jobModel = UserPurgeJobModel.builder().id(5L).userId(1L).status("PENDING").build();
+        when(userRepository.markDeleted(1L)).thenReturn(1);
+        when(userPurgeJobRepository.save(any(UserPurgeJob.class))).thenReturn(savedJob);
+        when(userEntityMapper.toPurgeJobModel(savedJob)).thenReturn(jobModel);
 
         // When
-        userService.delete(1L);
+        UserPurgeJobModel result = userService.delete(1L);
 
         // Then
-        verify(userRepository).existsById(1L);
-        verify(userRepository).deleteById(1L);
+        assertThat(result).isEqualTo(jobModel);
+        verify(userRepository).markDeleted(1L);
+        verify(userPurgeJobRepository).save(UserPurgeJob.builder().userId(1L).build());
+        verify(userRepository, never()).deleteById(anyLong());
+        verify(eventPublisher).publishEvent(new UserDeletedEvent(1L));
     }
 
     @Test
     void delete_withNonExistingId_shouldThrowResourceNotFoundException() {
         // Given
-        when(userRepository.existsById(999L)).thenReturn(false);
+        when(userRepository.markDeleted(999L)).thenReturn(0);
 
         // When/Then
         assertThatThrownBy(() -> userService.delete(999L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("User not found with id: 999");
 
-        verify(userRepository).existsById(999L);
-        verify(userRepository, never()).deleteById(anyLong());
+        verify(userRepository).markDeleted(999L);
+        verify(userPurgeJobRepository, never()).save(any(UserPurgeJob.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void findPurgeJob_withExistingId_shouldReturnJobModel() {
+        // Given
+        UserPurgeJob job = UserPurgeJob.builder().id(5L).userId(1L).status(UserPurgeJob.Status.RUNNING).build();
+        UserPurgeJobModel jobModel = UserPurgeJobModel.builder().id(5L).userId(1L).status("RUNNING").build();
+        when(userPurgeJobRepository.findById(5L)).thenReturn(Optional.of(job));
+        when(userEntityMapper.toPurgeJobModel(job)).thenReturn(jobModel);
+
+        // When
+        UserPurgeJobModel result = userService.findPurgeJob(5L);
+
+        // Then
+        assertThat(result).isEqualTo(jobModel);
+    }
+
+    @Test
+    void findPurgeJob_withNonExistingId_shouldThrowResourceNotFoundException() {
+        // Given
+        when(userPurgeJobRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThatThrownBy(() -> userService.findPurgeJob(999L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("UserPurgeJob not found with id: 999");
+    }
+
+    @Test
+    void create_withNicknameOfUserPendingPurge_shouldThrowDuplicateResourceException() {
+        // Given
+        UserModel newUser = UserModel.builder().nickname("testuser").email("new@example.com").role("USER").build();
+        // The deleted user is hidden from findByNickname, but still owns the nickname
+        when(userRepository.findAnyIdByNickname("testuser")).thenReturn(Optional.of(7L));
+
+        // When/Then
+        assertThatThrownBy(() -> userService.create(newUser))
+                .isInstanceOf(DuplicateResourceException.class);
+
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
@@ -0,0 +1,50 @@
+package com.dev.news.newsportal.startup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the training run of the {@code cds} build profile still gets through every endpoint it exercises.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:trainingdb")
+class TrainingRunIntegrationTest {
+
+    @Autowired
+    private TrainingRun trainingRun;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void run_withTrainingRunOption_shouldWriteThroughTheApi() {
+        // When
+        trainingRun.run(new DefaultApplicationArguments("--" + TrainingRun.OPTION));
+
+        // Then
+        assertThat(count("SELECT COUNT(*) FROM users WHERE nickname LIKE 'training%'")).isEqualTo(1);
+        assertThat(count("SELECT COUNT(*) FROM news WHERE title = 'Training'")).isEqualTo(1);
+        assertThat(count("SELECT COUNT(*) FROM comments WHERE parent_comment_id IS NOT NULL")).isEqualTo(1);
+    }
+
+    @Test
+    void run_withoutTrainingRunOption_shouldDoNothing() {
+        // Given
+        long users = count("SELECT COUNT(*) FROM users");
+
+        // When
+        trainingRun.run(new DefaultApplicationArguments());
+
+        // Then
+        assertThat(count("SELECT COUNT(*) FROM users")).isEqualTo(users);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -20,7 +20,24 @@ import org.junit.platform.suite.api.SuiteDisplayName;
     "com.dev.news.newsportal.service",
     "com.dev.news.newsportal.repository", 
     "com.dev.news.newsportal.controller",
-    "com.dev.news.newsportal.mapper"
+    "com.dev.news.newsportal.mapper",
+    "com.dev.news.newsportal.seed",
+    "com.dev.news.newsportal.logging",
+    "com.dev.news.newsportal.feed",
+    "com.dev.news.newsportal.websocket",
+    "com.dev.news.newsportal.outbox",
+    "com.dev.news.newsportal.cache",
+    "com.dev.news.newsportal.ratelimit",
+    "com.dev.news.newsportal.views",
+    "com.dev.news.newsportal.trending",
+    "com.dev.news.newsportal.purge",
+    "com.dev.news.newsportal.availability",
+    "com.dev.news.newsportal.notfound",
+    "com.dev.news.newsportal.startup",
+    "com.dev.news.newsportal.partition",
+    "com.dev.news.newsportal.archive",
+    "com.dev.news.newsportal.reactive",
+    "com.dev.news.newsportal.worker"
 })
 @IncludeClassNamePatterns(".*Test.*")
 public class AllTestsSuite {
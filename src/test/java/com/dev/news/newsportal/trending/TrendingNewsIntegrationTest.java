@@ -0,0 +1,126 @@
+package com.dev.news.newsportal.trending;
+
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.service.CommentService;
+import com.dev.news.newsportal.service.NewsService;
+import com.dev.news.newsportal.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies the trending ranking fed by committed comments and its snapshots.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:trendingdb",
+        "news-portal.trending.snapshot-interval=1h"
+})
+@AutoConfigureMockMvc
+class TrendingNewsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TrendingNews trendingNews;
+
+    @Autowired
+    private TrendingSnapshotStore snapshotStore;
+
+    @Autowired
+    private NewsPortalProperties properties;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private CommentService commentService;
+
+    private NewsModel quiet;
+    private NewsModel busy;
+
+    @BeforeAll
+    void setUpNews() {
+        UserModel author = userService.create(UserModel.builder()
+                .nickname("trendauthor")
+                .email("trendauthor@example.com")
+                .role("USER")
+                .build());
+        quiet = createNews(author, "Quiet");
+        busy = createNews(author, "Busy");
+        comment(quiet);
+        comment(busy);
+        comment(busy);
+    }
+
+    @Test
+    void getTrendingNews_shouldRankByComments() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/v1/news/trending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("Busy", "Quiet")));
+        mockMvc.perform(get("/api/v1/news/trending").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(busy.getId()));
+    }
+
+    @Test
+    void getTrendingNews_withLimitAboveMaximum_shouldReturnBadRequest() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/v1/news/trending").param("limit", "101"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void snapshot_shouldBeRestoredByNewInstance() {
+        // Given
+        trendingNews.snapshot();
+        assertThat(snapshotStore.load())
+                .extracting(TrendingSnapshotStore.Score::newsId)
+                .contains(quiet.getId(), busy.getId());
+
+        // When
+        TrendingNews restored = new TrendingNews(snapshotStore, properties, new SimpleMeterRegistry());
+        restored.start();
+        try {
+            // Then
+            assertThat(restored.findTopNewsIds(2)).containsExactly(busy.getId(), quiet.getId());
+        } finally {
+            restored.stop();
+        }
+    }
+
+    private NewsModel createNews(UserModel author, String title) {
+        return newsService.create(NewsModel.builder()
+                .title(title)
+                .text("Article " + title)
+                .author(UserModel.builder().id(author.getId()).build())
+                .build());
+    }
+
+    private void comment(NewsModel news) {
+        commentService.create(CommentModel.builder()
+                .text("Interesting")
+                .authorNickname("reader")
+                .newsId(news.getId())
+                .build());
+    }
+}
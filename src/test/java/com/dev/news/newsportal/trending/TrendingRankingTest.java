@@ -0,0 +1,102 @@
+package com.dev.news.newsportal.trending;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TrendingRankingTest {
+
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+
+    @Test
+    void top_shouldOrderByScoreAndLimit() {
+        // Given
+        TrendingRanking ranking = new TrendingRanking(Duration.ofHours(1), 100, 0);
+
+        // When
+        ranking.add(1L, 1.0, 0);
+        ranking.add(2L, 3.0, 0);
+        ranking.add(3L, 2.0, 0);
+        ranking.add(1L, 5.0, 0);
+
+        // Then
+        assertThat(ranking.top(10)).containsExactly(1L, 2L, 3L);
+        assertThat(ranking.top(2)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void add_shouldWeighRecentEngagementMoreThanOlder() {
+        // Given
+        TrendingRanking ranking = new TrendingRanking(Duration.ofHours(1), 100, 0);
+
+        // When
+        ranking.add(1L, 3.0, 0);
+        ranking.add(2L, 2.0, 2 * HOUR);
+
+        // Then
+        assertThat(ranking.top(2)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void scoresAt_shouldHalveEveryHalfLife() {
+        // Given
+        TrendingRanking ranking = new TrendingRanking(Duration.ofHours(1), 100, 0);
+        ranking.add(1L, 8.0, 0);
+
+        // When/Then
+        assertThat(ranking.scoresAt(0).get(1L)).isCloseTo(8.0, within(1e-9));
+        assertThat(ranking.scoresAt(HOUR).get(1L)).isCloseTo(4.0, within(1e-9));
+        assertThat(ranking.scoresAt(3 * HOUR).get(1L)).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    void add_beyondCapacity_shouldEvictLowestScore() {
+        // Given
+        TrendingRanking ranking = new TrendingRanking(Duration.ofHours(1), 2, 0);
+        ranking.add(1L, 1.0, 0);
+        ranking.add(2L, 2.0, 0);
+
+        // When
+        ranking.add(3L, 0.5, 0);
+        ranking.add(4L, 3.0, 0);
+
+        // Then
+        assertThat(ranking.size()).isEqualTo(2);
+        assertThat(ranking.top(10)).containsExactly(4L, 2L);
+    }
+
+    @Test
+    void add_farInTheFuture_shouldRescaleWithoutLosingOrder() {
+        // Given
+        TrendingRanking ranking = new TrendingRanking(Duration.ofHours(1), 100, 0);
+        ranking.add(1L, 1.0, 0);
+        ranking.add(2L, 2.0, 0);
+        long later = 1000 * HOUR;
+
+        // When
+        ranking.add(3L, 1.0, later);
+
+        // Then
+        assertThat(ranking.top(10)).containsExactly(3L, 2L, 1L);
+        assertThat(ranking.scoresAt(later).get(3L)).isCloseTo(1.0, within(1e-9));
+        assertThat(ranking.scoresAt(later).get(2L)).isFinite();
+    }
+
+    @Test
+    void remove_shouldStopTrackingArticle() {
+        // Given
+        TrendingRanking ranking = new TrendingRanking(Duration.ofHours(1), 100, 0);
+        ranking.add(1L, 1.0, 0);
+        ranking.add(2L, 2.0, 0);
+
+        // When
+        ranking.remove(2L);
+
+        // Then
+        assertThat(ranking.top(10)).containsExactly(1L);
+        assertThat(ranking.scoresAt(0)).containsOnlyKeys(1L);
+    }
+}
@@ -0,0 +1,128 @@
+package com.dev.news.newsportal.views;
+
+import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.service.NewsService;
+import com.dev.news.newsportal.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies accumulation and batched writing of news views against the database.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:viewsdb",
+        "news-portal.view-counts.flush-interval=1h",
+        "news-portal.view-counts.max-batch-size=2"
+})
+class NewsViewCounterIntegrationTest {
+
+    @Autowired
+    private NewsViewCounter viewCounter;
+
+    @Autowired
+    private NewsViewStore viewStore;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NewsService newsService;
+
+    private UserModel author;
+
+    @BeforeEach
+    void setUp() {
+        author = userService.create(UserModel.builder()
+                .nickname("viewauthor" + System.nanoTime())
+                .email("viewauthor" + System.nanoTime() + "@example.com")
+                .role("USER")
+                .build());
+    }
+
+    @Test
+    void flush_withConcurrentViews_shouldAddAllOfThem() {
+        // Given
+        NewsModel news = createNews("Popular");
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1000; i++) {
+                executor.execute(() -> viewCounter.record(news.getId()));
+            }
+        }
+
+        // When
+        viewCounter.flush();
+        viewCounter.record(news.getId());
+        viewCounter.flush();
+
+        // Then
+        assertThat(viewStore.findViews(news.getId())).isEqualTo(1001);
+        assertThat(viewCounter.getViews(news.getId())).isEqualTo(1001);
+    }
+
+    @Test
+    void flush_withMoreArticlesThanBatchSize_shouldWriteEveryArticle() {
+        // Given
+        NewsModel first = createNews("First");
+        NewsModel second = createNews("Second");
+        NewsModel third = createNews("Third");
+        viewCounter.record(first.getId());
+        viewCounter.record(second.getId());
+        viewCounter.record(second.getId());
+        viewCounter.record(third.getId());
+
+        // When
+        viewCounter.flush();
+
+        // Then
+        assertThat(viewStore.findViews(first.getId())).isEqualTo(1);
+        assertThat(viewStore.findViews(second.getId())).isEqualTo(2);
+        assertThat(viewStore.findViews(third.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void flush_withViewsOfDeletedNews_shouldDropThem() {
+        // Given
+        NewsModel kept = createNews("Kept");
+        NewsModel deleted = createNews("Deleted");
+        viewCounter.record(kept.getId());
+        viewCounter.record(deleted.getId());
+        newsService.delete(deleted.getId());
+
+        // When
+        viewCounter.flush();
+
+        // Then
+        assertThat(viewStore.findViews(kept.getId())).isEqualTo(1);
+        assertThat(viewStore.findViews(deleted.getId())).isZero();
+    }
+
+    @Test
+    void getViews_shouldIncludeViewsNotWrittenYet() {
+        // Given
+        NewsModel news = createNews("Fresh");
+
+        // When
+        viewCounter.record(news.getId());
+        viewCounter.record(news.getId());
+
+        // Then
+        assertThat(viewStore.findViews(news.getId())).isZero();
+        assertThat(viewCounter.getViews(news.getId())).isEqualTo(2);
+    }
+
+    private NewsModel createNews(String title) {
+        return newsService.create(NewsModel.builder()
+                .title(title)
+                .text("Article " + title)
+                .author(UserModel.builder().id(author.getId()).build())
+                .build());
+    }
+}
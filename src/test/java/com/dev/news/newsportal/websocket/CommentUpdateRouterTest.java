@@ -0,0 +1,261 @@
+package com.dev.news.newsportal.websocket;
+
+import com.dev.news.newsportal.api.model.comments.CommentListItem;
+import com.dev.news.newsportal.config.NewsPortalProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CommentUpdateRouterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private SimpleMeterRegistry meterRegistry;
+    private CommentUpdateRouter router;
+
+    @BeforeEach
+    void setUp() {
+        NewsPortalProperties properties = new NewsPortalProperties();
+        properties.getCommentUpdates().setShards(2);
+        properties.getCommentUpdates().setBatchWindow(Duration.ofMillis(100));
+        meterRegistry = new SimpleMeterRegistry();
+        router = new CommentUpdateRouter(properties, objectMapper, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        router.destroy();
+    }
+
+    @Test
+    void publish_withBurstOfUpdates_shouldSendOneFramePerNews() throws Exception {
+        // Given
+        WebSocketSession session = openSession("s1");
+        router.register(session);
+        router.subscribe("s1", 1L, 10);
+
+        // When
+        router.publish(created(1L, 10L));
+        router.publish(created(1L, 11L));
+        router.publish(new CommentUpdate(1L, CommentUpdate.Type.DELETED, 10L, null, null));
+
+        // Then
+        ArgumentCaptor<TextMessage> frame = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, timeout(2_000)).sendMessage(frame.capture());
+        JsonNode body = objectMapper.readTree(frame.getValue().getPayload());
+        assertThat(body.get("type").asText()).isEqualTo("comments");
+        assertThat(body.get("newsId").asLong()).isEqualTo(1L);
+        assertThat(body.get("updates")).hasSize(3);
+        assertThat(body.get("updates").get(0).get("type").asText()).isEqualTo("created");
+        assertThat(body.get("updates").get(0).get("comment").get("text").asText()).isEqualTo("Comment 10");
+        assertThat(body.get("updates").get(2).get("type").asText()).isEqualTo("deleted");
+        assertThat(body.get("updates").get(2).has("comment")).isFalse();
+    }
+
+    @Test
+    void publish_forNewsWithoutSubscribers_shouldNotSendAnything() throws Exception {
+        // Given
+        WebSocketSession session = openSession("s1");
+        router.register(session);
+        router.subscribe("s1", 1L, 10);
+
+        // When
+        router.publish(created(2L, 20L));
+
+        // Then
+        verify(session, after(300).never()).sendMessage(any(WebSocketMessage.class));
+    }
+
+    @Test
+    void publish_withSubscriberThatStoppedReading_shouldStillDeliverToOthers() throws Exception {
+        // Given a connection whose socket write never returns, and another on articles of the same shard
+        CountDownLatch release = new CountDownLatch(1);
+        WebSocketSession stuck = openSession("stuck");
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(stuck).sendMessage(any());
+        WebSocketSession reader = openSession("reader");
+        router.register(stuck);
+        router.register(reader);
+        router.subscribe("stuck", 1L, 10);
+        router.subscribe("reader", 1L, 10);
+        router.subscribe("reader", 3L, 10);
+
+        try {
+            // When
+            router.publish(created(1L, 10L));
+            verify(stuck, timeout(2_000)).sendMessage(any());
+            router.publish(created(3L, 30L));
+
+            // Then
+            verify(reader, timeout(2_000).times(2)).sendMessage(any());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void publish_toSubscriberBeyondBufferLimit_shouldCloseIt() throws Exception {
+        // Given a connection that stopped reading and may buffer less than two frames
+        NewsPortalProperties properties = new NewsPortalProperties();
+        properties.getCommentUpdates().setShards(1);
+        properties.getCommentUpdates().setBatchWindow(Duration.ZERO);
+        properties.getCommentUpdates().setSendBufferSizeLimit(DataSize.ofBytes(300));
+        CommentUpdateRouter smallBuffers = new CommentUpdateRouter(properties, objectMapper, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        WebSocketSession stuck = openSession("stuck");
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(stuck).sendMessage(any());
+        smallBuffers.register(stuck);
+        smallBuffers.subscribe("stuck", 1L, 10);
+
+        try {
+            // When
+            smallBuffers.publish(created(1L, 10L));
+            verify(stuck, timeout(2_000)).sendMessage(any());
+            for (long commentId = 11L; commentId < 15L; commentId++) {
+                smallBuffers.publish(created(1L, commentId));
+            }
+
+            // Then
+            verify(stuck, timeout(2_000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+            assertThat(meterRegistry.get("newsportal.websocket.slow.consumers").counter().count()).isEqualTo(1.0);
+        } finally {
+            release.countDown();
+            smallBuffers.destroy();
+        }
+    }
+
+    @Test
+    void publish_withFullBatch_shouldSendWithoutWaitingForTheBatchWindow() throws Exception {
+        // Given
+        NewsPortalProperties properties = new NewsPortalProperties();
+        properties.getCommentUpdates().setShards(1);
+        properties.getCommentUpdates().setBatchWindow(Duration.ofMinutes(1));
+        properties.getCommentUpdates().setMaxBatchSize(2);
+        CommentUpdateRouter fullBatches = new CommentUpdateRouter(properties, objectMapper, meterRegistry);
+        WebSocketSession session = openSession("s1");
+        fullBatches.register(session);
+        fullBatches.subscribe("s1", 1L, 10);
+
+        try {
+            // When
+            fullBatches.publish(created(1L, 10L));
+            fullBatches.publish(created(1L, 11L));
+
+            // Then
+            ArgumentCaptor<TextMessage> frame = ArgumentCaptor.forClass(TextMessage.class);
+            verify(session, timeout(2_000)).sendMessage(frame.capture());
+            assertThat(objectMapper.readTree(frame.getValue().getPayload()).get("updates")).hasSize(2);
+        } finally {
+            fullBatches.destroy();
+        }
+    }
+
+    @Test
+    void send_toConnectionWritingUpdates_shouldWaitForTheUpdates() throws Exception {
+        // Given a connection whose socket write of an update has not returned yet
+        CountDownLatch release = new CountDownLatch(1);
+        WebSocketSession session = openSession("s1");
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(session).sendMessage(any());
+        router.register(session);
+        router.subscribe("s1", 1L, 10);
+        router.publish(created(1L, 10L));
+        verify(session, timeout(2_000)).sendMessage(any());
+
+        try {
+            // When
+            router.send(session, new TextMessage("{\"type\":\"subscribed\",\"newsId\":2}"));
+
+            // Then
+            verify(session, after(300).times(1)).sendMessage(any());
+        } finally {
+            release.countDown();
+        }
+        verify(session, timeout(2_000).times(2)).sendMessage(any());
+    }
+
+    @Test
+    void subscribe_beyondLimit_shouldBeRejected() {
+        // Given
+        router.register(openSession("s1"));
+
+        // When/Then
+        assertThat(router.subscribe("s1", 1L, 2)).isTrue();
+        assertThat(router.subscribe("s1", 2L, 2)).isTrue();
+        assertThat(router.subscribe("s1", 1L, 2)).isTrue();
+        assertThat(router.subscribe("s1", 3L, 2)).isFalse();
+        assertThat(router.subscribe("unknown", 1L, 2)).isFalse();
+    }
+
+    @Test
+    void unregister_shouldRemoveConnectionAndSubscriptions() throws Exception {
+        // Given
+        WebSocketSession session = openSession("s1");
+        router.register(session);
+        router.subscribe("s1", 1L, 10);
+        router.subscribe("s1", 2L, 10);
+        assertThat(meterRegistry.get("newsportal.websocket.connections").gauge().value()).isEqualTo(1.0);
+        assertThat(subscriptions()).isEqualTo(2.0);
+
+        // When
+        router.unregister("s1");
+        router.publish(created(1L, 10L));
+
+        // Then
+        assertThat(meterRegistry.get("newsportal.websocket.connections").gauge().value()).isZero();
+        assertThat(subscriptions()).isZero();
+        verify(session, after(300).never()).sendMessage(any(WebSocketMessage.class));
+    }
+
+    private double subscriptions() {
+        return meterRegistry.get("newsportal.websocket.subscriptions").gauges().stream()
+                .mapToDouble(gauge -> gauge.value())
+                .sum();
+    }
+
+    private static CommentUpdate created(long newsId, long commentId) {
+        CommentListItem comment = new CommentListItem()
+                .id(commentId)
+                .text("Comment " + commentId)
+                .authorNickname("user")
+                .hasReplies(false);
+        return new CommentUpdate(newsId, CommentUpdate.Type.CREATED, commentId, null, comment);
+    }
+
+    private static WebSocketSession openSession(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
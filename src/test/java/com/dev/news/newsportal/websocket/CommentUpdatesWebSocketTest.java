@@ -0,0 +1,129 @@
+package com.dev.news.newsportal.websocket;
+
+import com.dev.news.newsportal.model.CommentModel;
+import com.dev.news.newsportal.model.NewsModel;
+import com.dev.news.newsportal.model.UserModel;
+import com.dev.news.newsportal.service.CommentService;
+import com.dev.news.newsportal.service.NewsService;
+import com.dev.news.newsportal.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end test of the comment updates endpoint against a running server.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CommentUpdatesWebSocketTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final BlockingQueue<JsonNode> received = new LinkedBlockingQueue<>();
+    private WebSocketSession session;
+    private UserModel author;
+    private NewsModel news;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        author = userService.create(UserModel.builder()
+                .nickname("wsauthor" + System.nanoTime())
+                .email("wsauthor" + System.nanoTime() + "@example.com")
+                .role("USER")
+                .build());
+        news = newsService.create(NewsModel.builder()
+                .title("Live thread")
+                .text("Article with live comments")
+                .author(UserModel.builder().id(author.getId()).build())
+                .build());
+        session = new StandardWebSocketClient()
+                .execute(new TextWebSocketHandler() {
+                    @Override
+                    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+                        received.add(objectMapper.readTree(message.getPayload()));
+                    }
+                }, "ws://localhost:" + port + CommentUpdatesWebSocketConfig.ENDPOINT)
+                .get(5, TimeUnit.SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        session.close();
+        newsService.delete(news.getId());
+        userService.delete(author.getId());
+    }
+
+    @Test
+    void subscriber_shouldReceiveCreatedUpdatedAndDeletedComments() throws Exception {
+        // Given
+        send("{\"action\":\"subscribe\",\"newsId\":" + news.getId() + "}");
+        assertThat(next().get("type").asText()).isEqualTo("subscribed");
+
+        // When
+        CommentModel comment = commentService.create(CommentModel.builder()
+                .text("First!")
+                .authorNickname("reader")
+                .newsId(news.getId())
+                .build());
+        JsonNode created = next();
+        commentService.update(comment.getId(), CommentModel.builder().text("First, edited").build());
+        JsonNode updated = next();
+        commentService.delete(comment.getId());
+        JsonNode deleted = next();
+
+        // Then
+        assertThat(created.get("newsId").asLong()).isEqualTo(news.getId());
+        assertThat(created.at("/updates/0/type").asText()).isEqualTo("created");
+        assertThat(created.at("/updates/0/comment/text").asText()).isEqualTo("First!");
+        assertThat(updated.at("/updates/0/type").asText()).isEqualTo("updated");
+        assertThat(updated.at("/updates/0/comment/text").asText()).isEqualTo("First, edited");
+        assertThat(deleted.at("/updates/0/type").asText()).isEqualTo("deleted");
+        assertThat(deleted.at("/updates/0/commentId").asLong()).isEqualTo(comment.getId());
+    }
+
+    @Test
+    void subscribe_withMalformedMessage_shouldReplyWithError() throws Exception {
+        // When
+        send("not json");
+
+        // Then
+        assertThat(next().get("type").asText()).isEqualTo("error");
+    }
+
+    private void send(String payload) throws Exception {
+        session.sendMessage(new TextMessage(payload));
+    }
+
+    private JsonNode next() throws InterruptedException {
+        JsonNode message = received.poll(5, TimeUnit.SECONDS);
+        assertThat(message).as("message received").isNotNull();
+        return message;
+    }
+}
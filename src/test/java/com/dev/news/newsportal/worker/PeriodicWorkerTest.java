@@ -0,0 +1,93 @@
+package com.dev.news.newsportal.worker;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PeriodicWorkerTest {
+
+    private PeriodicWorker worker;
+
+    @AfterEach
+    void tearDown() {
+        if (worker != null) {
+            worker.stop();
+        }
+    }
+
+    @Test
+    void start_shouldRunRoundsAfterEachPause() throws InterruptedException {
+        // Given
+        AtomicInteger rounds = new AtomicInteger();
+        worker = new PeriodicWorker("test-worker", Duration.ZERO, Duration.ofMillis(10), rounds::incrementAndGet);
+
+        // When
+        worker.start();
+
+        // Then
+        assertThat(worker.isRunning()).isTrue();
+        waitUntil(() -> rounds.get() >= 3);
+    }
+
+    @Test
+    void start_withFailingRound_shouldRetryAtTheNextRound() throws InterruptedException {
+        // Given
+        AtomicInteger rounds = new AtomicInteger();
+        worker = new PeriodicWorker("test-worker", Duration.ZERO, Duration.ofMillis(10), () -> {
+            rounds.incrementAndGet();
+            throw new IllegalStateException("Database down");
+        });
+
+        // When
+        worker.start();
+
+        // Then
+        waitUntil(() -> rounds.get() >= 2);
+    }
+
+    @Test
+    void wakeUp_shouldEndThePauseEarly() throws InterruptedException {
+        // Given a worker pausing for much longer than the test waits
+        AtomicInteger rounds = new AtomicInteger();
+        worker = new PeriodicWorker("test-worker", Duration.ZERO, Duration.ofHours(1), rounds::incrementAndGet);
+        worker.start();
+        waitUntil(() -> rounds.get() == 1);
+
+        // When
+        worker.wakeUp();
+
+        // Then
+        waitUntil(() -> rounds.get() == 2);
+    }
+
+    @Test
+    void stop_shouldEndThePauseAndTheThread() throws InterruptedException {
+        // Given
+        AtomicInteger rounds = new AtomicInteger();
+        worker = new PeriodicWorker("test-worker", Duration.ofHours(1), Duration.ofHours(1), rounds::incrementAndGet);
+        worker.start();
+
+        // When
+        long started = System.nanoTime();
+        worker.stop();
+
+        // Then
+        assertThat(worker.isRunning()).isFalse();
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(1));
+        assertThat(rounds).hasValue(0);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}